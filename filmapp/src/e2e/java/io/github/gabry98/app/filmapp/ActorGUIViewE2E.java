@@ -5,6 +5,8 @@ import static org.assertj.swing.launcher.ApplicationLauncher.application;
 import static org.assertj.swing.timing.Pause.pause;
 import static org.assertj.swing.timing.Timeout.timeout;
 
+import java.util.Arrays;
+
 import org.assertj.swing.core.BasicRobot;
 import org.assertj.swing.core.matcher.JButtonMatcher;
 import org.assertj.swing.finder.WindowFinder;
@@ -106,9 +108,17 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 	void testDeleteActorByIdCorrectly() {
 		testShowInitialActorsCorrectly();
 		addActor();
-		actorView.list("actorsList").selectItems(0);
+		actorView.list("actorsList").selectItems(1);
 		actorView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(actorView.list("actorsList").contents()).isEmpty();
+		pause(
+				new Condition("actorsList must show only the persisted actor") {
+					@Override
+					public boolean test() {
+						return actorView.list("actorsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi");
 	}
 	
 	@Test
@@ -118,7 +128,15 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 		addActor();
 		actorView.textBox("actorName").enterText("Andrea Verdi");
 		actorView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(actorView.list("actorsList").contents()).isEmpty();
+		pause(
+				new Condition("actorsList must show only the persisted actor") {
+					@Override
+					public boolean test() {
+						return actorView.list("actorsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi");
 	}
 	
 	@ParameterizedTest
@@ -131,17 +149,17 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 		testShowInitialActorsCorrectly();
 		addActor();
 		actorView.textBox(field).enterText(value);
-		actorView.list("actorsList").selectItems(0);
+		actorView.list("actorsList").selectItems(1);
 		actorView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
-				new Condition("actorsList must be not empty") {
+				new Condition("actorsList must show the updated row") {
 					@Override
 					public boolean test() {
-						return !(actorView.list("actorsList").contents().length == 0);
+						return Arrays.asList(actorView.list("actorsList").contents()).contains(list);
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(actorView.list("actorsList").contents()).containsExactly(list);
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi", list);
 	}
 	
 	@Test
@@ -150,7 +168,7 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 		testShowInitialActorsCorrectly();
 		addActor();
 		actorView.textBox("actorId").enterText("2");
-		actorView.list("actorsList").selectItems(0);
+		actorView.list("actorsList").selectItems(1);
 		actorView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
 				new Condition("actorsList and errorLabel must be not empty") {
@@ -161,7 +179,7 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(actorView.list("actorsList").contents()).containsExactly("2,Andrea Verdi");
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi", "2,Andrea Verdi");
 		assertThat(actorView.label("errorLabel").text()).isEqualTo("ERROR: Actor with id 2 already exists!");
 	}
 	
@@ -195,18 +213,27 @@ class ActorGUIViewE2E extends AssertJSwingJUnitTestCase {
 		actorView.textBox("actorName").enterText("Andrea Verdi");
 		actorView.button(JButtonMatcher.withText("ADD")).click();
 		pause(
-				new Condition("actorsList must be not empty") {
+				new Condition("actorsList must show the added actor") {
 					@Override
 					public boolean test() {
-						return !(actorView.list("actorsList").contents().length == 0);
+						return actorView.list("actorsList").contents().length == 2;
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(actorView.list("actorsList").contents()).containsExactly("2,Andrea Verdi");
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi", "2,Andrea Verdi");
 	}
 	
 	private void testShowInitialActorsCorrectly() {
 		actorView.moveToFront();
+		pause(
+				new Condition("actorsList must show the persisted actors") {
+					@Override
+					public boolean test() {
+						return actorView.list("actorsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(actorView.list("actorsList").contents()).containsExactly("1,Marco Rossi");
 		actorView.button(JButtonMatcher.withText("FIND")).click();
 		pause(
 				new Condition("findList must be not empty") {
@@ -5,6 +5,8 @@ import static org.assertj.swing.launcher.ApplicationLauncher.application;
 import static org.assertj.swing.timing.Pause.pause;
 import static org.assertj.swing.timing.Timeout.timeout;
 
+import java.util.Arrays;
+
 import org.assertj.swing.core.BasicRobot;
 import org.assertj.swing.core.matcher.JButtonMatcher;
 import org.assertj.swing.finder.WindowFinder;
@@ -114,17 +116,17 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 		testShowInitialFilmsCorrectly();
 		addFilm();
 		filmView.textBox(field).enterText(value);
-		filmView.list("filmsList").selectItems(0);
+		filmView.list("filmsList").selectItems(1);
 		filmView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
-				new Condition("filmsList must be not empty") {
+				new Condition("filmsList must show the updated row") {
 					@Override
 					public boolean test() {
-						return !(filmView.list("filmsList").contents().length == 0);
+						return Arrays.asList(filmView.list("filmsList").contents()).contains(list);
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(filmView.list("filmsList").contents()).containsExactly(list);
+		assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950", list);
 	}
 	
 	@Test
@@ -133,7 +135,7 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 		testShowInitialFilmsCorrectly();
 		addFilm();
 		filmView.textBox("filmId").enterText("1");
-		filmView.list("filmsList").selectItems(0);
+		filmView.list("filmsList").selectItems(1);
 		filmView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
 				new Condition("filmsList and errorLabel must be not empty") {
@@ -144,7 +146,7 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(filmView.list("filmsList").contents()).containsExactly("2,King Kong,2005");
+		assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950", "2,King Kong,2005");
 		assertThat(filmView.label("errorLabel").text()).isEqualTo("ERROR: Film with id 1 already exists!");
 	}
 	
@@ -153,9 +155,17 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 	void testRemoveFilmByIdCorrectly() {
 		testShowInitialFilmsCorrectly();
 		addFilm();
-		filmView.list("filmsList").selectItems(0);
+		filmView.list("filmsList").selectItems(1);
 		filmView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(filmView.list("filmsList").contents()).isEmpty();
+		pause(
+				new Condition("filmsList must show only the persisted film") {
+					@Override
+					public boolean test() {
+						return filmView.list("filmsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950");
 	}
 	
 	@ParameterizedTest
@@ -169,7 +179,21 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 		addFilm();
 		filmView.textBox(field).enterText(value);
 		filmView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(filmView.list("filmsList").contents()).isEmpty();
+		// both films are named King Kong, only the added one is from 2005
+		int remaining = field.equals("filmName") ? 0 : 1;
+		pause(
+				new Condition("filmsList must lose the deleted films") {
+					@Override
+					public boolean test() {
+						return filmView.list("filmsList").contents().length == remaining;
+					}
+				}
+			,timeout(TIMEOUT));
+		if(field.equals("filmName")) {
+			assertThat(filmView.list("filmsList").contents()).isEmpty();
+		} else {
+			assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950");
+		}
 	}
 	
 	@ParameterizedTest
@@ -206,18 +230,27 @@ class FilmGUIViewE2E extends AssertJSwingJUnitTestCase {
 		filmView.textBox("filmDate").enterText("2005");
 		filmView.button(JButtonMatcher.withText("ADD")).click();
 		pause(
-				new Condition("filmsList must be not empty") {
+				new Condition("filmsList must show the added film") {
 					@Override
 					public boolean test() {
-						return !(filmView.list("filmsList").contents().length == 0);
+						return filmView.list("filmsList").contents().length == 2;
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(filmView.list("filmsList").contents()).containsExactly("2,King Kong,2005");
+		assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950", "2,King Kong,2005");
 	}
 	
 	private void testShowInitialFilmsCorrectly() {
 		filmView.moveToFront();
+		pause(
+				new Condition("filmsList must show the persisted films") {
+					@Override
+					public boolean test() {
+						return filmView.list("filmsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(filmView.list("filmsList").contents()).containsExactly("1,King Kong,1950");
 		filmView.button(JButtonMatcher.withText("FIND")).click();
 		pause(
 				new Condition("findList must be not empty") {
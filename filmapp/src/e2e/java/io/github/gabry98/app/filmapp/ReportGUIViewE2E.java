@@ -5,6 +5,8 @@ import static org.assertj.swing.launcher.ApplicationLauncher.application;
 import static org.assertj.swing.timing.Pause.pause;
 import static org.assertj.swing.timing.Timeout.timeout;
 
+import java.util.Arrays;
+
 import org.assertj.swing.core.BasicRobot;
 import org.assertj.swing.core.matcher.JButtonMatcher;
 import org.assertj.swing.finder.WindowFinder;
@@ -117,17 +119,17 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 		testShowInitialReportsCorrectly();
 		addReport();
 		reportView.textBox("reportId").enterText("3");
-		reportView.list("reportsList").selectItems(0);
+		reportView.list("reportsList").selectItems(1);
 		reportView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
-				new Condition("reportsList must be not empty") {
+				new Condition("reportsList must show the updated row") {
 					@Override
 					public boolean test() {
-						return !(reportView.list("reportsList").contents().length == 0);
+						return Arrays.asList(reportView.list("reportsList").contents()).contains("3,2,2");
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(reportView.list("reportsList").contents()).containsExactly("3,2,2");
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1", "3,2,2");
 		
 	}
 	
@@ -137,7 +139,7 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 		testShowInitialReportsCorrectly();
 		addReport();
 		reportView.textBox("reportId").enterText("1");
-		reportView.list("reportsList").selectItems(0);
+		reportView.list("reportsList").selectItems(1);
 		reportView.button(JButtonMatcher.withText("UPDATE")).click();
 		pause(
 				new Condition("reportsList and errorLabel must be not empty") {
@@ -148,7 +150,7 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(reportView.list("reportsList").contents()).containsExactly("2,2,2");
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1", "2,2,2");
 		assertThat(reportView.label("errorLabel").text()).isEqualTo("ERROR: Report with id 1 already exists!");
 		
 	}
@@ -158,9 +160,17 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 	void testDeleteReportByIdCorrectly() {
 		testShowInitialReportsCorrectly();
 		addReport();
-		reportView.list("reportsList").selectItems(0);
+		reportView.list("reportsList").selectItems(1);
 		reportView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(reportView.list("reportsList").contents()).isEmpty();
+		pause(
+				new Condition("reportsList must show only the persisted report") {
+					@Override
+					public boolean test() {
+						return reportView.list("reportsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1");
 		
 	}
 	
@@ -174,7 +184,15 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 		addReport();
 		reportView.textBox(field).enterText(value);
 		reportView.button(JButtonMatcher.withText("REMOVE")).click();
-		assertThat(reportView.list("reportsList").contents()).isEmpty();
+		pause(
+				new Condition("reportsList must show only the persisted report") {
+					@Override
+					public boolean test() {
+						return reportView.list("reportsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1");
 		
 	}
 	
@@ -201,19 +219,28 @@ private static final MongoDBContainer mongo = new MongoDBContainer("mongo:4.4.3"
 	}
 	
 	private void addReport() {
+		pause(
+				new Condition("reportsList must show the persisted reports") {
+					@Override
+					public boolean test() {
+						return reportView.list("reportsList").contents().length == 1;
+					}
+				}
+			,timeout(TIMEOUT));
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1");
 		reportView.textBox("reportId").enterText("2");
 		reportView.textBox("actorId").enterText("2");
 		reportView.textBox("filmId").enterText("2");
 		reportView.button(JButtonMatcher.withText("ADD")).click();
 		pause(
-				new Condition("reportsList must be not empty") {
+				new Condition("reportsList must show the added report") {
 					@Override
 					public boolean test() {
-						return !(reportView.list("reportsList").contents().length == 0);
+						return reportView.list("reportsList").contents().length == 2;
 					}
 				}
 			,timeout(TIMEOUT));
-		assertThat(reportView.list("reportsList").contents()).containsExactly("2,2,2");
+		assertThat(reportView.list("reportsList").contents()).containsExactly("1,1,1", "2,2,2");
 	}
 	
 	private void testShowInitialReportsCorrectly() {
@@ -1,7 +1,9 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -14,12 +16,15 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import org.bson.Document;
+
 import com.mongodb.MongoClient;
 import com.mongodb.ServerAddress;
 import com.mongodb.client.MongoDatabase;
 
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.MongoIndexManager;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @DisplayName("Integration Tests for Actor Repository.")
@@ -45,10 +50,10 @@ class ActorMongoRepositoryIT {
 					mongo.getMappedPort(27017))
 		);
 		
-		actorRepository = new ActorMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
-		
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		
+		actorRepository = new ActorMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -100,4 +105,53 @@ class ActorMongoRepositoryIT {
 		assertThat(actors.get(0).getId()).isEqualTo(1);
 		assertThat(actors.get(0).getName()).isEqualTo("Mauro Rossi");
 	}
+	
+	@Test
+	@DisplayName("Test when we stream the Actors with a batch size smaller than the collection.")
+	void testForEachActorWithSmallBatchSize() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Andrea Verdi");
+		actorRepository.addActor(3, "Luca Bianchi");
+		actorRepository.setBatchSize(2);
+		List<Actor> streamed = new ArrayList<>();
+		actorRepository.forEachActor(streamed::add);
+		assertThat(streamed).extracting(Actor::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+	
+	@Test
+	@DisplayName("Test the search by a Name prefix is answered by the search name index.")
+	void testFindByNamePrefixUsesIndex() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Márco Verdi");
+		actorRepository.addActor(3, "Andrea Verdi");
+		new MongoIndexManager(client, DATABASE_NAME, COLLECTION_NAME, "filmCollection", "reportCollection").buildIndexes();
+		assertThat(actorRepository.findByNamePrefix("MARCO", 10)).extracting(Actor::getId).containsExactly(1, 2);
+		Document explain = client.getDatabase(DATABASE_NAME).runCommand(new Document("explain", 
+				new Document("find", COLLECTION_NAME)
+					.append("filter", new Document("searchName", new Document("$regex", "^marco")))
+					.append("sort", new Document("searchName", 1).append("id", 1))));
+		String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+		assertThat(winningPlan).contains("IXSCAN").doesNotContain("COLLSCAN");
+	}
+	
+	@Test
+	@DisplayName("Test the text search is refused until the index manager has built the text index.")
+	void testSearchTextWithoutTextIndex() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.searchText("marco rossi", 10));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the text index is not ready yet, try again later!");
+	}
+	
+	@Test
+	@DisplayName("Test the text search ranks the Actors by relevance and applies the limit.")
+	void testSearchTextRanksByScore() {
+		actorRepository.addActor(1, "Marco Verdi");
+		actorRepository.addActor(2, "Marco Rossi");
+		actorRepository.addActor(3, "Andrea Rossi");
+		actorRepository.addActor(4, "Luca Bianchi");
+		new MongoIndexManager(client, DATABASE_NAME, COLLECTION_NAME, "filmCollection", "reportCollection").buildIndexes();
+		assertThat(actorRepository.searchText("marco rossi", 10)).extracting(Actor::getId).startsWith(2)
+			.containsExactlyInAnyOrder(1, 2, 3);
+		assertThat(actorRepository.searchText("marco rossi", 1)).extracting(Actor::getId).containsExactly(2);
+	}
+
 }
@@ -1,7 +1,9 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +21,7 @@ import com.mongodb.client.MongoDatabase;
 
 import io.github.gabry98.app.filmapp.model.Film;
 import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.MongoIndexManager;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @DisplayName("Integration Tests for Film Repository.")
@@ -44,10 +47,10 @@ class FilmMongoRepositoryIT {
 					mongo.getMappedPort(27017))
 		);
 		
-		filmRepository = new FilmMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
-		
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		
+		filmRepository = new FilmMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -127,5 +130,37 @@ class FilmMongoRepositoryIT {
 		assertThat(films.get(0).getName()).isEqualTo("King Kong");
 		assertThat(films.get(0).getDate()).isEqualTo(2005);
 	}
+	
+	@Test
+	@DisplayName("Test when we stream the Films with a batch size smaller than the collection.")
+	void testForEachFilmWithSmallBatchSize() {
+		filmRepository.addFilm(1, "King Kong", 1950);
+		filmRepository.addFilm(2, "Titanic", 1997);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		filmRepository.setBatchSize(2);
+		List<Film> streamed = new ArrayList<>();
+		filmRepository.forEachFilm(streamed::add);
+		assertThat(streamed).extracting(Film::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+	
+	@Test
+	@DisplayName("Test the text search is refused until the index manager has built the text index.")
+	void testSearchTextWithoutTextIndex() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> filmRepository.searchText("bad boys", 10));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the text index is not ready yet, try again later!");
+	}
+	
+	@Test
+	@DisplayName("Test the text search ranks the Films by relevance and applies the limit.")
+	void testSearchTextRanksByScore() {
+		filmRepository.addFilm(1, "Boys Don't Cry", 1999);
+		filmRepository.addFilm(2, "Bad Boys", 1995);
+		filmRepository.addFilm(3, "King Kong", 1933);
+		filmRepository.addFilm(4, "The Bad Seed", 1956);
+		new MongoIndexManager(client, DATABASE_NAME, "actorCollection", COLLECTION_NAME, "reportCollection").buildIndexes();
+		assertThat(filmRepository.searchText("bad boys", 10)).extracting(Film::getId).startsWith(2)
+			.containsExactlyInAnyOrder(1, 2, 4);
+		assertThat(filmRepository.searchText("bad boys", 2)).hasSize(2);
+	}
 
 }
@@ -0,0 +1,80 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.MongoClient;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoDatabase;
+
+import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.ReferenceMongoValidator;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("Integration Tests for Reference Validator.")
+@Testcontainers
+class ReferenceMongoValidatorIT {
+
+	@Container
+	public static final MongoDBContainer mongo = 
+		new MongoDBContainer("mongo:4.4.3");
+	
+	private static final String DATABASE_NAME = "project-db";
+	private static final String ACTORS_COLLECTION_NAME = "actorCollection";
+	private static final String FILMS_COLLECTION_NAME = "filmCollection";
+	
+	private MongoClient client;
+	private ReferenceMongoValidator referenceValidator;
+	
+	@BeforeEach
+	public void setup() {
+		
+		client = new MongoClient(
+				new ServerAddress(
+					mongo.getContainerIpAddress(),
+					mongo.getMappedPort(27017))
+		);
+		
+		MongoDatabase database = client.getDatabase(DATABASE_NAME);
+		database.drop();
+		
+		new ActorMongoRepository(client, DATABASE_NAME, ACTORS_COLLECTION_NAME).addActor(1, "Marco Rossi");
+		new FilmMongoRepository(client, DATABASE_NAME, FILMS_COLLECTION_NAME).addFilm(2, "King Kong", 1950);
+		referenceValidator = new ReferenceMongoValidator(client, DATABASE_NAME, 
+				ACTORS_COLLECTION_NAME, FILMS_COLLECTION_NAME);
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		client.close();
+	}
+	
+	@Test
+	@DisplayName("Test when the Actor exists and the Film is missing.")
+	void testMissingFilm() {
+		// the in-memory server drops the document when the lookup matches nothing
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> referenceValidator.checkReportReferences(1, 3));
+		assertThat(e.getMessage()).isEqualTo("ERROR: No existing Film with id 3.");
+	}
+	
+	@Test
+	@DisplayName("Test when both the Actor and the Film exist.")
+	void testExistingReferences() {
+		referenceValidator.checkReportReferences(1, 2);
+		assertThat(client.getDatabase(DATABASE_NAME).getCollection(ACTORS_COLLECTION_NAME).countDocuments())
+			.isEqualTo(1);
+	}
+
+}
@@ -1,9 +1,12 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +22,7 @@ import com.mongodb.ServerAddress;
 import com.mongodb.client.MongoDatabase;
 
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 import io.github.gabry98.app.filmapp.repository.mongo.ReportMongoRepository;
 
 @TestInstance(Lifecycle.PER_CLASS)
@@ -45,10 +49,10 @@ class ReportMongoRepositoryIT {
 					mongo.getMappedPort(27017))
 		);
 		
-		reportRepository = new ReportMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
-		
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		
+		reportRepository = new ReportMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -124,5 +128,57 @@ class ReportMongoRepositoryIT {
 		assertThat(reports.get(0).getActorId()).isEqualTo(5);
 		assertThat(reports.get(0).getFilmId()).isEqualTo(6);
 	}
+	
+	@Test
+	@DisplayName("Test when we stream the Reports with a batch size smaller than the collection.")
+	void testForEachReportWithSmallBatchSize() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		reportRepository.setBatchSize(2);
+		List<Report> streamed = new ArrayList<>();
+		reportRepository.forEachReport(streamed::add);
+		assertThat(streamed).extracting(Report::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+
+	@Test
+	@DisplayName("Test the detailed Reports keep the rows whose Actor or Film is missing.")
+	void testFindDetailsPageWithMissingReferences() {
+		MongoDatabase database = client.getDatabase(DATABASE_NAME);
+		database.getCollection("actorCollection").insertOne(new Document("id", 1).append("name", "Marco Rossi"));
+		database.getCollection("filmCollection").insertOne(
+				new Document("id", 1).append("name", "King Kong").append("date", 1933));
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		List<ReportDetail> page = reportRepository.findDetailsPage(0, 10);
+		assertThat(page).extracting(ReportDetail::getId, ReportDetail::getActorName, ReportDetail::getFilmName)
+			.containsExactly(tuple(1, "Marco Rossi", "King Kong"), tuple(2, "Marco Rossi", null));
+	}
+
+	@Test
+	@DisplayName("Test when we stream the detailed Reports with a batch size smaller than the collection.")
+	void testForEachReportDetailWithSmallBatchSize() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		reportRepository.setBatchSize(2);
+		List<ReportDetail> streamed = new ArrayList<>();
+		reportRepository.forEachReportDetail(streamed::add);
+		assertThat(streamed).extracting(ReportDetail::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+
+	@Test
+	@DisplayName("Test the deletion of the Reports by Actor ID across several batches.")
+	void testFindAndDeleteReportsByActorIdWithSmallBatchSize() {
+		for(int id = 1; id <= 5; id++) {
+			reportRepository.addReport(id, 1, id);
+		}
+		reportRepository.addReport(6, 2, 1);
+		reportRepository.setBatchSize(2);
+		List<Report> deleted = new ArrayList<>();
+		reportRepository.findAndDeleteReportsByActorId(1, deleted::add);
+		assertThat(deleted).extracting(Report::getId).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+		assertThat(reportRepository.findAll()).extracting(Report::getId).containsExactly(6);
+	}
 
 }
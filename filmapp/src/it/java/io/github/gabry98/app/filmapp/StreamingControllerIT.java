@@ -1,6 +1,7 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.verify;
 
 import java.util.List;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -60,6 +63,15 @@ class StreamingControllerIT {
 	@Mock
 	private ReportView reportView;
 	
+	@Captor
+	private ArgumentCaptor<List<Actor>> actorsCaptor;
+	
+	@Captor
+	private ArgumentCaptor<List<Film>> filmsCaptor;
+	
+	@Captor
+	private ArgumentCaptor<List<Report>> reportsCaptor;
+	
 	@InjectMocks
 	private StreamingController streamingController;
 	
@@ -75,13 +87,13 @@ class StreamingControllerIT {
 					mongo.getMappedPort(27017))
 		);
 		
+		MongoDatabase database = client.getDatabase(DATABASE_NAME);
+		database.drop();
+		
 		actorRepository = new ActorMongoRepository(client,DATABASE_NAME,ACTORS_COLLECTION_NAME);
 		filmRepository = new FilmMongoRepository(client,DATABASE_NAME,FILMS_COLLECTION_NAME);
 		reportRepository = new ReportMongoRepository(client,DATABASE_NAME,REPORTS_COLLECTION_NAME);
 		streamingController = new StreamingController(actorRepository, filmRepository, reportRepository);
-		
-		MongoDatabase database = client.getDatabase(DATABASE_NAME);
-		database.drop();
 	}
 	
 	@AfterEach
@@ -106,7 +118,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we remove an Actor by id from the Actor Repository.")
 	void testRemoveActorById() {
 		actorRepository.addActor(1, "Marco Rossi");
-		streamingController.deleteActor(actorView, 1, 0);
+		streamingController.deleteActor(actorView, 1);
 		assertThat(actorRepository.findAll()).isEmpty();
 	}
 	
@@ -123,7 +135,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update an Actor by id into the Actor Repository.")
 	void testUpdateActorById() {
 		actorRepository.addActor(1, "Marco Rossi");
-		streamingController.updateActor(actorView, 1, 2, 0);
+		streamingController.updateActor(actorView, 1, 2);
 		List<Actor> actors = actorRepository.findAll();
 		assertThat(actors.get(0).getId()).isEqualTo(2);
 		assertThat(actors.get(0).getName()).isEqualTo("Marco Rossi");
@@ -133,7 +145,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update an Actor by name into the Actor Repository.")
 	void testUpdateActorByName() {
 		actorRepository.addActor(1, "Marco Rossi");
-		streamingController.updateActor(actorView, 1, "Andrea Verdi", 0);
+		streamingController.updateActor(actorView, 1, "Andrea Verdi");
 		List<Actor> actors = actorRepository.findAll();
 		assertThat(actors.get(0).getId()).isEqualTo(1);
 		assertThat(actors.get(0).getName()).isEqualTo("Andrea Verdi");
@@ -154,8 +166,9 @@ class StreamingControllerIT {
 		actorRepository.addActor(1, "Marco Rossi");
 		actorRepository.addActor(2, "Marco Rossi");
 		streamingController.searchActorsByName(actorView, "Marco Rossi");
-		verify(actorView).actorFound(1,"Marco Rossi");
-		verify(actorView).actorFound(2,"Marco Rossi");
+		verify(actorView).actorsFound(actorsCaptor.capture());
+		assertThat(actorsCaptor.getValue()).extracting(Actor::getId, Actor::getName)
+			.containsExactlyInAnyOrder(tuple(1, "Marco Rossi"), tuple(2, "Marco Rossi"));
 	}
 	
 	@Test
@@ -176,7 +189,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we remove a Film by id from the Film Repository.")
 	void testRemoveFilmById() {
 		filmRepository.addFilm(1, "King Kong", 1950);
-		streamingController.deleteFilmById(filmView, 1, 0);
+		streamingController.deleteFilmById(filmView, 1);
 		assertThat(filmRepository.findAll()).isEmpty();
 	}
 	
@@ -201,7 +214,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update a Film by id into the Film Repository.")
 	void testUpdateFilmById() {
 		filmRepository.addFilm(1, "King Kong", 1950);
-		streamingController.updateFilmById(filmView, 1, 2, 0);
+		streamingController.updateFilmById(filmView, 1, 2);
 		List<Film> films = filmRepository.findAll();
 		assertThat(films.get(0).getId()).isEqualTo(2);
 		assertThat(films.get(0).getName()).isEqualTo("King Kong");
@@ -212,7 +225,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update a Film by name into the Film Repository.")
 	void testUpdateFilmByName() {
 		filmRepository.addFilm(1, "King Kong", 1950);
-		streamingController.updateFilmByName(filmView, 1, "King", 0);
+		streamingController.updateFilmByName(filmView, 1, "King");
 		List<Film> films = filmRepository.findAll();
 		assertThat(films.get(0).getId()).isEqualTo(1);
 		assertThat(films.get(0).getName()).isEqualTo("King");
@@ -223,7 +236,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update a Film by date into the Film Repository.")
 	void testUpdateFilmByDate() {
 		filmRepository.addFilm(1, "King Kong", 1950);
-		streamingController.updateFilmDate(filmView, 1, 2005, 0);
+		streamingController.updateFilmDate(filmView, 1, 2005);
 		List<Film> films = filmRepository.findAll();
 		assertThat(films.get(0).getId()).isEqualTo(1);
 		assertThat(films.get(0).getName()).isEqualTo("King Kong");
@@ -245,7 +258,9 @@ class StreamingControllerIT {
 		filmRepository.addFilm(1, "King Kong", 1950);
 		filmRepository.addFilm(2, "King Kong", 2005);
 		streamingController.searchFilmsByDate(filmView, 1950);
-		verify(filmView).filmFound(1, "King Kong", 1950);
+		verify(filmView).filmsFound(filmsCaptor.capture());
+		assertThat(filmsCaptor.getValue()).extracting(Film::getId, Film::getName, Film::getDate)
+			.containsExactly(tuple(1, "King Kong", 1950));
 	}
 	
 	@Test
@@ -254,8 +269,9 @@ class StreamingControllerIT {
 		filmRepository.addFilm(1, "King Kong", 1950);
 		filmRepository.addFilm(2, "King Kong", 2005);
 		streamingController.searchFilmsByName(filmView, "King Kong");
-		verify(filmView).filmFound(1, "King Kong", 1950);
-		verify(filmView).filmFound(2, "King Kong", 2005);
+		verify(filmView).filmsFound(filmsCaptor.capture());
+		assertThat(filmsCaptor.getValue()).extracting(Film::getId, Film::getName, Film::getDate)
+			.containsExactlyInAnyOrder(tuple(1, "King Kong", 1950), tuple(2, "King Kong", 2005));
 	}
 	
 	@Test
@@ -273,7 +289,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we remove a Report by id from the Report Repository.")
 	void testRemoveReportById() {
 		reportRepository.addReport(1, 2, 3);
-		streamingController.deleteReportById(reportView, 1, 0);
+		streamingController.deleteReportById(reportView, 1);
 		assertThat(reportRepository.findAll()).isEmpty();
 	}
 	
@@ -297,7 +313,7 @@ class StreamingControllerIT {
 	@DisplayName("Test when we update a Report by id from the Report Repository.")
 	void testUpdateReportById() {
 		reportRepository.addReport(1, 2, 3);
-		streamingController.updateReportId(reportView, 1, 2, 0);
+		streamingController.updateReportId(reportView, 1, 2);
 		List<Report> reports = reportRepository.findAll();
 		assertThat(reports.get(0).getId()).isEqualTo(2);
 		assertThat(reports.get(0).getActorId()).isEqualTo(2);
@@ -317,7 +333,9 @@ class StreamingControllerIT {
 	void testFindReportByActorId() {
 		reportRepository.addReport(1, 2, 3);
 		streamingController.searchReportsByActorId(reportView, 2);
-		verify(reportView).reportFound(1, 2, 3);
+		verify(reportView).reportsFound(reportsCaptor.capture());
+		assertThat(reportsCaptor.getValue()).extracting(Report::getId, Report::getActorId, Report::getFilmId)
+			.containsExactly(tuple(1, 2, 3));
 	}
 	
 	@Test
@@ -325,7 +343,9 @@ class StreamingControllerIT {
 	void testFindReportByFilmId() {
 		reportRepository.addReport(1, 2, 3);
 		streamingController.searchReportsByFilmId(reportView, 3);
-		verify(reportView).reportFound(1, 2, 3);
+		verify(reportView).reportsFound(reportsCaptor.capture());
+		assertThat(reportsCaptor.getValue()).extracting(Report::getId, Report::getActorId, Report::getFilmId)
+			.containsExactly(tuple(1, 2, 3));
 	}
 
 }
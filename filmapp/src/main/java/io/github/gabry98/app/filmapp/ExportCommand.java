@@ -0,0 +1,123 @@
+package io.github.gabry98.app.filmapp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mongodb.MongoClient;
+
+import io.github.gabry98.app.filmapp.bulk.ExportWriter;
+import io.github.gabry98.app.filmapp.bulk.RecordFormat;
+import io.github.gabry98.app.filmapp.bulk.RecordFormatters;
+import io.github.gabry98.app.filmapp.jacoco.Generated;
+import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.ReportMongoRepository;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+@Command(name = "export", mixinStandardHelpOptions = true, 
+	description = "Export Actors, Films and Reports to CSV or NDJSON files")
+@Generated
+public class ExportCommand implements Callable<Integer> {
+	
+	@ParentCommand
+	private StreamingApp app;
+	
+	@Option(names = { "--actors" }, description = "Actors file (.csv or .ndjson, optionally .gz)")
+	private Path actorsFile;
+	
+	@Option(names = { "--films" }, description = "Films file (.csv or .ndjson, optionally .gz)")
+	private Path filmsFile;
+	
+	@Option(names = { "--reports" }, description = "Reports file (.csv or .ndjson, optionally .gz)")
+	private Path reportsFile;
+	
+	@Option(names = { "--film-date" }, description = "Export only the Films of the given year")
+	private Integer filmDate;
+	
+	@Option(names = { "--report-details" }, description = "Export the Reports with the names of their Actor and Film")
+	private boolean reportDetails;
+	
+	@Option(names = { "--gzip" }, description = "Compress the files even without the .gz extension")
+	private boolean gzip;
+	
+	private static final Logger LOGGER = LogManager.getLogger(ExportCommand.class);
+	
+	@Override
+	public Integer call() throws Exception {
+		List<MemoryPoolMXBean> heapPools = heapPools();
+		heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+		try(MongoClient client = app.createClient()) {
+			if(actorsFile != null) {
+				ActorMongoRepository repository 
+					= new ActorMongoRepository(client, app.getDatabaseName(), app.getActorsCollection());
+				repository.setBatchSize(app.getBatchSize());
+				RecordFormat format = RecordFormat.fromPath(actorsFile);
+				exportFile("actors", actorsFile, RecordFormatters.ACTORS_CSV_HEADER, format, 
+						RecordFormatters.actors(format), repository::forEachActor);
+			}
+			if(filmsFile != null) {
+				FilmMongoRepository repository 
+					= new FilmMongoRepository(client, app.getDatabaseName(), app.getFilmsCollection());
+				repository.setBatchSize(app.getBatchSize());
+				RecordFormat format = RecordFormat.fromPath(filmsFile);
+				exportFile("films", filmsFile, RecordFormatters.FILMS_CSV_HEADER, format, 
+						RecordFormatters.films(format), filmDate == null 
+							? repository::forEachFilm 
+							: consumer -> repository.forEachFilmByDate(filmDate, consumer));
+			}
+			if(reportsFile != null) {
+				ReportMongoRepository repository 
+					= new ReportMongoRepository(client, app.getDatabaseName(), app.getReportsCollection(), 
+							app.getActorsCollection(), app.getFilmsCollection());
+				repository.setBatchSize(app.getBatchSize());
+				RecordFormat format = RecordFormat.fromPath(reportsFile);
+				if(reportDetails) {
+					exportFile("reports", reportsFile, RecordFormatters.REPORT_DETAILS_CSV_HEADER, format, 
+							RecordFormatters.reportDetails(format), repository::forEachReportDetail);
+				} else {
+					exportFile("reports", reportsFile, RecordFormatters.REPORTS_CSV_HEADER, format, 
+							RecordFormatters.reports(format), repository::forEachReport);
+				}
+			}
+		}
+		long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+		LOGGER.info("Export completed with a peak heap usage of {} KiB", peakHeap/1024);
+		return 0;
+	}
+	
+	private <T> void exportFile(String name, Path file, String csvHeader, RecordFormat format, 
+			BiConsumer<T, StringBuilder> formatter, Consumer<Consumer<T>> source) throws IOException {
+		LOGGER.info("Exporting {} to {}...", name, file);
+		long start = System.nanoTime();
+		long rows;
+		try(ExportWriter<T> writer = new ExportWriter<>(file, gzip || RecordFormat.isGzip(file), 
+				format == RecordFormat.CSV ? csvHeader : null, formatter)) {
+			source.accept(writer);
+			rows = writer.getRows();
+		}
+		long elapsedNanos = Math.max(1, System.nanoTime()-start);
+		LOGGER.info("Exported {} rows of {} in {} ms at {} rows/s, {} bytes written", 
+				rows, name, elapsedNanos/1_000_000, rows*1_000_000_000L/elapsedNanos, Files.size(file));
+	}
+	
+	private static List<MemoryPoolMXBean> heapPools() {
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+				.collect(Collectors.toList());
+	}
+
+}
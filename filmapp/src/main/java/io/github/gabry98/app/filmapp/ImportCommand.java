@@ -0,0 +1,125 @@
+package io.github.gabry98.app.filmapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mongodb.MongoClient;
+
+import io.github.gabry98.app.filmapp.bulk.BulkImporter;
+import io.github.gabry98.app.filmapp.bulk.ImportException;
+import io.github.gabry98.app.filmapp.bulk.RecordFormat;
+import io.github.gabry98.app.filmapp.bulk.RecordParsers;
+import io.github.gabry98.app.filmapp.jacoco.Generated;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.ReportMongoRepository;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+@Command(name = "import", mixinStandardHelpOptions = true, 
+	description = "Import Actors, Films and Reports from CSV or NDJSON files")
+@Generated
+public class ImportCommand implements Callable<Integer> {
+	
+	@ParentCommand
+	private StreamingApp app;
+	
+	@Option(names = { "--actors" }, description = "Actors file (.csv or .ndjson, optionally .gz)")
+	private Path actorsFile;
+	
+	@Option(names = { "--films" }, description = "Films file (.csv or .ndjson, optionally .gz)")
+	private Path filmsFile;
+	
+	@Option(names = { "--reports" }, description = "Reports file (.csv or .ndjson, optionally .gz)")
+	private Path reportsFile;
+	
+	@Option(names = { "--batch-size" }, description = "Rows written per bulk insert")
+	private int batchSize = 1000;
+	
+	@Option(names = { "--parser-threads" }, description = "Number of parser threads")
+	private int parserThreads = Runtime.getRuntime().availableProcessors();
+	
+	@Option(names = { "--resume-from" }, description = "Rows of the first given file to skip, as logged by a failed import")
+	private long resumeFrom;
+	
+	@Option(names = { "--progress-interval" }, description = "Seconds between two progress lines")
+	private long progressInterval = 5;
+	
+	private static final Logger LOGGER = LogManager.getLogger(ImportCommand.class);
+	
+	@Override
+	public Integer call() throws Exception {
+		try(MongoClient client = app.createClient()) {
+			long offset = resumeFrom;
+			if(actorsFile != null) {
+				ActorMongoRepository repository 
+					= new ActorMongoRepository(client, app.getDatabaseName(), app.getActorsCollection());
+				importFile("actors", actorsFile, RecordParsers.actors(RecordFormat.fromPath(actorsFile)), 
+						repository::addActors, offset);
+				offset = 0;
+			}
+			if(filmsFile != null) {
+				FilmMongoRepository repository 
+					= new FilmMongoRepository(client, app.getDatabaseName(), app.getFilmsCollection());
+				importFile("films", filmsFile, RecordParsers.films(RecordFormat.fromPath(filmsFile)), 
+						repository::addFilms, offset);
+				offset = 0;
+			}
+			if(reportsFile != null) {
+				ReportMongoRepository repository 
+					= new ReportMongoRepository(client, app.getDatabaseName(), app.getReportsCollection(), 
+							app.getActorsCollection(), app.getFilmsCollection());
+				importFile("reports", reportsFile, RecordParsers.reports(RecordFormat.fromPath(reportsFile)), 
+						repository::addReports, offset);
+			}
+		} catch(ImportException e) {
+			return 1;
+		}
+		return 0;
+	}
+	
+	private <T> void importFile(String name, Path file, Function<String, T> parser, 
+			Function<List<T>, List<InsertStatus>> writer, long offset) throws IOException, InterruptedException {
+		BulkImporter<T> importer = new BulkImporter<>(name, parser, writer, batchSize, parserThreads);
+		importer.setProgressIntervalMillis(progressInterval*1000);
+		try(BufferedReader reader = openReader(file)) {
+			if(RecordFormat.fromPath(file) == RecordFormat.CSV) {
+				skipHeader(reader);
+			}
+			importer.run(reader, offset);
+		} catch(ImportException e) {
+			LOGGER.error("Skip the files before {} when resuming.", file);
+			throw e;
+		}
+	}
+	
+	private static BufferedReader openReader(Path file) throws IOException {
+		if(!RecordFormat.isGzip(file)) {
+			return Files.newBufferedReader(file);
+		}
+		return new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(file), 1 << 16), StandardCharsets.UTF_8));
+	}
+	
+	private static void skipHeader(BufferedReader reader) throws IOException {
+		reader.mark(8192);
+		String first = reader.readLine();
+		if(first == null || first.isEmpty() || Character.isDigit(first.charAt(0))) {
+			reader.reset();
+		}
+	}
+
+}
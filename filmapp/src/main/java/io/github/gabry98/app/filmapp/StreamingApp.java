@@ -1,19 +1,40 @@
 package io.github.gabry98.app.filmapp;
 
 import java.awt.EventQueue;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.Callable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
 import com.mongodb.ServerAddress;
+import com.mongodb.event.CommandListener;
 
 import io.github.gabry98.app.filmapp.controller.StreamingController;
+import io.github.gabry98.app.filmapp.graph.CoStarIndex;
 import io.github.gabry98.app.filmapp.jacoco.Generated;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingActorRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingFilmRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingReportRepository;
 import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
 import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.MongoConnectionOptions;
+import io.github.gabry98.app.filmapp.repository.mongo.MongoIndexManager;
+import io.github.gabry98.app.filmapp.repository.mongo.ReferenceMongoValidator;
+import io.github.gabry98.app.filmapp.repository.mongo.RoundTripCounter;
 import io.github.gabry98.app.filmapp.repository.mongo.ReportMongoRepository;
+import io.github.gabry98.app.filmapp.repository.search.IndexedActorRepository;
+import io.github.gabry98.app.filmapp.repository.search.IndexedFilmRepository;
 import io.github.gabry98.app.filmapp.view.gui.ActorGUIView;
 import io.github.gabry98.app.filmapp.view.gui.FilmGUIView;
 import io.github.gabry98.app.filmapp.view.gui.ReportGUIView;
@@ -21,7 +42,7 @@ import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
-@Command(mixinStandardHelpOptions = true)
+@Command(mixinStandardHelpOptions = true, subcommands = { ImportCommand.class, ExportCommand.class })
 @Generated
 public class StreamingApp implements Callable<Void> {
 	
@@ -43,27 +64,114 @@ public class StreamingApp implements Callable<Void> {
 	@Option(names = { "--db-report-collection" }, description = "Reports Collection name")
 	private String reportsCollection = "reportCollection";
 	
+	@Option(names = { "--db-batch-size" }, description = "Number of documents fetched per cursor batch")
+	private int batchSize = 1000;
+	
+	@Option(names = { "--skip-index-build" }, description = "Do not build the secondary indexes at startup")
+	private boolean skipIndexBuild;
+	
+	@Option(names = { "--verify-indexes" }, description = "Log the secondary indexes missing from the database")
+	private boolean verifyIndexes;
+	
+	@Option(names = { "--cache-size" }, description = "Entries cached per repository lookup, 0 disables the cache")
+	private int cacheSize = 10000;
+	
+	@Option(names = { "--skip-co-star-index" }, description = "Do not build the in-memory co-star index at startup")
+	private boolean skipCoStarIndex;
+	
+	@Option(names = { "--skip-name-index" }, description = "Do not load the in-memory name prefix index at startup")
+	private boolean skipNameIndex;
+	
+	@Option(names = { "--mongo-options-file" }, description = "Properties file with the MongoDB client options")
+	private Path mongoOptionsFile;
+	
+	@Option(names = { "--mongo-pool-size" }, description = "Maximum number of connections in the pool")
+	private Integer poolSize;
+	
+	@Option(names = { "--mongo-min-pool-size" }, description = "Minimum number of connections in the pool")
+	private Integer minPoolSize;
+	
+	@Option(names = { "--mongo-max-wait-time" }, description = "Milliseconds a thread waits for a pooled connection")
+	private Integer maxWaitTime;
+	
+	@Option(names = { "--mongo-connect-timeout" }, description = "Connect timeout in milliseconds")
+	private Integer connectTimeout;
+	
+	@Option(names = { "--mongo-socket-timeout" }, description = "Socket read timeout in milliseconds, 0 means none")
+	private Integer socketTimeout;
+	
+	@Option(names = { "--mongo-server-selection-timeout" }, description = "Server selection timeout in milliseconds")
+	private Integer serverSelectionTimeout;
+	
+	@Option(names = { "--mongo-read-preference" }, description = "Read preference, e.g. primary or secondaryPreferred")
+	private String readPreference;
+	
+	@Option(names = { "--mongo-compressors" }, description = "Comma separated wire compressors, e.g. zlib")
+	private String compressors;
+	
 	private static final Logger LOGGER = LogManager.getLogger(StreamingApp.class);
+	private static final int INDEX_LOAD_ATTEMPTS = 3;
 
 	public static void main(String[] args) {
-		new CommandLine(new StreamingApp()).execute(args);
+		int exitCode = new CommandLine(new StreamingApp()).execute(args);
+		if(exitCode != 0) {
+			System.exit(exitCode);
+		}
 	}
 
 	@Override
 	public Void call() throws Exception {
 		EventQueue.invokeLater(() -> {
 			try {
-				MongoClient client = new MongoClient(new ServerAddress(mongoHost, mongoPort));
+				RoundTripCounter roundTripCounter = new RoundTripCounter();
+				MongoClient client = createClient(roundTripCounter);
 				
 				ActorMongoRepository actorRepository 
 					= new ActorMongoRepository(client, databaseName, actorsCollection);
 				FilmMongoRepository filmRepository 
 					= new FilmMongoRepository(client, databaseName, filmsCollection);
 				ReportMongoRepository reportRepository 
-					= new ReportMongoRepository(client,databaseName,reportsCollection);
+					= new ReportMongoRepository(client,databaseName,reportsCollection,actorsCollection,filmsCollection);
+				actorRepository.setBatchSize(batchSize);
+				filmRepository.setBatchSize(batchSize);
+				reportRepository.setBatchSize(batchSize);
+				
+				MongoIndexManager indexManager = new MongoIndexManager(client, databaseName, 
+						actorsCollection, filmsCollection, reportsCollection);
+				indexManager.setBatchSize(batchSize);
+				Thread indexThread = new Thread(() -> manageIndexes(indexManager), "index-manager");
+				indexThread.setDaemon(true);
+				indexThread.start();
+				
+				ActorRepository actors = actorRepository;
+				FilmRepository films = filmRepository;
+				ReportRepository reports = reportRepository;
+				if(cacheSize > 0) {
+					actors = new CachingActorRepository(actorRepository, cacheSize);
+					films = new CachingFilmRepository(filmRepository, cacheSize);
+					reports = new CachingReportRepository(reportRepository, cacheSize);
+				}
+				IndexedActorRepository indexedActors = new IndexedActorRepository(actors);
+				IndexedFilmRepository indexedFilms = new IndexedFilmRepository(films);
+				if(!skipNameIndex) {
+					Thread nameIndexThread = new Thread(() -> loadNameIndexes(indexedActors, indexedFilms), "name-index");
+					nameIndexThread.setDaemon(true);
+					nameIndexThread.start();
+				}
 				
 				StreamingController streamingController 
-					= new StreamingController(actorRepository,filmRepository,reportRepository);
+					= new StreamingController(indexedActors,indexedFilms,reports);
+				streamingController.setReferenceValidator(new ReferenceMongoValidator(client, databaseName, 
+						actorsCollection, filmsCollection));
+				streamingController.setRoundTripCounter(roundTripCounter);
+				streamingController.setChunkSize(batchSize);
+				if(!skipCoStarIndex) {
+					CoStarIndex coStarIndex = new CoStarIndex();
+					streamingController.setCoStarIndex(coStarIndex);
+					Thread coStarIndexThread = new Thread(() -> loadCoStarIndex(coStarIndex, reportRepository), "co-star-index");
+					coStarIndexThread.setDaemon(true);
+					coStarIndexThread.start();
+				}
 				
 				ActorGUIView actorView = new ActorGUIView();
 				FilmGUIView filmView = new FilmGUIView();
@@ -81,5 +189,104 @@ public class StreamingApp implements Callable<Void> {
 		});
 		return null;
 	}
+	
+	MongoClient createClient(CommandListener... listeners) throws IOException {
+		MongoClientOptions.Builder builder = MongoClientOptions.builder(
+				MongoConnectionOptions.fromProperties(connectionProperties()));
+		for(CommandListener listener : listeners) {
+			builder.addCommandListener(listener);
+		}
+		MongoClientOptions options = builder.build();
+		LOGGER.info("Connecting to MongoDB at {}:{} with options: {}", mongoHost, mongoPort, 
+				MongoConnectionOptions.describe(options));
+		return new MongoClient(new ServerAddress(mongoHost, mongoPort), options);
+	}
+	
+	String getDatabaseName() {
+		return databaseName;
+	}
+	
+	String getActorsCollection() {
+		return actorsCollection;
+	}
+	
+	String getFilmsCollection() {
+		return filmsCollection;
+	}
+	
+	String getReportsCollection() {
+		return reportsCollection;
+	}
+	
+	int getBatchSize() {
+		return batchSize;
+	}
+	
+	private Properties connectionProperties() throws IOException {
+		Properties properties = new Properties();
+		if(mongoOptionsFile != null) {
+			try(Reader reader = Files.newBufferedReader(mongoOptionsFile)) {
+				properties.load(reader);
+			}
+		}
+		// the command line options take precedence over the file
+		setIfPresent(properties, MongoConnectionOptions.POOL_SIZE, poolSize);
+		setIfPresent(properties, MongoConnectionOptions.POOL_MIN_SIZE, minPoolSize);
+		setIfPresent(properties, MongoConnectionOptions.POOL_MAX_WAIT, maxWaitTime);
+		setIfPresent(properties, MongoConnectionOptions.CONNECT_TIMEOUT, connectTimeout);
+		setIfPresent(properties, MongoConnectionOptions.SOCKET_TIMEOUT, socketTimeout);
+		setIfPresent(properties, MongoConnectionOptions.SERVER_SELECTION_TIMEOUT, serverSelectionTimeout);
+		setIfPresent(properties, MongoConnectionOptions.READ_PREFERENCE, readPreference);
+		setIfPresent(properties, MongoConnectionOptions.COMPRESSORS, compressors);
+		return properties;
+	}
+	
+	private static void setIfPresent(Properties properties, String key, Object value) {
+		if(value != null) {
+			properties.setProperty(key, value.toString());
+		}
+	}
+	
+	private void loadNameIndexes(IndexedActorRepository actors, IndexedFilmRepository films) {
+		try {
+			// a load racing with a write is discarded, the searches fall back to the database meanwhile
+			for(int attempt = 0; attempt < INDEX_LOAD_ATTEMPTS && !actors.buildNameIndex(); attempt++) {
+				LOGGER.info("Retrying the load of the Actor name index...");
+			}
+			for(int attempt = 0; attempt < INDEX_LOAD_ATTEMPTS && !films.buildNameIndex(); attempt++) {
+				LOGGER.info("Retrying the load of the Film name index...");
+			}
+		} catch(Exception e) {
+			LOGGER.error("An Exception has been thrown while loading the name indexes: {}", e.getMessage());
+		}
+	}
+	
+	private void loadCoStarIndex(CoStarIndex coStarIndex, ReportRepository reportRepository) {
+		try {
+			// the reports written meanwhile are applied to the empty index, a load racing with them is retried
+			for(int attempt = 0; attempt < INDEX_LOAD_ATTEMPTS && !coStarIndex.load(reportRepository); attempt++) {
+				LOGGER.info("Retrying the load of the co-star index...");
+			}
+			if(!coStarIndex.isLoaded()) {
+				LOGGER.error("The co-star index couldn't be loaded, the co-star searches will be refused.");
+			}
+		} catch(Exception e) {
+			LOGGER.error("An Exception has been thrown while loading the co-star index: {}", e.getMessage());
+		}
+	}
+	
+	private void manageIndexes(MongoIndexManager indexManager) {
+		try {
+			if(!skipIndexBuild) {
+				indexManager.buildIndexes();
+			}
+			if(verifyIndexes) {
+				List<String> missingIndexes = indexManager.findMissingIndexes();
+				LOGGER.info("Index verification completed, {} missing indexes.", missingIndexes.size());
+			}
+		} catch(Exception e) {
+			LOGGER.error("An Exception has been thrown while managing the indexes: {}", e.getMessage());
+		}
+	}
 
 }
@@ -0,0 +1,173 @@
+package io.github.gabry98.app.filmapp.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+
+/**
+ * Catalog statistics for dashboards. The films per year are loaded with one $group aggregation
+ * the first time they are needed and then kept up to date by the controller, which reports
+ * every add and delete it performs. The rankings are grouped, sorted and limited on the server,
+ * so only the top documents are transferred: being partial, they can't be updated in place
+ * and are dropped by any report change, then loaded again on the next request. Every result
+ * is also reloaded once older than the maximum age, which bounds the drift caused by writes
+ * from other processes. The loads run outside the lock, so a slow aggregation never blocks
+ * the controller, and a load racing with a change is returned but not kept.
+ */
+public class CatalogAnalytics {
+	
+	private static final Logger LOGGER = LogManager.getLogger(CatalogAnalytics.class);
+	private static final String LIMIT_ERROR = "ERROR: the number of results should be positive!";
+	private static final String MAX_AGE_ERROR = "ERROR: the maximum age should be positive!";
+	
+	private final Counters filmsPerYear;
+	private final Ranking busiestActors;
+	private final Ranking largestCasts;
+	private long maxAgeNanos = 10*60*1_000_000_000L;
+	
+	public CatalogAnalytics(FilmRepository filmRepository, ReportRepository reportRepository) {
+		this.filmsPerYear = new Counters(filmRepository::countFilmsByDate);
+		this.busiestActors = new Ranking(reportRepository::countTopReportsByActorId);
+		this.largestCasts = new Ranking(reportRepository::countTopReportsByFilmId);
+	}
+	
+	public synchronized void setMaxAgeMillis(long maxAgeMillis) {
+		if(maxAgeMillis <= 0) {
+			throw new IllegalArgumentException(MAX_AGE_ERROR);
+		}
+		this.maxAgeNanos = maxAgeMillis*1_000_000;
+	}
+	
+	public SortedMap<Integer, Integer> filmsPerYear() {
+		LOGGER.info("Sending the number of Films per year...");
+		return new TreeMap<>(filmsPerYear.get());
+	}
+	
+	public List<RankedCount> busiestActors(int limit) {
+		LOGGER.info("Sending the {} Actors with the most Reports...", limit);
+		return busiestActors.get(limit);
+	}
+	
+	public List<RankedCount> largestCasts(int limit) {
+		LOGGER.info("Sending the {} Films with the largest cast...", limit);
+		return largestCasts.get(limit);
+	}
+	
+	public synchronized void filmAdded(int date) {
+		filmsPerYear.add(date, 1);
+	}
+	
+	public synchronized void filmsRemoved(List<Film> films) {
+		films.forEach(f -> filmsPerYear.add(f.getDate(), -1));
+	}
+	
+	public synchronized void filmsChanged() {
+		filmsPerYear.invalidate();
+	}
+	
+	public synchronized void reportsChanged() {
+		busiestActors.invalidate();
+		largestCasts.invalidate();
+	}
+	
+	private boolean expired(long loadedAt) {
+		return System.nanoTime()-loadedAt > maxAgeNanos;
+	}
+	
+	private final class Counters {
+		private final Supplier<Map<Integer, Integer>> loader;
+		private Map<Integer, Integer> counts;
+		private long loadedAt;
+		private long generation;
+		
+		private Counters(Supplier<Map<Integer, Integer>> loader) {
+			this.loader = loader;
+		}
+		
+		private Map<Integer, Integer> get() {
+			long loadGeneration;
+			synchronized(CatalogAnalytics.this) {
+				if(counts != null && !expired(loadedAt)) {
+					return new HashMap<>(counts);
+				}
+				loadGeneration = generation;
+			}
+			long start = System.nanoTime();
+			Map<Integer, Integer> loaded = new HashMap<>(loader.get());
+			synchronized(CatalogAnalytics.this) {
+				if(loadGeneration == generation) {
+					counts = new HashMap<>(loaded);
+					loadedAt = start;
+				}
+			}
+			return loaded;
+		}
+		
+		private void add(int key, int change) {
+			generation++;
+			if(counts != null) {
+				counts.merge(key, change, (a, b) -> a+b == 0 ? null : a+b);
+			}
+		}
+		
+		private void invalidate() {
+			generation++;
+			counts = null;
+		}
+	}
+	
+	private final class Ranking {
+		private final IntFunction<List<RankedCount>> loader;
+		private List<RankedCount> top;
+		private int loadedLimit;
+		private long loadedAt;
+		private long generation;
+		
+		private Ranking(IntFunction<List<RankedCount>> loader) {
+			this.loader = loader;
+		}
+		
+		private List<RankedCount> get(int limit) {
+			if(limit <= 0) {
+				throw new IllegalArgumentException(LIMIT_ERROR);
+			}
+			long loadGeneration;
+			synchronized(CatalogAnalytics.this) {
+				// a longer ranking holds the shorter ones, and so does one that ran out of rows
+				if(top != null && !expired(loadedAt) && (limit <= loadedLimit || top.size() < loadedLimit)) {
+					return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+				}
+				loadGeneration = generation;
+			}
+			long start = System.nanoTime();
+			List<RankedCount> loaded = new ArrayList<>(loader.apply(limit));
+			synchronized(CatalogAnalytics.this) {
+				if(loadGeneration == generation) {
+					top = new ArrayList<>(loaded);
+					loadedLimit = limit;
+					loadedAt = start;
+				}
+			}
+			return loaded;
+		}
+		
+		private void invalidate() {
+			generation++;
+			top = null;
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+/**
+ * Streams the lines of an import file through a parse, validate and write pipeline.
+ * A reader thread cuts the input into chunks of batch size lines and hands each chunk to
+ * a pool of parser threads; the pending chunks wait in a bounded queue, so a slow database
+ * blocks the reader instead of filling the heap. The calling thread takes the parsed chunks
+ * in file order and writes each of them with one bulk insert, which keeps the committed
+ * offset contiguous: after a failure the import can restart from the last logged offset.
+ */
+public class BulkImporter<T> {
+
+	private static final Logger LOGGER = LogManager.getLogger(BulkImporter.class);
+	private static final String BATCH_SIZE_ERROR = "ERROR: the batch size should be positive!";
+	private static final String THREADS_ERROR = "ERROR: the number of parser threads should be positive!";
+
+	private final String name;
+	private final Function<String, T> parser;
+	private final Function<List<T>, List<InsertStatus>> writer;
+	private final int batchSize;
+	private final int parserThreads;
+	private long progressIntervalMillis = 5000;
+
+	public BulkImporter(String name, Function<String, T> parser, Function<List<T>, List<InsertStatus>> writer,
+			int batchSize, int parserThreads) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException(BATCH_SIZE_ERROR);
+		}
+		if(parserThreads <= 0) {
+			throw new IllegalArgumentException(THREADS_ERROR);
+		}
+		this.name = name;
+		this.parser = parser;
+		this.writer = writer;
+		this.batchSize = batchSize;
+		this.parserThreads = parserThreads;
+	}
+
+	public void setProgressIntervalMillis(long progressIntervalMillis) {
+		this.progressIntervalMillis = progressIntervalMillis;
+	}
+
+	public ImportResult run(BufferedReader reader, long resumeFrom) throws InterruptedException {
+		LOGGER.info("Importing {} starting from offset {}...", name, resumeFrom);
+		ExecutorService parsers = Executors.newFixedThreadPool(parserThreads);
+		BlockingQueue<Future<Chunk<T>>> pending = new ArrayBlockingQueue<>(parserThreads*2);
+		Thread producer = new Thread(() -> readChunks(reader, resumeFrom, parsers, pending), name+"-reader");
+		producer.setDaemon(true);
+		producer.start();
+		ImportResult result = new ImportResult(resumeFrom);
+		long start = System.nanoTime();
+		long lastProgress = start;
+		try {
+			while(true) {
+				Chunk<T> chunk = pending.take().get();
+				if(chunk.isEnd()) {
+					break;
+				}
+				if(!chunk.records.isEmpty()) {
+					result.add(writer.apply(chunk.records));
+				}
+				result.commit(chunk.invalid, chunk.endOffset);
+				long now = System.nanoTime();
+				if(now-lastProgress >= progressIntervalMillis*1_000_000) {
+					logProgress(result, now-start);
+					lastProgress = now;
+				}
+			}
+		} catch(ExecutionException | RuntimeException e) {
+			Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+			LOGGER.error("Import of {} failed, resume it with --resume-from {}: {}",
+					name, result.getOffset(), cause.getMessage());
+			throw new ImportException(cause.getMessage(), result.getOffset(), cause);
+		} finally {
+			producer.interrupt();
+			parsers.shutdownNow();
+		}
+		logProgress(result, System.nanoTime()-start);
+		LOGGER.info("Successfully imported {}: {}", name, result);
+		return result;
+	}
+
+	private void readChunks(BufferedReader reader, long resumeFrom, ExecutorService parsers,
+			BlockingQueue<Future<Chunk<T>>> pending) {
+		try {
+			long offset = 0;
+			List<String> lines = new ArrayList<>(batchSize);
+			String line;
+			while((line = reader.readLine()) != null) {
+				offset++;
+				if(offset <= resumeFrom) {
+					continue;
+				}
+				lines.add(line);
+				if(lines.size() == batchSize) {
+					submit(lines, offset, parsers, pending);
+					lines = new ArrayList<>(batchSize);
+				}
+			}
+			if(!lines.isEmpty()) {
+				submit(lines, offset, parsers, pending);
+			}
+			pending.put(CompletableFuture.completedFuture(Chunk.end()));
+		} catch(IOException e) {
+			putFailure(pending, new UncheckedIOException(e));
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void submit(List<String> lines, long endOffset, ExecutorService parsers,
+			BlockingQueue<Future<Chunk<T>>> pending) throws InterruptedException {
+		long firstOffset = endOffset-lines.size()+1;
+		pending.put(parsers.submit(() -> parse(lines, firstOffset, endOffset)));
+	}
+
+	private Chunk<T> parse(List<String> lines, long firstOffset, long endOffset) {
+		List<T> records = new ArrayList<>(lines.size());
+		int invalid = 0;
+		for(int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			if(line.trim().isEmpty()) {
+				continue;
+			}
+			try {
+				records.add(parser.apply(line));
+			} catch(IllegalArgumentException e) {
+				LOGGER.warn("Skipping line {} of {}: {}", firstOffset+i, name, e.getMessage());
+				invalid++;
+			}
+		}
+		return new Chunk<>(records, invalid, endOffset);
+	}
+
+	private void putFailure(BlockingQueue<Future<Chunk<T>>> pending, RuntimeException e) {
+		try {
+			pending.put(CompletableFuture.failedFuture(e));
+		} catch(InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void logProgress(ImportResult result, long elapsedNanos) {
+		long rows = result.getOffset()-result.getResumedFrom();
+		long rowsPerSecond = elapsedNanos > 0 ? rows*1_000_000_000L/elapsedNanos : rows;
+		LOGGER.info("Imported {} rows of {} at {} rows/s, committed offset {}",
+				rows, name, rowsPerSecond, result.getOffset());
+	}
+
+	private static final class Chunk<T> {
+		private final List<T> records;
+		private final int invalid;
+		private final long endOffset;
+
+		private Chunk(List<T> records, int invalid, long endOffset) {
+			this.records = records;
+			this.invalid = invalid;
+			this.endOffset = endOffset;
+		}
+
+		private static <T> Chunk<T> end() {
+			return new Chunk<>(null, 0, -1);
+		}
+
+		private boolean isEnd() {
+			return records == null;
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the records it is fed one line at a time through a buffered file channel,
+ * optionally gzipped, so an export never holds more than one record in memory.
+ */
+public class ExportWriter<T> implements Consumer<T>, AutoCloseable {
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private final Writer writer;
+	private final BiConsumer<T, StringBuilder> formatter;
+	private final StringBuilder line = new StringBuilder(128);
+	private long rows;
+	
+	public ExportWriter(Path path, boolean gzip, String header, BiConsumer<T, StringBuilder> formatter) throws IOException {
+		OutputStream out = Channels.newOutputStream(FileChannel.open(path, 
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+		if(gzip) {
+			out = new GZIPOutputStream(out, BUFFER_SIZE);
+		}
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		this.formatter = formatter;
+		if(header != null) {
+			writer.write(header);
+			writer.write('\n');
+		}
+	}
+	
+	@Override
+	public void accept(T record) {
+		line.setLength(0);
+		formatter.accept(record, line);
+		line.append('\n');
+		try {
+			writer.append(line);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		rows++;
+	}
+	
+	public long getRows() {
+		return rows;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+}
@@ -0,0 +1,18 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+public class ImportException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final long offset;
+	
+	public ImportException(String message, long offset, Throwable cause) {
+		super(message, cause);
+		this.offset = offset;
+	}
+	
+	public long getOffset() {
+		return offset;
+	}
+
+}
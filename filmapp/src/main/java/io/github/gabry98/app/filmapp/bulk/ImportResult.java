@@ -0,0 +1,66 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.util.List;
+
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+public class ImportResult {
+	
+	private final long resumedFrom;
+	private long offset;
+	private long inserted;
+	private long duplicates;
+	private long invalid;
+	
+	ImportResult(long resumedFrom) {
+		this.resumedFrom = resumedFrom;
+		this.offset = resumedFrom;
+	}
+	
+	void add(List<InsertStatus> statuses) {
+		for(InsertStatus status : statuses) {
+			switch(status) {
+				case INSERTED:
+					inserted++;
+					break;
+				case INVALID_DATA:
+					invalid++;
+					break;
+				default:
+					duplicates++;
+			}
+		}
+	}
+	
+	void commit(int invalidLines, long endOffset) {
+		invalid += invalidLines;
+		offset = endOffset;
+	}
+	
+	public long getResumedFrom() {
+		return resumedFrom;
+	}
+	
+	public long getOffset() {
+		return offset;
+	}
+	
+	public long getInserted() {
+		return inserted;
+	}
+	
+	public long getDuplicates() {
+		return duplicates;
+	}
+	
+	public long getInvalid() {
+		return invalid;
+	}
+	
+	@Override
+	public String toString() {
+		return "ImportResult [inserted="+inserted+", duplicates="+duplicates+", invalid="+invalid
+				+", offset="+offset+"]";
+	}
+
+}
@@ -0,0 +1,27 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.nio.file.Path;
+
+public enum RecordFormat {
+	CSV, NDJSON;
+	
+	private static final String GZIP_EXTENSION = ".gz";
+	
+	public static RecordFormat fromPath(Path path) {
+		String fileName = path.getFileName().toString().toLowerCase();
+		if(fileName.endsWith(GZIP_EXTENSION)) {
+			fileName = fileName.substring(0, fileName.length()-GZIP_EXTENSION.length());
+		}
+		if(fileName.endsWith(".csv")) {
+			return CSV;
+		}
+		if(fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+			return NDJSON;
+		}
+		throw new IllegalArgumentException("ERROR: unsupported file format for "+path+"!");
+	}
+	
+	public static boolean isGzip(Path path) {
+		return path.getFileName().toString().toLowerCase().endsWith(GZIP_EXTENSION);
+	}
+}
@@ -0,0 +1,142 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.util.function.BiConsumer;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+
+/**
+ * Line formatters for the export files, writing the same layouts read by {@link RecordParsers}.
+ * Each formatter appends one line, without the line separator, to a reused StringBuilder.
+ */
+public final class RecordFormatters {
+	
+	public static final String ACTORS_CSV_HEADER = "id,name";
+	public static final String FILMS_CSV_HEADER = "id,name,date";
+	public static final String REPORTS_CSV_HEADER = "id,actorId,filmId";
+	public static final String REPORT_DETAILS_CSV_HEADER = "id,actorId,actorName,filmId,filmName,filmDate";
+	
+	private RecordFormatters() {
+	}
+	
+	public static BiConsumer<Actor, StringBuilder> actors(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return (a, line) -> {
+				line.append(a.getId()).append(',');
+				csvString(a.getName(), line);
+			};
+		}
+		return (a, line) -> {
+			line.append("{\"id\": ").append(a.getId()).append(", \"name\": ");
+			jsonString(a.getName(), line);
+			line.append('}');
+		};
+	}
+	
+	public static BiConsumer<Film, StringBuilder> films(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return (f, line) -> {
+				line.append(f.getId()).append(',');
+				csvString(f.getName(), line);
+				line.append(',').append(f.getDate());
+			};
+		}
+		return (f, line) -> {
+			line.append("{\"id\": ").append(f.getId()).append(", \"name\": ");
+			jsonString(f.getName(), line);
+			line.append(", \"date\": ").append(f.getDate()).append('}');
+		};
+	}
+	
+	public static BiConsumer<Report, StringBuilder> reports(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return (r, line) -> line.append(r.getId()).append(',').append(r.getActorId())
+					.append(',').append(r.getFilmId());
+		}
+		return (r, line) -> line.append("{\"id\": ").append(r.getId())
+				.append(", \"actorId\": ").append(r.getActorId())
+				.append(", \"filmId\": ").append(r.getFilmId()).append('}');
+	}
+	
+	public static BiConsumer<ReportDetail, StringBuilder> reportDetails(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return (r, line) -> {
+				line.append(r.getId()).append(',').append(r.getActorId()).append(',');
+				csvString(nullToEmpty(r.getActorName()), line);
+				line.append(',').append(r.getFilmId()).append(',');
+				csvString(nullToEmpty(r.getFilmName()), line);
+				line.append(',').append(r.getFilmDate());
+			};
+		}
+		return (r, line) -> {
+			line.append("{\"id\": ").append(r.getId()).append(", \"actorId\": ").append(r.getActorId())
+				.append(", \"actorName\": ");
+			jsonNullableString(r.getActorName(), line);
+			line.append(", \"filmId\": ").append(r.getFilmId()).append(", \"filmName\": ");
+			jsonNullableString(r.getFilmName(), line);
+			line.append(", \"filmDate\": ").append(r.getFilmDate()).append('}');
+		};
+	}
+	
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+	
+	private static void jsonNullableString(String value, StringBuilder line) {
+		if(value == null) {
+			line.append("null");
+		} else {
+			jsonString(value, line);
+		}
+	}
+	
+	static void csvString(String value, StringBuilder line) {
+		if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			line.append(value);
+			return;
+		}
+		line.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == '"') {
+				line.append('"');
+			}
+			line.append(c);
+		}
+		line.append('"');
+	}
+	
+	static void jsonString(String value, StringBuilder line) {
+		line.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch(c) {
+				case '"':
+					line.append("\\\"");
+					break;
+				case '\\':
+					line.append("\\\\");
+					break;
+				case '\n':
+					line.append("\\n");
+					break;
+				case '\r':
+					line.append("\\r");
+					break;
+				case '\t':
+					line.append("\\t");
+					break;
+				default:
+					if(c < 0x20) {
+						line.append(String.format("\\u%04x", (int) c));
+					} else {
+						line.append(c);
+					}
+			}
+		}
+		line.append('"');
+	}
+
+}
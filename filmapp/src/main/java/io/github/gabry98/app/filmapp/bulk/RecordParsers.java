@@ -0,0 +1,131 @@
+package io.github.gabry98.app.filmapp.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.Document;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.Report;
+
+/**
+ * Line parsers for the import files. A CSV line holds the fields in the order of the model
+ * constructors (double quotes protect names containing commas), an NDJSON line holds one
+ * object with the model field names. A malformed line raises an IllegalArgumentException.
+ */
+public final class RecordParsers {
+	
+	private static final String ID_KEY = "id";
+	private static final String NAME_KEY = "name";
+	private static final String DATE_KEY = "date";
+	private static final String ACTOR_ID_KEY = "actorId";
+	private static final String FILM_ID_KEY = "filmId";
+	
+	private RecordParsers() {
+	}
+	
+	public static Function<String, Actor> actors(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return line -> {
+				List<String> fields = csvFields(line, 2);
+				return new Actor(integer(fields.get(0), ID_KEY), name(fields.get(1)));
+			};
+		}
+		return line -> {
+			Document d = json(line);
+			return new Actor(integer(d, ID_KEY), name(d.get(NAME_KEY)));
+		};
+	}
+	
+	public static Function<String, Film> films(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return line -> {
+				List<String> fields = csvFields(line, 3);
+				return new Film(integer(fields.get(0), ID_KEY), name(fields.get(1)), integer(fields.get(2), DATE_KEY));
+			};
+		}
+		return line -> {
+			Document d = json(line);
+			return new Film(integer(d, ID_KEY), name(d.get(NAME_KEY)), integer(d, DATE_KEY));
+		};
+	}
+	
+	public static Function<String, Report> reports(RecordFormat format) {
+		if(format == RecordFormat.CSV) {
+			return line -> {
+				List<String> fields = csvFields(line, 3);
+				return new Report(integer(fields.get(0), ID_KEY), integer(fields.get(1), ACTOR_ID_KEY), 
+						integer(fields.get(2), FILM_ID_KEY));
+			};
+		}
+		return line -> {
+			Document d = json(line);
+			return new Report(integer(d, ID_KEY), integer(d, ACTOR_ID_KEY), integer(d, FILM_ID_KEY));
+		};
+	}
+	
+	static List<String> csvFields(String line, int expected) {
+		List<String> fields = new ArrayList<>(expected);
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for(int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if(quoted) {
+				if(c == '"' && i+1 < line.length() && line.charAt(i+1) == '"') {
+					field.append('"');
+					i++;
+				} else if(c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if(c == '"') {
+				quoted = true;
+			} else if(c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		if(quoted || fields.size() != expected) {
+			throw new IllegalArgumentException("ERROR: expected "+expected+" fields!");
+		}
+		return fields;
+	}
+	
+	private static Document json(String line) {
+		try {
+			return Document.parse(line);
+		} catch(RuntimeException e) {
+			throw new IllegalArgumentException("ERROR: malformed JSON object!");
+		}
+	}
+	
+	private static int integer(String field, String key) {
+		try {
+			return Integer.parseInt(field.trim());
+		} catch(NumberFormatException e) {
+			throw new IllegalArgumentException("ERROR: "+key+" should be an integer!");
+		}
+	}
+	
+	private static int integer(Document d, String key) {
+		Object value = d.get(key);
+		if(!(value instanceof Integer)) {
+			throw new IllegalArgumentException("ERROR: "+key+" should be an integer!");
+		}
+		return (Integer) value;
+	}
+	
+	private static String name(Object value) {
+		if(!(value instanceof String) || ((String) value).trim().isEmpty()) {
+			throw new IllegalArgumentException("ERROR: name should not be empty!");
+		}
+		return (String) value;
+	}
+
+}
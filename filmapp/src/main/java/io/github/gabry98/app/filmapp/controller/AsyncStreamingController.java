@@ -0,0 +1,250 @@
+package io.github.gabry98.app.filmapp.controller;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.github.gabry98.app.filmapp.view.ActorView;
+import io.github.gabry98.app.filmapp.view.FilmView;
+import io.github.gabry98.app.filmapp.view.ReportView;
+
+/**
+ * Non blocking counterpart of {@link StreamingController}: every request runs the matching
+ * {@link StreamingController} call on the given executor and returns at once, so the reference
+ * checks, the analytics and the co-star index stay exactly in step with the synchronous
+ * requests. The view callbacks fire from the executor thread as the call produces them, and
+ * the future completes once the call has returned, exceptionally if it failed.
+ * Cancelling a future interrupts its call, which makes a streaming search stop at the next
+ * row, or drops it if it has not started yet. The future completes only once the executor
+ * has left the call, so its completion means that no more callbacks will fire.
+ * Requests given to different executors overlap, while the ones sharing a serial executor
+ * run in the order they were submitted. The build targets Java 17, a virtual-thread executor
+ * can be passed in unchanged once the target release moves to 21.
+ */
+public class AsyncStreamingController {
+
+	private final StreamingController controller;
+	private final Executor executor;
+
+	public AsyncStreamingController(StreamingController controller, Executor executor) {
+		this.controller = controller;
+		this.executor = executor;
+	}
+
+	public CompletableFuture<Void> addActor(ActorView actorView, int id, String name) {
+		return submit(() -> controller.addActor(actorView, id, name));
+	}
+
+	public CompletableFuture<Void> deleteActor(ActorView actorView, int id) {
+		return submit(() -> controller.deleteActor(actorView, id));
+	}
+
+	public CompletableFuture<Void> deleteActor(ActorView actorView, String name) {
+		return submit(() -> controller.deleteActor(actorView, name));
+	}
+
+	public CompletableFuture<Void> updateActor(ActorView actorView, int oldId, int newId) {
+		return submit(() -> controller.updateActor(actorView, oldId, newId));
+	}
+
+	public CompletableFuture<Void> updateActor(ActorView actorView, int id, String name) {
+		return submit(() -> controller.updateActor(actorView, id, name));
+	}
+
+	public CompletableFuture<Void> searchAllActors(ActorView actorView) {
+		return submit(() -> controller.searchAllActors(actorView));
+	}
+
+	public CompletableFuture<Void> searchActorsPage(ActorView actorView, int afterId, int limit) {
+		return submit(() -> controller.searchActorsPage(actorView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> loadActorsPage(ActorView actorView, int afterId, int limit) {
+		return submit(() -> controller.loadActorsPage(actorView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> searchActorById(ActorView actorView, int id) {
+		return submit(() -> controller.searchActorById(actorView, id));
+	}
+
+	public CompletableFuture<Void> searchActorsByName(ActorView actorView, String name) {
+		return submit(() -> controller.searchActorsByName(actorView, name));
+	}
+
+	public CompletableFuture<Void> searchActorsByNamePrefix(ActorView actorView, String prefix, int limit) {
+		return submit(() -> controller.searchActorsByNamePrefix(actorView, prefix, limit));
+	}
+
+	public CompletableFuture<Void> searchActorsByText(ActorView actorView, String query, int limit) {
+		return submit(() -> controller.searchActorsByText(actorView, query, limit));
+	}
+
+	public CompletableFuture<Void> addFilm(FilmView filmView, int id, String name, int date) {
+		return submit(() -> controller.addFilm(filmView, id, name, date));
+	}
+
+	public CompletableFuture<Void> deleteFilmById(FilmView filmView, int id) {
+		return submit(() -> controller.deleteFilmById(filmView, id));
+	}
+
+	public CompletableFuture<Void> deleteFilmsByName(FilmView filmView, String name) {
+		return submit(() -> controller.deleteFilmsByName(filmView, name));
+	}
+
+	public CompletableFuture<Void> deleteFilmsByDate(FilmView filmView, int date) {
+		return submit(() -> controller.deleteFilmsByDate(filmView, date));
+	}
+
+	public CompletableFuture<Void> updateFilmById(FilmView filmView, int oldId, int newId) {
+		return submit(() -> controller.updateFilmById(filmView, oldId, newId));
+	}
+
+	public CompletableFuture<Void> updateFilmByName(FilmView filmView, int id, String name) {
+		return submit(() -> controller.updateFilmByName(filmView, id, name));
+	}
+
+	public CompletableFuture<Void> updateFilmDate(FilmView filmView, int id, int date) {
+		return submit(() -> controller.updateFilmDate(filmView, id, date));
+	}
+
+	public CompletableFuture<Void> searchAllFilms(FilmView filmView) {
+		return submit(() -> controller.searchAllFilms(filmView));
+	}
+
+	public CompletableFuture<Void> searchFilmsPage(FilmView filmView, int afterId, int limit) {
+		return submit(() -> controller.searchFilmsPage(filmView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> loadFilmsPage(FilmView filmView, int afterId, int limit) {
+		return submit(() -> controller.loadFilmsPage(filmView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> searchFilmById(FilmView filmView, int id) {
+		return submit(() -> controller.searchFilmById(filmView, id));
+	}
+
+	public CompletableFuture<Void> searchFilmsByName(FilmView filmView, String name) {
+		return submit(() -> controller.searchFilmsByName(filmView, name));
+	}
+
+	public CompletableFuture<Void> searchFilmsByNamePrefix(FilmView filmView, String prefix, int limit) {
+		return submit(() -> controller.searchFilmsByNamePrefix(filmView, prefix, limit));
+	}
+
+	public CompletableFuture<Void> searchFilmsByText(FilmView filmView, String query, int limit) {
+		return submit(() -> controller.searchFilmsByText(filmView, query, limit));
+	}
+
+	public CompletableFuture<Void> searchFilmsByDate(FilmView filmView, int date) {
+		return submit(() -> controller.searchFilmsByDate(filmView, date));
+	}
+
+	public CompletableFuture<Void> searchFilmography(FilmView filmView, int actorId) {
+		return submit(() -> controller.searchFilmography(filmView, actorId));
+	}
+
+	public CompletableFuture<Void> searchCast(ActorView actorView, int filmId) {
+		return submit(() -> controller.searchCast(actorView, filmId));
+	}
+
+	public CompletableFuture<Void> searchTopCoStars(ActorView actorView, int actorId, int limit) {
+		return submit(() -> controller.searchTopCoStars(actorView, actorId, limit));
+	}
+
+	public CompletableFuture<Void> searchCollaborations(ActorView actorView, int actorId, int otherActorId) {
+		return submit(() -> controller.searchCollaborations(actorView, actorId, otherActorId));
+	}
+
+	public CompletableFuture<Void> addReport(ReportView reportView, int id, int actorId, int filmId) {
+		return submit(() -> controller.addReport(reportView, id, actorId, filmId));
+	}
+
+	public CompletableFuture<Void> deleteReportById(ReportView reportView, int id) {
+		return submit(() -> controller.deleteReportById(reportView, id));
+	}
+
+	public CompletableFuture<Void> deleteReportByActorId(ReportView reportView, int actorId) {
+		return submit(() -> controller.deleteReportByActorId(reportView, actorId));
+	}
+
+	public CompletableFuture<Void> deleteReportByFilmId(ReportView reportView, int filmId) {
+		return submit(() -> controller.deleteReportByFilmId(reportView, filmId));
+	}
+
+	public CompletableFuture<Void> updateReportId(ReportView reportView, int oldId, int newId) {
+		return submit(() -> controller.updateReportId(reportView, oldId, newId));
+	}
+
+	public CompletableFuture<Void> searchAllReports(ReportView reportView) {
+		return submit(() -> controller.searchAllReports(reportView));
+	}
+
+	public CompletableFuture<Void> searchReportsPage(ReportView reportView, int afterId, int limit) {
+		return submit(() -> controller.searchReportsPage(reportView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> loadReportsPage(ReportView reportView, int afterId, int limit) {
+		return submit(() -> controller.loadReportsPage(reportView, afterId, limit));
+	}
+
+	public CompletableFuture<Void> searchReportById(ReportView reportView, int id) {
+		return submit(() -> controller.searchReportById(reportView, id));
+	}
+
+	public CompletableFuture<Void> searchReportsByActorId(ReportView reportView, int actorId) {
+		return submit(() -> controller.searchReportsByActorId(reportView, actorId));
+	}
+
+	public CompletableFuture<Void> searchReportsByFilmId(ReportView reportView, int filmId) {
+		return submit(() -> controller.searchReportsByFilmId(reportView, filmId));
+	}
+
+	private CompletableFuture<Void> submit(Runnable call) {
+		Request request = new Request(call);
+		try {
+			executor.execute(request);
+		} catch(RejectedExecutionException e) {
+			request.completeExceptionally(e);
+		}
+		return request;
+	}
+
+	private static final class Request extends CompletableFuture<Void> implements Runnable {
+
+		private final FutureTask<Void> task;
+
+		private Request(Runnable call) {
+			this.task = new FutureTask<>(call, null);
+		}
+
+		@Override
+		public void run() {
+			task.run();
+			try {
+				task.get();
+				complete(null);
+			} catch(CancellationException e) {
+				super.cancel(false);
+			} catch(ExecutionException e) {
+				completeExceptionally(e.getCause());
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				super.cancel(false);
+			}
+		}
+
+		/**
+		 * Interrupts the call, or keeps it from starting: the future itself is completed
+		 * by {@link #run()} once the executor has left the call.
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return task.cancel(mayInterruptIfRunning);
+		}
+
+	}
+
+}
@@ -0,0 +1,23 @@
+package io.github.gabry98.app.filmapp.controller;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * A request is cancelled by interrupting the thread running it. The check clears the
+ * interrupt before failing, so the repository can still borrow a connection to close its
+ * cursor while the exception unwinds.
+ */
+final class Cancellation {
+
+	static final String CANCELLED = "ERROR: the request has been cancelled!";
+
+	private Cancellation() {
+	}
+
+	static void check() {
+		if(Thread.interrupted()) {
+			throw new CancellationException(CANCELLED);
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+package io.github.gabry98.app.filmapp.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers the rows streamed from a repository cursor and hands them to the view in
+ * chunks, so a listing of n rows costs the view n/chunkSize updates instead of n.
+ * Every chunk is a new list: the view may keep it after the call returns, typically
+ * until an event dispatch task has copied it into a list model. An interrupt stops the
+ * stream at the next row, see {@link Cancellation}.
+ */
+final class ChunkedConsumer<T> implements Consumer<T> {
+
+	static final String CHUNK_SIZE_ERROR = "ERROR: the chunk size should be positive!";
+
+	private final int chunkSize;
+	private final Consumer<List<T>> sink;
+	private final boolean cancellable;
+	private List<T> chunk;
+
+	ChunkedConsumer(int chunkSize, Consumer<List<T>> sink) {
+		this(chunkSize, sink, true);
+	}
+
+	/**
+	 * A consumer which is not cancellable passes every row on even if the request has been
+	 * interrupted: the rows streamed by a delete are already gone from the repository, so
+	 * dropping them would leave the view and the indexes out of date.
+	 */
+	ChunkedConsumer(int chunkSize, Consumer<List<T>> sink, boolean cancellable) {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException(CHUNK_SIZE_ERROR);
+		}
+		this.chunkSize = chunkSize;
+		this.sink = sink;
+		this.cancellable = cancellable;
+		this.chunk = new ArrayList<>(chunkSize);
+	}
+
+	@Override
+	public void accept(T t) {
+		if(cancellable) {
+			Cancellation.check();
+		}
+		chunk.add(t);
+		if(chunk.size() == chunkSize) {
+			flush();
+		}
+	}
+
+	void flush() {
+		if(chunk.isEmpty()) {
+			return;
+		}
+		List<T> full = chunk;
+		chunk = new ArrayList<>(chunkSize);
+		sink.accept(full);
+	}
+
+}
@@ -1,13 +1,19 @@
 package io.github.gabry98.app.filmapp.controller;
 
 import java.util.List;
+import java.util.function.LongSupplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import io.github.gabry98.app.filmapp.analytics.CatalogAnalytics;
+import io.github.gabry98.app.filmapp.graph.CoStar;
+import io.github.gabry98.app.filmapp.graph.CoStarIndex;
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.model.Film;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 import io.github.gabry98.app.filmapp.repository.ActorRepository;
 import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReferenceValidator;
 import io.github.gabry98.app.filmapp.repository.ReportRepository;
 import io.github.gabry98.app.filmapp.view.ActorView;
 import io.github.gabry98.app.filmapp.view.FilmView;
@@ -18,17 +24,52 @@ public class StreamingController {
 	private ActorRepository actorRepository;
 	private FilmRepository filmRepository;
 	private ReportRepository reportRepository;
+	private ReferenceValidator referenceValidator = this::checkReferences;
+	private LongSupplier roundTripCounter = () -> 0;
+	private CoStarIndex coStarIndex = new CoStarIndex();
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private CatalogAnalytics catalogAnalytics;
 	
+	private static final int DEFAULT_CHUNK_SIZE = 1000;
 	private static final Logger LOGGER = LogManager.getLogger(StreamingController.class);
 	private static final String FILM_UPDATED = "Film updated successfully, sending the response to the Film View...";
 	private static final String FILMS_FOUND = "Films found successfully, sending the response to the Film View...";
+	private static final String FILMS_SENT = "Films found successfully, all of them have been sent to the Film View.";
+	private static final String FILMS_DELETED = "Films deleted successfully, all of them have been sent to the Film View.";
+	private static final String REPORTS_DELETED = "Reports deleted successfully, all of them have been sent to the Report View.";
 	private static final String REPORT_DELETED = "Report deleted successfully, sending the response to the Report View...";
 	private static final String REPORTS_FOUND = "Reports found successfully, sending the response to the Report View...";
+	private static final String CO_STAR_INDEX_ERROR = "ERROR: the co-star index is not loaded yet, try again later!";
+	private static final String REPORTS_SENT = "Reports found successfully, all of them have been sent to the Report View.";
 	
 	public StreamingController(ActorRepository actorRepository, FilmRepository filmRepository, ReportRepository reportRepository) {
 		this.actorRepository = actorRepository;
 		this.filmRepository = filmRepository;
 		this.reportRepository = reportRepository;
+		this.catalogAnalytics = new CatalogAnalytics(filmRepository, reportRepository);
+	}
+	
+	public void setReferenceValidator(ReferenceValidator referenceValidator) {
+		this.referenceValidator = referenceValidator;
+	}
+	
+	public void setRoundTripCounter(LongSupplier roundTripCounter) {
+		this.roundTripCounter = roundTripCounter;
+	}
+	
+	public void setCoStarIndex(CoStarIndex coStarIndex) {
+		this.coStarIndex = coStarIndex;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException(ChunkedConsumer.CHUNK_SIZE_ERROR);
+		}
+		this.chunkSize = chunkSize;
+	}
+	
+	public CatalogAnalytics getCatalogAnalytics() {
+		return catalogAnalytics;
 	}
 
 	public void addActor(ActorView actorView, int id, String name) {
@@ -38,40 +79,57 @@ public class StreamingController {
 		actorView.actorAdded(id, name);
 	}
 
-	public void deleteActor(ActorView actorView, int id, int position) {
+	public void deleteActor(ActorView actorView, int id) {
 		LOGGER.info("Received a request to delete an Actor with ID {}...", id);
 		actorRepository.deleteActorById(id);
 		LOGGER.info("Actor deleted successfully, sending the response to the Actor View...");
-		actorView.actorDeletedById(position);
+		actorView.actorDeletedById(id);
 	}
 
 	public void deleteActor(ActorView actorView, String name) {
 		LOGGER.info("Received a request to delete the Actors with Name {}...", name);
-		List<Actor> deletedActors = actorRepository.findByName(name);
-		actorRepository.deleteActorsByName(name);
-		LOGGER.info("Actors deleted successfully, sending the response to the Actor View...");
-		actorView.actorsDeletedByName(deletedActors);
+		ChunkedConsumer<Actor> chunks = new ChunkedConsumer<>(chunkSize, actorView::actorsDeletedByName, false);
+		actorRepository.findAndDeleteActorsByName(name, chunks);
+		chunks.flush();
+		LOGGER.info("Actors deleted successfully, all of them have been sent to the Actor View.");
 	}
 
-	public void updateActor(ActorView actorView, int oldId, int newId, int position) {
+	public void updateActor(ActorView actorView, int oldId, int newId) {
 		LOGGER.info("Received a request to update an Actor with ID {} with the new ID {}...", oldId, newId);
 		actorRepository.updateActorId(oldId, newId);
 		LOGGER.info("Actor updated successfully, sending the response to the Actor View...");
-		actorView.actorUpdated(oldId,newId,position);
+		actorView.actorUpdated(oldId,newId);
 	}
 
-	public void updateActor(ActorView actorView, int id, String name, int position) {
+	public void updateActor(ActorView actorView, int id, String name) {
 		LOGGER.info("Received a request to update an Actor with ID {} with the new Name {}...", id, name);
 		actorRepository.updateActorName(id, name);
 		LOGGER.info("Actor updated successfully, sending the response to the Actor View...");
-		actorView.actorUpdated(id,name,position);
+		actorView.actorUpdated(id,name);
 	}
 	
 	public void searchAllActors(ActorView actorView) {
 		LOGGER.info("Received a request to search the list of all Actors...");
-		List<Actor> actors = actorRepository.findAll();
+		ChunkedConsumer<Actor> chunks = new ChunkedConsumer<>(chunkSize, actorView::actorsFound);
+		actorRepository.forEachActor(chunks);
+		chunks.flush();
+		LOGGER.info("Actors found successfully, all of them have been sent to the Actor View.");
+	}
+
+	public void searchActorsPage(ActorView actorView, int afterId, int limit) {
+		LOGGER.info("Received a request to search a page of {} Actors after ID {}...", limit, afterId);
+		List<Actor> actors = actorRepository.findPage(afterId, limit);
+		Cancellation.check();
 		LOGGER.info("Actors found successfully, sending the response to the Actor View...");
-		actors.forEach(a -> actorView.actorFound(a.getId(), a.getName()));
+		actorView.actorsFound(actors);
+	}
+
+	public void loadActorsPage(ActorView actorView, int afterId, int limit) {
+		LOGGER.info("Received a request to load a page of {} Actors after ID {}...", limit, afterId);
+		List<Actor> actors = actorRepository.findPage(afterId, limit);
+		Cancellation.check();
+		LOGGER.info("Actors loaded successfully, sending the page to the Actor View...");
+		actorView.actorsPageLoaded(afterId, actors);
 	}
 
 	public void searchActorById(ActorView actorView, int id) {
@@ -83,67 +141,110 @@ public class StreamingController {
 
 	public void searchActorsByName(ActorView actorView, String name) {
 		LOGGER.info("Received a request to search a list of Actors with Name {}...", name);
-		List<Actor> actors = actorRepository.findByName(name);
+		ChunkedConsumer<Actor> chunks = new ChunkedConsumer<>(chunkSize, actorView::actorsFound);
+		actorRepository.forEachActorByName(name, chunks);
+		chunks.flush();
+		LOGGER.info("Actors found successfully, all of them have been sent to the Actor View.");
+	}
+
+	public void searchActorsByNamePrefix(ActorView actorView, String prefix, int limit) {
+		LOGGER.info("Received a request to search at most {} Actors whose Name starts with {}...", limit, prefix);
+		List<Actor> actors = actorRepository.findByNamePrefix(prefix, limit);
+		Cancellation.check();
+		LOGGER.info("Actors found successfully, sending the response to the Actor View...");
+		actorView.actorsFound(actors);
+	}
+
+	public void searchActorsByText(ActorView actorView, String query, int limit) {
+		LOGGER.info("Received a request to search at most {} Actors matching the text {}...", limit, query);
+		List<Actor> actors = actorRepository.searchText(query, limit);
+		Cancellation.check();
 		LOGGER.info("Actors found successfully, sending the response to the Actor View...");
-		actors.forEach(a -> actorView.actorFound(a.getId(), a.getName()));
+		actorView.actorsFound(actors);
 	}
 
 	public void addFilm(FilmView filmView, int id, String name, int date) {
 		LOGGER.info("Received a request to add a Film with ID {}, Name {} and Date {}...", id, name, date);
 		filmRepository.addFilm(id, name, date);
+		catalogAnalytics.filmAdded(date);
 		LOGGER.info("Film added successfully, sending the response to the Film View...");
 		filmView.filmAdded(id, name, date);
 	}
 
-	public void deleteFilmById(FilmView filmView, int id, int position) {
+	public void deleteFilmById(FilmView filmView, int id) {
 		LOGGER.info("Received a request to delete a Film with ID {}...", id);
 		filmRepository.deleteFilmById(id);
+		catalogAnalytics.filmsChanged();
 		LOGGER.info("Film deleted successfully, sending the response to the Film View...");
-		filmView.filmDeletedById(id,position);
+		filmView.filmDeletedById(id);
 	}
 
 	public void deleteFilmsByName(FilmView filmView, String name) {
 		LOGGER.info("Received a request to delete a list of Films with Name {}...", name);
-		List<Film> films = filmRepository.findByName(name);
-		filmRepository.deleteFilmsByName(name);
-		LOGGER.info("Films deleted successfully, sending the response to the Film View...");
-		filmView.filmsDeletedByName(films);
+		ChunkedConsumer<Film> chunks = new ChunkedConsumer<>(chunkSize, films -> {
+			catalogAnalytics.filmsRemoved(films);
+			filmView.filmsDeletedByName(films);
+		}, false);
+		filmRepository.findAndDeleteFilmsByName(name, chunks);
+		chunks.flush();
+		LOGGER.info(FILMS_DELETED);
 	}
 	
 	public void deleteFilmsByDate(FilmView filmView, int date) {
 		LOGGER.info("Received a request to delete a list of Films with Date {}...", date);
-		List<Film> films = filmRepository.findByDate(date);
-		filmRepository.deleteFilmsByDate(date);
-		LOGGER.info("Films deleted successfully, sending the response to the Film View...");
-		filmView.filmsDeletedByDate(films);
+		ChunkedConsumer<Film> chunks = new ChunkedConsumer<>(chunkSize, films -> {
+			catalogAnalytics.filmsRemoved(films);
+			filmView.filmsDeletedByDate(films);
+		}, false);
+		filmRepository.findAndDeleteFilmsByDate(date, chunks);
+		chunks.flush();
+		LOGGER.info(FILMS_DELETED);
 	}
 	
-	public void updateFilmById(FilmView filmView, int oldId, int newId, int position) {
+	public void updateFilmById(FilmView filmView, int oldId, int newId) {
 		LOGGER.info("Received a request to update a Film with ID {} with the new ID {}...", oldId, newId);
 		filmRepository.updateFilmId(oldId, newId);
 		LOGGER.info(FILM_UPDATED);
-		filmView.filmUpdatedById(oldId,newId,position);
+		filmView.filmUpdatedById(oldId,newId);
 	}
 
-	public void updateFilmByName(FilmView filmView, int id, String name, int position) {
+	public void updateFilmByName(FilmView filmView, int id, String name) {
 		LOGGER.info("Received a request to update a Film with ID {} with the new Name {}...", id, name);
 		filmRepository.updateFilmName(id, name);
 		LOGGER.info(FILM_UPDATED);
-		filmView.filmUpdatedByName(id, name, position);
+		filmView.filmUpdatedByName(id, name);
 	}
 
-	public void updateFilmDate(FilmView filmView, int id, int date, int position) {
+	public void updateFilmDate(FilmView filmView, int id, int date) {
 		LOGGER.info("Received a request to update a Film with ID {} with the new Date {}...", id, date);
 		filmRepository.updateFilmDate(id, date);
+		catalogAnalytics.filmsChanged();
 		LOGGER.info(FILM_UPDATED);
-		filmView.filmUpdatedByDate(id, date, position);
+		filmView.filmUpdatedByDate(id, date);
 	}
 	
 	public void searchAllFilms(FilmView filmView) {
 		LOGGER.info("Received a request to search the list of all Films...");
-		List<Film> films = filmRepository.findAll();
+		ChunkedConsumer<Film> chunks = new ChunkedConsumer<>(chunkSize, filmView::filmsFound);
+		filmRepository.forEachFilm(chunks);
+		chunks.flush();
+		LOGGER.info(FILMS_SENT);
+	}
+
+	public void searchFilmsPage(FilmView filmView, int afterId, int limit) {
+		LOGGER.info("Received a request to search a page of {} Films after ID {}...", limit, afterId);
+		List<Film> films = filmRepository.findPage(afterId, limit);
+		Cancellation.check();
 		LOGGER.info(FILMS_FOUND);
-		films.forEach(f -> filmView.filmFound(f.getId(), f.getName(), f.getDate()));
+		filmView.filmsFound(films);
+	}
+
+	public void loadFilmsPage(FilmView filmView, int afterId, int limit) {
+		LOGGER.info("Received a request to load a page of {} Films after ID {}...", limit, afterId);
+		List<Film> films = filmRepository.findPage(afterId, limit);
+		Cancellation.check();
+		LOGGER.info("Films loaded successfully, sending the page to the Film View...");
+		filmView.filmsPageLoaded(afterId, films);
 	}
 
 	public void searchFilmById(FilmView filmView, int id) {
@@ -155,21 +256,89 @@ public class StreamingController {
 
 	public void searchFilmsByName(FilmView filmView, String name) {
 		LOGGER.info("Received a request to search a list of Films with Name {}...", name);
-		List<Film> films = filmRepository.findByName(name);
+		ChunkedConsumer<Film> chunks = new ChunkedConsumer<>(chunkSize, filmView::filmsFound);
+		filmRepository.forEachFilmByName(name, chunks);
+		chunks.flush();
+		LOGGER.info(FILMS_SENT);
+	}
+
+	public void searchFilmsByNamePrefix(FilmView filmView, String prefix, int limit) {
+		LOGGER.info("Received a request to search at most {} Films whose Name starts with {}...", limit, prefix);
+		List<Film> films = filmRepository.findByNamePrefix(prefix, limit);
+		Cancellation.check();
 		LOGGER.info(FILMS_FOUND);
-		films.forEach(f -> filmView.filmFound(f.getId(), f.getName(), f.getDate()));
+		filmView.filmsFound(films);
+	}
+
+	public void searchFilmsByText(FilmView filmView, String query, int limit) {
+		LOGGER.info("Received a request to search at most {} Films matching the text {}...", limit, query);
+		List<Film> films = filmRepository.searchText(query, limit);
+		Cancellation.check();
+		LOGGER.info(FILMS_FOUND);
+		filmView.filmsFound(films);
 	}
 
 	public void searchFilmsByDate(FilmView filmView, int date) {
 		LOGGER.info("Received a request to search a list of Films with Date {}...", date);
-		List<Film> films = filmRepository.findByDate(date);
+		ChunkedConsumer<Film> chunks = new ChunkedConsumer<>(chunkSize, filmView::filmsFound);
+		filmRepository.forEachFilmByDate(date, chunks);
+		chunks.flush();
+		LOGGER.info(FILMS_SENT);
+	}
+
+	public void searchFilmography(FilmView filmView, int actorId) {
+		LOGGER.info("Received a request to search the Films of the Actor with ID {}...", actorId);
+		List<Film> films = reportRepository.findFilmography(actorId);
+		Cancellation.check();
 		LOGGER.info(FILMS_FOUND);
-		films.forEach(f -> filmView.filmFound(f.getId(), f.getName(), f.getDate()));
+		filmView.filmsFound(films);
+	}
+
+	public void searchCast(ActorView actorView, int filmId) {
+		LOGGER.info("Received a request to search the Actors of the Film with ID {}...", filmId);
+		List<Actor> actors = reportRepository.findCast(filmId);
+		Cancellation.check();
+		LOGGER.info("Actors found successfully, sending the response to the Actor View...");
+		actorView.actorsFound(actors);
+	}
+
+	public void searchTopCoStars(ActorView actorView, int actorId, int limit) {
+		LOGGER.info("Received a request to search the top {} co-stars of the Actor with ID {}...", limit, actorId);
+		checkCoStarIndexLoaded();
+		List<CoStar> coStars = coStarIndex.topCoStars(actorId, limit);
+		LOGGER.info("Co-stars found successfully, sending the response to the Actor View...");
+		coStars.forEach(c -> actorView.coStarFound(actorId, c.getActorId(), c.getSharedFilms()));
+	}
+
+	public void searchCollaborations(ActorView actorView, int actorId, int otherActorId) {
+		LOGGER.info("Received a request to count the Films shared by the Actors with ID {} and {}...", actorId, otherActorId);
+		checkCoStarIndexLoaded();
+		int sharedFilms = coStarIndex.collaborations(actorId, otherActorId);
+		LOGGER.info("Collaborations counted successfully, sending the response to the Actor View...");
+		actorView.coStarFound(actorId, otherActorId, sharedFilms);
+	}
+
+	private void checkCoStarIndexLoaded() {
+		// an index still cold holds only the latest changes, its answers would be silently partial
+		if(!coStarIndex.isLoaded()) {
+			throw new IllegalArgumentException(CO_STAR_INDEX_ERROR);
+		}
 	}
 
 	public void addReport(ReportView reportView, int id, int actorId, int filmId) {
 		LOGGER.info("Received a request to add a Report with ID {}, ActorId {} and FilmId {}...", id, actorId, filmId);
-		
+		long start = System.nanoTime();
+		long roundTrips = roundTripCounter.getAsLong();
+		referenceValidator.checkReportReferences(actorId, filmId);
+		reportRepository.addReport(id, actorId, filmId);
+		coStarIndex.addReport(id, actorId, filmId);
+		catalogAnalytics.reportsChanged();
+		LOGGER.info("Report added successfully in {} us with {} round trips, sending the response to the Report View...", 
+				(System.nanoTime()-start)/1000, roundTripCounter.getAsLong()-roundTrips);
+		reportView.reportAdded(id, actorId, filmId);
+	}
+	
+	private void checkReferences(int actorId, int filmId) {
 		if(actorRepository.findById(actorId) == null) {
 			throw new IllegalArgumentException("ERROR: No existing Actor with id "+actorId+".");
 		}
@@ -177,47 +346,74 @@ public class StreamingController {
 		if(filmRepository.findById(filmId) == null) {
 			throw new IllegalArgumentException("ERROR: No existing Film with id "+filmId+".");
 		}
-		
-		reportRepository.addReport(id, actorId, filmId);
-		LOGGER.info("Report added successfully, sending the response to the Report View...");
-		reportView.reportAdded(id, actorId, filmId);
 	}
 
-	public void deleteReportById(ReportView reportView, int id, int position) {
+	public void deleteReportById(ReportView reportView, int id) {
 		LOGGER.info("Received a request to delete a Report with ID {}...", id);
 		reportRepository.deleteReportById(id);
+		coStarIndex.removeReport(id);
+		catalogAnalytics.reportsChanged();
 		LOGGER.info(REPORT_DELETED);
-		reportView.reportDeletedById(id,position);
+		reportView.reportDeletedById(id);
 	}
 
 	public void deleteReportByActorId(ReportView reportView, int actorId) {
 		LOGGER.info("Received a request to delete a Report with ActorId {}...", actorId);
-		List<Report> reports = reportRepository.findByActorId(actorId);
-		reportRepository.deleteReportByActorId(actorId);
-		LOGGER.info(REPORT_DELETED);
-		reportView.reportsDeletedByActorId(reports);
+		ChunkedConsumer<Report> chunks = new ChunkedConsumer<>(chunkSize, reports -> {
+			reportsRemoved(reports);
+			reportView.reportsDeletedByActorId(reports);
+		}, false);
+		reportRepository.findAndDeleteReportsByActorId(actorId, chunks);
+		chunks.flush();
+		LOGGER.info(REPORTS_DELETED);
 	}
 
 	public void deleteReportByFilmId(ReportView reportView, int filmId) {
 		LOGGER.info("Received a request to delete a Report with FilmId {}...", filmId);
-		List<Report> reports = reportRepository.findByFilmId(filmId);
-		reportRepository.deleteReportByFilmId(filmId);
-		LOGGER.info(REPORT_DELETED);
-		reportView.reportsDeletedByFilmId(reports);
+		ChunkedConsumer<Report> chunks = new ChunkedConsumer<>(chunkSize, reports -> {
+			reportsRemoved(reports);
+			reportView.reportsDeletedByFilmId(reports);
+		}, false);
+		reportRepository.findAndDeleteReportsByFilmId(filmId, chunks);
+		chunks.flush();
+		LOGGER.info(REPORTS_DELETED);
+	}
+
+	private void reportsRemoved(List<Report> reports) {
+		reports.forEach(r -> coStarIndex.removeReport(r.getId()));
+		catalogAnalytics.reportsChanged();
 	}
 
-	public void updateReportId(ReportView reportView, int oldId, int newId, int position) {
+	public void updateReportId(ReportView reportView, int oldId, int newId) {
 		LOGGER.info("Received a request to update a Report with ID {} with the new ID {}...", oldId, newId);
 		reportRepository.updateReportId(oldId, newId);
+		coStarIndex.renameReport(oldId, newId);
 		LOGGER.info("Report updated successfully, sending the response to the Report View...");
-		reportView.reportUpdatedById(oldId,newId,position);
+		reportView.reportUpdatedById(oldId,newId);
 	}
 
 	public void searchAllReports(ReportView reportView) {
 		LOGGER.info("Received a request to search the list of all Reports...");
-		List<Report> reports = reportRepository.findAll();
+		ChunkedConsumer<ReportDetail> chunks = new ChunkedConsumer<>(chunkSize, reportView::reportDetailsFound);
+		reportRepository.forEachReportDetail(chunks);
+		chunks.flush();
+		LOGGER.info(REPORTS_SENT);
+	}
+
+	public void searchReportsPage(ReportView reportView, int afterId, int limit) {
+		LOGGER.info("Received a request to search a page of {} Reports after ID {}...", limit, afterId);
+		List<ReportDetail> reports = reportRepository.findDetailsPage(afterId, limit);
+		Cancellation.check();
 		LOGGER.info(REPORTS_FOUND);
-		reports.forEach(r -> reportView.reportFound(r.getId(), r.getActorId(), r.getFilmId()));
+		reportView.reportDetailsFound(reports);
+	}
+
+	public void loadReportsPage(ReportView reportView, int afterId, int limit) {
+		LOGGER.info("Received a request to load a page of {} Reports after ID {}...", limit, afterId);
+		List<Report> reports = reportRepository.findPage(afterId, limit);
+		Cancellation.check();
+		LOGGER.info("Reports loaded successfully, sending the page to the Report View...");
+		reportView.reportsPageLoaded(afterId, reports);
 	}
 
 	public void searchReportById(ReportView reportView, int id) {
@@ -229,15 +425,17 @@ public class StreamingController {
 
 	public void searchReportsByActorId(ReportView reportView, int actorId) {
 		LOGGER.info("Received a request to search a Report with ActorId {}...", actorId);
-		List<Report> reports = reportRepository.findByActorId(actorId);
-		LOGGER.info(REPORTS_FOUND);
-		reports.forEach(r -> reportView.reportFound(r.getId(), r.getActorId(), r.getFilmId()));
+		ChunkedConsumer<Report> chunks = new ChunkedConsumer<>(chunkSize, reportView::reportsFound);
+		reportRepository.forEachReportByActorId(actorId, chunks);
+		chunks.flush();
+		LOGGER.info(REPORTS_SENT);
 	}
 
 	public void searchReportsByFilmId(ReportView reportView, int filmId) {
 		LOGGER.info("Received a request to search a Report with FilmId {}...", filmId);
-		List<Report> reports = reportRepository.findByFilmId(filmId);
-		LOGGER.info(REPORTS_FOUND);
-		reports.forEach(r -> reportView.reportFound(r.getId(), r.getActorId(), r.getFilmId()));
+		ChunkedConsumer<Report> chunks = new ChunkedConsumer<>(chunkSize, reportView::reportsFound);
+		reportRepository.forEachReportByFilmId(filmId, chunks);
+		chunks.flush();
+		LOGGER.info(REPORTS_SENT);
 	}
 }
@@ -0,0 +1,26 @@
+package io.github.gabry98.app.filmapp.graph;
+
+public class CoStar {
+	
+	private final int actorId;
+	private final int sharedFilms;
+	
+	public CoStar(int actorId, int sharedFilms) {
+		this.actorId = actorId;
+		this.sharedFilms = sharedFilms;
+	}
+	
+	public int getActorId() {
+		return actorId;
+	}
+	
+	public int getSharedFilms() {
+		return sharedFilms;
+	}
+	
+	@Override
+	public String toString() {
+		return actorId+" ("+sharedFilms+" shared films)";
+	}
+
+}
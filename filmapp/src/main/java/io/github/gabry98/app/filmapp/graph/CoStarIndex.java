@@ -0,0 +1,429 @@
+package io.github.gabry98.app.filmapp.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+
+/**
+ * In-memory co-star graph: two actors are adjacent when they appear in the same film, and the
+ * weight of the edge is the number of films they share. The graph is stored in compressed sparse
+ * row form over int arrays, next to the film casts and the report table it is derived from.
+ * Changes made after the build are kept in small overlay maps and folded into new arrays once
+ * they outgrow a fraction of the base graph.
+ * An index created empty is not loaded until {@link #load(ReportRepository)} succeeds: until
+ * then it holds only the changes made since its creation, so its answers are partial.
+ */
+public class CoStarIndex {
+	
+	private static final Logger LOGGER = LogManager.getLogger(CoStarIndex.class);
+	private static final String LIMIT_ERROR = "ERROR: the number of co-stars should be positive!";
+	private static final int MIN_COMPACTION_THRESHOLD = 1024;
+	private static final int MIN_EDGES = 16;
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE-8;
+	private static final int[] EMPTY = new int[0];
+	private static final Comparator<CoStar> RANKING = Comparator.comparingInt(CoStar::getSharedFilms).reversed()
+			.thenComparingInt(CoStar::getActorId);
+	
+	private int[] reportIds;
+	private int[] reportActors;
+	private int[] reportFilms;
+	private int[] filmIds;
+	private int[] filmOffsets;
+	private int[] filmCast;
+	private int[] actorIds;
+	private int[] actorOffsets;
+	private int[] coStars;
+	private int[] weights;
+	
+	private final Map<Integer, int[]> addedReports = new HashMap<>();
+	private final Set<Integer> removedReports = new HashSet<>();
+	private final Map<Integer, Set<Integer>> addedCast = new HashMap<>();
+	private final Map<Integer, Set<Integer>> removedCast = new HashMap<>();
+	private final Map<Integer, Map<Integer, Integer>> weightChanges = new HashMap<>();
+	private int pendingChanges;
+	private long generation;
+	private boolean loaded;
+	
+	public CoStarIndex() {
+		rebuild(EMPTY, EMPTY, EMPTY, 0);
+	}
+	
+	private CoStarIndex(int[] ids, int[] actors, int[] films, int size) {
+		rebuild(ids, actors, films, size);
+		loaded = true;
+	}
+	
+	public static CoStarIndex build(ReportRepository reportRepository) {
+		LOGGER.info("Building the co-star index from the reports in repository...");
+		long start = System.nanoTime();
+		int[][] columns = { new int[1024], new int[1024], new int[1024] };
+		int[] size = { 0 };
+		reportRepository.forEachReport(r -> {
+			if(size[0] == columns[0].length) {
+				for(int i = 0; i < columns.length; i++) {
+					columns[i] = Arrays.copyOf(columns[i], size[0]*2);
+				}
+			}
+			columns[0][size[0]] = r.getId();
+			columns[1][size[0]] = r.getActorId();
+			columns[2][size[0]] = r.getFilmId();
+			size[0]++;
+		});
+		CoStarIndex index = new CoStarIndex(columns[0], columns[1], columns[2], size[0]);
+		LOGGER.info("Successfully built the co-star index of {} reports and {} edges in {} ms", 
+				size[0], index.coStars.length, (System.nanoTime()-start)/1_000_000);
+		return index;
+	}
+	
+	public boolean load(ReportRepository reportRepository) {
+		long loadGeneration;
+		synchronized(this) {
+			loadGeneration = generation;
+		}
+		CoStarIndex loaded = build(reportRepository);
+		synchronized(this) {
+			if(loadGeneration != generation) {
+				LOGGER.warn("The co-star index has been modified while loading, it keeps only the latest changes.");
+				return false;
+			}
+			reportIds = loaded.reportIds;
+			reportActors = loaded.reportActors;
+			reportFilms = loaded.reportFilms;
+			filmIds = loaded.filmIds;
+			filmOffsets = loaded.filmOffsets;
+			filmCast = loaded.filmCast;
+			actorIds = loaded.actorIds;
+			actorOffsets = loaded.actorOffsets;
+			coStars = loaded.coStars;
+			weights = loaded.weights;
+			clearChanges();
+			this.loaded = true;
+		}
+		return true;
+	}
+	
+	public synchronized boolean isLoaded() {
+		return loaded;
+	}
+	
+	public synchronized int collaborations(int actorId, int otherActorId) {
+		return baseWeight(actorId, otherActorId)+weightChanges.getOrDefault(actorId, Map.of()).getOrDefault(otherActorId, 0);
+	}
+	
+	public synchronized List<CoStar> topCoStars(int actorId, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		Map<Integer, Integer> changes = weightChanges.getOrDefault(actorId, Map.of());
+		PriorityQueue<CoStar> best = new PriorityQueue<>(limit+1, RANKING.reversed());
+		int row = Arrays.binarySearch(actorIds, actorId);
+		if(row >= 0) {
+			for(int i = actorOffsets[row]; i < actorOffsets[row+1]; i++) {
+				offer(best, limit, coStars[i], weights[i]+changes.getOrDefault(coStars[i], 0));
+			}
+		}
+		changes.forEach((coStar, change) -> {
+			if(baseWeight(actorId, coStar) == 0) {
+				offer(best, limit, coStar, change);
+			}
+		});
+		List<CoStar> result = new ArrayList<>(best);
+		result.sort(RANKING);
+		return result;
+	}
+	
+	public synchronized int reportCount() {
+		return reportIds.length-removedReports.size()+addedReports.size();
+	}
+	
+	public synchronized void addReport(int id, int actorId, int filmId) {
+		generation++;
+		for(int coStar : cast(filmId)) {
+			if(coStar != actorId) {
+				changeWeight(actorId, coStar, 1);
+				changeWeight(coStar, actorId, 1);
+			}
+		}
+		if(!removeFrom(removedCast, filmId, actorId)) {
+			addedCast.computeIfAbsent(filmId, f -> new HashSet<>()).add(actorId);
+		}
+		addedReports.put(id, new int[] { actorId, filmId });
+		changed();
+	}
+	
+	public synchronized void removeReport(int id) {
+		generation++;
+		int[] report = report(id);
+		if(report == null) {
+			return;
+		}
+		if(addedReports.remove(id) == null) {
+			removedReports.add(id);
+		}
+		int actorId = report[0];
+		int filmId = report[1];
+		if(!removeFrom(addedCast, filmId, actorId)) {
+			removedCast.computeIfAbsent(filmId, f -> new HashSet<>()).add(actorId);
+		}
+		for(int coStar : cast(filmId)) {
+			changeWeight(actorId, coStar, -1);
+			changeWeight(coStar, actorId, -1);
+		}
+		changed();
+	}
+	
+	public synchronized void renameReport(int oldId, int newId) {
+		generation++;
+		int[] report = report(oldId);
+		if(report == null) {
+			return;
+		}
+		if(addedReports.remove(oldId) == null) {
+			removedReports.add(oldId);
+		}
+		addedReports.put(newId, report);
+		changed();
+	}
+	
+	private void offer(PriorityQueue<CoStar> best, int limit, int coStar, int sharedFilms) {
+		if(sharedFilms <= 0) {
+			return;
+		}
+		CoStar worst = best.peek();
+		// skip the allocation when the candidate would be evicted right away
+		if(best.size() == limit && (sharedFilms < worst.getSharedFilms() 
+				|| sharedFilms == worst.getSharedFilms() && coStar > worst.getActorId())) {
+			return;
+		}
+		best.offer(new CoStar(coStar, sharedFilms));
+		if(best.size() > limit) {
+			best.poll();
+		}
+	}
+	
+	private int baseWeight(int actorId, int otherActorId) {
+		int row = Arrays.binarySearch(actorIds, actorId);
+		if(row < 0) {
+			return 0;
+		}
+		int position = Arrays.binarySearch(coStars, actorOffsets[row], actorOffsets[row+1], otherActorId);
+		return position < 0 ? 0 : weights[position];
+	}
+	
+	private int[] report(int id) {
+		int[] added = addedReports.get(id);
+		if(added != null || removedReports.contains(id)) {
+			return added;
+		}
+		int position = Arrays.binarySearch(reportIds, id);
+		return position < 0 ? null : new int[] { reportActors[position], reportFilms[position] };
+	}
+	
+	private int[] cast(int filmId) {
+		Set<Integer> removed = removedCast.getOrDefault(filmId, Set.of());
+		Set<Integer> added = addedCast.getOrDefault(filmId, Set.of());
+		int row = Arrays.binarySearch(filmIds, filmId);
+		int from = row < 0 ? 0 : filmOffsets[row];
+		int to = row < 0 ? 0 : filmOffsets[row+1];
+		int[] cast = new int[to-from+added.size()];
+		int size = 0;
+		for(int i = from; i < to; i++) {
+			if(!removed.contains(filmCast[i])) {
+				cast[size++] = filmCast[i];
+			}
+		}
+		for(int actorId : added) {
+			cast[size++] = actorId;
+		}
+		return Arrays.copyOf(cast, size);
+	}
+	
+	private void changeWeight(int actorId, int otherActorId, int change) {
+		Map<Integer, Integer> changes = weightChanges.computeIfAbsent(actorId, a -> new HashMap<>());
+		changes.merge(otherActorId, change, (a, b) -> a+b == 0 ? null : a+b);
+		if(changes.isEmpty()) {
+			weightChanges.remove(actorId);
+		}
+	}
+	
+	private static boolean removeFrom(Map<Integer, Set<Integer>> cast, int filmId, int actorId) {
+		Set<Integer> actors = cast.get(filmId);
+		if(actors == null || !actors.remove(actorId)) {
+			return false;
+		}
+		if(actors.isEmpty()) {
+			cast.remove(filmId);
+		}
+		return true;
+	}
+	
+	private void changed() {
+		pendingChanges++;
+		if(pendingChanges <= Math.max(MIN_COMPACTION_THRESHOLD, reportIds.length/8)) {
+			return;
+		}
+		int size = reportCount();
+		int[] ids = new int[size];
+		int[] actors = new int[size];
+		int[] films = new int[size];
+		int next = 0;
+		for(int i = 0; i < reportIds.length; i++) {
+			if(!removedReports.contains(reportIds[i]) && !addedReports.containsKey(reportIds[i])) {
+				ids[next] = reportIds[i];
+				actors[next] = reportActors[i];
+				films[next++] = reportFilms[i];
+			}
+		}
+		for(Map.Entry<Integer, int[]> added : addedReports.entrySet()) {
+			ids[next] = added.getKey();
+			actors[next] = added.getValue()[0];
+			films[next++] = added.getValue()[1];
+		}
+		rebuild(ids, actors, films, next);
+		LOGGER.info("Compacted the co-star index to {} reports and {} edges", next, coStars.length);
+	}
+	
+	private void rebuild(int[] ids, int[] actors, int[] films, int size) {
+		long[] byId = new long[size];
+		for(int i = 0; i < size; i++) {
+			byId[i] = pack(ids[i], i);
+		}
+		Arrays.sort(byId);
+		reportIds = new int[size];
+		reportActors = new int[size];
+		reportFilms = new int[size];
+		for(int k = 0; k < size; k++) {
+			int i = (int) byId[k];
+			reportIds[k] = ids[i];
+			reportActors[k] = actors[i];
+			reportFilms[k] = films[i];
+		}
+		long[] memberships = new long[size];
+		for(int i = 0; i < size; i++) {
+			memberships[i] = pack(films[i], actors[i]);
+		}
+		Arrays.sort(memberships);
+		int filmCount = countKeys(memberships);
+		filmIds = new int[filmCount];
+		filmOffsets = new int[filmCount+1];
+		filmCast = new int[size];
+		int film = -1;
+		for(int i = 0; i < size; i++) {
+			if(i == 0 || high(memberships[i]) != high(memberships[i-1])) {
+				film++;
+				filmIds[film] = high(memberships[i]);
+				filmOffsets[film] = i;
+			}
+			filmCast[i] = low(memberships[i]);
+		}
+		filmOffsets[filmCount] = size;
+		long[] roles = new long[size];
+		for(int i = 0; i < size; i++) {
+			roles[i] = pack(actors[i], films[i]);
+		}
+		Arrays.sort(roles);
+		buildAdjacency(roles);
+		clearChanges();
+	}
+	
+	private void clearChanges() {
+		addedReports.clear();
+		removedReports.clear();
+		addedCast.clear();
+		removedCast.clear();
+		weightChanges.clear();
+		pendingChanges = 0;
+	}
+	
+	private void buildAdjacency(long[] roles) {
+		// one actor at a time: only its co-stars are expanded, never the full list of edges of the graph
+		int actorCount = countKeys(roles);
+		int[] rowIds = new int[actorCount];
+		int[] rowOffsets = new int[actorCount+1];
+		int[] edgeCoStars = new int[Math.max(MIN_EDGES, roles.length)];
+		int[] edgeWeights = new int[edgeCoStars.length];
+		int[] candidates = new int[MIN_EDGES];
+		int rows = 0;
+		int edges = 0;
+		for(int from = 0, to; from < roles.length; from = to) {
+			int actorId = high(roles[from]);
+			int count = 0;
+			for(to = from; to < roles.length && high(roles[to]) == actorId; to++) {
+				int film = Arrays.binarySearch(filmIds, low(roles[to]));
+				candidates = ensureCapacity(candidates, (long) count+filmOffsets[film+1]-filmOffsets[film]);
+				for(int i = filmOffsets[film]; i < filmOffsets[film+1]; i++) {
+					if(filmCast[i] != actorId) {
+						candidates[count++] = filmCast[i];
+					}
+				}
+			}
+			Arrays.sort(candidates, 0, count);
+			rowIds[rows] = actorId;
+			rowOffsets[rows] = edges;
+			for(int i = 0; i < count; i++) {
+				if(i > 0 && candidates[i] == candidates[i-1]) {
+					edgeWeights[edges-1]++;
+					continue;
+				}
+				if(edges == edgeCoStars.length) {
+					edgeCoStars = ensureCapacity(edgeCoStars, edges+1L);
+					edgeWeights = Arrays.copyOf(edgeWeights, edgeCoStars.length);
+				}
+				edgeCoStars[edges] = candidates[i];
+				edgeWeights[edges++] = 1;
+			}
+			if(edges > rowOffsets[rows]) {
+				rows++;
+			}
+		}
+		rowOffsets[rows] = edges;
+		actorIds = Arrays.copyOf(rowIds, rows);
+		actorOffsets = Arrays.copyOf(rowOffsets, rows+1);
+		coStars = Arrays.copyOf(edgeCoStars, edges);
+		weights = Arrays.copyOf(edgeWeights, edges);
+	}
+	
+	private static int[] ensureCapacity(int[] array, long capacity) {
+		if(capacity <= array.length) {
+			return array;
+		}
+		if(capacity > MAX_ARRAY_LENGTH) {
+			throw new IllegalStateException("ERROR: the co-star index can't hold more than "+MAX_ARRAY_LENGTH+" edges!");
+		}
+		return Arrays.copyOf(array, (int) Math.min(MAX_ARRAY_LENGTH, Math.max(capacity, 2L*array.length)));
+	}
+	
+	private static int countKeys(long[] sorted) {
+		int count = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i == 0 || high(sorted[i]) != high(sorted[i-1])) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	private static long pack(int high, int low) {
+		return (long) high << 32 | low & 0xffffffffL;
+	}
+	
+	private static int high(long packed) {
+		return (int) (packed >>> 32);
+	}
+	
+	private static int low(long packed) {
+		return (int) packed;
+	}
+
+}
@@ -0,0 +1,26 @@
+package io.github.gabry98.app.filmapp.model;
+
+public class RankedCount {
+	
+	private final int id;
+	private final int count;
+	
+	public RankedCount(int id, int count) {
+		this.id = id;
+		this.count = count;
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public int getCount() {
+		return count;
+	}
+	
+	@Override
+	public String toString() {
+		return id+"="+count;
+	}
+
+}
@@ -0,0 +1,44 @@
+package io.github.gabry98.app.filmapp.model;
+
+/**
+ * A Report together with the name of its Actor and the name and date of its Film,
+ * as joined by the database. The names are null when the referenced document is missing.
+ */
+public class ReportDetail {
+	
+	private int id;
+	private int actorId;
+	private String actorName;
+	private int filmId;
+	private String filmName;
+	private int filmDate;
+	
+	public ReportDetail(int id, int actorId, String actorName, int filmId, String filmName, int filmDate) {
+		this.id = id;
+		this.actorId = actorId;
+		this.actorName = actorName;
+		this.filmId = filmId;
+		this.filmName = filmName;
+		this.filmDate = filmDate;
+	}
+	
+	public int getId() {
+		return id;
+	}
+	public int getActorId() {
+		return actorId;
+	}
+	public String getActorName() {
+		return actorName;
+	}
+	public int getFilmId() {
+		return filmId;
+	}
+	public String getFilmName() {
+		return filmName;
+	}
+	public int getFilmDate() {
+		return filmDate;
+	}
+
+}
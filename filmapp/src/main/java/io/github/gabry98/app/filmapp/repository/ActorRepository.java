@@ -1,6 +1,7 @@
 package io.github.gabry98.app.filmapp.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.gabry98.app.filmapp.model.Actor;
 
@@ -8,11 +9,23 @@ public interface ActorRepository {
 	
 	public List<Actor> findAll();
 	
+	public List<Actor> findPage(int afterId, int limit);
+	
+	public void forEachActor(Consumer<Actor> consumer);
+	
 	public void addActor(int id, String name);
+	
+	public List<InsertStatus> addActors(List<Actor> actors);
 
 	public Actor findById(int id);
 
 	public List<Actor> findByName(String name);
+	
+	public void forEachActorByName(String name, Consumer<Actor> consumer);
+	
+	List<Actor> findByNamePrefix(String prefix, int limit);
+	
+	List<Actor> searchText(String query, int limit);
 
 	public void deleteActorById(int id);
 
@@ -22,4 +35,6 @@ public interface ActorRepository {
 	
 	void deleteActorsByName(String name);
 	
+	void findAndDeleteActorsByName(String name, Consumer<Actor> consumer);
+	
 }
@@ -1,6 +1,8 @@
 package io.github.gabry98.app.filmapp.repository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import io.github.gabry98.app.filmapp.model.Film;
 
@@ -8,12 +10,26 @@ public interface FilmRepository {
 	
 	public List<Film> findAll();
 	
+	public List<Film> findPage(int afterId, int limit);
+	
+	public void forEachFilm(Consumer<Film> consumer);
+	
+	public void forEachFilmByDate(int date, Consumer<Film> consumer);
+	
 	public void addFilm(int id, String name, int date);
+	
+	public List<InsertStatus> addFilms(List<Film> films);
 
 	public Film findById(int id);
 
 	public List<Film> findByName(String name);
 	
+	public void forEachFilmByName(String name, Consumer<Film> consumer);
+	
+	List<Film> findByNamePrefix(String prefix, int limit);
+	
+	List<Film> searchText(String query, int limit);
+	
 	public void updateFilmId(int oldId, int newId);
 
 	public void updateFilmName(int id, String name);
@@ -22,9 +38,15 @@ public interface FilmRepository {
 	
 	List<Film> findByDate(int date);
 	
+	Map<Integer, Integer> countFilmsByDate();
+	
 	void deleteFilmsByName(String name);
 	
 	void deleteFilmsByDate(int date);
 	
+	void findAndDeleteFilmsByName(String name, Consumer<Film> consumer);
+	
+	void findAndDeleteFilmsByDate(int date, Consumer<Film> consumer);
+	
 	public void deleteFilmById(int id);
 }
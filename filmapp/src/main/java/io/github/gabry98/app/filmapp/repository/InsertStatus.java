@@ -0,0 +1,13 @@
+package io.github.gabry98.app.filmapp.repository;
+
+public enum InsertStatus {
+	
+	INSERTED,
+	
+	DUPLICATE_ID,
+	
+	DUPLICATE_PAIR,
+	
+	INVALID_DATA
+	
+}
@@ -0,0 +1,7 @@
+package io.github.gabry98.app.filmapp.repository;
+
+public interface ReferenceValidator {
+	
+	void checkReportReferences(int actorId, int filmId);
+	
+}
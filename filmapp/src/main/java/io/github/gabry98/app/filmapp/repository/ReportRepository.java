@@ -1,20 +1,47 @@
 package io.github.gabry98.app.filmapp.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 
 public interface ReportRepository {
 	
 	List<Report> findAll();
 	
+	List<Report> findPage(int afterId, int limit);
+	
+	void forEachReport(Consumer<Report> consumer);
+	
+	List<ReportDetail> findDetailsPage(int afterId, int limit);
+	
+	void forEachReportDetail(Consumer<ReportDetail> consumer);
+	
 	void addReport(int id, int actorId, int filmId);
 	
+	List<InsertStatus> addReports(List<Report> reports);
+	
 	Report findById(int id);
 	
 	List<Report> findByActorId(int id);
 	
 	List<Report> findByFilmId(int id);
 	
+	void forEachReportByActorId(int id, Consumer<Report> consumer);
+	
+	void forEachReportByFilmId(int id, Consumer<Report> consumer);
+	
+	List<Film> findFilmography(int actorId);
+	
+	List<Actor> findCast(int filmId);
+	
+	List<RankedCount> countTopReportsByActorId(int limit);
+	
+	List<RankedCount> countTopReportsByFilmId(int limit);
+	
 	void updateReportId(int oldId, int newId);
 	
 	void deleteReportById(int id);
@@ -22,4 +49,8 @@ public interface ReportRepository {
 	void deleteReportByActorId(int id);
 	
 	void deleteReportByFilmId(int id);
+	
+	void findAndDeleteReportsByActorId(int id, Consumer<Report> consumer);
+	
+	void findAndDeleteReportsByFilmId(int id, Consumer<Report> consumer);
 }
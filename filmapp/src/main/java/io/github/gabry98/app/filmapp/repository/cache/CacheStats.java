@@ -0,0 +1,37 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+public final class CacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+
+	public CacheStats(long hitCount, long missCount, long evictionCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public CacheStats plus(CacheStats other) {
+		return new CacheStats(hitCount+other.hitCount, missCount+other.missCount,
+				evictionCount+other.evictionCount);
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats [hits="+hitCount+", misses="+missCount+", evictions="+evictionCount+"]";
+	}
+
+}
@@ -0,0 +1,122 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+public class CachingActorRepository implements ActorRepository {
+
+	private final ActorRepository delegate;
+	private final TinyLfuCache<Integer, Actor> byId;
+	private final ListCache<String, Actor> byName;
+
+	public CachingActorRepository(ActorRepository delegate, int cacheSize) {
+		this.delegate = delegate;
+		this.byId = new TinyLfuCache<>(cacheSize);
+		this.byName = new ListCache<>(cacheSize, Actor::getId);
+	}
+
+	public CacheStats getCacheStats() {
+		return byId.stats().plus(byName.stats());
+	}
+
+	@Override
+	public List<Actor> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Actor> findPage(int afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachActor(Consumer<Actor> consumer) {
+		delegate.forEachActor(consumer);
+	}
+
+	@Override
+	public void addActor(int id, String name) {
+		delegate.addActor(id, name);
+		byId.invalidate(id);
+		byName.invalidate(name);
+	}
+
+	@Override
+	public List<InsertStatus> addActors(List<Actor> actors) {
+		List<InsertStatus> results = delegate.addActors(actors);
+		for(Actor a : actors) {
+			byId.invalidate(a.getId());
+			byName.invalidate(a.getName());
+		}
+		return results;
+	}
+
+	@Override
+	public Actor findById(int id) {
+		return byId.get(id, delegate::findById);
+	}
+
+	@Override
+	public List<Actor> findByName(String name) {
+		return byName.get(name, delegate::findByName);
+	}
+
+	@Override
+	public void forEachActorByName(String name, Consumer<Actor> consumer) {
+		byName.forEach(name, delegate::forEachActorByName, consumer);
+	}
+
+	@Override
+	public List<Actor> findByNamePrefix(String prefix, int limit) {
+		return delegate.findByNamePrefix(prefix, limit);
+	}
+
+	@Override
+	public List<Actor> searchText(String query, int limit) {
+		return delegate.searchText(query, limit);
+	}
+
+	@Override
+	public void deleteActorById(int id) {
+		delegate.deleteActorById(id);
+		byId.invalidate(id);
+		byName.invalidateRow(id);
+	}
+
+	@Override
+	public void updateActorId(int oldId, int newId) {
+		delegate.updateActorId(oldId, newId);
+		byId.invalidate(oldId);
+		byId.invalidate(newId);
+		byName.invalidateRow(oldId);
+	}
+
+	@Override
+	public void updateActorName(int id, String name) {
+		delegate.updateActorName(id, name);
+		byId.invalidate(id);
+		byName.invalidate(name);
+		byName.invalidateRow(id);
+	}
+
+	@Override
+	public void deleteActorsByName(String name) {
+		findAndDeleteActorsByName(name, a -> {});
+	}
+
+	@Override
+	public void findAndDeleteActorsByName(String name, Consumer<Actor> consumer) {
+		// each Actor is reported once its batch has been deleted, so it can be invalidated at once
+		delegate.findAndDeleteActorsByName(name, a -> {
+			byId.invalidate(a.getId());
+			byName.invalidateRow(a.getId());
+			consumer.accept(a);
+		});
+		byName.invalidate(name);
+	}
+
+}
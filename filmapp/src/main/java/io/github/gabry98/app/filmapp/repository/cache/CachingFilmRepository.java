@@ -0,0 +1,170 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+public class CachingFilmRepository implements FilmRepository {
+
+	private final FilmRepository delegate;
+	private final TinyLfuCache<Integer, Film> byId;
+	private final ListCache<String, Film> byName;
+	private final ListCache<Integer, Film> byDate;
+
+	public CachingFilmRepository(FilmRepository delegate, int cacheSize) {
+		this.delegate = delegate;
+		this.byId = new TinyLfuCache<>(cacheSize);
+		this.byName = new ListCache<>(cacheSize, Film::getId);
+		this.byDate = new ListCache<>(cacheSize, Film::getId);
+	}
+
+	public CacheStats getCacheStats() {
+		return byId.stats().plus(byName.stats()).plus(byDate.stats());
+	}
+
+	@Override
+	public List<Film> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Film> findPage(int afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachFilm(Consumer<Film> consumer) {
+		delegate.forEachFilm(consumer);
+	}
+
+	@Override
+	public void forEachFilmByDate(int date, Consumer<Film> consumer) {
+		byDate.forEach(date, delegate::forEachFilmByDate, consumer);
+	}
+
+	@Override
+	public void addFilm(int id, String name, int date) {
+		delegate.addFilm(id, name, date);
+		byId.invalidate(id);
+		byName.invalidate(name);
+		byDate.invalidate(date);
+	}
+
+	@Override
+	public List<InsertStatus> addFilms(List<Film> films) {
+		List<InsertStatus> results = delegate.addFilms(films);
+		for(Film f : films) {
+			byId.invalidate(f.getId());
+			byName.invalidate(f.getName());
+			byDate.invalidate(f.getDate());
+		}
+		return results;
+	}
+
+	@Override
+	public Film findById(int id) {
+		return byId.get(id, delegate::findById);
+	}
+
+	@Override
+	public List<Film> findByName(String name) {
+		return byName.get(name, delegate::findByName);
+	}
+
+	@Override
+	public void forEachFilmByName(String name, Consumer<Film> consumer) {
+		byName.forEach(name, delegate::forEachFilmByName, consumer);
+	}
+
+	@Override
+	public List<Film> findByNamePrefix(String prefix, int limit) {
+		return delegate.findByNamePrefix(prefix, limit);
+	}
+
+	@Override
+	public List<Film> searchText(String query, int limit) {
+		return delegate.searchText(query, limit);
+	}
+
+	@Override
+	public List<Film> findByDate(int date) {
+		return byDate.get(date, delegate::findByDate);
+	}
+
+	@Override
+	public Map<Integer, Integer> countFilmsByDate() {
+		return delegate.countFilmsByDate();
+	}
+
+	@Override
+	public void updateFilmId(int oldId, int newId) {
+		delegate.updateFilmId(oldId, newId);
+		byId.invalidate(oldId);
+		byId.invalidate(newId);
+		invalidateLists(oldId);
+	}
+
+	@Override
+	public void updateFilmName(int id, String name) {
+		delegate.updateFilmName(id, name);
+		byId.invalidate(id);
+		byName.invalidate(name);
+		invalidateLists(id);
+	}
+
+	@Override
+	public void updateFilmDate(int id, int date) {
+		delegate.updateFilmDate(id, date);
+		byId.invalidate(id);
+		byDate.invalidate(date);
+		invalidateLists(id);
+	}
+
+	@Override
+	public void deleteFilmsByName(String name) {
+		findAndDeleteFilmsByName(name, f -> {});
+	}
+
+	@Override
+	public void findAndDeleteFilmsByName(String name, Consumer<Film> consumer) {
+		delegate.findAndDeleteFilmsByName(name, deletedFilm(consumer));
+		byName.invalidate(name);
+	}
+
+	@Override
+	public void deleteFilmsByDate(int date) {
+		findAndDeleteFilmsByDate(date, f -> {});
+	}
+
+	@Override
+	public void findAndDeleteFilmsByDate(int date, Consumer<Film> consumer) {
+		delegate.findAndDeleteFilmsByDate(date, deletedFilm(consumer));
+		byDate.invalidate(date);
+	}
+
+	@Override
+	public void deleteFilmById(int id) {
+		delegate.deleteFilmById(id);
+		byId.invalidate(id);
+		invalidateLists(id);
+	}
+
+	private void invalidateLists(int id) {
+		byName.invalidateRow(id);
+		byDate.invalidateRow(id);
+	}
+
+	private Consumer<Film> deletedFilm(Consumer<Film> consumer) {
+		// each Film is reported once its batch has been deleted, so it can be invalidated at once
+		return f -> {
+			byId.invalidate(f.getId());
+			invalidateLists(f.getId());
+			consumer.accept(f);
+		};
+	}
+
+}
@@ -0,0 +1,172 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+
+public class CachingReportRepository implements ReportRepository {
+
+	private final ReportRepository delegate;
+	private final TinyLfuCache<Integer, Report> byId;
+	private final ListCache<Integer, Report> byActorId;
+	private final ListCache<Integer, Report> byFilmId;
+
+	public CachingReportRepository(ReportRepository delegate, int cacheSize) {
+		this.delegate = delegate;
+		this.byId = new TinyLfuCache<>(cacheSize);
+		this.byActorId = new ListCache<>(cacheSize, Report::getId);
+		this.byFilmId = new ListCache<>(cacheSize, Report::getId);
+	}
+
+	public CacheStats getCacheStats() {
+		return byId.stats().plus(byActorId.stats()).plus(byFilmId.stats());
+	}
+
+	@Override
+	public List<Report> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Report> findPage(int afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachReport(Consumer<Report> consumer) {
+		delegate.forEachReport(consumer);
+	}
+
+	@Override
+	public List<ReportDetail> findDetailsPage(int afterId, int limit) {
+		return delegate.findDetailsPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachReportDetail(Consumer<ReportDetail> consumer) {
+		delegate.forEachReportDetail(consumer);
+	}
+
+	@Override
+	public void addReport(int id, int actorId, int filmId) {
+		delegate.addReport(id, actorId, filmId);
+		byId.invalidate(id);
+		byActorId.invalidate(actorId);
+		byFilmId.invalidate(filmId);
+	}
+
+	@Override
+	public List<InsertStatus> addReports(List<Report> reports) {
+		List<InsertStatus> results = delegate.addReports(reports);
+		for(Report r : reports) {
+			byId.invalidate(r.getId());
+			byActorId.invalidate(r.getActorId());
+			byFilmId.invalidate(r.getFilmId());
+		}
+		return results;
+	}
+
+	@Override
+	public Report findById(int id) {
+		return byId.get(id, delegate::findById);
+	}
+
+	@Override
+	public List<Report> findByActorId(int id) {
+		return byActorId.get(id, delegate::findByActorId);
+	}
+
+	@Override
+	public List<Report> findByFilmId(int id) {
+		return byFilmId.get(id, delegate::findByFilmId);
+	}
+
+	@Override
+	public void forEachReportByActorId(int id, Consumer<Report> consumer) {
+		byActorId.forEach(id, delegate::forEachReportByActorId, consumer);
+	}
+
+	@Override
+	public void forEachReportByFilmId(int id, Consumer<Report> consumer) {
+		byFilmId.forEach(id, delegate::forEachReportByFilmId, consumer);
+	}
+
+	@Override
+	public List<Film> findFilmography(int actorId) {
+		return delegate.findFilmography(actorId);
+	}
+
+	@Override
+	public List<Actor> findCast(int filmId) {
+		return delegate.findCast(filmId);
+	}
+
+	@Override
+	public List<RankedCount> countTopReportsByActorId(int limit) {
+		return delegate.countTopReportsByActorId(limit);
+	}
+
+	@Override
+	public List<RankedCount> countTopReportsByFilmId(int limit) {
+		return delegate.countTopReportsByFilmId(limit);
+	}
+
+	@Override
+	public void updateReportId(int oldId, int newId) {
+		delegate.updateReportId(oldId, newId);
+		byId.invalidate(oldId);
+		byId.invalidate(newId);
+		invalidateLists(oldId);
+	}
+
+	@Override
+	public void deleteReportById(int id) {
+		delegate.deleteReportById(id);
+		byId.invalidate(id);
+		invalidateLists(id);
+	}
+
+	@Override
+	public void deleteReportByActorId(int id) {
+		findAndDeleteReportsByActorId(id, r -> {});
+	}
+
+	@Override
+	public void findAndDeleteReportsByActorId(int id, Consumer<Report> consumer) {
+		delegate.findAndDeleteReportsByActorId(id, deletedReport(consumer));
+		byActorId.invalidate(id);
+	}
+
+	@Override
+	public void deleteReportByFilmId(int id) {
+		findAndDeleteReportsByFilmId(id, r -> {});
+	}
+
+	@Override
+	public void findAndDeleteReportsByFilmId(int id, Consumer<Report> consumer) {
+		delegate.findAndDeleteReportsByFilmId(id, deletedReport(consumer));
+		byFilmId.invalidate(id);
+	}
+
+	private void invalidateLists(int id) {
+		byActorId.invalidateRow(id);
+		byFilmId.invalidateRow(id);
+	}
+
+	private Consumer<Report> deletedReport(Consumer<Report> consumer) {
+		// each Report is reported once its batch has been deleted, so it can be invalidated at once
+		return r -> {
+			byId.invalidate(r.getId());
+			invalidateLists(r.getId());
+			consumer.accept(r);
+		};
+	}
+
+}
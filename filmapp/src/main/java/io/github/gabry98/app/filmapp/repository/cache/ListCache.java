@@ -0,0 +1,89 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache of the lists returned by a search, which remembers the cached lists holding each
+ * row id: a write invalidates the lists holding the rows it touched by looking them up,
+ * instead of scanning the rows of every cached list. The lists longer than the row limit
+ * are returned but not cached.
+ */
+final class ListCache<K, E> implements TinyLfuCache.Listener<K, List<E>> {
+
+	static final int MAX_ROWS = 1000;
+
+	private final TinyLfuCache<K, List<E>> cache;
+	private final ToIntFunction<E> idOf;
+	private final Map<Integer, Set<K>> keysById = new HashMap<>();
+
+	ListCache(int capacity, ToIntFunction<E> idOf) {
+		this.cache = new TinyLfuCache<>(capacity, this);
+		this.idOf = idOf;
+	}
+
+	List<E> get(K key, Function<K, List<E>> loader) {
+		return new ArrayList<>(cache.get(key, loader));
+	}
+
+	/**
+	 * Passes the rows of a cached list to the consumer, or streams them from the source
+	 * without caching them on a miss, since a streamed search may be too long to hold.
+	 */
+	void forEach(K key, BiConsumer<K, Consumer<E>> source, Consumer<E> consumer) {
+		List<E> rows = cache.getIfPresent(key);
+		if(rows != null) {
+			rows.forEach(consumer);
+		} else {
+			source.accept(key, consumer);
+		}
+	}
+
+	CacheStats stats() {
+		return cache.stats();
+	}
+
+	void invalidate(K key) {
+		cache.invalidate(key);
+	}
+
+	void invalidateRow(int id) {
+		// the listener runs under the cache lock, which also keeps a list from being added in between
+		synchronized(cache) {
+			Set<K> keysOfRow = keysById.get(id);
+			cache.invalidateAll(keysOfRow == null ? List.of() : new ArrayList<>(keysOfRow));
+		}
+	}
+
+	@Override
+	public boolean admit(K key, List<E> rows) {
+		return rows.size() <= MAX_ROWS;
+	}
+
+	@Override
+	public void added(K key, List<E> rows) {
+		for(E row : rows) {
+			keysById.computeIfAbsent(idOf.applyAsInt(row), id -> new HashSet<>(2)).add(key);
+		}
+	}
+
+	@Override
+	public void removed(K key, List<E> rows) {
+		for(E row : rows) {
+			int id = idOf.applyAsInt(row);
+			Set<K> keysOfRow = keysById.get(id);
+			if(keysOfRow != null && keysOfRow.remove(key) && keysOfRow.isEmpty()) {
+				keysById.remove(id);
+			}
+		}
+	}
+
+}
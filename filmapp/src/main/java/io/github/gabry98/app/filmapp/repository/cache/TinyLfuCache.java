@@ -0,0 +1,245 @@
+package io.github.gabry98.app.filmapp.repository.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache in the W-TinyLFU style: new entries land in a small LRU window and,
+ * once they leave it, are admitted to the main LRU region only if they have been
+ * requested more often than the entry they would evict. Access frequencies are kept
+ * in a count-min sketch which is halved periodically so that old popularity fades.
+ * An optional listener decides which loaded values may be kept and is told of every entry
+ * entering or leaving the cache, under the cache lock.
+ */
+public class TinyLfuCache<K, V> {
+
+	private static final String CAPACITY_ERROR = "ERROR: the cache size should be positive!";
+	private static final int SKETCH_DEPTH = 4;
+	private static final int MAX_FREQUENCY = 15;
+	private static final int[] SEEDS = { 0x97cb3127, 0xb7e15163, 0x8ebc6af1, 0x5f356495 };
+
+	public interface Listener<K, V> {
+		boolean admit(K key, V value);
+
+		void added(K key, V value);
+
+		void removed(K key, V value);
+	}
+
+	private final int windowCapacity;
+	private final int mainCapacity;
+	private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<K, V> main = new LinkedHashMap<>(16, 0.75f, true);
+	private final int[][] sketch;
+	private final int sketchMask;
+	private final int sampleSize;
+	private final Listener<K, V> listener;
+	private int additions;
+	private long generation;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	public TinyLfuCache(int capacity) {
+		this(capacity, null);
+	}
+
+	public TinyLfuCache(int capacity, Listener<K, V> listener) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException(CAPACITY_ERROR);
+		}
+		windowCapacity = Math.max(1, capacity/100);
+		mainCapacity = capacity-windowCapacity;
+		int width = Integer.highestOneBit(Math.max(16, capacity*2-1))<<1;
+		sketch = new int[SKETCH_DEPTH][width];
+		sketchMask = width-1;
+		sampleSize = capacity*10;
+		this.listener = listener;
+	}
+
+	public V get(K key, Function<K, V> loader) {
+		long loadGeneration;
+		synchronized(this) {
+			recordAccess(key);
+			V value = lookup(key);
+			if(value != null) {
+				hitCount++;
+				return value;
+			}
+			missCount++;
+			loadGeneration = generation;
+		}
+		V loaded = loader.apply(key);
+		synchronized(this) {
+			// an invalidation raced with the load, the loaded value may already be stale
+			if(loaded != null && loadGeneration == generation) {
+				put(key, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Returns the cached value of the key, or null without loading it.
+	 */
+	public synchronized V getIfPresent(K key) {
+		recordAccess(key);
+		V value = lookup(key);
+		if(value != null) {
+			hitCount++;
+		} else {
+			missCount++;
+		}
+		return value;
+	}
+
+	public synchronized void invalidate(K key) {
+		generation++;
+		remove(window, key);
+		remove(main, key);
+	}
+
+	/**
+	 * Invalidates the given keys at once. The loads in flight are discarded even if none of
+	 * the keys is cached, since they may have read the data the caller has just changed.
+	 */
+	public synchronized void invalidateAll(Collection<? extends K> keys) {
+		generation++;
+		for(K key : keys) {
+			remove(window, key);
+			remove(main, key);
+		}
+	}
+
+	public synchronized void invalidateIf(Predicate<V> predicate) {
+		generation++;
+		removeIf(window, predicate);
+		removeIf(main, predicate);
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		removeIf(window, value -> true);
+		removeIf(main, value -> true);
+	}
+
+	public synchronized int size() {
+		return window.size()+main.size();
+	}
+
+	public synchronized CacheStats stats() {
+		return new CacheStats(hitCount, missCount, evictionCount);
+	}
+
+	private V lookup(K key) {
+		V value = window.get(key);
+		return value != null ? value : main.get(key);
+	}
+
+	private void put(K key, V value) {
+		if(listener != null && !listener.admit(key, value)) {
+			return;
+		}
+		if(main.containsKey(key)) {
+			replace(main, key, value);
+			return;
+		}
+		replace(window, key, value);
+		if(window.size() <= windowCapacity) {
+			return;
+		}
+		Map.Entry<K, V> candidate = removeEldest(window);
+		if(main.size() < mainCapacity) {
+			main.put(candidate.getKey(), candidate.getValue());
+			return;
+		}
+		evictionCount++;
+		K victim = mainCapacity == 0 ? null : main.keySet().iterator().next();
+		if(victim != null && frequency(candidate.getKey()) > frequency(victim)) {
+			remove(main, victim);
+			main.put(candidate.getKey(), candidate.getValue());
+		} else if(listener != null) {
+			listener.removed(candidate.getKey(), candidate.getValue());
+		}
+	}
+
+	private void replace(LinkedHashMap<K, V> map, K key, V value) {
+		V old = map.put(key, value);
+		if(listener != null) {
+			if(old != null) {
+				listener.removed(key, old);
+			}
+			listener.added(key, value);
+		}
+	}
+
+	private void remove(LinkedHashMap<K, V> map, K key) {
+		V old = map.remove(key);
+		if(old != null && listener != null) {
+			listener.removed(key, old);
+		}
+	}
+
+	private void removeIf(LinkedHashMap<K, V> map, Predicate<V> predicate) {
+		Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+		while(iterator.hasNext()) {
+			Map.Entry<K, V> entry = iterator.next();
+			if(predicate.test(entry.getValue())) {
+				iterator.remove();
+				if(listener != null) {
+					listener.removed(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+	}
+
+	private Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> map) {
+		Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+		Map.Entry<K, V> eldest = iterator.next();
+		Map.Entry<K, V> removed = Map.entry(eldest.getKey(), eldest.getValue());
+		iterator.remove();
+		return removed;
+	}
+
+	private void recordAccess(K key) {
+		int hash = spread(key.hashCode());
+		for(int i = 0; i < SKETCH_DEPTH; i++) {
+			int index = indexOf(hash, i);
+			if(sketch[i][index] < MAX_FREQUENCY) {
+				sketch[i][index]++;
+			}
+		}
+		if(++additions >= sampleSize) {
+			for(int[] row : sketch) {
+				for(int j = 0; j < row.length; j++) {
+					row[j] >>>= 1;
+				}
+			}
+			additions /= 2;
+		}
+	}
+
+	private int frequency(K key) {
+		int hash = spread(key.hashCode());
+		int frequency = MAX_FREQUENCY;
+		for(int i = 0; i < SKETCH_DEPTH; i++) {
+			frequency = Math.min(frequency, sketch[i][indexOf(hash, i)]);
+		}
+		return frequency;
+	}
+
+	private int indexOf(int hash, int row) {
+		int h = hash*SEEDS[row];
+		return (h ^ (h>>>16)) & sketchMask;
+	}
+
+	private static int spread(int hash) {
+		int h = hash*0x9e3779b9;
+		return h ^ (h>>>15);
+	}
+
+}
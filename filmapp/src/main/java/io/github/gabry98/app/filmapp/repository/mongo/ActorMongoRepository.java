@@ -1,60 +1,176 @@
 package io.github.gabry98.app.filmapp.repository.mongo;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.StreamSupport;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bson.Document;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoServerException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+import io.github.gabry98.app.filmapp.repository.mongo.codec.StreamingCodecs;
+import io.github.gabry98.app.filmapp.repository.search.SearchNames;
 
 public class ActorMongoRepository implements ActorRepository {
 
-	private MongoCollection<Document> actorCollection;
+	private MongoCollection<Actor> actorCollection;
+	private int batchSize = DEFAULT_BATCH_SIZE;
 	
 	private static final Logger LOGGER = LogManager.getLogger(ActorMongoRepository.class);
 	private static final String ID_KEY = "id";
 	private static final String NAME_KEY = "name";
+	private static final String SEARCH_NAME_KEY = "searchName";
+	private static final String SCORE_KEY = "score";
+	private static final String TEXT_ERROR = "ERROR: the search text must not be empty!";
+	private static final String TEXT_INDEX_ERROR = "ERROR: the text index is not ready yet, try again later!";
+	private static final int INDEX_NOT_FOUND = 27;
+	private static final String LIMIT_ERROR = "ERROR: the number of results should be positive!";
+	private static final String PAGE_SIZE_ERROR = "ERROR: the page size should be positive!";
+	private static final String BATCH_SIZE_ERROR = "ERROR: the batch size should be positive!";
+	private static final int DEFAULT_BATCH_SIZE = 1000;
 	
 	public ActorMongoRepository(MongoClient client, String databaseName, String collectionName) {
 		actorCollection = client
 				.getDatabase(databaseName)
-				.getCollection(collectionName);
+				.getCollection(collectionName, Actor.class)
+				.withCodecRegistry(StreamingCodecs.registry());
+		actorCollection.createIndex(Indexes.ascending(ID_KEY), new IndexOptions().unique(true));
 		LOGGER.info("Successfully initialized Actor Repository");
 	}
 
 	@Override
 	public List<Actor> findAll() {
 		LOGGER.info("Sending the list of the actors in repository...");
-		return StreamSupport.stream(actorCollection.find().spliterator(), false)
-				.map(d -> new Actor(d.getInteger(ID_KEY), d.getString(NAME_KEY)))
-				.toList();
+		return actorCollection.find().into(new ArrayList<>());
 	}
 
+	@Override
+	public List<Actor> findPage(int afterId, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+		}
+		LOGGER.info("Sending a page of at most {} actors after ID {}...", limit, afterId);
+		return actorCollection.find(Filters.gt(ID_KEY, afterId))
+				.sort(Sorts.ascending(ID_KEY))
+				.limit(limit)
+				.into(new ArrayList<>());
+	}
+	
+	@Override
+	public void forEachActor(Consumer<Actor> consumer) {
+		LOGGER.info("Streaming the actors in repository in batches of {}...", batchSize);
+		try(MongoCursor<Actor> cursor = actorCollection.find().batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	public void setBatchSize(int batchSize) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException(BATCH_SIZE_ERROR);
+		}
+		this.batchSize = batchSize;
+	}
+	
 	@Override
 	public void addActor(int id, String name) {
 		LOGGER.info("Checking the correctness for data to add...");
 		checkActorId(id);
 		checkActorName(name);
 		LOGGER.info("Inserting a new Actor inside the repository...");
-		actorCollection.insertOne(
-				new Document()
-				.append(ID_KEY, id)
-				.append(NAME_KEY, name));
+		try {
+			actorCollection.insertOne(new Actor(id, name));
+		} catch(MongoWriteException e) {
+			checkDuplicateId(e, id);
+		}
+	}
+
+	@Override
+	public List<InsertStatus> addActors(List<Actor> actors) {
+		LOGGER.info("Checking the correctness for {} Actors to add...", actors.size());
+		InsertStatus[] results = new InsertStatus[actors.size()];
+		List<Actor> documents = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		Set<Integer> batchIds = new HashSet<>();
+		for(int i = 0; i < actors.size(); i++) {
+			Actor a = actors.get(i);
+			try {
+				checkActorId(a.getId());
+				checkActorName(a.getName());
+			} catch(IllegalArgumentException e) {
+				results[i] = InsertStatus.INVALID_DATA;
+				continue;
+			}
+			if(!batchIds.add(a.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			results[i] = InsertStatus.INSERTED;
+		}
+		Set<Integer> existingIds = new HashSet<>();
+		for(Document d : actorCollection.find(Filters.in(ID_KEY, batchIds), Document.class).projection(Projections.include(ID_KEY))) {
+			existingIds.add(d.getInteger(ID_KEY));
+		}
+		for(int i = 0; i < actors.size(); i++) {
+			Actor a = actors.get(i);
+			if(results[i] != InsertStatus.INSERTED) {
+				continue;
+			}
+			if(existingIds.contains(a.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			positions.add(i);
+			documents.add(a);
+		}
+		if(!documents.isEmpty()) {
+			LOGGER.info("Inserting {} new Actors inside the repository...", documents.size());
+			try {
+				actorCollection.insertMany(documents, new InsertManyOptions().ordered(false));
+			} catch(MongoBulkWriteException e) {
+				for(BulkWriteError error : e.getWriteErrors()) {
+					if(error.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+						throw e;
+					}
+					results[positions.get(error.getIndex())] = InsertStatus.DUPLICATE_ID;
+				}
+			}
+		}
+		return Arrays.asList(results);
 	}
 
 	private void checkActorId(int id) {
 		if(id <= 0) {
 			throw new IllegalArgumentException("ERROR: id should be positive!");
 		}
-		Document d = actorCollection.find(Filters.eq(ID_KEY, id)).first();
-		if(d != null) {
+	}
+	
+	private void checkDuplicateId(MongoWriteException e, int id) {
+		if(e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
 			throw new IllegalArgumentException("ERROR: Actor with id "+id+" already exists!");
 		}
+		throw e;
 	}
 	
 	private void checkActorName(String name) {
@@ -66,21 +182,59 @@ public class ActorMongoRepository implements ActorRepository {
 	@Override
 	public Actor findById(int id) {
 		LOGGER.info("Searching an Actor by ID...");
-		Document d = actorCollection.find(Filters.eq(ID_KEY, id)).first();
-		return d != null ? fromDocumentToActor(d) : null;
-	}
-
-	private Actor fromDocumentToActor(Document d) {
-		LOGGER.info("Converting a Document to an Actor...");
-		return new Actor(d.getInteger(ID_KEY), d.getString(NAME_KEY));
+		return actorCollection.find(Filters.eq(ID_KEY, id)).first();
 	}
 
 	@Override
 	public List<Actor> findByName(String name) {
 		LOGGER.info("Searching an Actor by Name...");
-		return StreamSupport.stream(actorCollection.find(Filters.eq(NAME_KEY, name)).spliterator(), false)
-				.map(d -> new Actor(d.getInteger(ID_KEY), d.getString(NAME_KEY)))
-				.toList();
+		return actorCollection.find(Filters.eq(NAME_KEY, name)).into(new ArrayList<>());
+	}
+
+	@Override
+	public void forEachActorByName(String name, Consumer<Actor> consumer) {
+		LOGGER.info("Streaming the actors with Name {} in batches of {}...", name, batchSize);
+		try(MongoCursor<Actor> cursor = actorCollection.find(Filters.eq(NAME_KEY, name)).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+
+	@Override
+	public List<Actor> findByNamePrefix(String prefix, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Searching at most {} Actors whose Name starts with {}...", limit, prefix);
+		return actorCollection.find(Filters.regex(SEARCH_NAME_KEY, SearchNames.prefixRegex(prefix)))
+				.sort(Sorts.ascending(SEARCH_NAME_KEY, ID_KEY))
+				.limit(limit)
+				.into(new ArrayList<>());
+	}
+
+	@Override
+	public List<Actor> searchText(String query, int limit) {
+		if(query.trim().isEmpty()) {
+			throw new IllegalArgumentException(TEXT_ERROR);
+		}
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Searching at most {} Actors whose Name matches the text {}...", limit, query);
+		try {
+			return actorCollection.find(Filters.text(query))
+					.projection(Projections.metaTextScore(SCORE_KEY))
+					.sort(Sorts.orderBy(Sorts.metaTextScore(SCORE_KEY), Sorts.ascending(ID_KEY)))
+					.limit(limit)
+					.into(new ArrayList<>());
+		} catch(MongoServerException e) {
+			// the text index is built in background by the index manager
+			if(e.getCode() == INDEX_NOT_FOUND) {
+				throw new IllegalArgumentException(TEXT_INDEX_ERROR);
+			}
+			throw e;
+		}
 	}
 
 	@Override
@@ -96,13 +250,28 @@ public class ActorMongoRepository implements ActorRepository {
 		actorCollection.deleteMany(Filters.eq(NAME_KEY, name));
 		LOGGER.info("Successfully deleted Actors with Name {}.", name);
 	}
+	
+	@Override
+	public void findAndDeleteActorsByName(String name, Consumer<Actor> consumer) {
+		LOGGER.info("Deleting and streaming Actors with Name {} in batches of {}...", name, batchSize);
+		long deleted = DeleteReturning.deleteMany(actorCollection, 
+				Filters.eq(NAME_KEY, name), Actor::getId, batchSize, consumer);
+		LOGGER.info("Successfully deleted {} Actors with Name {}.", deleted, name);
+	}
 
 	@Override
 	public void updateActorId(int oldId, int newId) {
 		LOGGER.info("Checking if ID already exists...");
 		checkActorId(newId);
 		LOGGER.info("Updating Actor with ID {}...",oldId);
-		actorCollection.updateOne(Filters.eq(ID_KEY, oldId), Updates.set(ID_KEY, newId));
+		try {
+			UpdateResult result = actorCollection.updateOne(Filters.eq(ID_KEY, oldId), Updates.set(ID_KEY, newId));
+			if(oldId == newId && result.getMatchedCount() > 0) {
+				throw new IllegalArgumentException("ERROR: Actor with id "+newId+" already exists!");
+			}
+		} catch(MongoWriteException e) {
+			checkDuplicateId(e, newId);
+		}
 		LOGGER.info("Successfully changed ID {} with ID {}", oldId, newId);
 	}
 
@@ -111,12 +280,13 @@ public class ActorMongoRepository implements ActorRepository {
 		LOGGER.info("Checking if Name is correct...");
 		checkActorName(name);
 		LOGGER.info("Checking if the new Name is not equal to the existing one...");
-		Document d = actorCollection.find(Filters.eq(ID_KEY, id)).first();
-		if (d.get(NAME_KEY).equals(name)) {
+		Actor a = actorCollection.find(Filters.eq(ID_KEY, id)).first();
+		if (a.getName().equals(name)) {
 			throw new IllegalArgumentException("ERROR: you choose the same current name of the Actor!");
 		}
 		LOGGER.info("Updating the Name of the Actor with ID {} with {}", id, name);
-		actorCollection.updateOne(Filters.eq(ID_KEY, id), Updates.set(NAME_KEY, name));
+		actorCollection.updateOne(Filters.eq(ID_KEY, id), 
+				Updates.combine(Updates.set(NAME_KEY, name), Updates.set(SEARCH_NAME_KEY, SearchNames.normalize(name))));
 		LOGGER.info("Successfully Updated the Name of the Actor with ID {} with {}", id, name);
 	}
 
@@ -0,0 +1,67 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import org.bson.conversions.Bson;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+
+/**
+ * Deletes the documents matching a filter and hands exactly the ones that have been deleted
+ * to a consumer. The matching documents are streamed in batches and each batch is removed
+ * with a single deleteMany restricted to the ids just read, then passed on before the next
+ * batch is read, so at most one batch is held in memory and a document inserted or modified
+ * concurrently is never deleted without being reported. When a batch deletes fewer documents
+ * than it read, the ids still present are looked up once and left out.
+ */
+final class DeleteReturning {
+
+	private static final String ID_KEY = "id";
+
+	private DeleteReturning() {
+	}
+
+	static <T> long deleteMany(MongoCollection<T> collection, Bson filter, ToIntFunction<T> idOf, int batchSize,
+			Consumer<T> consumer) {
+		long deleted = 0;
+		List<T> batch = new ArrayList<>(batchSize);
+		try(MongoCursor<T> cursor = collection.find(filter).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				batch.add(cursor.next());
+				if(batch.size() == batchSize) {
+					deleted += deleteBatch(collection, filter, idOf, batch, consumer);
+				}
+			}
+		}
+		if(!batch.isEmpty()) {
+			deleted += deleteBatch(collection, filter, idOf, batch, consumer);
+		}
+		return deleted;
+	}
+
+	private static <T> long deleteBatch(MongoCollection<T> collection, Bson filter, ToIntFunction<T> idOf,
+			List<T> batch, Consumer<T> consumer) {
+		List<Integer> ids = new ArrayList<>(batch.size());
+		batch.forEach(t -> ids.add(idOf.applyAsInt(t)));
+		long deletedCount = collection.deleteMany(Filters.and(filter, Filters.in(ID_KEY, ids))).getDeletedCount();
+		if(deletedCount == batch.size()) {
+			batch.forEach(consumer);
+		} else {
+			Set<Integer> remaining = new HashSet<>();
+			for(T t : collection.find(Filters.in(ID_KEY, ids))) {
+				remaining.add(idOf.applyAsInt(t));
+			}
+			batch.stream().filter(t -> !remaining.contains(idOf.applyAsInt(t))).forEach(consumer);
+		}
+		batch.clear();
+		return deletedCount;
+	}
+
+}
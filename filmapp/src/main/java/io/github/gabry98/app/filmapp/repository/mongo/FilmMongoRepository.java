@@ -1,40 +1,109 @@
 package io.github.gabry98.app.filmapp.repository.mongo;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.StreamSupport;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bson.Document;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoServerException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
 import io.github.gabry98.app.filmapp.model.Film;
 import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+import io.github.gabry98.app.filmapp.repository.mongo.codec.StreamingCodecs;
+import io.github.gabry98.app.filmapp.repository.search.SearchNames;
 
 public class FilmMongoRepository implements FilmRepository {
-	private MongoCollection<Document> filmCollection;
+	private MongoCollection<Film> filmCollection;
+	private int batchSize = DEFAULT_BATCH_SIZE;
 	
 	private static final Logger LOGGER = LogManager.getLogger(FilmMongoRepository.class);
 	private static final String ID_KEY = "id";
 	private static final String NAME_KEY = "name";
+	private static final String SEARCH_NAME_KEY = "searchName";
 	private static final String DATE_KEY = "date";
+	private static final String SCORE_KEY = "score";
+	private static final String TEXT_ERROR = "ERROR: the search text must not be empty!";
+	private static final String TEXT_INDEX_ERROR = "ERROR: the text index is not ready yet, try again later!";
+	private static final int INDEX_NOT_FOUND = 27;
+	private static final String LIMIT_ERROR = "ERROR: the number of results should be positive!";
+	private static final String PAGE_SIZE_ERROR = "ERROR: the page size should be positive!";
+	private static final String BATCH_SIZE_ERROR = "ERROR: the batch size should be positive!";
+	private static final int DEFAULT_BATCH_SIZE = 1000;
 	
 	public FilmMongoRepository(MongoClient client, String databaseName, String collectionName) {
 		filmCollection = client
 				.getDatabase(databaseName)
-				.getCollection(collectionName);
+				.getCollection(collectionName, Film.class)
+				.withCodecRegistry(StreamingCodecs.registry());
+		filmCollection.createIndex(Indexes.ascending(ID_KEY), new IndexOptions().unique(true));
 		LOGGER.info("Successfully initialized Film Repository");
 	}
 
 	@Override
 	public List<Film> findAll() {
 		LOGGER.info("Sending the list of the films in repository...");
-		return StreamSupport.stream(filmCollection.find().spliterator(), false)
-				.map(d -> new Film(d.getInteger(ID_KEY), d.getString(NAME_KEY), d.getInteger(DATE_KEY)))
-				.toList();
+		return filmCollection.find().into(new ArrayList<>());
 	}
 
+	@Override
+	public List<Film> findPage(int afterId, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+		}
+		LOGGER.info("Sending a page of at most {} films after ID {}...", limit, afterId);
+		return filmCollection.find(Filters.gt(ID_KEY, afterId))
+				.sort(Sorts.ascending(ID_KEY))
+				.limit(limit)
+				.into(new ArrayList<>());
+	}
+	
+	@Override
+	public void forEachFilm(Consumer<Film> consumer) {
+		LOGGER.info("Streaming the films in repository in batches of {}...", batchSize);
+		try(MongoCursor<Film> cursor = filmCollection.find().batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	@Override
+	public void forEachFilmByDate(int date, Consumer<Film> consumer) {
+		LOGGER.info("Streaming the films with Date {} in batches of {}...", date, batchSize);
+		try(MongoCursor<Film> cursor = filmCollection.find(Filters.eq(DATE_KEY, date)).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	public void setBatchSize(int batchSize) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException(BATCH_SIZE_ERROR);
+		}
+		this.batchSize = batchSize;
+	}
+	
 	@Override
 	public void addFilm(int id, String name, int date) {
 		LOGGER.info("Checking the correctness for data to add...");
@@ -42,21 +111,79 @@ public class FilmMongoRepository implements FilmRepository {
 		checkFilmName(name);
 		checkFilmDate(date);
 		LOGGER.info("Inserting a new Film inside the repository...");
-		filmCollection.insertOne(
-				new Document()
-				.append(ID_KEY, id)
-				.append(NAME_KEY, name)
-				.append(DATE_KEY, date));
+		try {
+			filmCollection.insertOne(new Film(id, name, date));
+		} catch(MongoWriteException e) {
+			checkDuplicateId(e, id);
+		}
+	}
+
+	@Override
+	public List<InsertStatus> addFilms(List<Film> films) {
+		LOGGER.info("Checking the correctness for {} Films to add...", films.size());
+		InsertStatus[] results = new InsertStatus[films.size()];
+		List<Film> documents = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		Set<Integer> batchIds = new HashSet<>();
+		for(int i = 0; i < films.size(); i++) {
+			Film f = films.get(i);
+			try {
+				checkFilmId(f.getId());
+				checkFilmName(f.getName());
+				checkFilmDate(f.getDate());
+			} catch(IllegalArgumentException e) {
+				results[i] = InsertStatus.INVALID_DATA;
+				continue;
+			}
+			if(!batchIds.add(f.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			results[i] = InsertStatus.INSERTED;
+		}
+		Set<Integer> existingIds = new HashSet<>();
+		for(Document d : filmCollection.find(Filters.in(ID_KEY, batchIds), Document.class).projection(Projections.include(ID_KEY))) {
+			existingIds.add(d.getInteger(ID_KEY));
+		}
+		for(int i = 0; i < films.size(); i++) {
+			Film f = films.get(i);
+			if(results[i] != InsertStatus.INSERTED) {
+				continue;
+			}
+			if(existingIds.contains(f.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			positions.add(i);
+			documents.add(f);
+		}
+		if(!documents.isEmpty()) {
+			LOGGER.info("Inserting {} new Films inside the repository...", documents.size());
+			try {
+				filmCollection.insertMany(documents, new InsertManyOptions().ordered(false));
+			} catch(MongoBulkWriteException e) {
+				for(BulkWriteError error : e.getWriteErrors()) {
+					if(error.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+						throw e;
+					}
+					results[positions.get(error.getIndex())] = InsertStatus.DUPLICATE_ID;
+				}
+			}
+		}
+		return Arrays.asList(results);
 	}
 
 	private void checkFilmId(int id) {
 		if(id <= 0) {
 			throw new IllegalArgumentException("ERROR: id should be positive!");
 		}
-		Document d = filmCollection.find(Filters.eq(ID_KEY, id)).first();
-		if(d != null) {
+	}
+	
+	private void checkDuplicateId(MongoWriteException e, int id) {
+		if(e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
 			throw new IllegalArgumentException("ERROR: Film with id "+id+" already exists!");
 		}
+		throw e;
 	}
 	
 	private void checkFilmName(String name) {
@@ -74,29 +201,71 @@ public class FilmMongoRepository implements FilmRepository {
 	@Override
 	public Film findById(int id) {
 		LOGGER.info("Searching a Film by ID...");
-		Document d = filmCollection.find(Filters.eq(ID_KEY, id)).first();
-		return d != null ? fromDocumentToFilm(d) : null;
-	}
-
-	private Film fromDocumentToFilm(Document d) {
-		LOGGER.info("Converting a Document to a Film...");
-		return new Film(d.getInteger(ID_KEY), d.getString(NAME_KEY), d.getInteger(DATE_KEY));
+		return filmCollection.find(Filters.eq(ID_KEY, id)).first();
 	}
 
 	@Override
 	public List<Film> findByName(String name) {
 		LOGGER.info("Searching a Film by Name...");
-		return StreamSupport.stream(filmCollection.find(Filters.eq(NAME_KEY, name)).spliterator(), false)
-				.map(d -> new Film(d.getInteger(ID_KEY), d.getString(NAME_KEY), d.getInteger(DATE_KEY)))
-				.toList();
+		return filmCollection.find(Filters.eq(NAME_KEY, name)).into(new ArrayList<>());
+	}
+
+	@Override
+	public void forEachFilmByName(String name, Consumer<Film> consumer) {
+		LOGGER.info("Streaming the films with Name {} in batches of {}...", name, batchSize);
+		try(MongoCursor<Film> cursor = filmCollection.find(Filters.eq(NAME_KEY, name)).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+
+	@Override
+	public List<Film> findByNamePrefix(String prefix, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Searching at most {} Films whose Name starts with {}...", limit, prefix);
+		return filmCollection.find(Filters.regex(SEARCH_NAME_KEY, SearchNames.prefixRegex(prefix)))
+				.sort(Sorts.ascending(SEARCH_NAME_KEY, ID_KEY))
+				.limit(limit)
+				.into(new ArrayList<>());
+	}
+
+	@Override
+	public List<Film> searchText(String query, int limit) {
+		if(query.trim().isEmpty()) {
+			throw new IllegalArgumentException(TEXT_ERROR);
+		}
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Searching at most {} Films whose Name matches the text {}...", limit, query);
+		try {
+			return filmCollection.find(Filters.text(query))
+					.projection(Projections.metaTextScore(SCORE_KEY))
+					.sort(Sorts.orderBy(Sorts.metaTextScore(SCORE_KEY), Sorts.ascending(ID_KEY)))
+					.limit(limit)
+					.into(new ArrayList<>());
+		} catch(MongoServerException e) {
+			// the text index is built in background by the index manager
+			if(e.getCode() == INDEX_NOT_FOUND) {
+				throw new IllegalArgumentException(TEXT_INDEX_ERROR);
+			}
+			throw e;
+		}
 	}
 	
 	@Override
 	public List<Film> findByDate(int date) {
 		LOGGER.info("Searching a Film by Date...");
-		return StreamSupport.stream(filmCollection.find(Filters.eq(DATE_KEY, date)).spliterator(), false)
-				.map(d -> new Film(d.getInteger(ID_KEY), d.getString(NAME_KEY), d.getInteger(DATE_KEY)))
-				.toList();
+		return filmCollection.find(Filters.eq(DATE_KEY, date)).into(new ArrayList<>());
+	}
+	
+	@Override
+	public Map<Integer, Integer> countFilmsByDate() {
+		LOGGER.info("Counting the Films of each year...");
+		return GroupCounts.countBy(filmCollection, DATE_KEY);
 	}
 
 	@Override
@@ -119,13 +288,36 @@ public class FilmMongoRepository implements FilmRepository {
 		filmCollection.deleteMany(Filters.eq(DATE_KEY, date));
 		LOGGER.info("Successfully deleted Films with Date {}.", date);
 	}
+	
+	@Override
+	public void findAndDeleteFilmsByName(String name, Consumer<Film> consumer) {
+		LOGGER.info("Deleting and streaming Films with Name {} in batches of {}...", name, batchSize);
+		long deleted = DeleteReturning.deleteMany(filmCollection, 
+				Filters.eq(NAME_KEY, name), Film::getId, batchSize, consumer);
+		LOGGER.info("Successfully deleted {} Films with Name {}.", deleted, name);
+	}
+	
+	@Override
+	public void findAndDeleteFilmsByDate(int date, Consumer<Film> consumer) {
+		LOGGER.info("Deleting and streaming Films with Date {} in batches of {}...", date, batchSize);
+		long deleted = DeleteReturning.deleteMany(filmCollection, 
+				Filters.eq(DATE_KEY, date), Film::getId, batchSize, consumer);
+		LOGGER.info("Successfully deleted {} Films with Date {}.", deleted, date);
+	}
 
 	@Override
 	public void updateFilmId(int oldId, int newId) {
 		LOGGER.info("Checking if ID already exists...");
 		checkFilmId(newId);
 		LOGGER.info("Updating Film with ID {}...", oldId);
-		filmCollection.updateOne(Filters.eq(ID_KEY, oldId), Updates.set(ID_KEY, newId));
+		try {
+			UpdateResult result = filmCollection.updateOne(Filters.eq(ID_KEY, oldId), Updates.set(ID_KEY, newId));
+			if(oldId == newId && result.getMatchedCount() > 0) {
+				throw new IllegalArgumentException("ERROR: Film with id "+newId+" already exists!");
+			}
+		} catch(MongoWriteException e) {
+			checkDuplicateId(e, newId);
+		}
 		LOGGER.info("Successfully changed ID {} with ID {}", oldId, newId);
 	}
 
@@ -134,12 +326,13 @@ public class FilmMongoRepository implements FilmRepository {
 		LOGGER.info("Checking if Name is correct...");
 		checkFilmName(name);
 		LOGGER.info("Checking if the new Name is not equal to the existing one...");
-		Document d = filmCollection.find(Filters.eq(ID_KEY, id)).first();
-		if (d.get(NAME_KEY).equals(name)) {
+		Film f = filmCollection.find(Filters.eq(ID_KEY, id)).first();
+		if (f.getName().equals(name)) {
 			throw new IllegalArgumentException("ERROR: you choose the same current name of the Film!");
 		}
 		LOGGER.info("Updating the Name of the Film with ID {} with {}", id, name);
-		filmCollection.updateOne(Filters.eq(ID_KEY, id), Updates.set(NAME_KEY, name));
+		filmCollection.updateOne(Filters.eq(ID_KEY, id), 
+				Updates.combine(Updates.set(NAME_KEY, name), Updates.set(SEARCH_NAME_KEY, SearchNames.normalize(name))));
 		LOGGER.info("Successfully Updated the Name of the Film with ID {} with {}", id, name);
 	}
 	
@@ -148,8 +341,8 @@ public class FilmMongoRepository implements FilmRepository {
 		LOGGER.info("Checking if Date is correct...");
 		checkFilmDate(date);
 		LOGGER.info("Checking if the new Date is not equal to the existing one...");
-		Document d = filmCollection.find(Filters.eq(ID_KEY, id)).first();
-		if (d.get(DATE_KEY).equals(date)) {
+		Film f = filmCollection.find(Filters.eq(ID_KEY, id)).first();
+		if (f.getDate() == date) {
 			throw new IllegalArgumentException("ERROR: you choose the same current date of the Film!");
 		}
 		LOGGER.info("Updating the Date of the Film with ID {} with {}", id, date);
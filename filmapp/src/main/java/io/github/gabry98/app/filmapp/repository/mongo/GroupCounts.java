@@ -0,0 +1,50 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Sorts;
+
+import io.github.gabry98.app.filmapp.model.RankedCount;
+
+/**
+ * Counts the documents of a collection per value of an integer field with a $group stage,
+ * so only one small document per distinct value leaves the server. The rankings also sort and
+ * limit the groups on the server, so only the top documents are transferred.
+ */
+final class GroupCounts {
+
+	private static final String GROUP_KEY = "_id";
+	private static final String COUNT_KEY = "count";
+
+	private GroupCounts() {
+	}
+
+	static Map<Integer, Integer> countBy(MongoCollection<?> collection, String key) {
+		Map<Integer, Integer> counts = new HashMap<>();
+		for(Document group : collection.aggregate(List.of(
+				Aggregates.group("$"+key, Accumulators.sum(COUNT_KEY, 1))), Document.class)) {
+			counts.put(group.getInteger(GROUP_KEY), group.getInteger(COUNT_KEY));
+		}
+		return counts;
+	}
+
+	static List<RankedCount> topBy(MongoCollection<?> collection, String key, int limit) {
+		List<RankedCount> counts = new ArrayList<>();
+		for(Document group : collection.aggregate(List.of(
+				Aggregates.group("$"+key, Accumulators.sum(COUNT_KEY, 1)),
+				Aggregates.sort(Sorts.orderBy(Sorts.descending(COUNT_KEY), Sorts.ascending(GROUP_KEY))),
+				Aggregates.limit(limit)), Document.class)) {
+			counts.add(new RankedCount(group.getInteger(GROUP_KEY), group.getInteger(COUNT_KEY)));
+		}
+		return counts;
+	}
+
+}
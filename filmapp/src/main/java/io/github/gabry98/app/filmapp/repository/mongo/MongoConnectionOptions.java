@@ -0,0 +1,120 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import com.mongodb.MongoClientOptions;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+
+/**
+ * Maps the connection properties, read from the command line or from a properties file,
+ * to the {@link MongoClientOptions} of the driver. Missing properties keep the driver defaults.
+ */
+public final class MongoConnectionOptions {
+
+	public static final String POOL_SIZE = "mongo.pool.size";
+	public static final String POOL_MIN_SIZE = "mongo.pool.minSize";
+	public static final String POOL_MAX_WAIT = "mongo.pool.maxWaitMs";
+	public static final String CONNECT_TIMEOUT = "mongo.connectTimeoutMs";
+	public static final String SOCKET_TIMEOUT = "mongo.socketTimeoutMs";
+	public static final String SERVER_SELECTION_TIMEOUT = "mongo.serverSelectionTimeoutMs";
+	public static final String READ_PREFERENCE = "mongo.readPreference";
+	public static final String COMPRESSORS = "mongo.compressors";
+
+	private MongoConnectionOptions() {
+	}
+
+	public static MongoClientOptions fromProperties(Properties properties) {
+		MongoClientOptions.Builder builder = MongoClientOptions.builder();
+		if(properties.containsKey(POOL_SIZE)) {
+			builder.connectionsPerHost(positive(properties, POOL_SIZE));
+		}
+		if(properties.containsKey(POOL_MIN_SIZE)) {
+			builder.minConnectionsPerHost(nonNegative(properties, POOL_MIN_SIZE));
+		}
+		if(properties.containsKey(POOL_MAX_WAIT)) {
+			builder.maxWaitTime(nonNegative(properties, POOL_MAX_WAIT));
+		}
+		if(properties.containsKey(CONNECT_TIMEOUT)) {
+			builder.connectTimeout(nonNegative(properties, CONNECT_TIMEOUT));
+		}
+		if(properties.containsKey(SOCKET_TIMEOUT)) {
+			builder.socketTimeout(nonNegative(properties, SOCKET_TIMEOUT));
+		}
+		if(properties.containsKey(SERVER_SELECTION_TIMEOUT)) {
+			builder.serverSelectionTimeout(nonNegative(properties, SERVER_SELECTION_TIMEOUT));
+		}
+		if(properties.containsKey(READ_PREFERENCE)) {
+			builder.readPreference(readPreference(properties.getProperty(READ_PREFERENCE).trim()));
+		}
+		if(properties.containsKey(COMPRESSORS)) {
+			builder.compressorList(compressors(properties.getProperty(COMPRESSORS)));
+		}
+		return builder.build();
+	}
+
+	public static String describe(MongoClientOptions options) {
+		return "poolSize="+options.getConnectionsPerHost()
+				+", minPoolSize="+options.getMinConnectionsPerHost()
+				+", maxWaitMs="+options.getMaxWaitTime()
+				+", connectTimeoutMs="+options.getConnectTimeout()
+				+", socketTimeoutMs="+options.getSocketTimeout()
+				+", serverSelectionTimeoutMs="+options.getServerSelectionTimeout()
+				+", readPreference="+options.getReadPreference().getName()
+				+", compressors="+options.getCompressorList().stream()
+					.map(MongoCompressor::getName).collect(Collectors.toList());
+	}
+
+	private static int positive(Properties properties, String key) {
+		int value = integer(properties, key);
+		if(value <= 0) {
+			throw new IllegalArgumentException("ERROR: "+key+" should be positive!");
+		}
+		return value;
+	}
+
+	private static int nonNegative(Properties properties, String key) {
+		int value = integer(properties, key);
+		if(value < 0) {
+			throw new IllegalArgumentException("ERROR: "+key+" should not be negative!");
+		}
+		return value;
+	}
+
+	private static int integer(Properties properties, String key) {
+		try {
+			return Integer.parseInt(properties.getProperty(key).trim());
+		} catch(NumberFormatException e) {
+			throw new IllegalArgumentException("ERROR: "+key+" should be an integer!");
+		}
+	}
+
+	private static ReadPreference readPreference(String name) {
+		try {
+			return ReadPreference.valueOf(name);
+		} catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException("ERROR: unknown read preference "+name+"!");
+		}
+	}
+
+	private static List<MongoCompressor> compressors(String names) {
+		List<MongoCompressor> compressors = new ArrayList<>();
+		// snappy and zstd need native libraries which are not among the dependencies
+		for(String name : names.split(",")) {
+			switch(name.trim().toLowerCase()) {
+				case "":
+					break;
+				case "zlib":
+					compressors.add(MongoCompressor.createZlibCompressor());
+					break;
+				default:
+					throw new IllegalArgumentException("ERROR: unknown compressor "+name.trim()+"!");
+			}
+		}
+		return compressors;
+	}
+
+}
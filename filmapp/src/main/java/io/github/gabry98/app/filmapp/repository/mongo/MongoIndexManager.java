@@ -0,0 +1,157 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import io.github.gabry98.app.filmapp.repository.search.SearchNames;
+
+/**
+ * Builds and verifies the secondary indexes used by the name, date, text and foreign key
+ * queries of the repositories. The unique indexes are created by the repositories
+ * themselves, since they are needed for correctness and not only for speed; the text
+ * searches are refused until their index has been built here. Before indexing, the
+ * Actors and Films stored without a normalized search name get one, so that the prefix
+ * searches find them as well.
+ */
+public class MongoIndexManager {
+	
+	private static final Logger LOGGER = LogManager.getLogger(MongoIndexManager.class);
+	private static final String ID_KEY = "id";
+	private static final String NAME_KEY = "name";
+	private static final String SEARCH_NAME_KEY = "searchName";
+	private static final String DATE_KEY = "date";
+	private static final String FILM_ID_KEY = "filmId";
+	private static final String INDEX_KEY = "key";
+	private static final String TEXT_INDEX = "text";
+	private static final String TEXT_KEY = "_fts";
+	private static final String TEXT_WEIGHTS_KEY = "weights";
+	private static final String TEXT_LANGUAGE = "none";
+	
+	private final Map<MongoCollection<Document>, List<Document>> requiredIndexes = new LinkedHashMap<>();
+	private final List<MongoCollection<Document>> searchableCollections;
+	private int batchSize = 1000;
+	
+	public MongoIndexManager(MongoClient client, String databaseName, 
+			String actorCollectionName, String filmCollectionName, String reportCollectionName) {
+		MongoDatabase database = client.getDatabase(databaseName);
+		requiredIndexes.put(database.getCollection(actorCollectionName), 
+				List.of(new Document(NAME_KEY, 1), searchIndex(), textIndex()));
+		requiredIndexes.put(database.getCollection(filmCollectionName), 
+				List.of(new Document(NAME_KEY, 1), new Document(DATE_KEY, 1), searchIndex(), textIndex()));
+		// findByActorId is already served by the (actorId, filmId) unique index
+		requiredIndexes.put(database.getCollection(reportCollectionName), 
+				List.of(new Document(FILM_ID_KEY, 1)));
+		searchableCollections = List.of(database.getCollection(actorCollectionName), 
+				database.getCollection(filmCollectionName));
+	}
+	
+	public void setBatchSize(int batchSize) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException("ERROR: the batch size should be positive!");
+		}
+		this.batchSize = batchSize;
+	}
+	
+	public void buildIndexes() {
+		searchableCollections.forEach(this::backfillSearchNames);
+		requiredIndexes.forEach((collection, indexes) -> missingKeys(collection, indexes).forEach(keys -> {
+			LOGGER.info("Building index {} on collection {}...", keys.toJson(), collection.getNamespace());
+			IndexOptions options = new IndexOptions().background(true);
+			if(keys.containsValue(TEXT_INDEX)) {
+				options.defaultLanguage(TEXT_LANGUAGE);
+			}
+			collection.createIndex(keys, options);
+		}));
+		LOGGER.info("Successfully built the secondary indexes.");
+	}
+	
+	public List<String> findMissingIndexes() {
+		List<String> missingIndexes = new ArrayList<>();
+		requiredIndexes.forEach((collection, indexes) -> missingKeys(collection, indexes).forEach(keys -> {
+			String missing = collection.getNamespace().getCollectionName()+" "+keys.toJson();
+			LOGGER.warn("Missing index {}", missing);
+			missingIndexes.add(missing);
+		}));
+		return missingIndexes;
+	}
+	
+	private void backfillSearchNames(MongoCollection<Document> collection) {
+		// documents written before the search key existed are found by the prefix search only after this
+		List<WriteModel<Document>> updates = new ArrayList<>(batchSize);
+		long updated = 0;
+		try(MongoCursor<Document> cursor = collection.find(Filters.exists(SEARCH_NAME_KEY, false))
+				.projection(Projections.include(ID_KEY, NAME_KEY)).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				Document d = cursor.next();
+				String name = d.getString(NAME_KEY);
+				if(name == null) {
+					continue;
+				}
+				updates.add(new UpdateOneModel<>(Filters.eq(ID_KEY, d.get(ID_KEY)), 
+						Updates.set(SEARCH_NAME_KEY, SearchNames.normalize(name))));
+				if(updates.size() == batchSize) {
+					updated += flush(collection, updates);
+				}
+			}
+		}
+		updated += flush(collection, updates);
+		if(updated > 0) {
+			LOGGER.info("Added the search key to {} documents of collection {}.", updated, collection.getNamespace());
+		}
+	}
+	
+	private static long flush(MongoCollection<Document> collection, List<WriteModel<Document>> updates) {
+		if(updates.isEmpty()) {
+			return 0;
+		}
+		long modified = collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+		updates.clear();
+		return modified;
+	}
+	
+	private static Document searchIndex() {
+		return new Document(SEARCH_NAME_KEY, 1).append(ID_KEY, 1);
+	}
+	
+	private static Document textIndex() {
+		return new Document(NAME_KEY, TEXT_INDEX);
+	}
+	
+	private List<Document> missingKeys(MongoCollection<Document> collection, List<Document> indexes) {
+		List<Document> existingIndexes = collection.listIndexes().into(new ArrayList<>());
+		return indexes.stream()
+				.filter(keys -> existingIndexes.stream().noneMatch(existing -> sameKeys(existing, keys)))
+				.toList();
+	}
+	
+	private boolean sameKeys(Document existingIndex, Document keys) {
+		Document existing = existingIndex.get(INDEX_KEY, Document.class);
+		if(keys.containsValue(TEXT_INDEX)) {
+			// the server stores a text index under internal keys, with the indexed fields as weights
+			Document weights = existingIndex.get(TEXT_WEIGHTS_KEY, Document.class);
+			return existing.equals(keys) || existing.containsKey(TEXT_KEY) 
+					&& weights != null && weights.keySet().equals(keys.keySet());
+		}
+		if(!new ArrayList<>(existing.keySet()).equals(new ArrayList<>(keys.keySet()))) {
+			return false;
+		}
+		return keys.keySet().stream().allMatch(k -> existing.get(k) instanceof Number n 
+				&& n.intValue() == keys.getInteger(k));
+	}
+
+}
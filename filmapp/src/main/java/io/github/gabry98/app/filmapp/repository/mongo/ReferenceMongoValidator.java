@@ -0,0 +1,53 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import io.github.gabry98.app.filmapp.repository.ReferenceValidator;
+
+/**
+ * Checks that the Actor and the Film of a new Report exist with a single aggregation on the
+ * actor collection, which carries the film id along and looks the Film up in the same round trip.
+ * The uniqueness of the report id and of the (actorId, filmId) pair is left to the unique indexes
+ * of the report collection, which enforce it atomically on insert.
+ */
+public class ReferenceMongoValidator implements ReferenceValidator {
+	
+	private static final Logger LOGGER = LogManager.getLogger(ReferenceMongoValidator.class);
+	private static final String ID_KEY = "id";
+	private static final String FILM_REF_KEY = "filmRef";
+	private static final String FILMS_KEY = "films";
+	
+	private MongoCollection<Document> actorCollection;
+	private String filmCollectionName;
+	
+	public ReferenceMongoValidator(MongoClient client, String databaseName, 
+			String actorCollectionName, String filmCollectionName) {
+		this.actorCollection = client.getDatabase(databaseName).getCollection(actorCollectionName);
+		this.filmCollectionName = filmCollectionName;
+	}
+	
+	@Override
+	public void checkReportReferences(int actorId, int filmId) {
+		LOGGER.info("Checking the existence of the Actor with ID {} and of the Film with ID {}...", actorId, filmId);
+		Document actor = actorCollection.aggregate(List.of(
+				Aggregates.match(Filters.eq(ID_KEY, actorId)),
+				Aggregates.limit(1),
+				Aggregates.project(Projections.computed(FILM_REF_KEY, new Document("$literal", filmId))),
+				Aggregates.lookup(filmCollectionName, FILM_REF_KEY, ID_KEY, FILMS_KEY)))
+				.first();
+		if(actor == null) {
+			throw new IllegalArgumentException("ERROR: No existing Actor with id "+actorId+".");
+		}
+		if(actor.getList(FILMS_KEY, Document.class).isEmpty()) {
+			throw new IllegalArgumentException("ERROR: No existing Film with id "+filmId+".");
+		}
+	}
+
+}
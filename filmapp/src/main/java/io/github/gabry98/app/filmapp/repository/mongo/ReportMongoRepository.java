@@ -1,40 +1,164 @@
 package io.github.gabry98.app.filmapp.repository.mongo;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.StreamSupport;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
 import io.github.gabry98.app.filmapp.repository.ReportRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.codec.StreamingCodecs;
 
 public class ReportMongoRepository implements ReportRepository {
-	private MongoCollection<Document> reportCollection;
+	private MongoCollection<Report> reportCollection;
+	private MongoCollection<Document> actorCollection;
+	private MongoCollection<Document> filmCollection;
+	private String actorCollectionName;
+	private String filmCollectionName;
+	private int batchSize = DEFAULT_BATCH_SIZE;
 	
 	private static final Logger LOGGER = LogManager.getLogger(ReportMongoRepository.class);
 	private static final String REPORT_ID_KEY = "id";
 	private static final String ACTOR_ID_KEY = "actorId";
 	private static final String FILM_ID_KEY = "filmId";
+	private static final String ACTOR_KEY = "actor";
+	private static final String FILM_KEY = "film";
+	private static final String NAME_KEY = "name";
+	private static final String DATE_KEY = "date";
+	private static final String DEFAULT_ACTOR_COLLECTION = "actorCollection";
+	private static final String DEFAULT_FILM_COLLECTION = "filmCollection";
+	private static final String PAIR_INDEX_NAME = "actorId_1_filmId_1";
 	private static final String ID_EXCEPTION_ERROR = "ERROR: id should be positive!";
+	private static final String PAGE_SIZE_ERROR = "ERROR: the page size should be positive!";
+	private static final String LIMIT_ERROR = "ERROR: the number of results should be positive!";
+	private static final String BATCH_SIZE_ERROR = "ERROR: the batch size should be positive!";
+	private static final int DEFAULT_BATCH_SIZE = 1000;
 	
 	public ReportMongoRepository(MongoClient client, String databaseName, String collectionName) {
+		this(client, databaseName, collectionName, DEFAULT_ACTOR_COLLECTION, DEFAULT_FILM_COLLECTION);
+	}
+	
+	public ReportMongoRepository(MongoClient client, String databaseName, String collectionName, 
+			String actorCollectionName, String filmCollectionName) {
+		this.actorCollectionName = actorCollectionName;
+		this.filmCollectionName = filmCollectionName;
 		reportCollection = client
 				.getDatabase(databaseName)
-				.getCollection(collectionName);
+				.getCollection(collectionName, Report.class)
+				.withCodecRegistry(StreamingCodecs.registry());
+		actorCollection = client.getDatabase(databaseName).getCollection(actorCollectionName);
+		filmCollection = client.getDatabase(databaseName).getCollection(filmCollectionName);
+		reportCollection.createIndex(Indexes.ascending(REPORT_ID_KEY), new IndexOptions().unique(true));
+		reportCollection.createIndex(Indexes.ascending(ACTOR_ID_KEY, FILM_ID_KEY), 
+				new IndexOptions().unique(true).name(PAIR_INDEX_NAME));
 		LOGGER.info("Successfully initialized Report Repository");
 	}
 	
 	@Override
 	public List<Report> findAll() {
 		LOGGER.info("Sending the list of the reports in repository...");
-		return StreamSupport.stream(reportCollection.find().spliterator(), false)
-				.map(d -> new Report(d.getInteger(REPORT_ID_KEY), d.getInteger(ACTOR_ID_KEY), d.getInteger(FILM_ID_KEY)))
-				.toList();
+		return reportCollection.find().into(new ArrayList<>());
+	}
+	
+	@Override
+	public List<Report> findPage(int afterId, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+		}
+		LOGGER.info("Sending a page of at most {} reports after ID {}...", limit, afterId);
+		return reportCollection.find(Filters.gt(REPORT_ID_KEY, afterId))
+				.sort(Sorts.ascending(REPORT_ID_KEY))
+				.limit(limit)
+				.into(new ArrayList<>());
+	}
+	
+	@Override
+	public void forEachReport(Consumer<Report> consumer) {
+		LOGGER.info("Streaming the reports in repository in batches of {}...", batchSize);
+		try(MongoCursor<Report> cursor = reportCollection.find().batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	@Override
+	public List<ReportDetail> findDetailsPage(int afterId, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+		}
+		LOGGER.info("Sending a page of at most {} detailed reports after ID {}...", limit, afterId);
+		List<Bson> pipeline = new ArrayList<>();
+		pipeline.add(Aggregates.match(Filters.gt(REPORT_ID_KEY, afterId)));
+		pipeline.add(Aggregates.sort(Sorts.ascending(REPORT_ID_KEY)));
+		pipeline.add(Aggregates.limit(limit));
+		pipeline.addAll(detailStages());
+		return reportCollection.aggregate(pipeline, ReportDetail.class).into(new ArrayList<>());
+	}
+	
+	@Override
+	public void forEachReportDetail(Consumer<ReportDetail> consumer) {
+		LOGGER.info("Streaming the detailed reports in repository in batches of {}...", batchSize);
+		try(MongoCursor<ReportDetail> cursor = reportCollection.aggregate(detailStages(), ReportDetail.class)
+				.batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	private List<Bson> detailStages() {
+		// the names are joined on the server, one pipeline instead of two lookups per report
+		return List.of(
+				Aggregates.lookup(actorCollectionName, ACTOR_ID_KEY, REPORT_ID_KEY, ACTOR_KEY),
+				Aggregates.lookup(filmCollectionName, FILM_ID_KEY, REPORT_ID_KEY, FILM_KEY),
+				Aggregates.project(Projections.fields(
+						Projections.include(REPORT_ID_KEY, ACTOR_ID_KEY, FILM_ID_KEY),
+						Projections.computed(ACTOR_KEY, firstElement(ACTOR_KEY)),
+						Projections.computed(FILM_KEY, firstElement(FILM_KEY)))),
+				Aggregates.project(Projections.fields(
+						Projections.excludeId(),
+						Projections.include(REPORT_ID_KEY, ACTOR_ID_KEY, FILM_ID_KEY),
+						Projections.computed("actorName", "$"+ACTOR_KEY+"."+NAME_KEY),
+						Projections.computed("filmName", "$"+FILM_KEY+"."+NAME_KEY),
+						Projections.computed("filmDate", "$"+FILM_KEY+"."+DATE_KEY))));
+	}
+	
+	private static Document firstElement(String arrayKey) {
+		return new Document("$arrayElemAt", List.of("$"+arrayKey, 0));
+	}
+	
+	public void setBatchSize(int batchSize) {
+		if(batchSize <= 0) {
+			throw new IllegalArgumentException(BATCH_SIZE_ERROR);
+		}
+		this.batchSize = batchSize;
 	}
 	
 	@Override
@@ -43,21 +167,125 @@ public class ReportMongoRepository implements ReportRepository {
 		checkReportId(id);
 		checkActorId(actorId);
 		checkFilmId(filmId);
-		checkPair(actorId, filmId);
 		LOGGER.info("Inserting a new Report inside the repository...");
-		reportCollection.insertOne(
-				new Document()
-				.append(REPORT_ID_KEY, id)
-				.append(ACTOR_ID_KEY, actorId)
-				.append(FILM_ID_KEY, filmId));
-	}
-	
-	private void checkPair(int actorId, int filmId) {
-		List<Report> reports = findAll();
-			
-		Optional<Report> alreadyExists = reports.stream().filter(r -> r.getActorId() == actorId && r.getFilmId() == filmId).findFirst();
-			
-		if(!alreadyExists.isEmpty()) {
+		try {
+			reportCollection.insertOne(new Report(id, actorId, filmId));
+		} catch(MongoWriteException e) {
+			checkDuplicatePair(e, actorId, filmId);
+			checkDuplicateId(e, id);
+		}
+	}
+	
+	@Override
+	public List<InsertStatus> addReports(List<Report> reports) {
+		LOGGER.info("Checking the correctness for {} Reports to add...", reports.size());
+		InsertStatus[] results = new InsertStatus[reports.size()];
+		List<Report> documents = new ArrayList<>();
+		List<Integer> positions = new ArrayList<>();
+		Set<Integer> actorIds = new HashSet<>();
+		Set<Integer> filmIds = new HashSet<>();
+		for(int i = 0; i < reports.size(); i++) {
+			Report r = reports.get(i);
+			try {
+				checkReportId(r.getId());
+				checkActorId(r.getActorId());
+				checkFilmId(r.getFilmId());
+			} catch(IllegalArgumentException e) {
+				results[i] = InsertStatus.INVALID_DATA;
+				continue;
+			}
+			actorIds.add(r.getActorId());
+			filmIds.add(r.getFilmId());
+		}
+		if(actorIds.isEmpty()) {
+			return Arrays.asList(results);
+		}
+		// one query per referenced collection for the whole batch, instead of one check per Report
+		Set<Integer> existingActors = existingIds(actorCollection, actorIds);
+		Set<Integer> existingFilms = existingIds(filmCollection, filmIds);
+		Set<Integer> batchIds = new HashSet<>();
+		Set<List<Integer>> batchPairs = new HashSet<>();
+		for(int i = 0; i < reports.size(); i++) {
+			Report r = reports.get(i);
+			if(results[i] != null) {
+				continue;
+			}
+			if(!existingActors.contains(r.getActorId()) || !existingFilms.contains(r.getFilmId())) {
+				results[i] = InsertStatus.INVALID_DATA;
+				continue;
+			}
+			if(!batchIds.add(r.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			if(!batchPairs.add(List.of(r.getActorId(), r.getFilmId()))) {
+				results[i] = InsertStatus.DUPLICATE_PAIR;
+				continue;
+			}
+			results[i] = InsertStatus.INSERTED;
+		}
+		if(batchIds.isEmpty()) {
+			return Arrays.asList(results);
+		}
+		Set<Integer> existingIds = new HashSet<>();
+		Set<List<Integer>> existingPairs = new HashSet<>();
+		for(Report existing : reportCollection.find(Filters.or(
+				Filters.in(REPORT_ID_KEY, batchIds), pairsFilter(batchPairs)))) {
+			existingIds.add(existing.getId());
+			existingPairs.add(List.of(existing.getActorId(), existing.getFilmId()));
+		}
+		for(int i = 0; i < reports.size(); i++) {
+			Report r = reports.get(i);
+			if(results[i] != InsertStatus.INSERTED) {
+				continue;
+			}
+			if(existingIds.contains(r.getId())) {
+				results[i] = InsertStatus.DUPLICATE_ID;
+				continue;
+			}
+			if(existingPairs.contains(List.of(r.getActorId(), r.getFilmId()))) {
+				results[i] = InsertStatus.DUPLICATE_PAIR;
+				continue;
+			}
+			positions.add(i);
+			documents.add(r);
+		}
+		if(!documents.isEmpty()) {
+			LOGGER.info("Inserting {} new Reports inside the repository...", documents.size());
+			try {
+				reportCollection.insertMany(documents, new InsertManyOptions().ordered(false));
+			} catch(MongoBulkWriteException e) {
+				for(BulkWriteError error : e.getWriteErrors()) {
+					if(error.getCategory() != ErrorCategory.DUPLICATE_KEY) {
+						throw e;
+					}
+					results[positions.get(error.getIndex())] = error.getMessage().contains(PAIR_INDEX_NAME) 
+							? InsertStatus.DUPLICATE_PAIR : InsertStatus.DUPLICATE_ID;
+				}
+			}
+		}
+		return Arrays.asList(results);
+	}
+	
+	private static Set<Integer> existingIds(MongoCollection<Document> collection, Set<Integer> ids) {
+		Set<Integer> existing = new HashSet<>();
+		for(Document d : collection.find(Filters.in(REPORT_ID_KEY, ids)).projection(Projections.include(REPORT_ID_KEY))) {
+			existing.add(d.getInteger(REPORT_ID_KEY));
+		}
+		return existing;
+	}
+	
+	private static Bson pairsFilter(Set<List<Integer>> pairs) {
+		// the exact pairs of the batch, each one an equality match on the compound index
+		List<Bson> filters = new ArrayList<>(pairs.size());
+		for(List<Integer> pair : pairs) {
+			filters.add(Filters.and(Filters.eq(ACTOR_ID_KEY, pair.get(0)), Filters.eq(FILM_ID_KEY, pair.get(1))));
+		}
+		return Filters.or(filters);
+	}
+	
+	private void checkDuplicatePair(MongoWriteException e, int actorId, int filmId) {
+		if(e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY && e.getError().getMessage().contains(PAIR_INDEX_NAME)) {
 			throw new IllegalArgumentException("ERROR: Pair with ActorId "+actorId+" and FilmId "+filmId+" already exists!");
 		}
 	}
@@ -66,10 +294,13 @@ public class ReportMongoRepository implements ReportRepository {
 		if(id <= 0) {
 			throw new IllegalArgumentException(ID_EXCEPTION_ERROR);
 		}
-		Document d = reportCollection.find(Filters.eq(REPORT_ID_KEY, id)).first();
-		if(d != null) {
+	}
+	
+	private void checkDuplicateId(MongoWriteException e, int id) {
+		if(e.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) {
 			throw new IllegalArgumentException("ERROR: Report with id "+id+" already exists!");
 		}
+		throw e;
 	}
 	
 	private void checkActorId(int id) {
@@ -87,29 +318,88 @@ public class ReportMongoRepository implements ReportRepository {
 	@Override
 	public Report findById(int id) {
 		LOGGER.info("Searching a Report by ID...");
-		Document d = reportCollection.find(Filters.eq(REPORT_ID_KEY, id)).first();
-		return d != null ? fromDocumentToReport(d) : null;
-	}
-
-	private Report fromDocumentToReport(Document d) {
-		LOGGER.info("Converting a Document to a Report...");
-		return new Report(d.getInteger(REPORT_ID_KEY), d.getInteger(ACTOR_ID_KEY), d.getInteger(FILM_ID_KEY));
+		return reportCollection.find(Filters.eq(REPORT_ID_KEY, id)).first();
 	}
 	
 	@Override
 	public List<Report> findByActorId(int id) {
 		LOGGER.info("Searching a Report by Actor ID...");
-		return StreamSupport.stream(reportCollection.find(Filters.eq(ACTOR_ID_KEY, id)).spliterator(), false)
-				.map(d -> new Report(d.getInteger(REPORT_ID_KEY), d.getInteger(ACTOR_ID_KEY), d.getInteger(FILM_ID_KEY)))
-				.toList();
+		return reportCollection.find(Filters.eq(ACTOR_ID_KEY, id)).into(new ArrayList<>());
 	}
 	
 	@Override
 	public List<Report> findByFilmId(int id) {
 		LOGGER.info("Searching a Report by Film ID...");
-		return StreamSupport.stream(reportCollection.find(Filters.eq(FILM_ID_KEY, id)).spliterator(), false)
-				.map(d -> new Report(d.getInteger(REPORT_ID_KEY), d.getInteger(ACTOR_ID_KEY), d.getInteger(FILM_ID_KEY)))
-				.toList();
+		return reportCollection.find(Filters.eq(FILM_ID_KEY, id)).into(new ArrayList<>());
+	}
+	
+	@Override
+	public void forEachReportByActorId(int id, Consumer<Report> consumer) {
+		LOGGER.info("Streaming the reports with Actor ID {} in batches of {}...", id, batchSize);
+		forEachReport(Filters.eq(ACTOR_ID_KEY, id), consumer);
+	}
+	
+	@Override
+	public void forEachReportByFilmId(int id, Consumer<Report> consumer) {
+		LOGGER.info("Streaming the reports with Film ID {} in batches of {}...", id, batchSize);
+		forEachReport(Filters.eq(FILM_ID_KEY, id), consumer);
+	}
+	
+	private void forEachReport(Bson filter, Consumer<Report> consumer) {
+		try(MongoCursor<Report> cursor = reportCollection.find(filter).batchSize(batchSize).iterator()) {
+			while(cursor.hasNext()) {
+				consumer.accept(cursor.next());
+			}
+		}
+	}
+	
+	@Override
+	public List<Film> findFilmography(int actorId) {
+		LOGGER.info("Searching the Films of the Actor with ID {}...", actorId);
+		return reportCollection.aggregate(List.of(
+				Aggregates.match(Filters.eq(ACTOR_ID_KEY, actorId)),
+				Aggregates.lookup(filmCollectionName, FILM_ID_KEY, REPORT_ID_KEY, FILM_KEY),
+				Aggregates.unwind("$"+FILM_KEY),
+				Aggregates.project(Projections.fields(
+						Projections.excludeId(),
+						Projections.computed(REPORT_ID_KEY, "$"+FILM_KEY+"."+REPORT_ID_KEY),
+						Projections.computed(NAME_KEY, "$"+FILM_KEY+"."+NAME_KEY),
+						Projections.computed(DATE_KEY, "$"+FILM_KEY+"."+DATE_KEY))),
+				Aggregates.sort(Sorts.ascending(DATE_KEY, REPORT_ID_KEY))), Film.class)
+				.into(new ArrayList<>());
+	}
+	
+	@Override
+	public List<Actor> findCast(int filmId) {
+		LOGGER.info("Searching the Actors of the Film with ID {}...", filmId);
+		return reportCollection.aggregate(List.of(
+				Aggregates.match(Filters.eq(FILM_ID_KEY, filmId)),
+				Aggregates.lookup(actorCollectionName, ACTOR_ID_KEY, REPORT_ID_KEY, ACTOR_KEY),
+				Aggregates.unwind("$"+ACTOR_KEY),
+				Aggregates.project(Projections.fields(
+						Projections.excludeId(),
+						Projections.computed(REPORT_ID_KEY, "$"+ACTOR_KEY+"."+REPORT_ID_KEY),
+						Projections.computed(NAME_KEY, "$"+ACTOR_KEY+"."+NAME_KEY))),
+				Aggregates.sort(Sorts.ascending(NAME_KEY, REPORT_ID_KEY))), Actor.class)
+				.into(new ArrayList<>());
+	}
+	
+	@Override
+	public List<RankedCount> countTopReportsByActorId(int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Counting the Reports of the {} Actors with the most Reports...", limit);
+		return GroupCounts.topBy(reportCollection, ACTOR_ID_KEY, limit);
+	}
+	
+	@Override
+	public List<RankedCount> countTopReportsByFilmId(int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		LOGGER.info("Counting the Reports of the {} Films with the most Reports...", limit);
+		return GroupCounts.topBy(reportCollection, FILM_ID_KEY, limit);
 	}
 	
 	@Override
@@ -117,7 +407,14 @@ public class ReportMongoRepository implements ReportRepository {
 		LOGGER.info("Checking if ID already exists...");
 		checkReportId(newId);
 		LOGGER.info("Updating Report with ID {}...", oldId);
-		reportCollection.updateOne(Filters.eq(REPORT_ID_KEY, oldId), Updates.set(REPORT_ID_KEY, newId));
+		try {
+			UpdateResult result = reportCollection.updateOne(Filters.eq(REPORT_ID_KEY, oldId), Updates.set(REPORT_ID_KEY, newId));
+			if(oldId == newId && result.getMatchedCount() > 0) {
+				throw new IllegalArgumentException("ERROR: Report with id "+newId+" already exists!");
+			}
+		} catch(MongoWriteException e) {
+			checkDuplicateId(e, newId);
+		}
 		LOGGER.info("Successfully changed ID {} with ID {}", oldId, newId);
 	}
 	
@@ -141,5 +438,21 @@ public class ReportMongoRepository implements ReportRepository {
 		reportCollection.deleteMany(Filters.eq(FILM_ID_KEY, id));
 		LOGGER.info("Successfully deleted Reports with Film ID {}.", id);
 	}
+	
+	@Override
+	public void findAndDeleteReportsByActorId(int id, Consumer<Report> consumer) {
+		LOGGER.info("Deleting and streaming Reports with Actor ID {} in batches of {}...", id, batchSize);
+		long deleted = DeleteReturning.deleteMany(reportCollection, 
+				Filters.eq(ACTOR_ID_KEY, id), Report::getId, batchSize, consumer);
+		LOGGER.info("Successfully deleted {} Reports with Actor ID {}.", deleted, id);
+	}
+	
+	@Override
+	public void findAndDeleteReportsByFilmId(int id, Consumer<Report> consumer) {
+		LOGGER.info("Deleting and streaming Reports with Film ID {} in batches of {}...", id, batchSize);
+		long deleted = DeleteReturning.deleteMany(reportCollection, 
+				Filters.eq(FILM_ID_KEY, id), Report::getId, batchSize, consumer);
+		LOGGER.info("Successfully deleted {} Reports with Film ID {}.", deleted, id);
+	}
 
 }
@@ -0,0 +1,39 @@
+package io.github.gabry98.app.filmapp.repository.mongo;
+
+import java.util.function.LongSupplier;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Counts the commands sent to the server by each thread. The synchronous driver notifies the
+ * listener on the calling thread, so the difference between two readings taken around a call
+ * is the number of round trips that call needed.
+ */
+public class RoundTripCounter implements CommandListener, LongSupplier {
+	
+	private final ThreadLocal<long[]> count = ThreadLocal.withInitial(() -> new long[1]);
+	
+	@Override
+	public void commandStarted(CommandStartedEvent event) {
+		count.get()[0]++;
+	}
+	
+	@Override
+	public void commandSucceeded(CommandSucceededEvent event) {
+		// only the started commands are counted
+	}
+	
+	@Override
+	public void commandFailed(CommandFailedEvent event) {
+		// only the started commands are counted
+	}
+	
+	@Override
+	public long getAsLong() {
+		return count.get()[0];
+	}
+
+}
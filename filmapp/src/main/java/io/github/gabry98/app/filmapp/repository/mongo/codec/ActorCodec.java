@@ -0,0 +1,52 @@
+package io.github.gabry98.app.filmapp.repository.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.search.SearchNames;
+
+public class ActorCodec implements Codec<Actor> {
+	
+	private static final String OBJECT_ID_KEY = "_id";
+	private static final String ID_KEY = "id";
+	private static final String NAME_KEY = "name";
+	private static final String SEARCH_NAME_KEY = "searchName";
+
+	@Override
+	public void encode(BsonWriter writer, Actor actor, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writer.writeObjectId(OBJECT_ID_KEY, new ObjectId());
+		writer.writeInt32(ID_KEY, actor.getId());
+		writer.writeString(NAME_KEY, actor.getName());
+		writer.writeString(SEARCH_NAME_KEY, SearchNames.normalize(actor.getName()));
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public Actor decode(BsonReader reader, DecoderContext decoderContext) {
+		int id = 0;
+		String name = null;
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			switch(reader.readName()) {
+				case ID_KEY -> id = reader.readInt32();
+				case NAME_KEY -> name = reader.readString();
+				default -> reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return new Actor(id, name);
+	}
+
+	@Override
+	public Class<Actor> getEncoderClass() {
+		return Actor.class;
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.github.gabry98.app.filmapp.repository.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.repository.search.SearchNames;
+
+public class FilmCodec implements Codec<Film> {
+	
+	private static final String OBJECT_ID_KEY = "_id";
+	private static final String ID_KEY = "id";
+	private static final String NAME_KEY = "name";
+	private static final String SEARCH_NAME_KEY = "searchName";
+	private static final String DATE_KEY = "date";
+
+	@Override
+	public void encode(BsonWriter writer, Film film, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writer.writeObjectId(OBJECT_ID_KEY, new ObjectId());
+		writer.writeInt32(ID_KEY, film.getId());
+		writer.writeString(NAME_KEY, film.getName());
+		writer.writeString(SEARCH_NAME_KEY, SearchNames.normalize(film.getName()));
+		writer.writeInt32(DATE_KEY, film.getDate());
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public Film decode(BsonReader reader, DecoderContext decoderContext) {
+		int id = 0;
+		String name = null;
+		int date = 0;
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			switch(reader.readName()) {
+				case ID_KEY -> id = reader.readInt32();
+				case NAME_KEY -> name = reader.readString();
+				case DATE_KEY -> date = reader.readInt32();
+				default -> reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return new Film(id, name, date);
+	}
+
+	@Override
+	public Class<Film> getEncoderClass() {
+		return Film.class;
+	}
+
+}
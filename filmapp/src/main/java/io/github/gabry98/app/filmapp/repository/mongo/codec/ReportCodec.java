@@ -0,0 +1,53 @@
+package io.github.gabry98.app.filmapp.repository.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import io.github.gabry98.app.filmapp.model.Report;
+
+public class ReportCodec implements Codec<Report> {
+	
+	private static final String OBJECT_ID_KEY = "_id";
+	private static final String ID_KEY = "id";
+	private static final String ACTOR_ID_KEY = "actorId";
+	private static final String FILM_ID_KEY = "filmId";
+
+	@Override
+	public void encode(BsonWriter writer, Report report, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writer.writeObjectId(OBJECT_ID_KEY, new ObjectId());
+		writer.writeInt32(ID_KEY, report.getId());
+		writer.writeInt32(ACTOR_ID_KEY, report.getActorId());
+		writer.writeInt32(FILM_ID_KEY, report.getFilmId());
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public Report decode(BsonReader reader, DecoderContext decoderContext) {
+		int id = 0;
+		int actorId = 0;
+		int filmId = 0;
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			switch(reader.readName()) {
+				case ID_KEY -> id = reader.readInt32();
+				case ACTOR_ID_KEY -> actorId = reader.readInt32();
+				case FILM_ID_KEY -> filmId = reader.readInt32();
+				default -> reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return new Report(id, actorId, filmId);
+	}
+
+	@Override
+	public Class<Report> getEncoderClass() {
+		return Report.class;
+	}
+
+}
@@ -0,0 +1,75 @@
+package io.github.gabry98.app.filmapp.repository.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+
+public class ReportDetailCodec implements Codec<ReportDetail> {
+	
+	private static final String ID_KEY = "id";
+	private static final String ACTOR_ID_KEY = "actorId";
+	private static final String ACTOR_NAME_KEY = "actorName";
+	private static final String FILM_ID_KEY = "filmId";
+	private static final String FILM_NAME_KEY = "filmName";
+	private static final String FILM_DATE_KEY = "filmDate";
+
+	@Override
+	public void encode(BsonWriter writer, ReportDetail detail, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writer.writeInt32(ID_KEY, detail.getId());
+		writer.writeInt32(ACTOR_ID_KEY, detail.getActorId());
+		writeNullableString(writer, ACTOR_NAME_KEY, detail.getActorName());
+		writer.writeInt32(FILM_ID_KEY, detail.getFilmId());
+		writeNullableString(writer, FILM_NAME_KEY, detail.getFilmName());
+		writer.writeInt32(FILM_DATE_KEY, detail.getFilmDate());
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public ReportDetail decode(BsonReader reader, DecoderContext decoderContext) {
+		int id = 0;
+		int actorId = 0;
+		String actorName = null;
+		int filmId = 0;
+		String filmName = null;
+		int filmDate = 0;
+		reader.readStartDocument();
+		while(reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			String name = reader.readName();
+			if(reader.getCurrentBsonType() == BsonType.NULL) {
+				reader.readNull();
+				continue;
+			}
+			switch(name) {
+				case ID_KEY -> id = reader.readInt32();
+				case ACTOR_ID_KEY -> actorId = reader.readInt32();
+				case ACTOR_NAME_KEY -> actorName = reader.readString();
+				case FILM_ID_KEY -> filmId = reader.readInt32();
+				case FILM_NAME_KEY -> filmName = reader.readString();
+				case FILM_DATE_KEY -> filmDate = reader.readInt32();
+				default -> reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return new ReportDetail(id, actorId, actorName, filmId, filmName, filmDate);
+	}
+
+	@Override
+	public Class<ReportDetail> getEncoderClass() {
+		return ReportDetail.class;
+	}
+	
+	private static void writeNullableString(BsonWriter writer, String key, String value) {
+		if(value == null) {
+			writer.writeNull(key);
+		} else {
+			writer.writeString(key, value);
+		}
+	}
+
+}
@@ -0,0 +1,21 @@
+package io.github.gabry98.app.filmapp.repository.mongo.codec;
+
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import com.mongodb.MongoClient;
+
+public final class StreamingCodecs {
+	
+	private static final CodecRegistry REGISTRY = CodecRegistries.fromRegistries(
+			CodecRegistries.fromCodecs(new ActorCodec(), new FilmCodec(), new ReportCodec(), new ReportDetailCodec()),
+			MongoClient.getDefaultCodecRegistry());
+	
+	private StreamingCodecs() {
+	}
+	
+	public static CodecRegistry registry() {
+		return REGISTRY;
+	}
+
+}
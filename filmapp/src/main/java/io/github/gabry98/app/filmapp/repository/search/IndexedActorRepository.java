@@ -0,0 +1,125 @@
+package io.github.gabry98.app.filmapp.repository.search;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+/**
+ * Answers the prefix searches on the Actor names from a {@link NamePrefixIndex} kept in sync
+ * by the write methods, and from the delegate while the index is still cold.
+ */
+public class IndexedActorRepository implements ActorRepository {
+
+	private final ActorRepository delegate;
+	private final NamePrefixIndex<Actor> nameIndex = new NamePrefixIndex<>("Actor", Actor::getId, Actor::getName);
+
+	public IndexedActorRepository(ActorRepository delegate) {
+		this.delegate = delegate;
+	}
+
+	public boolean buildNameIndex() {
+		return nameIndex.load(delegate::forEachActor);
+	}
+
+	public boolean isNameIndexLoaded() {
+		return nameIndex.isLoaded();
+	}
+
+	@Override
+	public List<Actor> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Actor> findPage(int afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachActor(Consumer<Actor> consumer) {
+		delegate.forEachActor(consumer);
+	}
+
+	@Override
+	public void addActor(int id, String name) {
+		delegate.addActor(id, name);
+		nameIndex.put(new Actor(id, name));
+	}
+
+	@Override
+	public List<InsertStatus> addActors(List<Actor> actors) {
+		List<InsertStatus> results = delegate.addActors(actors);
+		for(int i = 0; i < actors.size(); i++) {
+			if(results.get(i) == InsertStatus.INSERTED) {
+				nameIndex.put(actors.get(i));
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public Actor findById(int id) {
+		return delegate.findById(id);
+	}
+
+	@Override
+	public List<Actor> findByName(String name) {
+		return delegate.findByName(name);
+	}
+
+	@Override
+	public void forEachActorByName(String name, Consumer<Actor> consumer) {
+		delegate.forEachActorByName(name, consumer);
+	}
+
+	@Override
+	public List<Actor> findByNamePrefix(String prefix, int limit) {
+		List<Actor> found = nameIndex.findByPrefix(prefix, limit);
+		return found != null ? found : delegate.findByNamePrefix(prefix, limit);
+	}
+
+	@Override
+	public List<Actor> searchText(String query, int limit) {
+		return delegate.searchText(query, limit);
+	}
+
+	@Override
+	public void deleteActorById(int id) {
+		delegate.deleteActorById(id);
+		nameIndex.remove(id);
+	}
+
+	@Override
+	public void updateActorId(int oldId, int newId) {
+		delegate.updateActorId(oldId, newId);
+		Actor a = nameIndex.findById(oldId);
+		nameIndex.remove(oldId);
+		if(a != null) {
+			nameIndex.put(new Actor(newId, a.getName()));
+		}
+	}
+
+	@Override
+	public void updateActorName(int id, String name) {
+		delegate.updateActorName(id, name);
+		nameIndex.put(new Actor(id, name));
+	}
+
+	@Override
+	public void deleteActorsByName(String name) {
+		delegate.deleteActorsByName(name);
+		nameIndex.removeByName(name);
+	}
+
+	@Override
+	public void findAndDeleteActorsByName(String name, Consumer<Actor> consumer) {
+		delegate.findAndDeleteActorsByName(name, a -> {
+			nameIndex.remove(a.getId());
+			consumer.accept(a);
+		});
+	}
+
+}
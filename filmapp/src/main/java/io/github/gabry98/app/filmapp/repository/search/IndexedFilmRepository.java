@@ -0,0 +1,169 @@
+package io.github.gabry98.app.filmapp.repository.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+/**
+ * Answers the prefix searches on the Film names from a {@link NamePrefixIndex} kept in sync
+ * by the write methods, and from the delegate while the index is still cold.
+ */
+public class IndexedFilmRepository implements FilmRepository {
+
+	private final FilmRepository delegate;
+	private final NamePrefixIndex<Film> nameIndex = new NamePrefixIndex<>("Film", Film::getId, Film::getName);
+
+	public IndexedFilmRepository(FilmRepository delegate) {
+		this.delegate = delegate;
+	}
+
+	public boolean buildNameIndex() {
+		return nameIndex.load(delegate::forEachFilm);
+	}
+
+	public boolean isNameIndexLoaded() {
+		return nameIndex.isLoaded();
+	}
+
+	@Override
+	public List<Film> findAll() {
+		return delegate.findAll();
+	}
+
+	@Override
+	public List<Film> findPage(int afterId, int limit) {
+		return delegate.findPage(afterId, limit);
+	}
+
+	@Override
+	public void forEachFilm(Consumer<Film> consumer) {
+		delegate.forEachFilm(consumer);
+	}
+
+	@Override
+	public void forEachFilmByDate(int date, Consumer<Film> consumer) {
+		delegate.forEachFilmByDate(date, consumer);
+	}
+
+	@Override
+	public void addFilm(int id, String name, int date) {
+		delegate.addFilm(id, name, date);
+		nameIndex.put(new Film(id, name, date));
+	}
+
+	@Override
+	public List<InsertStatus> addFilms(List<Film> films) {
+		List<InsertStatus> results = delegate.addFilms(films);
+		for(int i = 0; i < films.size(); i++) {
+			if(results.get(i) == InsertStatus.INSERTED) {
+				nameIndex.put(films.get(i));
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public Film findById(int id) {
+		return delegate.findById(id);
+	}
+
+	@Override
+	public List<Film> findByName(String name) {
+		return delegate.findByName(name);
+	}
+
+	@Override
+	public void forEachFilmByName(String name, Consumer<Film> consumer) {
+		delegate.forEachFilmByName(name, consumer);
+	}
+
+	@Override
+	public List<Film> findByNamePrefix(String prefix, int limit) {
+		List<Film> found = nameIndex.findByPrefix(prefix, limit);
+		return found != null ? found : delegate.findByNamePrefix(prefix, limit);
+	}
+
+	@Override
+	public List<Film> searchText(String query, int limit) {
+		return delegate.searchText(query, limit);
+	}
+
+	@Override
+	public void updateFilmId(int oldId, int newId) {
+		delegate.updateFilmId(oldId, newId);
+		Film f = nameIndex.findById(oldId);
+		nameIndex.remove(oldId);
+		if(f != null) {
+			nameIndex.put(new Film(newId, f.getName(), f.getDate()));
+		}
+	}
+
+	@Override
+	public void updateFilmName(int id, String name) {
+		delegate.updateFilmName(id, name);
+		Film f = nameIndex.findById(id);
+		if(f != null) {
+			nameIndex.put(new Film(id, name, f.getDate()));
+		} else {
+			nameIndex.remove(id);
+		}
+	}
+
+	@Override
+	public void updateFilmDate(int id, int date) {
+		delegate.updateFilmDate(id, date);
+		Film f = nameIndex.findById(id);
+		if(f != null) {
+			nameIndex.put(new Film(id, f.getName(), date));
+		}
+	}
+
+	@Override
+	public List<Film> findByDate(int date) {
+		return delegate.findByDate(date);
+	}
+
+	@Override
+	public Map<Integer, Integer> countFilmsByDate() {
+		return delegate.countFilmsByDate();
+	}
+
+	@Override
+	public void deleteFilmsByName(String name) {
+		delegate.deleteFilmsByName(name);
+		nameIndex.removeByName(name);
+	}
+
+	@Override
+	public void deleteFilmsByDate(int date) {
+		delegate.deleteFilmsByDate(date);
+		nameIndex.removeIf(f -> f.getDate() == date);
+	}
+
+	@Override
+	public void findAndDeleteFilmsByName(String name, Consumer<Film> consumer) {
+		delegate.findAndDeleteFilmsByName(name, f -> {
+			nameIndex.remove(f.getId());
+			consumer.accept(f);
+		});
+	}
+
+	@Override
+	public void findAndDeleteFilmsByDate(int date, Consumer<Film> consumer) {
+		delegate.findAndDeleteFilmsByDate(date, f -> {
+			nameIndex.remove(f.getId());
+			consumer.accept(f);
+		});
+	}
+
+	@Override
+	public void deleteFilmById(int id) {
+		delegate.deleteFilmById(id);
+		nameIndex.remove(id);
+	}
+
+}
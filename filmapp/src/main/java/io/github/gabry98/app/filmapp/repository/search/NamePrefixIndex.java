@@ -0,0 +1,177 @@
+package io.github.gabry98.app.filmapp.repository.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * In-memory index of the normalized names of a collection, sorted by search key and id.
+ * A prefix query seeks to the first key not smaller than the prefix and walks forward
+ * until the prefix stops matching, so it costs a logarithmic seek plus the results returned.
+ * The index is cold until a full {@link #load} succeeds; while cold the queries return
+ * {@code null} and the writes only bump a generation, which makes a load that raced with
+ * a write give up instead of publishing a stale snapshot.
+ */
+public class NamePrefixIndex<T> {
+
+	private static final Logger LOGGER = LogManager.getLogger(NamePrefixIndex.class);
+	private static final String LIMIT_ERROR = "ERROR: the number of results should be positive!";
+	private static final Comparator<Entry<?>> ORDER = Comparator
+			.<Entry<?>, String>comparing(e -> e.key)
+			.thenComparingInt(e -> e.id);
+
+	private final String name;
+	private final ToIntFunction<T> idOf;
+	private final Function<T, String> nameOf;
+	private NavigableSet<Entry<T>> entries = new TreeSet<>(ORDER);
+	private Map<Integer, Entry<T>> byId = new HashMap<>();
+	private boolean loaded;
+	private long generation;
+
+	public NamePrefixIndex(String name, ToIntFunction<T> idOf, Function<T, String> nameOf) {
+		this.name = name;
+		this.idOf = idOf;
+		this.nameOf = nameOf;
+	}
+
+	public boolean load(Consumer<Consumer<T>> source) {
+		long loadGeneration;
+		synchronized(this) {
+			loadGeneration = generation;
+		}
+		LOGGER.info("Loading the {} name index...", name);
+		NavigableSet<Entry<T>> loadedEntries = new TreeSet<>(ORDER);
+		Map<Integer, Entry<T>> loadedById = new HashMap<>();
+		source.accept(t -> put(loadedEntries, loadedById, t));
+		synchronized(this) {
+			if(loadGeneration != generation) {
+				LOGGER.warn("The {} name index has been modified while loading, it stays cold.", name);
+				return false;
+			}
+			entries = loadedEntries;
+			byId = loadedById;
+			loaded = true;
+		}
+		LOGGER.info("Successfully loaded {} names in the {} name index.", loadedById.size(), name);
+		return true;
+	}
+
+	public synchronized boolean isLoaded() {
+		return loaded;
+	}
+
+	public synchronized int size() {
+		return byId.size();
+	}
+
+	public synchronized List<T> findByPrefix(String prefix, int limit) {
+		if(limit <= 0) {
+			throw new IllegalArgumentException(LIMIT_ERROR);
+		}
+		if(!loaded) {
+			return null;
+		}
+		String key = SearchNames.normalize(prefix);
+		List<T> found = new ArrayList<>(Math.min(limit, 64));
+		Iterator<Entry<T>> iterator = entries.tailSet(new Entry<>(key, Integer.MIN_VALUE, null), true).iterator();
+		while(found.size() < limit && iterator.hasNext()) {
+			Entry<T> e = iterator.next();
+			if(!e.key.startsWith(key)) {
+				break;
+			}
+			found.add(e.value);
+		}
+		return found;
+	}
+
+	public synchronized T findById(int id) {
+		Entry<T> e = byId.get(id);
+		return e != null ? e.value : null;
+	}
+
+	public synchronized void put(T value) {
+		generation++;
+		if(loaded) {
+			put(entries, byId, value);
+		}
+	}
+
+	public synchronized void remove(int id) {
+		generation++;
+		if(loaded) {
+			Entry<T> e = byId.remove(id);
+			if(e != null) {
+				entries.remove(e);
+			}
+		}
+	}
+
+	public synchronized void removeByName(String exactName) {
+		generation++;
+		if(!loaded) {
+			return;
+		}
+		String key = SearchNames.normalize(exactName);
+		Iterator<Entry<T>> iterator = entries.tailSet(new Entry<>(key, Integer.MIN_VALUE, null), true).iterator();
+		while(iterator.hasNext()) {
+			Entry<T> e = iterator.next();
+			if(!e.key.equals(key)) {
+				break;
+			}
+			if(exactName.equals(nameOf.apply(e.value))) {
+				iterator.remove();
+				byId.remove(e.id);
+			}
+		}
+	}
+
+	public synchronized void removeIf(Predicate<T> predicate) {
+		generation++;
+		if(loaded) {
+			entries.removeIf(e -> predicate.test(e.value));
+			byId.values().removeIf(e -> predicate.test(e.value));
+		}
+	}
+
+	public synchronized void invalidate() {
+		generation++;
+		loaded = false;
+		entries = new TreeSet<>(ORDER);
+		byId = new HashMap<>();
+	}
+
+	private void put(NavigableSet<Entry<T>> entries, Map<Integer, Entry<T>> byId, T value) {
+		int id = idOf.applyAsInt(value);
+		Entry<T> e = new Entry<>(SearchNames.normalize(nameOf.apply(value)), id, value);
+		Entry<T> old = byId.put(id, e);
+		if(old != null) {
+			entries.remove(old);
+		}
+		entries.add(e);
+	}
+
+	private static final class Entry<T> {
+		private final String key;
+		private final int id;
+		private final T value;
+
+		private Entry(String key, int id, T value) {
+			this.key = key;
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+package io.github.gabry98.app.filmapp.repository.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes the names used by the prefix searches: accents are stripped and the letters
+ * lowered, so that "Amélie" and "amelie" share the same search key. The key is stored next
+ * to the name of every Actor and Film, which lets the database answer a case-insensitive
+ * prefix with an anchored, case-sensitive regex on an ascending index.
+ */
+public final class SearchNames {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final String REGEX_META = "\\^$.|?*+()[]{}";
+
+	private SearchNames() {
+	}
+
+	public static String normalize(String name) {
+		String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+		return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	public static String prefixRegex(String prefix) {
+		String key = normalize(prefix);
+		StringBuilder regex = new StringBuilder(key.length()+8).append('^');
+		for(int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			// backslash escapes instead of \Q...\E keep the prefix usable as index bounds
+			if(REGEX_META.indexOf(c) >= 0) {
+				regex.append('\\');
+			}
+			regex.append(c);
+		}
+		return regex.toString();
+	}
+
+}
@@ -8,14 +8,20 @@ public interface ActorView {
 
 	void actorAdded(int id, String name);
 
-	void actorDeletedById(int position);
+	void actorDeletedById(int id);
 
 	void actorsDeletedByName(List<Actor> deletedActors);
 
-	void actorUpdated(int oldId, int newId, int position);
+	void actorUpdated(int oldId, int newId);
 
-	void actorUpdated(int oldId, String name, int position);
+	void actorUpdated(int id, String name);
 
 	void actorFound(int id, String name);
 
+	void actorsFound(List<Actor> actors);
+
+	void actorsPageLoaded(int afterId, List<Actor> actors);
+
+	void coStarFound(int actorId, int coStarId, int sharedFilms);
+
 }
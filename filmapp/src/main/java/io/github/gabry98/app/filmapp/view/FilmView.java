@@ -8,18 +8,22 @@ public interface FilmView {
 
 	void filmAdded(int id, String name, int date);
 
-	void filmDeletedById(int id, int position);
+	void filmDeletedById(int id);
 
 	void filmsDeletedByName(List<Film> deletedFilms);
 
 	void filmsDeletedByDate(List<Film> deletedFilms);
 
-	void filmUpdatedById(int oldId, int newId, int position);
+	void filmUpdatedById(int oldId, int newId);
 
-	void filmUpdatedByName(int id, String name, int position);
+	void filmUpdatedByName(int id, String name);
 
-	void filmUpdatedByDate(int id, int date, int position);
+	void filmUpdatedByDate(int id, int date);
 
 	void filmFound(int id, String name, int date);
 
+	void filmsFound(List<Film> films);
+
+	void filmsPageLoaded(int afterId, List<Film> films);
+
 }
@@ -3,19 +3,26 @@ package io.github.gabry98.app.filmapp.view;
 import java.util.List;
 
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 
 public interface ReportView {
 
 	void reportAdded(int id, int actorId, int filmId);
 
-	void reportDeletedById(int id, int position);
+	void reportDeletedById(int id);
 
 	void reportsDeletedByActorId(List<Report> deletedReports);
 
 	void reportsDeletedByFilmId(List<Report> deletedReports);
 
-	void reportUpdatedById(int oldId, int newId, int position);
+	void reportUpdatedById(int oldId, int newId);
 
 	void reportFound(int id, int actorId, int filmId);
 
+	void reportsFound(List<Report> reports);
+
+	void reportDetailsFound(List<ReportDetail> details);
+
+	void reportsPageLoaded(int afterId, List<Report> reports);
+
 }
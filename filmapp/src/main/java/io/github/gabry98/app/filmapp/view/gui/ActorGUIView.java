@@ -7,18 +7,21 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
-import javax.swing.DefaultListModel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.jacoco.Generated;
 import io.github.gabry98.app.filmapp.model.Actor;
@@ -28,14 +31,20 @@ public class ActorGUIView extends JFrame implements ActorView {
 
 	private static final Logger LOGGER = LogManager.getLogger(ActorGUIView.class);
 	private static final long serialVersionUID = 1L;
+	private static final String PREFIX_WILDCARD = "*";
+	private static final int PREFIX_SEARCH_LIMIT = 50;
+	private static final String TEXT_SEARCH_MARKER = "~";
+	private static final int TEXT_SEARCH_LIMIT = 50;
+	private static final int PAGE_SIZE = 500;
+	private static final int KEPT_PAGES = 2;
 	private JPanel contentPane;
 	private JTextField actorId;
 	private JTextField actorName;
-	private JList<String> actorsList;
-	private JList<String> findList;
-	private DefaultListModel<String> actorsModel;
-	private DefaultListModel<String> findModel;
-	private transient StreamingController streamingController;
+	private JList<Actor> actorsList;
+	private JList<Actor> findList;
+	private PagedListModel<Actor, ActorListModel> actorsModel;
+	private ActorListModel findModel;
+	private transient AsyncStreamingController streamingController;
 	private JScrollPane scrollActorsListPane;
 	private JScrollPane scrollFindPane;
 	private JLabel errorLabel;
@@ -43,6 +52,9 @@ public class ActorGUIView extends JFrame implements ActorView {
 	private JButton actorUpdate;
 	private JButton actorRemove;
 	private JButton actorFind;
+	private JButton actorCancel;
+	private JProgressBar busyBar;
+	private transient BackgroundActions actions;
 
 	/**
 	 * Launch the application.
@@ -68,8 +80,9 @@ public class ActorGUIView extends JFrame implements ActorView {
 	public ActorGUIView() {
 		this.setTitle("Actor View");
 		this.setName("Actor View");
-		findModel = new DefaultListModel<>();
-		actorsModel = new DefaultListModel<>();
+		findModel = new ActorListModel();
+		actorsModel = new PagedListModel<>(ActorListModel::new, ActorListModel::addActors, Actor::getId,
+				PAGE_SIZE, KEPT_PAGES);
 		
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setBounds(100, 100, 450, 300);
@@ -183,6 +196,7 @@ public class ActorGUIView extends JFrame implements ActorView {
 		actorsList.setBackground(new Color(192, 192, 192));
 		actorsList.setForeground(new Color(0, 128, 0));
 		actorsList.setModel(actorsModel);
+		RowCellRenderer.install(actorsList);
 		
 		findList = new JList<>();
 		findList.setName("findList");
@@ -190,12 +204,14 @@ public class ActorGUIView extends JFrame implements ActorView {
 		findList.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		findList.setModel(findModel);
+		RowCellRenderer.install(findList);
 		
 		scrollActorsListPane = new JScrollPane();
 		scrollActorsListPane.setBounds(10, 34, 414, 79);
 		scrollActorsListPane.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		scrollActorsListPane.setViewportView(actorsList);
+		scrollActorsListPane.getViewport().addChangeListener(e -> showVisibleActors());
 		contentPane.add(scrollActorsListPane);
 		
 		scrollFindPane = new JScrollPane();
@@ -203,55 +219,91 @@ public class ActorGUIView extends JFrame implements ActorView {
 		scrollFindPane.setBackground(new Color(192, 192, 192));
 		scrollFindPane.setViewportView(findList);
 		contentPane.add(scrollFindPane);
+		
+		busyBar = new JProgressBar();
+		busyBar.setName("busyBar");
+		busyBar.setBounds(221, 135, 203, 14);
+		contentPane.add(busyBar);
+		
+		actorCancel = new JButton("CANCEL");
+		actorCancel.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				actions.cancel();
+			}
+		});
+		actorCancel.setBounds(310, 158, 114, 23);
+		contentPane.add(actorCancel);
+		actions = new BackgroundActions("actor-view-actions", busyBar, actorCancel, errorLabel);
 	}
 
 	@Override
 	public void actorAdded(int id, String name) {
-		SwingUtilities.invokeLater(() -> actorsModel.addElement(id+","+name));
+		SwingUtilities.invokeLater(() -> actorsModel.append(rows -> rows.addActor(id, name)));
 	}
 
 	@Override
-	public void actorDeletedById(int position) {
-		SwingUtilities.invokeLater(() -> actorsModel.removeElementAt(position));
+	public void actorDeletedById(int id) {
+		SwingUtilities.invokeLater(() -> actorsModel.removeRow(id));
 	}
 
 	@Override
 	public void actorsDeletedByName(List<Actor> deletedActors) {
-		SwingUtilities.invokeLater(() -> deletedActors.forEach(a -> actorsModel.removeElement(a.getId()+","+a.getName())));
+		SwingUtilities.invokeLater(() -> {
+			if(actorsModel.removeAll(rows -> rows.removeActors(deletedActors)) > 0) {
+				actorsList.clearSelection();
+			}
+		});
 	}
 
 	@Override
-	public void actorUpdated(int oldId, int newId, int position) {
-		SwingUtilities.invokeLater(() -> {
-			String element = actorsModel.get(position);
-			actorsModel.removeElementAt(position);
-			actorsModel.insertElementAt(newId+","+element.split(",")[1], position);
-		});
+	public void actorUpdated(int oldId, int newId) {
+		SwingUtilities.invokeLater(() -> actorsModel.updateRow(oldId, (rows, row) -> rows.setId(row, newId)));
 	}
 
 	@Override
-	public void actorUpdated(int oldId, String name, int position) {
+	public void actorUpdated(int id, String name) {
+		SwingUtilities.invokeLater(() -> actorsModel.updateRow(id, (rows, row) -> rows.setName(row, name)));
+	}
+
+	@Override
+	public void actorFound(int id, String name) {
+		SwingUtilities.invokeLater(() -> findModel.addActor(id, name));
+	}
+
+	@Override
+	public void actorsFound(List<Actor> actors) {
+		SwingUtilities.invokeLater(() -> findModel.addActors(actors));
+	}
+
+	@Override
+	public void actorsPageLoaded(int afterId, List<Actor> actors) {
 		SwingUtilities.invokeLater(() -> {
-			String element = actorsModel.getElementAt(position);
-			actorsModel.removeElementAt(position);
-			actorsModel.insertElementAt(element.split(",")[0]+","+name, position);
+			actorsModel.pageLoaded(afterId, actors);
+			showVisibleActors();
 		});
 	}
 
 	@Override
-	public void actorFound(int id, String name) {
-		SwingUtilities.invokeLater(() -> findModel.addElement(id+","+name));
+	public void coStarFound(int actorId, int coStarId, int sharedFilms) {
+		SwingUtilities.invokeLater(() -> findModel.addCoStar(coStarId, sharedFilms));
 	}
 
 	public void setStreamingController(StreamingController streamingController) {
-		SwingUtilities.invokeLater(() -> this.streamingController = streamingController);
+		SwingUtilities.invokeLater(() -> {
+			this.streamingController = new AsyncStreamingController(streamingController, actions);
+			actorsModel.setLoader((afterId, limit) -> actions.track(
+					this.streamingController.loadActorsPage(this, afterId, limit),
+					() -> actorsModel.pageDone(afterId)));
+			showVisibleActors();
+		});
 	}
 	
 	protected void checkActorAdd() {
 		try {
 			int id = Integer.parseInt(actorId.getText().trim());
 			String name = actorName.getText();
-			streamingController.addActor(this, id, name);
+			actions.track(streamingController.addActor(this, id, name));
 			errorLabel.setText("");
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -262,16 +314,15 @@ public class ActorGUIView extends JFrame implements ActorView {
 	}
 	
 	protected void checkActorUpdate() {
-		String element = actorsModel.getElementAt(actorsList.getSelectedIndex());
+		int elementId = actorsModel.getId(actorsList.getSelectedIndex());
 		
 		try {
 			if(!actorName.getText().trim().isEmpty()) {
-				int elementId = Integer.parseInt(element.split(",")[0]);
-				streamingController.updateActor(this, elementId, actorName.getText(), actorsList.getSelectedIndex());
+				String name = actorName.getText();
+				actions.track(streamingController.updateActor(this, elementId, name));
 			} else {
-				int elementId = Integer.parseInt(element.split(",")[0]);
-				streamingController.updateActor(this, elementId, Integer.parseInt(actorId.getText().trim()), 
-						actorsList.getSelectedIndex());
+				int newId = Integer.parseInt(actorId.getText().trim());
+				actions.track(streamingController.updateActor(this, elementId, newId));
 			}
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -284,11 +335,11 @@ public class ActorGUIView extends JFrame implements ActorView {
 	
 	protected void checkActorRemove() {
 		if(!actorName.getText().trim().isEmpty()) {
-			streamingController.deleteActor(this, actorName.getText());
+			String name = actorName.getText();
+			actions.track(streamingController.deleteActor(this, name));
 		} else {
-			String element = actorsModel.getElementAt(actorsList.getSelectedIndex());
-			int elementId = Integer.parseInt(element.split(",")[0]);
-			streamingController.deleteActor(this, elementId, actorsList.getSelectedIndex());
+			int elementId = actorsModel.getId(actorsList.getSelectedIndex());
+			actions.track(streamingController.deleteActor(this, elementId));
 		}
 		
 		actorId.setText("");
@@ -297,18 +348,39 @@ public class ActorGUIView extends JFrame implements ActorView {
 	}
 	
 	protected void checkActorFind() {
-		findModel.removeAllElements();
 		if(actorId.getText().trim().isEmpty() && actorName.getText().trim().isEmpty()) {
-			streamingController.searchAllActors(this);
+			find(() -> streamingController.searchAllActors(this));
 		} else if(!actorId.getText().trim().isEmpty()) {
-				streamingController.searchActorById(this, Integer.parseInt(actorId.getText().trim()));
+				int id = Integer.parseInt(actorId.getText().trim());
+				find(() -> streamingController.searchActorById(this, id));
 				actorId.setText("");
 		} else {
-				streamingController.searchActorsByName(this, actorName.getText());
+				String name = actorName.getText();
+				String search = name.trim();
+				if(search.startsWith(TEXT_SEARCH_MARKER)) {
+					find(() -> streamingController.searchActorsByText(this, search.substring(1), TEXT_SEARCH_LIMIT));
+				} else if(search.endsWith(PREFIX_WILDCARD)) {
+					String prefix = search.substring(0, search.length()-1);
+					find(() -> streamingController.searchActorsByNamePrefix(this, prefix, PREFIX_SEARCH_LIMIT));
+				} else {
+					find(() -> streamingController.searchActorsByName(this, name));
+				}
 				actorName.setText("");
 		}
 	}
 	
+	private void showVisibleActors() {
+		actorsModel.showing(actorsList.getFirstVisibleIndex(), actorsList.getLastVisibleIndex(),
+				actorsList.getSelectedIndex());
+	}
+	
+	private void find(Supplier<CompletableFuture<Void>> search) {
+		findModel.clear();
+		// the results of the previous search may still be queued on the event dispatch thread
+		actions.execute(() -> SwingUtilities.invokeLater(findModel::clear));
+		actions.track(search.get());
+	}
+	
 	protected void checkActorId(boolean idAndActorEmpty, boolean idNotEmptyAndActorEmpty, 
 			boolean actorNotEmptyAndIdEmpty, boolean noSelection) {
 		actorAdd.setEnabled(idAndActorEmpty);
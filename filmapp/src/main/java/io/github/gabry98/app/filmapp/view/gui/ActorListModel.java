@@ -0,0 +1,98 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+
+/**
+ * Actor rows as (id, name) columns. The find list also shows co-stars, stored without
+ * a name and with the number of shared films.
+ */
+public class ActorListModel extends RowListModel<Actor> {
+
+	private static final long serialVersionUID = 1L;
+
+	private String[] names = new String[ids.length];
+	private int[] sharedFilms = new int[ids.length];
+
+	public void addActor(int id, String name) {
+		int index = appendRow(id);
+		names[index] = name;
+		rowAdded(index);
+	}
+
+	public void addActors(List<Actor> actors) {
+		int first = getSize();
+		reserve(actors.size());
+		for(Actor actor : actors) {
+			names[appendRow(actor.getId())] = actor.getName();
+		}
+		rowsAdded(first);
+	}
+
+	public void addCoStar(int id, int sharedFilmCount) {
+		int index = appendRow(id);
+		sharedFilms[index] = sharedFilmCount;
+		rowAdded(index);
+	}
+
+	public String getName(int index) {
+		checkIndex(index);
+		return names[index];
+	}
+
+	public void setName(int index, String name) {
+		checkIndex(index);
+		names[index] = name;
+		fireContentsChanged(this, index, index);
+	}
+
+	public boolean removeActor(int id, String name) {
+		int index = findRow(id, i -> name.equals(names[i]));
+		if(index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public int removeActors(List<Actor> actors) {
+		return removeRows(actors, Actor::getId, (actor, i) -> actor.getName().equals(names[i]));
+	}
+
+	@Override
+	public Actor getElementAt(int index) {
+		checkIndex(index);
+		return new Actor(ids[index], names[index]);
+	}
+
+	@Override
+	protected void appendText(int index, StringBuilder text) {
+		text.append(ids[index]);
+		if(names[index] != null) {
+			text.append(',').append(names[index]);
+		} else {
+			text.append(" (").append(sharedFilms[index]).append(" shared films)");
+		}
+	}
+
+	@Override
+	protected void resizeColumns(int capacity) {
+		names = Arrays.copyOf(names, capacity);
+		sharedFilms = Arrays.copyOf(sharedFilms, capacity);
+	}
+
+	@Override
+	protected void moveColumns(int from, int to, int length) {
+		System.arraycopy(names, from, names, to, length);
+		System.arraycopy(sharedFilms, from, sharedFilms, to, length);
+	}
+
+	@Override
+	protected void clearColumns(int from, int to) {
+		Arrays.fill(names, from, to, null);
+		Arrays.fill(sharedFilms, from, to, 0);
+	}
+
+}
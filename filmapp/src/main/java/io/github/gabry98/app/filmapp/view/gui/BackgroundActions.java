@@ -0,0 +1,112 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
+
+/**
+ * Runs the requests of a view on a background thread, so a slow query no longer freezes the
+ * windows: the view hands this executor to its {@link AsyncStreamingController} and tracks
+ * the futures it returns. The requests of a view run one at a time in the order they were
+ * submitted, while the ones of different views overlap; the view callbacks post their
+ * results to the event dispatch thread as they arrive. While requests are pending the busy
+ * bar is shown and the cancel button is enabled. Cancelling interrupts the running request,
+ * which makes a streaming search stop at the next row and close its cursor, and drops the
+ * queued ones. The bar stays busy until the worker has actually left the cancelled request:
+ * a list query is not interrupted while the server answers, its results are dropped by the
+ * controller once it returns.
+ * All the methods but {@link #execute(Runnable)} must be called on the event dispatch thread.
+ */
+public class BackgroundActions implements Executor {
+
+	private static final Logger LOGGER = LogManager.getLogger(BackgroundActions.class);
+	private static final long IDLE_SECONDS = 30;
+
+	private final ThreadPoolExecutor executor;
+	private final JProgressBar busyBar;
+	private final JButton cancelButton;
+	private final JLabel errorLabel;
+	private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+	public BackgroundActions(String name, JProgressBar busyBar, JButton cancelButton, JLabel errorLabel) {
+		this.busyBar = busyBar;
+		this.cancelButton = cancelButton;
+		this.errorLabel = errorLabel;
+		executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread thread = new Thread(r, name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		showBusy(false);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		executor.execute(command);
+	}
+
+	public void track(CompletableFuture<?> request) {
+		track(request, () -> {});
+	}
+
+	/**
+	 * Tracks a request followed by a callback run on the event dispatch thread once the
+	 * request is over, whether it completed, failed or was cancelled. The requests of an
+	 * {@link AsyncStreamingController} complete only once the worker has returned from them.
+	 */
+	public void track(CompletableFuture<?> request, Runnable whenDone) {
+		pending.add(request);
+		showBusy(true);
+		request.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+			finished(request, error);
+			whenDone.run();
+		}));
+	}
+
+	public void cancel() {
+		if(pending.isEmpty()) {
+			return;
+		}
+		LOGGER.info("Cancelling {} pending actions...", pending.size());
+		new ArrayList<>(pending).forEach(request -> request.cancel(true));
+	}
+
+	public boolean isBusy() {
+		return !pending.isEmpty();
+	}
+
+	private void finished(CompletableFuture<?> request, Throwable error) {
+		pending.remove(request);
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if(cause instanceof CancellationException) {
+			LOGGER.info("Action cancelled before its completion.");
+		} else if(cause != null) {
+			errorLabel.setText(cause.getMessage());
+		}
+		showBusy(!pending.isEmpty());
+	}
+
+	private void showBusy(boolean busy) {
+		busyBar.setIndeterminate(busy);
+		busyBar.setVisible(busy);
+		cancelButton.setEnabled(busy);
+	}
+
+}
@@ -7,18 +7,21 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
-import javax.swing.DefaultListModel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.jacoco.Generated;
 import io.github.gabry98.app.filmapp.model.Film;
@@ -28,14 +31,20 @@ public class FilmGUIView extends JFrame implements FilmView {
 
 	private static final Logger LOGGER = LogManager.getLogger(FilmGUIView.class);
 	private static final long serialVersionUID = 1L;
+	private static final String PREFIX_WILDCARD = "*";
+	private static final int PREFIX_SEARCH_LIMIT = 50;
+	private static final String TEXT_SEARCH_MARKER = "~";
+	private static final int TEXT_SEARCH_LIMIT = 50;
+	private static final int PAGE_SIZE = 500;
+	private static final int KEPT_PAGES = 2;
 	private JPanel contentPane;
 	private JTextField filmId;
 	private JTextField filmName;
-	private JList<String> filmsList;
-	private JList<String> findList;
-	private DefaultListModel<String> filmsModel;
-	private DefaultListModel<String> findModel;
-	private transient StreamingController streamingController;
+	private JList<Film> filmsList;
+	private JList<Film> findList;
+	private PagedListModel<Film, FilmListModel> filmsModel;
+	private FilmListModel findModel;
+	private transient AsyncStreamingController streamingController;
 	private JScrollPane scrollFilmsListPane;
 	private JScrollPane scrollFindPane;
 	private JLabel errorLabel;
@@ -45,6 +54,9 @@ public class FilmGUIView extends JFrame implements FilmView {
 	private JButton filmFind;
 	private JLabel dateLabel;
 	private JTextField filmDate;
+	private JButton filmCancel;
+	private JProgressBar busyBar;
+	private transient BackgroundActions actions;
 
 	/**
 	 * Launch the application.
@@ -70,8 +82,9 @@ public class FilmGUIView extends JFrame implements FilmView {
 	public FilmGUIView() {
 		this.setTitle("Film View");
 		this.setName("Film View");
-		filmsModel = new DefaultListModel<>();
-		findModel = new DefaultListModel<>();
+		filmsModel = new PagedListModel<>(FilmListModel::new, FilmListModel::addFilms, Film::getId,
+				PAGE_SIZE, KEPT_PAGES);
+		findModel = new FilmListModel();
 		
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setBounds(100, 100, 450, 300);
@@ -183,6 +196,7 @@ public class FilmGUIView extends JFrame implements FilmView {
 		filmsList.setBackground(new Color(192, 192, 192));
 		filmsList.setForeground(new Color(0, 128, 0));
 		filmsList.setModel(filmsModel);
+		RowCellRenderer.install(filmsList);
 		
 		findList = new JList<>();
 		findList.setName("findList");
@@ -190,12 +204,14 @@ public class FilmGUIView extends JFrame implements FilmView {
 		findList.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		findList.setModel(findModel);
+		RowCellRenderer.install(findList);
 		
 		scrollFilmsListPane = new JScrollPane();
 		scrollFilmsListPane.setBounds(10, 34, 414, 79);
 		scrollFilmsListPane.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		scrollFilmsListPane.setViewportView(filmsList);
+		scrollFilmsListPane.getViewport().addChangeListener(e -> showVisibleFilms());
 		contentPane.add(scrollFilmsListPane);
 		
 		scrollFindPane = new JScrollPane();
@@ -231,62 +247,85 @@ public class FilmGUIView extends JFrame implements FilmView {
 		errorLabel.setForeground(new Color(255, 0, 0));
 		errorLabel.setBounds(10, 230, 414, 20);
 		contentPane.add(errorLabel);
+		
+		busyBar = new JProgressBar();
+		busyBar.setName("busyBar");
+		busyBar.setBounds(221, 135, 203, 14);
+		contentPane.add(busyBar);
+		
+		filmCancel = new JButton("CANCEL");
+		filmCancel.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				actions.cancel();
+			}
+		});
+		filmCancel.setBounds(310, 158, 114, 23);
+		contentPane.add(filmCancel);
+		actions = new BackgroundActions("film-view-actions", busyBar, filmCancel, errorLabel);
 	}
 
 	@Override
 	public void filmAdded(int id, String name, int date) {
-		SwingUtilities.invokeLater(() -> filmsModel.addElement(id+","+name+","+date));
+		SwingUtilities.invokeLater(() -> filmsModel.append(rows -> rows.addFilm(id, name, date)));
 	}
 
 	@Override
-	public void filmDeletedById(int id, int position) {
-		SwingUtilities.invokeLater(() -> filmsModel.removeElementAt(position));
+	public void filmDeletedById(int id) {
+		SwingUtilities.invokeLater(() -> filmsModel.removeRow(id));
 	}
 
 	@Override
 	public void filmsDeletedByName(List<Film> deletedFilms) {
-		SwingUtilities.invokeLater(() -> deletedFilms.forEach(f -> filmsModel.removeElement(f.getId()+","+f.getName()+","+f.getDate())));
+		SwingUtilities.invokeLater(() -> removeFilms(deletedFilms));
 	}
 
 	@Override
 	public void filmsDeletedByDate(List<Film> deletedFilms) {
-		SwingUtilities.invokeLater(() -> deletedFilms.forEach(f -> filmsModel.removeElement(f.getId()+","+f.getName()+","+f.getDate())));
+		SwingUtilities.invokeLater(() -> removeFilms(deletedFilms));
 	}
 
 	@Override
-	public void filmUpdatedById(int oldId, int newId, int position) {
-		SwingUtilities.invokeLater(() -> {
-			String element = filmsModel.get(position);
-			filmsModel.removeElementAt(position);
-			filmsModel.insertElementAt(newId+","+element.split(",")[1]+","+element.split(",")[2], position);
-		});
+	public void filmUpdatedById(int oldId, int newId) {
+		SwingUtilities.invokeLater(() -> filmsModel.updateRow(oldId, (rows, row) -> rows.setId(row, newId)));
 	}
 
 	@Override
-	public void filmUpdatedByName(int id, String name, int position) {
-		SwingUtilities.invokeLater(() -> {
-			String element = filmsModel.getElementAt(position);
-			filmsModel.removeElementAt(position);
-			filmsModel.insertElementAt(element.split(",")[0]+","+name+","+element.split(",")[2], position);
-		});
+	public void filmUpdatedByName(int id, String name) {
+		SwingUtilities.invokeLater(() -> filmsModel.updateRow(id, (rows, row) -> rows.setName(row, name)));
 	}
 
 	@Override
-	public void filmUpdatedByDate(int id, int date, int position) {
-		SwingUtilities.invokeLater(() -> {
-			String element = filmsModel.getElementAt(position);
-			filmsModel.removeElementAt(position);
-			filmsModel.insertElementAt(element.split(",")[0]+","+element.split(",")[1]+","+date, position);
-		});
+	public void filmUpdatedByDate(int id, int date) {
+		SwingUtilities.invokeLater(() -> filmsModel.updateRow(id, (rows, row) -> rows.setDate(row, date)));
 	}
 
 	@Override
 	public void filmFound(int id, String name, int date) {
-		SwingUtilities.invokeLater(() -> findModel.addElement(id+","+name+","+date));
+		SwingUtilities.invokeLater(() -> findModel.addFilm(id, name, date));
+	}
+
+	@Override
+	public void filmsFound(List<Film> films) {
+		SwingUtilities.invokeLater(() -> findModel.addFilms(films));
 	}
 	
+	@Override
+	public void filmsPageLoaded(int afterId, List<Film> films) {
+		SwingUtilities.invokeLater(() -> {
+			filmsModel.pageLoaded(afterId, films);
+			showVisibleFilms();
+		});
+	}
+
 	public void setStreamingController(StreamingController streamingController) {
-		SwingUtilities.invokeLater(() -> this.streamingController = streamingController);
+		SwingUtilities.invokeLater(() -> {
+			this.streamingController = new AsyncStreamingController(streamingController, actions);
+			filmsModel.setLoader((afterId, limit) -> actions.track(
+					this.streamingController.loadFilmsPage(this, afterId, limit),
+					() -> filmsModel.pageDone(afterId)));
+			showVisibleFilms();
+		});
 	}
 	
 	protected void checkFilmAdd() {
@@ -294,7 +333,7 @@ public class FilmGUIView extends JFrame implements FilmView {
 			int id = Integer.parseInt(filmId.getText().trim());
 			String name = filmName.getText();
 			int date = Integer.parseInt(filmDate.getText().trim());
-			streamingController.addFilm(this, id, name, date);
+			actions.track(streamingController.addFilm(this, id, name, date));
 			errorLabel.setText("");
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -307,13 +346,14 @@ public class FilmGUIView extends JFrame implements FilmView {
 	
 	protected void checkFilmRemove() {
 		if(!filmName.getText().trim().isEmpty()) {
-			streamingController.deleteFilmsByName(this, filmName.getText());
+			String name = filmName.getText();
+			actions.track(streamingController.deleteFilmsByName(this, name));
 		} else if(!filmDate.getText().trim().isEmpty()) {
-			streamingController.deleteFilmsByDate(this, Integer.parseInt(filmDate.getText().trim()));
+			int date = Integer.parseInt(filmDate.getText().trim());
+			actions.track(streamingController.deleteFilmsByDate(this, date));
 		} else {
-			String element = filmsModel.getElementAt(filmsList.getSelectedIndex());
-			int elementId = Integer.parseInt(element.split(",")[0]);
-			streamingController.deleteFilmById(this, elementId, filmsList.getSelectedIndex());
+			int elementId = filmsModel.getId(filmsList.getSelectedIndex());
+			actions.track(streamingController.deleteFilmById(this, elementId));
 		}
 		
 		filmId.setText("");
@@ -323,21 +363,19 @@ public class FilmGUIView extends JFrame implements FilmView {
 	}
 	
 	protected void checkFilmUpdate() {
-		String element = filmsModel.getElementAt(filmsList.getSelectedIndex());
+		int elementId = filmsModel.getId(filmsList.getSelectedIndex());
 		
 		try {
 			if(!filmName.getText().trim().isEmpty()) {
-				int elementId = Integer.parseInt(element.split(",")[0]);
-				streamingController.updateFilmByName(this, elementId, filmName.getText(), filmsList.getSelectedIndex());
+				String name = filmName.getText();
+				actions.track(streamingController.updateFilmByName(this, elementId, name));
 			} else if(!filmDate.getText().trim().isEmpty()){
-				int elementId = Integer.parseInt(element.split(",")[0]);
-				streamingController.updateFilmDate(this, elementId, Integer.parseInt(filmDate.getText().trim()), 
-						filmsList.getSelectedIndex());
+				int date = Integer.parseInt(filmDate.getText().trim());
+				actions.track(streamingController.updateFilmDate(this, elementId, date));
 			}
 			else {
-				int elementId = Integer.parseInt(element.split(",")[0]);
-				streamingController.updateFilmById(this, elementId, Integer.parseInt(filmId.getText().trim()), 
-						filmsList.getSelectedIndex());
+				int newId = Integer.parseInt(filmId.getText().trim());
+				actions.track(streamingController.updateFilmById(this, elementId, newId));
 			}
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -350,22 +388,50 @@ public class FilmGUIView extends JFrame implements FilmView {
 	}
 	
 	protected void checkFilmFind() {
-		findModel.removeAllElements();
 		if(filmId.getText().trim().isEmpty() && filmName.getText().trim().isEmpty() && filmDate.getText().trim().isEmpty()) {
-			streamingController.searchAllFilms(this);
+			find(() -> streamingController.searchAllFilms(this));
 		} else if(!filmId.getText().trim().isEmpty()) {
-				streamingController.searchFilmById(this, Integer.parseInt(filmId.getText().trim()));
+				int id = Integer.parseInt(filmId.getText().trim());
+				find(() -> streamingController.searchFilmById(this, id));
 				filmId.setText("");
 		} else if(!filmDate.getText().trim().isEmpty()) {
-			streamingController.searchFilmsByDate(this, Integer.parseInt(filmDate.getText().trim()));
+			int date = Integer.parseInt(filmDate.getText().trim());
+			find(() -> streamingController.searchFilmsByDate(this, date));
 			filmDate.setText("");
 		}
 		else {
-			streamingController.searchFilmsByName(this, filmName.getText());
+			String name = filmName.getText();
+			String search = name.trim();
+			if(search.startsWith(TEXT_SEARCH_MARKER)) {
+				find(() -> streamingController.searchFilmsByText(this, search.substring(1), TEXT_SEARCH_LIMIT));
+			} else if(search.endsWith(PREFIX_WILDCARD)) {
+				String prefix = search.substring(0, search.length()-1);
+				find(() -> streamingController.searchFilmsByNamePrefix(this, prefix, PREFIX_SEARCH_LIMIT));
+			} else {
+				find(() -> streamingController.searchFilmsByName(this, name));
+			}
 			filmName.setText("");
 		}
 	}
 	
+	private void find(Supplier<CompletableFuture<Void>> search) {
+		findModel.clear();
+		// the results of the previous search may still be queued on the event dispatch thread
+		actions.execute(() -> SwingUtilities.invokeLater(findModel::clear));
+		actions.track(search.get());
+	}
+	
+	private void showVisibleFilms() {
+		filmsModel.showing(filmsList.getFirstVisibleIndex(), filmsList.getLastVisibleIndex(),
+				filmsList.getSelectedIndex());
+	}
+	
+	private void removeFilms(List<Film> deletedFilms) {
+		if(filmsModel.removeAll(rows -> rows.removeFilms(deletedFilms)) > 0) {
+			filmsList.clearSelection();
+		}
+	}
+	
 	protected void checkFilmId(boolean idAndFilmAndDateNotEmpty, boolean idNotEmptyAndFilmAndDateEmpty,
 			boolean filmNotEmptyAndIdAndDateEmpty, boolean dateNotEmptyAndIdAndFilmEmpty, boolean noSelection) {
 		filmAdd.setEnabled(idAndFilmAndDateNotEmpty);
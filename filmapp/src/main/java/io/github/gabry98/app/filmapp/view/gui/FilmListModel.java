@@ -0,0 +1,101 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.gabry98.app.filmapp.model.Film;
+
+/**
+ * Film rows as (id, name, date) columns.
+ */
+public class FilmListModel extends RowListModel<Film> {
+
+	private static final long serialVersionUID = 1L;
+
+	private String[] names = new String[ids.length];
+	private int[] dates = new int[ids.length];
+
+	public void addFilm(int id, String name, int date) {
+		int index = appendRow(id);
+		names[index] = name;
+		dates[index] = date;
+		rowAdded(index);
+	}
+
+	public void addFilms(List<Film> films) {
+		int first = getSize();
+		reserve(films.size());
+		for(Film film : films) {
+			int index = appendRow(film.getId());
+			names[index] = film.getName();
+			dates[index] = film.getDate();
+		}
+		rowsAdded(first);
+	}
+
+	public String getName(int index) {
+		checkIndex(index);
+		return names[index];
+	}
+
+	public void setName(int index, String name) {
+		checkIndex(index);
+		names[index] = name;
+		fireContentsChanged(this, index, index);
+	}
+
+	public int getDate(int index) {
+		checkIndex(index);
+		return dates[index];
+	}
+
+	public void setDate(int index, int date) {
+		checkIndex(index);
+		dates[index] = date;
+		fireContentsChanged(this, index, index);
+	}
+
+	public boolean removeFilm(int id, String name, int date) {
+		int index = findRow(id, i -> dates[i] == date && name.equals(names[i]));
+		if(index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public int removeFilms(List<Film> films) {
+		return removeRows(films, Film::getId,
+				(film, i) -> dates[i] == film.getDate() && film.getName().equals(names[i]));
+	}
+
+	@Override
+	public Film getElementAt(int index) {
+		checkIndex(index);
+		return new Film(ids[index], names[index], dates[index]);
+	}
+
+	@Override
+	protected void appendText(int index, StringBuilder text) {
+		text.append(ids[index]).append(',').append(names[index]).append(',').append(dates[index]);
+	}
+
+	@Override
+	protected void resizeColumns(int capacity) {
+		names = Arrays.copyOf(names, capacity);
+		dates = Arrays.copyOf(dates, capacity);
+	}
+
+	@Override
+	protected void moveColumns(int from, int to, int length) {
+		System.arraycopy(names, from, names, to, length);
+		System.arraycopy(dates, from, dates, to, length);
+	}
+
+	@Override
+	protected void clearColumns(int from, int to) {
+		Arrays.fill(names, from, to, null);
+		Arrays.fill(dates, from, to, 0);
+	}
+
+}
@@ -0,0 +1,414 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * List model browsing a whole collection in pages of consecutive ids, loaded only when they
+ * come into view: the list starts with its first page and grows by one page at a time as
+ * the user scrolls towards its end. The model keeps the keyset bounds and the row count of
+ * every page met so far, but only the rows of the pages around the visible ones: a page far
+ * from the viewport is dropped, its rows are shown as loading until it is scrolled back into
+ * view and loaded again by the same keyset query.
+ * The rows added during the session are kept in session pages, placed where the loading had
+ * got to, so their positions do not move as more pages arrive; they are filtered out of the
+ * pages loaded afterwards. All the methods must be called on the event dispatch thread.
+ */
+public class PagedListModel<E, M extends RowListModel<E>> extends AbstractListModel<E> {
+
+	private static final long serialVersionUID = 1L;
+	private static final String PAGE_SIZE_ERROR = "ERROR: the page size should be positive!";
+	private static final String KEPT_PAGES_ERROR = "ERROR: the number of kept pages should not be negative!";
+	private static final int INITIAL_PAGES = 16;
+
+	public static final String LOADING_TEXT = "...";
+	public static final int FIRST_AFTER_ID = Integer.MIN_VALUE;
+
+	@FunctionalInterface
+	public interface PageLoader {
+		void load(int afterId, int limit);
+	}
+
+	@FunctionalInterface
+	public interface RowUpdate<M> {
+		void apply(M rows, int row);
+	}
+
+	private final transient Supplier<M> pageFactory;
+	private final transient BiConsumer<M, List<E>> pageFiller;
+	private final transient ToIntFunction<E> idOf;
+	private final int pageSize;
+	private final int keptPages;
+	private transient PageLoader loader;
+
+	private int[] afterIds = new int[INITIAL_PAGES];
+	private int[] lastIds = new int[INITIAL_PAGES];
+	private int[] rows = new int[INITIAL_PAGES];
+	private int[] starts = new int[INITIAL_PAGES+1];
+	private boolean[] session = new boolean[INITIAL_PAGES];
+	private boolean[] loading = new boolean[INITIAL_PAGES];
+	private final List<M> pages = new ArrayList<>();
+	private final List<M> sessionPages = new ArrayList<>();
+	private boolean startsValid = true;
+	private boolean appending;
+	private boolean exhausted;
+	private int size;
+
+	public PagedListModel(Supplier<M> pageFactory, BiConsumer<M, List<E>> pageFiller, ToIntFunction<E> idOf,
+			int pageSize, int keptPages) {
+		if(pageSize <= 0) {
+			throw new IllegalArgumentException(PAGE_SIZE_ERROR);
+		}
+		if(keptPages < 0) {
+			throw new IllegalArgumentException(KEPT_PAGES_ERROR);
+		}
+		this.pageFactory = pageFactory;
+		this.pageFiller = pageFiller;
+		this.idOf = idOf;
+		this.pageSize = pageSize;
+		this.keptPages = keptPages;
+	}
+
+	public void setLoader(PageLoader loader) {
+		this.loader = loader;
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public E getElementAt(int index) {
+		int page = pageOf(index);
+		M rowsOfPage = pages.get(page);
+		return rowsOfPage == null ? null : rowsOfPage.getElementAt(index-starts[page]);
+	}
+
+	public String getText(int index) {
+		int page = pageOf(index);
+		M rowsOfPage = pages.get(page);
+		return rowsOfPage == null ? LOADING_TEXT : rowsOfPage.getText(index-starts[page]);
+	}
+
+	public int getId(int index) {
+		int page = pageOf(index);
+		return loaded(page).getId(index-starts[page]);
+	}
+
+	public boolean isLoaded(int index) {
+		return pages.get(pageOf(index)) != null;
+	}
+
+	public int getPageCount() {
+		return pages.size();
+	}
+
+	public int getLoadedPageCount() {
+		int loadedPages = 0;
+		for(M page : pages) {
+			if(page != null) {
+				loadedPages++;
+			}
+		}
+		return loadedPages;
+	}
+
+	public boolean isExhausted() {
+		return exhausted;
+	}
+
+	/**
+	 * Tells the model which rows are visible: the missing pages among them and the page
+	 * after them are requested, the pages more than the kept number away are dropped, except
+	 * the one holding the selected row. The next page of the collection is requested as soon
+	 * as the last page is in view.
+	 */
+	public void showing(int first, int last, int selected) {
+		if(loader == null) {
+			return;
+		}
+		int firstPage = first >= 0 && first < size ? pageOf(first) : 0;
+		int lastPage = last >= 0 && last < size ? pageOf(last) : pages.size()-1;
+		for(int page = firstPage; page <= Math.min(lastPage+1, pages.size()-1); page++) {
+			if(pages.get(page) == null && !loading[page]) {
+				loading[page] = true;
+				loader.load(afterIds[page], pageSize);
+			}
+		}
+		if(lastPage+1 >= pages.size() && !exhausted && !appending) {
+			appending = true;
+			loader.load(nextAfterId(), pageSize);
+		}
+		int selectedPage = selected >= 0 && selected < size ? pageOf(selected) : -1;
+		for(int page = 0; page < pages.size(); page++) {
+			boolean far = page < firstPage-keptPages || page > lastPage+1+keptPages;
+			if(far && !session[page] && page != selectedPage) {
+				pages.set(page, null);
+			}
+		}
+	}
+
+	/**
+	 * Receives the page of rows following the given id: the next page of the collection, or
+	 * a page loaded again. The rows of a page loaded again are bounded by its last id, so they
+	 * do not spill into the next page even if some of its rows have been deleted meanwhile.
+	 */
+	public void pageLoaded(int afterId, List<E> loadedRows) {
+		int page = loadedPage(afterId);
+		if(page >= 0) {
+			refill(page, filter(loadedRows, lastIds[page]));
+		} else if(afterId == nextAfterId()) {
+			appending = false;
+			if(loadedRows.size() < pageSize) {
+				exhausted = true;
+			}
+			if(!loadedRows.isEmpty()) {
+				int index = addPage(false, afterId, idOf.applyAsInt(loadedRows.get(loadedRows.size()-1)));
+				refill(index, filter(loadedRows, Integer.MAX_VALUE));
+			}
+		}
+	}
+
+	/**
+	 * Called once the request of a page is over, whether it delivered the page or not, so
+	 * the page can be requested again.
+	 */
+	public void pageDone(int afterId) {
+		int page = loadedPage(afterId);
+		if(page >= 0) {
+			loading[page] = false;
+		}
+		if(afterId == nextAfterId()) {
+			appending = false;
+		}
+	}
+
+	public void append(Consumer<M> addition) {
+		int last = pages.size()-1;
+		if(last < 0 || !session[last]) {
+			last = addPage(true, nextAfterId(), nextAfterId());
+		}
+		M rowsOfPage = pages.get(last);
+		int before = rowsOfPage.getSize();
+		addition.accept(rowsOfPage);
+		int added = rowsOfPage.getSize()-before;
+		if(added > 0) {
+			rows[last] += added;
+			int first = size;
+			size += added;
+			startsValid = false;
+			fireIntervalAdded(this, first, size-1);
+		}
+	}
+
+	/**
+	 * Applies an update to the row with the given id, looked up when the update arrives so
+	 * the rows added or removed since it was requested do not shift it. Returns false when
+	 * the row is not in memory: a dropped page shows the change once it is loaded again.
+	 */
+	public boolean updateRow(int id, RowUpdate<M> update) {
+		int page = pageHolding(id);
+		if(page < 0) {
+			return false;
+		}
+		M rowsOfPage = pages.get(page);
+		int row = rowsOfPage.findRow(id, r -> true);
+		update.apply(rowsOfPage, row);
+		int index = startOf(page)+row;
+		fireContentsChanged(this, index, index);
+		return true;
+	}
+
+	public boolean removeRow(int id) {
+		int page = pageHolding(id);
+		if(page < 0) {
+			return false;
+		}
+		M rowsOfPage = pages.get(page);
+		int row = rowsOfPage.findRow(id, r -> true);
+		int index = startOf(page)+row;
+		rowsOfPage.removeAt(row);
+		rows[page]--;
+		size--;
+		startsValid = false;
+		fireIntervalRemoved(this, index, index);
+		return true;
+	}
+
+	/**
+	 * Applies a bulk removal to every page in memory and notifies the list with a single
+	 * change of the rows from the first page touched. The rows of a dropped page disappear
+	 * when the page is loaded again.
+	 */
+	public int removeAll(ToIntFunction<M> removal) {
+		int first = -1;
+		int removed = 0;
+		for(int page = 0; page < pages.size(); page++) {
+			M rowsOfPage = pages.get(page);
+			int count = rowsOfPage == null ? 0 : removal.applyAsInt(rowsOfPage);
+			if(count > 0) {
+				if(first < 0) {
+					first = startOf(page);
+				}
+				rows[page] -= count;
+				removed += count;
+			}
+		}
+		if(removed > 0) {
+			int oldSize = size;
+			size -= removed;
+			startsValid = false;
+			fireContentsChanged(this, first, oldSize-1);
+		}
+		return removed;
+	}
+
+	private M loaded(int page) {
+		M rowsOfPage = pages.get(page);
+		if(rowsOfPage == null) {
+			throw new IllegalStateException("ERROR: page "+page+" is not loaded!");
+		}
+		return rowsOfPage;
+	}
+
+	private int pageHolding(int id) {
+		for(int page = 0; page < pages.size(); page++) {
+			M rowsOfPage = pages.get(page);
+			if(rowsOfPage != null && rowsOfPage.findRow(id, row -> true) >= 0) {
+				return page;
+			}
+		}
+		return -1;
+	}
+
+	private List<E> filter(List<E> loadedRows, int lastId) {
+		List<E> kept = new ArrayList<>(loadedRows.size());
+		for(E row : loadedRows) {
+			int id = idOf.applyAsInt(row);
+			if(id <= lastId && !addedInSession(id)) {
+				kept.add(row);
+			}
+		}
+		return kept;
+	}
+
+	private boolean addedInSession(int id) {
+		for(M page : sessionPages) {
+			if(page.findRow(id, row -> true) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void refill(int page, List<E> loadedRows) {
+		M rowsOfPage = pageFactory.get();
+		pageFiller.accept(rowsOfPage, loadedRows);
+		pages.set(page, rowsOfPage);
+		loading[page] = false;
+		int start = startOf(page);
+		int oldRows = rows[page];
+		int newRows = loadedRows.size();
+		rows[page] = newRows;
+		size += newRows-oldRows;
+		startsValid = false;
+		if(Math.min(oldRows, newRows) > 0) {
+			fireContentsChanged(this, start, start+Math.min(oldRows, newRows)-1);
+		}
+		if(newRows > oldRows) {
+			fireIntervalAdded(this, start+oldRows, start+newRows-1);
+		} else if(newRows < oldRows) {
+			fireIntervalRemoved(this, start+newRows, start+oldRows-1);
+		}
+	}
+
+	private int addPage(boolean sessionPage, int afterId, int lastId) {
+		int page = pages.size();
+		if(page == afterIds.length) {
+			int capacity = page*2;
+			afterIds = Arrays.copyOf(afterIds, capacity);
+			lastIds = Arrays.copyOf(lastIds, capacity);
+			rows = Arrays.copyOf(rows, capacity);
+			starts = Arrays.copyOf(starts, capacity+1);
+			session = Arrays.copyOf(session, capacity);
+			loading = Arrays.copyOf(loading, capacity);
+		}
+		afterIds[page] = afterId;
+		lastIds[page] = lastId;
+		rows[page] = 0;
+		session[page] = sessionPage;
+		loading[page] = false;
+		if(sessionPage) {
+			M rowsOfPage = pageFactory.get();
+			sessionPages.add(rowsOfPage);
+			pages.add(rowsOfPage);
+		} else {
+			pages.add(null);
+		}
+		startsValid = false;
+		return page;
+	}
+
+	private int loadedPage(int afterId) {
+		for(int page = 0; page < pages.size(); page++) {
+			if(!session[page] && afterIds[page] == afterId) {
+				return page;
+			}
+		}
+		return -1;
+	}
+
+	private int nextAfterId() {
+		for(int page = pages.size()-1; page >= 0; page--) {
+			if(!session[page]) {
+				return lastIds[page];
+			}
+		}
+		return FIRST_AFTER_ID;
+	}
+
+	private int startOf(int page) {
+		updateStarts();
+		return starts[page];
+	}
+
+	private int pageOf(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("ERROR: row "+index+" is out of bounds for "+size+" rows!");
+		}
+		updateStarts();
+		int low = 0;
+		int high = pages.size()-1;
+		while(low < high) {
+			int middle = (low+high+1) >>> 1;
+			if(starts[middle] <= index) {
+				low = middle;
+			} else {
+				high = middle-1;
+			}
+		}
+		return low;
+	}
+
+	private void updateStarts() {
+		if(startsValid) {
+			return;
+		}
+		int start = 0;
+		for(int page = 0; page < pages.size(); page++) {
+			starts[page] = start;
+			start += rows[page];
+		}
+		starts[pages.size()] = start;
+		startsValid = true;
+	}
+
+}
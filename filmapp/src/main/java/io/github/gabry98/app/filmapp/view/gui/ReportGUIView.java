@@ -7,36 +7,42 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
-import javax.swing.DefaultListModel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.jacoco.Generated;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 import io.github.gabry98.app.filmapp.view.ReportView;
 
 public class ReportGUIView extends JFrame implements ReportView {
 
 	private static final Logger LOGGER = LogManager.getLogger(ReportGUIView.class);
 	private static final long serialVersionUID = 1L;
+	private static final int PAGE_SIZE = 500;
+	private static final int KEPT_PAGES = 2;
 	private JPanel contentPane;
 	private JTextField reportId;
 	private JTextField actorId;
 	private JTextField filmId;
-	private JList<String> reportsList;
-	private JList<String> findList;
-	private DefaultListModel<String> reportsModel;
-	private DefaultListModel<String> findModel;
-	private transient StreamingController streamingController;
+	private JList<Report> reportsList;
+	private JList<Report> findList;
+	private PagedListModel<Report, ReportListModel> reportsModel;
+	private ReportListModel findModel;
+	private transient AsyncStreamingController streamingController;
 	private JScrollPane scrollReportsListPane;
 	private JScrollPane scrollFindPane;
 	private JLabel errorLabel;
@@ -45,6 +51,9 @@ public class ReportGUIView extends JFrame implements ReportView {
 	private JButton reportRemove;
 	private JButton reportFind;
 	private JLabel dateLabel;
+	private JButton reportCancel;
+	private JProgressBar busyBar;
+	private transient BackgroundActions actions;
 
 	/**
 	 * Launch the application.
@@ -70,8 +79,9 @@ public class ReportGUIView extends JFrame implements ReportView {
 	public ReportGUIView() {
 		this.setTitle("Report View");
 		this.setName("Report View");
-		reportsModel = new DefaultListModel<>();
-		findModel = new DefaultListModel<>();
+		reportsModel = new PagedListModel<>(ReportListModel::new, ReportListModel::addReports, Report::getId,
+				PAGE_SIZE, KEPT_PAGES);
+		findModel = new ReportListModel();
 		
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		setBounds(100, 100, 450, 300);
@@ -177,6 +187,7 @@ public class ReportGUIView extends JFrame implements ReportView {
 		reportsList.setBackground(new Color(192, 192, 192));
 		reportsList.setForeground(new Color(0, 128, 0));
 		reportsList.setModel(reportsModel);
+		RowCellRenderer.install(reportsList);
 		
 		findList = new JList<>();
 		findList.setName("findList");
@@ -184,12 +195,14 @@ public class ReportGUIView extends JFrame implements ReportView {
 		findList.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		findList.setModel(findModel);
+		RowCellRenderer.install(findList);
 		
 		scrollReportsListPane = new JScrollPane();
 		scrollReportsListPane.setBounds(10, 34, 414, 79);
 		scrollReportsListPane.setBackground(new Color(192, 192, 192));
 		findList.setForeground(new Color(0, 128, 0));
 		scrollReportsListPane.setViewportView(reportsList);
+		scrollReportsListPane.getViewport().addChangeListener(e -> showVisibleReports());
 		contentPane.add(scrollReportsListPane);
 		
 		scrollFindPane = new JScrollPane();
@@ -217,44 +230,80 @@ public class ReportGUIView extends JFrame implements ReportView {
 		errorLabel.setForeground(new Color(255, 0, 0));
 		errorLabel.setBounds(10, 230, 414, 20);
 		contentPane.add(errorLabel);
+		
+		busyBar = new JProgressBar();
+		busyBar.setName("busyBar");
+		busyBar.setBounds(221, 135, 203, 14);
+		contentPane.add(busyBar);
+		
+		reportCancel = new JButton("CANCEL");
+		reportCancel.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				actions.cancel();
+			}
+		});
+		reportCancel.setBounds(310, 158, 114, 23);
+		contentPane.add(reportCancel);
+		actions = new BackgroundActions("report-view-actions", busyBar, reportCancel, errorLabel);
 	}
 
 	@Override
 	public void reportAdded(int id, int actorId, int filmId) {
-		SwingUtilities.invokeLater(() -> reportsModel.addElement(id+","+actorId+","+filmId));
+		SwingUtilities.invokeLater(() -> reportsModel.append(rows -> rows.addReport(id, actorId, filmId)));
 	}
 
 	@Override
-	public void reportDeletedById(int id, int position) {
-		SwingUtilities.invokeLater(() -> reportsModel.removeElementAt(position));
+	public void reportDeletedById(int id) {
+		SwingUtilities.invokeLater(() -> reportsModel.removeRow(id));
 	}
 
 	@Override
-	public void reportUpdatedById(int oldId, int newId, int position) {
-		SwingUtilities.invokeLater(() -> {
-			String element = reportsModel.get(position);
-			reportsModel.removeElementAt(position);
-			reportsModel.insertElementAt(newId+","+element.split(",")[1]+","+element.split(",")[2], position);
-		});
+	public void reportUpdatedById(int oldId, int newId) {
+		SwingUtilities.invokeLater(() -> reportsModel.updateRow(oldId, (rows, row) -> rows.setId(row, newId)));
 	}
 
 	@Override
 	public void reportFound(int id, int actorId, int filmId) {
-		SwingUtilities.invokeLater(() -> findModel.addElement(id+","+actorId+","+filmId));
+		SwingUtilities.invokeLater(() -> findModel.addReport(id, actorId, filmId));
+	}
+
+	@Override
+	public void reportsFound(List<Report> reports) {
+		SwingUtilities.invokeLater(() -> findModel.addReports(reports));
+	}
+
+	@Override
+	public void reportDetailsFound(List<ReportDetail> details) {
+		SwingUtilities.invokeLater(() -> findModel.addDetails(details));
 	}
 
 	@Override
 	public void reportsDeletedByActorId(List<Report> deletedReports) {
-		SwingUtilities.invokeLater(() -> deletedReports.forEach(d -> reportsModel.removeElement(d.getId()+","+d.getActorId()+","+d.getFilmId())));
+		SwingUtilities.invokeLater(() -> removeReports(deletedReports));
 	}
 
 	@Override
 	public void reportsDeletedByFilmId(List<Report> deletedReports) {
-		SwingUtilities.invokeLater(() -> deletedReports.forEach(d -> reportsModel.removeElement(d.getId()+","+d.getActorId()+","+d.getFilmId())));
+		SwingUtilities.invokeLater(() -> removeReports(deletedReports));
+	}
+	
+	@Override
+	public void reportsPageLoaded(int afterId, List<Report> reports) {
+		SwingUtilities.invokeLater(() -> {
+			reportsModel.pageLoaded(afterId, reports);
+			showVisibleReports();
+		});
 	}
 	
 	public void setStreamingController(StreamingController streamingController) {
-		SwingUtilities.invokeLater(() -> this.streamingController = streamingController);
+		SwingUtilities.invokeLater(() -> {
+			this.streamingController = new AsyncStreamingController(streamingController, actions);
+			reportsModel.setLoader((afterId, limit) -> actions.track(
+					this.streamingController.loadReportsPage(this, afterId, limit),
+					() -> reportsModel.pageDone(afterId)));
+			showVisibleReports();
+		});
 	}
 	
 	protected void checkIds(boolean idAndActorAndFilmNotEmpty, boolean idNotEmptyAndActorAndFilmEmpty) {
@@ -268,31 +317,52 @@ public class ReportGUIView extends JFrame implements ReportView {
 	}
 
 	protected void checkReportFind() {
-		findModel.removeAllElements();
 		if(reportId.getText().trim().isEmpty() && actorId.getText().trim().isEmpty() && filmId.getText().trim().isEmpty()) {
-			streamingController.searchAllReports(this);
+			find(() -> streamingController.searchAllReports(this));
 		} else if(!reportId.getText().trim().isEmpty()) {
-				streamingController.searchReportById(this, Integer.parseInt(reportId.getText().trim()));
+				int id = Integer.parseInt(reportId.getText().trim());
+				find(() -> streamingController.searchReportById(this, id));
 				reportId.setText("");
 		} else if(!actorId.getText().trim().isEmpty()) {
-			streamingController.searchReportsByActorId(this, Integer.parseInt(actorId.getText().trim()));
+			int actor = Integer.parseInt(actorId.getText().trim());
+			find(() -> streamingController.searchReportsByActorId(this, actor));
 			actorId.setText("");
 		}
 		else {
-			streamingController.searchReportsByFilmId(this, Integer.parseInt(filmId.getText().trim()));
+			int film = Integer.parseInt(filmId.getText().trim());
+			find(() -> streamingController.searchReportsByFilmId(this, film));
 			filmId.setText("");
 		}
 	}
+	
+	private void find(Supplier<CompletableFuture<Void>> search) {
+		findModel.clear();
+		// the results of the previous search may still be queued on the event dispatch thread
+		actions.execute(() -> SwingUtilities.invokeLater(findModel::clear));
+		actions.track(search.get());
+	}
+
+	private void showVisibleReports() {
+		reportsModel.showing(reportsList.getFirstVisibleIndex(), reportsList.getLastVisibleIndex(),
+				reportsList.getSelectedIndex());
+	}
+
+	private void removeReports(List<Report> deletedReports) {
+		if(reportsModel.removeAll(rows -> rows.removeReports(deletedReports)) > 0) {
+			reportsList.clearSelection();
+		}
+	}
 
 	protected void checkReportRemove() {
 		if(!actorId.getText().trim().isEmpty()) {
-			streamingController.deleteReportByActorId(this, Integer.parseInt(actorId.getText().trim()));
+			int actor = Integer.parseInt(actorId.getText().trim());
+			actions.track(streamingController.deleteReportByActorId(this, actor));
 		} else if(!filmId.getText().trim().isEmpty()) {
-			streamingController.deleteReportByFilmId(this, Integer.parseInt(filmId.getText().trim()));
+			int film = Integer.parseInt(filmId.getText().trim());
+			actions.track(streamingController.deleteReportByFilmId(this, film));
 		} else {
-			String element = reportsModel.getElementAt(reportsList.getSelectedIndex());
-			int elementId = Integer.parseInt(element.split(",")[0]);
-			streamingController.deleteReportById(this, elementId, reportsList.getSelectedIndex());
+			int elementId = reportsModel.getId(reportsList.getSelectedIndex());
+			actions.track(streamingController.deleteReportById(this, elementId));
 		}
 		
 		reportId.setText("");
@@ -302,11 +372,11 @@ public class ReportGUIView extends JFrame implements ReportView {
 	}
 
 	protected void checkReportUpdate() {
-		String element = reportsModel.getElementAt(reportsList.getSelectedIndex());
+		int elementId = reportsModel.getId(reportsList.getSelectedIndex());
 		
 		try {
-			int elementId = Integer.parseInt(element.split(",")[0]);
-			streamingController.updateReportId(this, elementId, Integer.parseInt(reportId.getText().trim()), reportsList.getSelectedIndex());
+			int newId = Integer.parseInt(reportId.getText().trim());
+			actions.track(streamingController.updateReportId(this, elementId, newId));
 			errorLabel.setText("");
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -320,7 +390,7 @@ public class ReportGUIView extends JFrame implements ReportView {
 			int report = Integer.parseInt(reportId.getText().trim());
 			int film = Integer.parseInt(filmId.getText().trim());
 			int actor = Integer.parseInt(actorId.getText().trim());
-			streamingController.addReport(this, report, actor, film);
+			actions.track(streamingController.addReport(this, report, actor, film));
 			errorLabel.setText("");
 		} catch(Exception exc) {
 			errorLabel.setText(exc.getMessage());
@@ -0,0 +1,125 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+
+/**
+ * Report rows as (id, actorId, filmId) columns. The rows of a detail listing also keep
+ * the actor name, the film name and the film date joined by the repository.
+ */
+public class ReportListModel extends RowListModel<Report> {
+
+	private static final long serialVersionUID = 1L;
+
+	private int[] actorIds = new int[ids.length];
+	private int[] filmIds = new int[ids.length];
+	private String[] actorNames = new String[ids.length];
+	private String[] filmNames = new String[ids.length];
+	private int[] filmDates = new int[ids.length];
+
+	public void addReport(int id, int actorId, int filmId) {
+		int index = appendRow(id);
+		actorIds[index] = actorId;
+		filmIds[index] = filmId;
+		rowAdded(index);
+	}
+
+	public void addReports(List<Report> reports) {
+		int first = getSize();
+		reserve(reports.size());
+		for(Report report : reports) {
+			int index = appendRow(report.getId());
+			actorIds[index] = report.getActorId();
+			filmIds[index] = report.getFilmId();
+		}
+		rowsAdded(first);
+	}
+
+	public void addDetails(List<ReportDetail> details) {
+		int first = getSize();
+		reserve(details.size());
+		details.forEach(this::appendDetail);
+		rowsAdded(first);
+	}
+
+	private void appendDetail(ReportDetail detail) {
+		int index = appendRow(detail.getId());
+		actorIds[index] = detail.getActorId();
+		filmIds[index] = detail.getFilmId();
+		if(detail.getActorName() != null && detail.getFilmName() != null) {
+			actorNames[index] = detail.getActorName();
+			filmNames[index] = detail.getFilmName();
+			filmDates[index] = detail.getFilmDate();
+		}
+	}
+
+	public int getActorId(int index) {
+		checkIndex(index);
+		return actorIds[index];
+	}
+
+	public int getFilmId(int index) {
+		checkIndex(index);
+		return filmIds[index];
+	}
+
+	public boolean removeReport(int id, int actorId, int filmId) {
+		int index = findRow(id, i -> actorIds[i] == actorId && filmIds[i] == filmId);
+		if(index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	public int removeReports(List<Report> reports) {
+		return removeRows(reports, Report::getId,
+				(report, i) -> actorIds[i] == report.getActorId() && filmIds[i] == report.getFilmId());
+	}
+
+	@Override
+	public Report getElementAt(int index) {
+		checkIndex(index);
+		return new Report(ids[index], actorIds[index], filmIds[index]);
+	}
+
+	@Override
+	protected void appendText(int index, StringBuilder text) {
+		text.append(ids[index]).append(',').append(actorIds[index]).append(',').append(filmIds[index]);
+		if(actorNames[index] != null) {
+			text.append(" (").append(actorNames[index]).append(" in ").append(filmNames[index])
+				.append(", ").append(filmDates[index]).append(')');
+		}
+	}
+
+	@Override
+	protected void resizeColumns(int capacity) {
+		actorIds = Arrays.copyOf(actorIds, capacity);
+		filmIds = Arrays.copyOf(filmIds, capacity);
+		actorNames = Arrays.copyOf(actorNames, capacity);
+		filmNames = Arrays.copyOf(filmNames, capacity);
+		filmDates = Arrays.copyOf(filmDates, capacity);
+	}
+
+	@Override
+	protected void moveColumns(int from, int to, int length) {
+		System.arraycopy(actorIds, from, actorIds, to, length);
+		System.arraycopy(filmIds, from, filmIds, to, length);
+		System.arraycopy(actorNames, from, actorNames, to, length);
+		System.arraycopy(filmNames, from, filmNames, to, length);
+		System.arraycopy(filmDates, from, filmDates, to, length);
+	}
+
+	@Override
+	protected void clearColumns(int from, int to) {
+		Arrays.fill(actorIds, from, to, 0);
+		Arrays.fill(filmIds, from, to, 0);
+		Arrays.fill(actorNames, from, to, null);
+		Arrays.fill(filmNames, from, to, null);
+		Arrays.fill(filmDates, from, to, 0);
+	}
+
+}
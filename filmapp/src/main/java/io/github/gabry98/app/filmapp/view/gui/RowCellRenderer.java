@@ -0,0 +1,56 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.awt.Component;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+
+/**
+ * Renders the rows of a {@link RowListModel} or of a {@link PagedListModel} by formatting
+ * their columns only when a cell is painted. Installing it also fixes the cell size,
+ * otherwise JList asks the renderer for the size of every row whenever the model changes.
+ * The fixed width follows the widest row painted so far, so a row longer than the viewport
+ * brings up the horizontal scrollbar instead of being clipped.
+ */
+public class RowCellRenderer extends DefaultListCellRenderer {
+
+	private static final long serialVersionUID = 1L;
+	private static final String SAMPLE_TEXT = "0";
+
+	public static <E> void install(JList<E> list) {
+		RowCellRenderer renderer = new RowCellRenderer();
+		list.setCellRenderer(renderer);
+		Component sample = renderer.getListCellRendererComponent(list, SAMPLE_TEXT, -1, false, false);
+		list.setFixedCellHeight(sample.getPreferredSize().height);
+		// a narrow fixed width lets the list track the viewport width until a wider row is painted
+		list.setFixedCellWidth(1);
+	}
+
+	@Override
+	public Component getListCellRendererComponent(JList<?> list, Object value, int index, 
+			boolean isSelected, boolean cellHasFocus) {
+		Object text = value;
+		if(list.getModel() instanceof RowListModel<?> model && index >= 0 && index < model.getSize()) {
+			text = model.getText(index);
+		} else if(list.getModel() instanceof PagedListModel<?, ?> model && index >= 0 && index < model.getSize()) {
+			text = model.getText(index);
+		}
+		Component cell = super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+		widen(list, cell.getPreferredSize().width);
+		return cell;
+	}
+
+	private static void widen(JList<?> list, int width) {
+		if(width <= list.getFixedCellWidth()) {
+			return;
+		}
+		// resizing the list while it is being painted would lay it out again in the middle of the paint
+		SwingUtilities.invokeLater(() -> {
+			if(width > list.getFixedCellWidth()) {
+				list.setFixedCellWidth(width);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map from a row id to the rows holding it, over int arrays. The slot of an
+ * id keeps its most recent row and every row links to the previous row with the same id, so
+ * the find lists, which may repeat an id, are indexed as well as the main lists.
+ */
+final class RowIndex {
+
+	private static final int NONE = -1;
+
+	private final int[] keys;
+	private final int[] heads;
+	private final int[] next;
+	private final int mask;
+
+	RowIndex(int[] ids, int size) {
+		int slots = 16;
+		while(slots < ids.length*2) {
+			slots <<= 1;
+		}
+		keys = new int[slots];
+		heads = new int[slots];
+		Arrays.fill(heads, NONE);
+		next = new int[ids.length];
+		mask = slots-1;
+		for(int row = 0; row < size; row++) {
+			add(ids[row], row);
+		}
+	}
+
+	/**
+	 * Indexes a new row, returning false when the row does not fit the capacity the index
+	 * was built for.
+	 */
+	boolean add(int id, int row) {
+		if(row >= next.length) {
+			return false;
+		}
+		int slot = slotOf(id);
+		if(heads[slot] == NONE) {
+			keys[slot] = id;
+		}
+		next[row] = heads[slot];
+		heads[slot] = row;
+		return true;
+	}
+
+	int first(int id) {
+		return heads[slotOf(id)];
+	}
+
+	int next(int row) {
+		return next[row];
+	}
+
+	private int slotOf(int id) {
+		int h = id*0x9e3779b9;
+		int slot = (h ^ (h>>>15)) & mask;
+		while(heads[slot] != NONE && keys[slot] != id) {
+			slot = (slot+1) & mask;
+		}
+		return slot;
+	}
+
+}
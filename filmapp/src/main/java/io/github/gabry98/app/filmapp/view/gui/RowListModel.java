@@ -0,0 +1,212 @@
+package io.github.gabry98.app.filmapp.view.gui;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * List model storing its rows column by column in primitive arrays, so a million rows
+ * cost a few arrays instead of a million formatted strings. Rows are never parsed back:
+ * the views read and write the columns by position, and the text shown by the
+ * {@link RowCellRenderer} is built only for the rows being painted. Rows are looked up by
+ * id through a {@link RowIndex}, built on the first lookup and kept up to date while rows
+ * are appended.
+ */
+public abstract class RowListModel<E> extends AbstractListModel<E> {
+
+	private static final long serialVersionUID = 1L;
+	private static final int INITIAL_CAPACITY = 16;
+
+	protected int[] ids = new int[INITIAL_CAPACITY];
+	private int size;
+	private transient RowIndex index;
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	public int getId(int index) {
+		checkIndex(index);
+		return ids[index];
+	}
+
+	public void setId(int index, int id) {
+		checkIndex(index);
+		ids[index] = id;
+		this.index = null;
+		fireContentsChanged(this, index, index);
+	}
+
+	public String getText(int index) {
+		checkIndex(index);
+		StringBuilder text = new StringBuilder(32);
+		appendText(index, text);
+		return text.toString();
+	}
+
+	public void removeAt(int index) {
+		checkIndex(index);
+		int tail = size-index-1;
+		if(tail > 0) {
+			System.arraycopy(ids, index+1, ids, index, tail);
+			moveColumns(index+1, index, tail);
+		}
+		size--;
+		clearColumns(size, size+1);
+		this.index = null;
+		fireIntervalRemoved(this, index, index);
+	}
+
+	public void clear() {
+		if(size == 0) {
+			return;
+		}
+		int removed = size;
+		clearColumns(0, size);
+		size = 0;
+		index = null;
+		fireIntervalRemoved(this, 0, removed-1);
+	}
+
+	protected void reserve(int rows) {
+		if(size+rows <= ids.length) {
+			return;
+		}
+		int capacity = ids.length*2;
+		while(capacity < size+rows) {
+			capacity *= 2;
+		}
+		ids = Arrays.copyOf(ids, capacity);
+		resizeColumns(capacity);
+		index = null;
+	}
+
+	protected int appendRow(int id) {
+		reserve(1);
+		ids[size] = id;
+		if(index != null && !index.add(id, size)) {
+			index = null;
+		}
+		return size++;
+	}
+
+	/**
+	 * Returns the position of a row with the given id accepted by the matcher, or -1.
+	 */
+	protected int findRow(int id, RowMatcher matcher) {
+		RowIndex rows = index();
+		for(int row = rows.first(id); row >= 0; row = rows.next(row)) {
+			if(matcher.matches(row)) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Removes one row for each of the given entities, matched by id through the index and
+	 * then by the other columns. The surviving rows are compacted in a single pass and the
+	 * list is notified with a single event: an interval removal when the removed rows were
+	 * contiguous, a change of the rows from the first removed one otherwise, in which case
+	 * the selection of the list no longer follows its rows.
+	 */
+	protected <T> int removeRows(List<T> entities, ToIntFunction<T> idOf, EntityMatcher<T> matcher) {
+		if(entities.isEmpty() || size == 0) {
+			return 0;
+		}
+		RowIndex rows = index();
+		boolean[] removed = new boolean[size];
+		int first = size;
+		int last = -1;
+		int count = 0;
+		for(T entity : entities) {
+			for(int row = rows.first(idOf.applyAsInt(entity)); row >= 0; row = rows.next(row)) {
+				if(!removed[row] && matcher.matches(entity, row)) {
+					removed[row] = true;
+					first = Math.min(first, row);
+					last = Math.max(last, row);
+					count++;
+					break;
+				}
+			}
+		}
+		if(count == 0) {
+			return 0;
+		}
+		int oldSize = size;
+		int to = first;
+		int from = first;
+		while(from < oldSize) {
+			if(removed[from]) {
+				from++;
+				continue;
+			}
+			int end = from;
+			while(end < oldSize && !removed[end]) {
+				end++;
+			}
+			System.arraycopy(ids, from, ids, to, end-from);
+			moveColumns(from, to, end-from);
+			to += end-from;
+			from = end;
+		}
+		clearColumns(to, oldSize);
+		size = to;
+		index = null;
+		if(last-first+1 == count) {
+			fireIntervalRemoved(this, first, last);
+		} else {
+			fireContentsChanged(this, first, oldSize-1);
+		}
+		return count;
+	}
+
+	private RowIndex index() {
+		if(index == null) {
+			index = new RowIndex(ids, size);
+		}
+		return index;
+	}
+
+	protected void rowAdded(int index) {
+		fireIntervalAdded(this, index, index);
+	}
+
+	/**
+	 * Notifies the rows appended since {@code first} with a single event, so a chunk of
+	 * results costs the list one layout instead of one per row.
+	 */
+	protected void rowsAdded(int first) {
+		if(size > first) {
+			fireIntervalAdded(this, first, size-1);
+		}
+	}
+
+	protected void checkIndex(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("ERROR: row "+index+" is out of bounds for "+size+" rows!");
+		}
+	}
+
+	protected abstract void appendText(int index, StringBuilder text);
+
+	protected abstract void resizeColumns(int capacity);
+
+	protected abstract void moveColumns(int from, int to, int length);
+
+	protected abstract void clearColumns(int from, int to);
+
+	@FunctionalInterface
+	protected interface RowMatcher {
+		boolean matches(int index);
+	}
+
+	@FunctionalInterface
+	protected interface EntityMatcher<T> {
+		boolean matches(T entity, int index);
+	}
+
+}
@@ -1,10 +1,16 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.swing.timing.Pause.pause;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import java.awt.Dimension;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JProgressBar;
 
 import org.assertj.swing.annotation.GUITest;
 import org.assertj.swing.core.BasicRobot;
@@ -14,6 +20,8 @@ import org.assertj.swing.edt.GuiActionRunner;
 import org.assertj.swing.fixture.FrameFixture;
 import org.assertj.swing.junit.runner.GUITestRunner;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
+import org.assertj.swing.timing.Condition;
+import org.assertj.swing.timing.Timeout;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,12 +36,15 @@ import org.mockito.MockitoAnnotations;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.view.gui.ActorGUIView;
+import io.github.gabry98.app.filmapp.view.gui.PagedListModel;
 
 @RunWith(GUITestRunner.class)
 @TestInstance(Lifecycle.PER_CLASS)
 @DisplayName("Tests for ActorGUIView")
 class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 	
+	private static final long TIMEOUT = 5000;
+	
 	private FrameFixture window;
 	private ActorGUIView actorView;
 	private AutoCloseable closeable;
@@ -69,6 +80,15 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.cleanUp();
 	}
 	
+	private void waitForErrorLabel() {
+		pause(new Condition("errorLabel must be not empty") {
+			@Override
+			public boolean test() {
+				return !window.label("errorLabel").text().trim().isEmpty();
+			}
+		}, Timeout.timeout(TIMEOUT));
+	}
+	
 	@Test @GUITest
 	@DisplayName("Test when we have all initial states in the view.")
 	void testInitialStates() {
@@ -206,7 +226,7 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("actorId").requireText("");
 		window.textBox("actorName").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
-		verify(streamingController).addActor(actorView, 1, "Marco Rossi");
+		verify(streamingController, timeout(TIMEOUT)).addActor(actorView, 1, "Marco Rossi");
 	}
 	
 	@Test @GUITest
@@ -220,6 +240,7 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("actorId").requireText("");
 		window.textBox("actorName").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: id should be positive!");
 	}
 	
@@ -245,22 +266,23 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox(field).requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
 		if(field.equals("actorId"))
-			verify(streamingController).updateActor(actorView, 1, Integer.parseInt(value), 0);
+			verify(streamingController, timeout(TIMEOUT)).updateActor(actorView, 1, Integer.parseInt(value));
 		else
-			verify(streamingController).updateActor(actorView, 1, value, 0);
+			verify(streamingController, timeout(TIMEOUT)).updateActor(actorView, 1, value);
 	}
 	
 	@Test @GUITest
 	@DisplayName("Test the scenario where we update an actor with an Exception.")
 	void testActorUpdatedWithException() {
 		doThrow(new IllegalArgumentException("ERROR: Actor with id 1 already exists!")).
-			when(streamingController).updateActor(actorView, 1, 1, 0);
+			when(streamingController).updateActor(actorView, 1, 1);
 			actorView.actorAdded(1, "Marco Rossi");
 		window.list("actorsList").selectItems(0);
 		window.textBox("actorId").enterText("1");
 		window.button(JButtonMatcher.withText("UPDATE")).click();
 		window.textBox("actorId").requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: Actor with id 1 already exists!");
 		
 	}
@@ -276,9 +298,9 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		actorView.actorAdded(1, "Marco Rossi");
 		window.list("actorsList").selectItems(0);
 		if(id == 2) 
-			actorView.actorUpdated(1, id, 0);
+			actorView.actorUpdated(1, id);
 		else
-			actorView.actorUpdated(1, name, 0);
+			actorView.actorUpdated(1, name);
 		assertThat(window.list("actorsList").contents()).contains(id+","+name);
 	}
 	
@@ -299,16 +321,16 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
 		window.textBox(field).requireText("");
 		if(field.equals("actorId"))
-			verify(streamingController).deleteActor(actorView, 1, 0);
+			verify(streamingController, timeout(TIMEOUT)).deleteActor(actorView, 1);
 		else
-			verify(streamingController).deleteActor(actorView, "Marco Rossi");
+			verify(streamingController, timeout(TIMEOUT)).deleteActor(actorView, "Marco Rossi");
 	}
 	
 	@Test @GUITest
 	@DisplayName("Test the scenario where we remove an actor by id, by calling explicitly the method of the view.")
 	void testActorRemovedByIdFromActorsList() {
 		actorView.actorAdded(1, "Marco Rossi");
-		actorView.actorDeletedById(0);
+		actorView.actorDeletedById(1);
 		assertThat(window.list("actorsList").contents()).isEmpty();
 	}
 	
@@ -332,7 +354,7 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).click();
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox("actorId").requireText("");
-		verify(streamingController).searchAllActors(actorView);
+		verify(streamingController, timeout(TIMEOUT)).searchAllActors(actorView);
 	}
 	
 	@GUITest
@@ -351,9 +373,78 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox(field).requireText("");
 		if(field.equals("actorId"))
-			verify(streamingController).searchActorById(actorView, 2);
+			verify(streamingController, timeout(TIMEOUT)).searchActorById(actorView, 2);
 		else
-			verify(streamingController).searchActorsByName(actorView, "Marco Rossi");
+			verify(streamingController, timeout(TIMEOUT)).searchActorsByName(actorView, "Marco Rossi");
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test a Name ending with the wildcard searches the actors by Name prefix.")
+	void testActorFoundByNamePrefix() {
+		window.textBox("actorName").enterText("Mar*");
+		window.button(JButtonMatcher.withText("FIND")).click();
+		window.textBox("actorName").requireText("");
+		verify(streamingController, timeout(TIMEOUT)).searchActorsByNamePrefix(actorView, "Mar", 50);
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test a Name starting with the marker searches the actors by text.")
+	void testActorFoundByText() {
+		window.textBox("actorName").enterText("~marco rossi");
+		window.button(JButtonMatcher.withText("FIND")).click();
+		window.textBox("actorName").requireText("");
+		verify(streamingController, timeout(TIMEOUT)).searchActorsByText(actorView, "marco rossi", 50);
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test a running search shows the busy bar and is interrupted by the cancel button.")
+	void testCancelRunningSearch() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} catch(InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		}).when(streamingController).searchAllActors(actorView);
+		pause(new Condition("the first page must be loaded") {
+			@Override
+			public boolean test() {
+				return !window.button(JButtonMatcher.withText("CANCEL")).isEnabled();
+			}
+		}, Timeout.timeout(TIMEOUT));
+		window.button(JButtonMatcher.withText("FIND")).click();
+		assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(busyBarVisible()).isTrue();
+		window.button(JButtonMatcher.withText("CANCEL")).requireEnabled().click();
+		assertThat(interrupted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+		pause(new Condition("busyBar must be hidden") {
+			@Override
+			public boolean test() {
+				return !busyBarVisible();
+			}
+		}, Timeout.timeout(TIMEOUT));
+		window.button(JButtonMatcher.withText("CANCEL")).requireDisabled();
+	}
+	
+	private boolean busyBarVisible() {
+		JProgressBar busyBar = window.robot().finder().findByName(window.target(), "busyBar", JProgressBar.class, false);
+		return GuiActionRunner.execute(busyBar::isVisible);
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test the persisted actors are loaded in pages when the view starts, before the added ones.")
+	void testActorsPageLoaded() {
+		verify(streamingController, timeout(TIMEOUT).atLeastOnce())
+			.loadActorsPage(actorView, PagedListModel.FIRST_AFTER_ID, 500);
+		actorView.actorsPageLoaded(PagedListModel.FIRST_AFTER_ID, 
+				List.of(new Actor(1, "Marco Rossi"), new Actor(2, "Andrea Verdi")));
+		actorView.actorAdded(3, "Federico Bianchi");
+		assertThat(window.list("actorsList").contents())
+			.containsExactly("1,Marco Rossi", "2,Andrea Verdi", "3,Federico Bianchi");
 	}
 	
 	@Test @GUITest
@@ -365,5 +456,12 @@ class ActorGUIViewTest extends AssertJSwingJUnitTestCase {
 		actorView.actorFound(1, "Marco Rossi");
 		assertThat(window.list("findList").contents()).contains("1,Marco Rossi");
 	}
+	
+	@Test @GUITest
+	@DisplayName("Test when we find a chunk of actors by calling explicitly the method of the view.")
+	void testActorsFoundByCallingViewMethod() {
+		actorView.actorsFound(List.of(new Actor(1, "Marco Rossi"), new Actor(2, "Andrea Verdi")));
+		assertThat(window.list("findList").contents()).containsExactly("1,Marco Rossi", "2,Andrea Verdi");
+	}
 
 }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterAll;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import org.bson.Document;
 import com.mongodb.MongoClient;
 import com.mongodb.ServerAddress;
 import com.mongodb.client.MongoDatabase;
@@ -25,6 +27,7 @@ import de.bwaldvogel.mongo.MongoServer;
 import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
 import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
 
 @TestInstance(Lifecycle.PER_CLASS)
@@ -54,9 +57,9 @@ class ActorMongoRepositoryTest {
 	@BeforeEach
 	public void setup() {
 		client = new MongoClient(new ServerAddress(serverAddress));
-		actorRepository = new ActorMongoRepository(client, DATABASE_NAME, COLLECTION_NAME);
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		actorRepository = new ActorMongoRepository(client, DATABASE_NAME, COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -84,6 +87,54 @@ class ActorMongoRepositoryTest {
 		assertThat(actors.get(0).getName()).isEqualTo(name);
 	}
 	
+	@Test
+	@DisplayName("Test reading an Actor stored with fields unknown to the repository.")
+	void testFindByIdIgnoresUnknownFields() {
+		client.getDatabase(DATABASE_NAME).getCollection(COLLECTION_NAME)
+			.insertOne(new Document().append("id", 1).append("nickname", "Marco").append("name", "Marco Rossi"));
+		Actor actor = actorRepository.findById(1);
+		assertThat(actor.getId()).isEqualTo(1);
+		assertThat(actor.getName()).isEqualTo("Marco Rossi");
+	}
+	
+	@Test
+	@DisplayName("Test Find Page Method returns the Actors after the given ID ordered by ID.")
+	void testFindPageReturnsOrderedActorsAfterId() {
+		actorRepository.addActor(3, "Marco Rossi");
+		actorRepository.addActor(1, "Andrea Verdi");
+		actorRepository.addActor(4, "Luca Bianchi");
+		actorRepository.addActor(2, "Paolo Neri");
+		assertThat(actorRepository.findPage(0, 2)).extracting(Actor::getId).containsExactly(1, 2);
+		assertThat(actorRepository.findPage(2, 2)).extracting(Actor::getId).containsExactly(3, 4);
+		assertThat(actorRepository.findPage(4, 2)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test Find Page Method with a non positive page size.")
+	void testFindPageWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.findPage(0, 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the page size should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test For Each Method streams every Actor in the repository.")
+	void testForEachActorStreamsEveryActor() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Andrea Verdi");
+		actorRepository.addActor(3, "Luca Bianchi");
+		List<Actor> streamed = new ArrayList<>();
+		actorRepository.forEachActor(streamed::add);
+		assertThat(streamed).extracting(Actor::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+	
+	@Test
+	@DisplayName("Test setting a non positive batch size.")
+	void testSetBatchSizeWithNonPositiveValue() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, 
+				() -> ((ActorMongoRepository) actorRepository).setBatchSize(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the batch size should be positive!");
+	}
+	
 	@Test
 	@DisplayName("Test adding an Actor with a duplicate ID.")
 	void testAddActorWithDuplicateId() {
@@ -92,6 +143,33 @@ class ActorMongoRepositoryTest {
 		assertThat(thrown.getMessage()).isEqualTo("ERROR: Actor with id 1 already exists!");
 	}
 	
+	@Test
+	@DisplayName("Test the update of the ID of an Actor with the ID of another Actor.")
+	void testUpdateActorIdWithAnotherActorId() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Andrea Verdi");
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.updateActorId(1,2));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: Actor with id 2 already exists!");
+		assertThat(actorRepository.findById(1).getName()).isEqualTo("Marco Rossi");
+	}
+	
+	@Test
+	@DisplayName("Test adding a batch of Actors with valid, duplicated and invalid entries.")
+	void testAddActorsWithMixedBatch() {
+		actorRepository.addActor(1, "Marco Rossi");
+		List<InsertStatus> results = actorRepository.addActors(List.of(
+				new Actor(1, "Luca Bianchi"),
+				new Actor(2, "Andrea Verdi"),
+				new Actor(2, "Paolo Neri"),
+				new Actor(0, "Mario Gialli"),
+				new Actor(3, "")));
+		assertThat(results).containsExactly(InsertStatus.DUPLICATE_ID, InsertStatus.INSERTED, 
+				InsertStatus.DUPLICATE_ID, InsertStatus.INVALID_DATA, InsertStatus.INVALID_DATA);
+		assertThat(actorRepository.findAll()).hasSize(2);
+		assertThat(actorRepository.findById(1).getName()).isEqualTo("Marco Rossi");
+		assertThat(actorRepository.findById(2).getName()).isEqualTo("Andrea Verdi");
+	}
+	
 	@Test
 	@DisplayName("Test adding an Actor with a non positive ID.")
 	void testAddActorWithNonPositiveId() {
@@ -139,6 +217,17 @@ class ActorMongoRepositoryTest {
 		assertThat(actors.get(0).getName()).isEqualTo(actors.get(1).getName()).isEqualTo("Marco Rossi");
 	}
 	
+	@Test
+	@DisplayName("Test For Each By Name Method streams only the Actors with the given Name.")
+	void testForEachActorByNameStreamsMatchingActors() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Marco Rossi");
+		actorRepository.addActor(3, "Andrea Verdi");
+		List<Actor> streamed = new ArrayList<>();
+		actorRepository.forEachActorByName("Marco Rossi", streamed::add);
+		assertThat(streamed).extracting(Actor::getId).containsExactlyInAnyOrder(1, 2);
+	}
+	
 	@Test
 	@DisplayName("Test the search of Actors by wrong Name.")
 	void testFindByIdMethodWithSomeActorAndWrongName() {
@@ -147,6 +236,57 @@ class ActorMongoRepositoryTest {
 		assertThat(a).isEmpty();
 	}
 	
+	@Test
+	@DisplayName("Test the search of Actors by a Name prefix ignores case and accents.")
+	void testFindByNamePrefix() {
+		actorRepository.addActor(3, "Marco Rossi");
+		actorRepository.addActor(1, "marcello Bianchi");
+		actorRepository.addActor(2, "Márco Verdi");
+		actorRepository.addActor(4, "Andrea Verdi");
+		assertThat(actorRepository.findByNamePrefix("MARC", 10)).extracting(Actor::getId).containsExactly(1, 3, 2);
+		assertThat(actorRepository.findByNamePrefix("marco", 1)).extracting(Actor::getId).containsExactly(3);
+	}
+	
+	@Test
+	@DisplayName("Test the search by a Name prefix escapes the regular expression characters.")
+	void testFindByNamePrefixWithRegexCharacters() {
+		actorRepository.addActor(1, "M. Rossi");
+		actorRepository.addActor(2, "Mr Rossi");
+		assertThat(actorRepository.findByNamePrefix("m.", 10)).extracting(Actor::getId).containsExactly(1);
+	}
+	
+	@Test
+	@DisplayName("Test the search by a Name prefix follows the updated Name.")
+	void testFindByNamePrefixAfterNameUpdate() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.updateActorName(1, "Andrea Rossi");
+		assertThat(actorRepository.findByNamePrefix("mar", 10)).isEmpty();
+		assertThat(actorRepository.findByNamePrefix("andrea", 10)).extracting(Actor::getId).containsExactly(1);
+	}
+	
+	@Test
+	@DisplayName("Test the search by a Name prefix with a non positive limit.")
+	void testFindByNamePrefixWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.findByNamePrefix("m", 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test the repository leaves the text index on the Name to the index manager.")
+	void testTextIndexNotCreated() {
+		assertThat(client.getDatabase(DATABASE_NAME).getCollection(COLLECTION_NAME).listIndexes())
+			.noneMatch(index -> "text".equals(index.get("key", Document.class).get("name")));
+	}
+	
+	@Test
+	@DisplayName("Test the text search with an empty text or a non positive limit.")
+	void testSearchTextWithWrongArguments() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.searchText(" ", 10));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the search text must not be empty!");
+		thrown = assertThrows(IllegalArgumentException.class, () -> actorRepository.searchText("marco", 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+	
 	@Test
 	@DisplayName("Test the correct update of the ID of an Actor.")
 	void testUpdateActorIdCorrectly() {
@@ -218,5 +358,20 @@ class ActorMongoRepositoryTest {
 		assertThat(actors.get(0).getId()).isEqualTo(2);
 		assertThat(actors.get(0).getName()).isEqualTo("Andrea Verdi");
 	}
+	
+	@Test
+	@DisplayName("Test the deletion of the Actors by Name returns exactly the deleted Actors.")
+	void testFindAndDeleteActorsByName() {
+		actorRepository.addActor(1, "Marco Rossi");
+		actorRepository.addActor(2, "Andrea Verdi");
+		actorRepository.addActor(3, "Marco Rossi");
+		List<Actor> deleted = new ArrayList<>();
+		actorRepository.findAndDeleteActorsByName("Marco Rossi", deleted::add);
+		assertThat(deleted).extracting(Actor::getId).containsExactlyInAnyOrder(1, 3);
+		assertThat(actorRepository.findAll()).extracting(Actor::getId).containsExactly(2);
+		List<Actor> deletedAgain = new ArrayList<>();
+		actorRepository.findAndDeleteActorsByName("Marco Rossi", deletedAgain::add);
+		assertThat(deletedAgain).isEmpty();
+	}
 
 }
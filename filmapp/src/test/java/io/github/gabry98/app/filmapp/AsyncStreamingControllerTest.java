@@ -0,0 +1,179 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
+import io.github.gabry98.app.filmapp.controller.StreamingController;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+import io.github.gabry98.app.filmapp.view.ActorView;
+import io.github.gabry98.app.filmapp.view.FilmView;
+import io.github.gabry98.app.filmapp.view.ReportView;
+
+@DisplayName("Tests for Async Streaming Controller.")
+class AsyncStreamingControllerTest {
+
+	private static final long TIMEOUT = 5;
+
+	@Mock
+	private ActorRepository actorRepository;
+
+	@Mock
+	private FilmRepository filmRepository;
+
+	@Mock
+	private ReportRepository reportRepository;
+
+	@Mock
+	private ActorView actorView;
+
+	@Mock
+	private FilmView filmView;
+
+	@Mock
+	private ReportView reportView;
+
+	private ExecutorService executor;
+
+	private AsyncStreamingController streamingController;
+
+	private AutoCloseable closeable;
+
+	@BeforeEach
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		executor = Executors.newSingleThreadExecutor();
+		streamingController = new AsyncStreamingController(
+				new StreamingController(actorRepository, filmRepository, reportRepository), executor);
+	}
+
+	@AfterEach
+	public void releaseMocks() throws Exception {
+		executor.shutdownNow();
+		closeable.close();
+	}
+
+	@Test
+	@DisplayName("Test When a request completes, the view callback has already fired.")
+	void testCallbackFiredOnCompletion() throws Exception {
+		when(actorRepository.findById(1)).thenReturn(new Actor(1, "Marco Rossi"));
+		streamingController.addActor(actorView, 1, "Marco Rossi").get(TIMEOUT, TimeUnit.SECONDS);
+		verify(actorRepository).addActor(1, "Marco Rossi");
+		verify(actorView).actorAdded(1, "Marco Rossi");
+		streamingController.searchActorById(actorView, 1).get(TIMEOUT, TimeUnit.SECONDS);
+		verify(actorView).actorFound(1, "Marco Rossi");
+	}
+
+	@Test
+	@DisplayName("Test When a request fails the reference checks, its future completes exceptionally and the view is not notified.")
+	void testFailedRequest() {
+		CompletableFuture<Void> request = streamingController.addReport(reportView, 1, 1, 1);
+		ExecutionException e = assertThrows(ExecutionException.class, () -> request.get(TIMEOUT, TimeUnit.SECONDS));
+		assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("ERROR: No existing Actor with id 1.");
+		verify(reportRepository, never()).addReport(anyInt(), anyInt(), anyInt());
+		verify(reportView, never()).reportAdded(anyInt(), anyInt(), anyInt());
+	}
+
+	@Test
+	@DisplayName("Test When a running request is cancelled, it is interrupted and its future completes once it has returned.")
+	void testCancelRunningRequest() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch left = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} finally {
+				left.countDown();
+			}
+			return null;
+		}).when(actorRepository).forEachActor(any());
+		CompletableFuture<Void> request = streamingController.searchAllActors(actorView);
+		assertThat(started.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		request.cancel(true);
+		assertThrows(CancellationException.class, () -> request.get(TIMEOUT, TimeUnit.SECONDS));
+		assertThat(left.getCount()).isZero();
+		assertThat(request.isCancelled()).isTrue();
+	}
+
+	@Test
+	@DisplayName("Test When a queued request is cancelled, it never runs.")
+	void testCancelQueuedRequest() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			release.await();
+			return null;
+		}).when(actorRepository).addActor(1, "Marco Rossi");
+		CompletableFuture<Void> running = streamingController.addActor(actorView, 1, "Marco Rossi");
+		CompletableFuture<Void> queued = streamingController.addFilm(filmView, 1, "King Kong", 1933);
+		queued.cancel(true);
+		release.countDown();
+		running.get(TIMEOUT, TimeUnit.SECONDS);
+		assertThrows(CancellationException.class, () -> queued.get(TIMEOUT, TimeUnit.SECONDS));
+		verify(filmRepository, never()).addFilm(1, "King Kong", 1933);
+		verify(filmView, never()).filmAdded(1, "King Kong", 1933);
+	}
+
+	@Test
+	@DisplayName("Test When two views use different executors, their requests overlap.")
+	void testRequestsOfDifferentExecutorsOverlap() throws Exception {
+		ExecutorService otherExecutor = Executors.newSingleThreadExecutor();
+		try {
+			StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+			AsyncStreamingController actorRequests = new AsyncStreamingController(controller, executor);
+			AsyncStreamingController filmRequests = new AsyncStreamingController(controller, otherExecutor);
+			CountDownLatch filmAdded = new CountDownLatch(1);
+			doAnswer(invocation -> {
+				// completes only if the Film request runs while this one is still running
+				assertThat(filmAdded.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+				return null;
+			}).when(actorRepository).addActor(1, "Marco Rossi");
+			doAnswer(invocation -> {
+				filmAdded.countDown();
+				return null;
+			}).when(filmRepository).addFilm(1, "King Kong", 1933);
+			CompletableFuture<Void> actor = actorRequests.addActor(actorView, 1, "Marco Rossi");
+			CompletableFuture<Void> film = filmRequests.addFilm(filmView, 1, "King Kong", 1933);
+			CompletableFuture.allOf(actor, film).get(TIMEOUT, TimeUnit.SECONDS);
+			verify(actorView).actorAdded(1, "Marco Rossi");
+			verify(filmView).filmAdded(1, "King Kong", 1933);
+		} finally {
+			otherExecutor.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Test When the executor rejects a request, its future completes exceptionally.")
+	void testRejectedRequest() {
+		executor.shutdown();
+		CompletableFuture<Void> request = streamingController.addActor(actorView, 1, "Marco Rossi");
+		assertThat(request).isCompletedExceptionally();
+		verify(actorRepository, never()).addActor(1, "Marco Rossi");
+	}
+
+}
@@ -0,0 +1,126 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.controller.AsyncStreamingController;
+import io.github.gabry98.app.filmapp.controller.StreamingController;
+import io.github.gabry98.app.filmapp.view.ActorView;
+import io.github.gabry98.app.filmapp.view.gui.BackgroundActions;
+
+@DisplayName("Tests for the background actions of the GUI views.")
+class BackgroundActionsTest {
+
+	private static final long TIMEOUT = 5;
+
+	private JProgressBar busyBar;
+	private JButton cancelButton;
+	private JLabel errorLabel;
+	private BackgroundActions actions;
+	private StreamingController controller;
+	private AsyncStreamingController asyncController;
+	private ActorView actorView;
+	private List<String> events;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		events = new ArrayList<>();
+		SwingUtilities.invokeAndWait(() -> {
+			busyBar = new JProgressBar();
+			cancelButton = new JButton();
+			errorLabel = new JLabel();
+			actions = new BackgroundActions("test-actions", busyBar, cancelButton, errorLabel);
+		});
+		controller = mock(StreamingController.class);
+		asyncController = new AsyncStreamingController(controller, actions);
+		actorView = mock(ActorView.class);
+	}
+
+	@Test
+	@DisplayName("Test a cancelled action keeps the view busy until the worker has left it.")
+	void testCancelWaitsForTheRunningAction() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		doAnswer(invocation -> {
+			started.countDown();
+			// a request that can't be interrupted, as a query waiting for the server
+			awaitIgnoringInterrupts(release);
+			events.add("left");
+			return null;
+		}).when(controller).loadActorsPage(actorView, 0, 10);
+		doAnswer(invocation -> events.add("queued ran")).when(controller).loadActorsPage(actorView, 10, 10);
+		SwingUtilities.invokeAndWait(() -> {
+			actions.track(asyncController.loadActorsPage(actorView, 0, 10), () -> {
+				events.add("running done");
+				done.countDown();
+			});
+			actions.track(asyncController.loadActorsPage(actorView, 10, 10), () -> {
+				events.add("queued done");
+				done.countDown();
+			});
+		});
+		assertThat(started.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		SwingUtilities.invokeAndWait(actions::cancel);
+		SwingUtilities.invokeAndWait(() -> {
+			assertThat(actions.isBusy()).isTrue();
+			assertThat(busyBar.isVisible()).isTrue();
+			assertThat(cancelButton.isEnabled()).isTrue();
+		});
+		release.countDown();
+		assertThat(done.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		SwingUtilities.invokeAndWait(() -> {
+			assertThat(actions.isBusy()).isFalse();
+			assertThat(busyBar.isVisible()).isFalse();
+			assertThat(cancelButton.isEnabled()).isFalse();
+			assertThat(errorLabel.getText()).isEmpty();
+		});
+		assertThat(events).containsExactly("left", "running done", "queued done");
+	}
+
+	@Test
+	@DisplayName("Test a failed action shows its error once it is over.")
+	void testFailedAction() throws Exception {
+		CountDownLatch done = new CountDownLatch(1);
+		doThrow(new IllegalArgumentException("ERROR: No existing Actor with id 1.")).when(controller).deleteActor(eq(actorView), anyInt());
+		SwingUtilities.invokeAndWait(() -> actions.track(asyncController.deleteActor(actorView, 1), done::countDown));
+		assertThat(done.await(TIMEOUT, TimeUnit.SECONDS)).isTrue();
+		SwingUtilities.invokeAndWait(() -> {
+			assertThat(errorLabel.getText()).isEqualTo("ERROR: No existing Actor with id 1.");
+			assertThat(actions.isBusy()).isFalse();
+		});
+	}
+
+	private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+		boolean interrupted = false;
+		while(latch.getCount() > 0) {
+			try {
+				latch.await();
+			} catch(InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.bulk.BulkImporter;
+import io.github.gabry98.app.filmapp.bulk.ImportException;
+import io.github.gabry98.app.filmapp.bulk.ImportResult;
+import io.github.gabry98.app.filmapp.bulk.RecordFormat;
+import io.github.gabry98.app.filmapp.bulk.RecordParsers;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+
+@DisplayName("Tests for the Bulk Importer.")
+class BulkImporterTest {
+
+	private final List<List<Actor>> batches = Collections.synchronizedList(new ArrayList<>());
+
+	private List<InsertStatus> write(List<Actor> actors) {
+		batches.add(actors);
+		return actors.stream().map(a -> InsertStatus.INSERTED).collect(Collectors.toList());
+	}
+
+	private static BufferedReader lines(int count) {
+		return new BufferedReader(new StringReader(IntStream.rangeClosed(1, count)
+				.mapToObj(i -> i+",Actor "+i).collect(Collectors.joining("\n"))));
+	}
+
+	@Test
+	@DisplayName("Test the rows are written in file order, in batches of the given size.")
+	void testRowsWrittenInOrderAndBatched() throws Exception {
+		BulkImporter<Actor> importer = new BulkImporter<>("actors", 
+				RecordParsers.actors(RecordFormat.CSV), this::write, 10, 4);
+		ImportResult result = importer.run(lines(95), 0);
+		assertThat(batches).hasSize(10);
+		assertThat(batches.get(9)).hasSize(5);
+		assertThat(batches.stream().flatMap(List::stream).map(Actor::getId).collect(Collectors.toList()))
+			.isEqualTo(IntStream.rangeClosed(1, 95).boxed().collect(Collectors.toList()));
+		assertThat(result.getInserted()).isEqualTo(95);
+		assertThat(result.getOffset()).isEqualTo(95);
+	}
+
+	@Test
+	@DisplayName("Test the malformed lines are counted as invalid and skipped.")
+	void testMalformedLinesAreSkipped() throws Exception {
+		BulkImporter<Actor> importer = new BulkImporter<>("actors", 
+				RecordParsers.actors(RecordFormat.CSV), this::write, 10, 2);
+		ImportResult result = importer.run(new BufferedReader(new StringReader(
+				"1,Marco Rossi\nx,Andrea Verdi\n\n3,\"Rossi, Marco\"\n4")), 0);
+		assertThat(batches.get(0)).extracting(Actor::getName).containsExactly("Marco Rossi", "Rossi, Marco");
+		assertThat(result.getInserted()).isEqualTo(2);
+		assertThat(result.getInvalid()).isEqualTo(2);
+		assertThat(result.getOffset()).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("Test the import resumes after the given offset.")
+	void testResumeFromOffset() throws Exception {
+		BulkImporter<Actor> importer = new BulkImporter<>("actors", 
+				RecordParsers.actors(RecordFormat.CSV), this::write, 10, 2);
+		ImportResult result = importer.run(lines(25), 20);
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0)).extracting(Actor::getId).containsExactly(21, 22, 23, 24, 25);
+		assertThat(result.getResumedFrom()).isEqualTo(20);
+		assertThat(result.getOffset()).isEqualTo(25);
+	}
+
+	@Test
+	@DisplayName("Test a failed write reports the offset of the last committed batch.")
+	void testFailedWriteReportsCommittedOffset() {
+		BulkImporter<Actor> importer = new BulkImporter<>("actors", RecordParsers.actors(RecordFormat.CSV), 
+				actors -> {
+					if(actors.get(0).getId() > 20) {
+						throw new IllegalStateException("connection lost");
+					}
+					return write(actors);
+				}, 10, 2);
+		ImportException e = assertThrows(ImportException.class, () -> importer.run(lines(1000), 0));
+		assertThat(e.getOffset()).isEqualTo(20);
+		assertThat(e.getMessage()).isEqualTo("connection lost");
+	}
+
+	@Test
+	@DisplayName("Test the duplicate rows reported by the writer are counted.")
+	void testDuplicatesAreCounted() throws Exception {
+		BulkImporter<Actor> importer = new BulkImporter<>("actors", RecordParsers.actors(RecordFormat.CSV), 
+				actors -> actors.stream().map(a -> a.getId() % 2 == 0 ? InsertStatus.DUPLICATE_ID : InsertStatus.INSERTED)
+					.collect(Collectors.toList()), 3, 1);
+		ImportResult result = importer.run(lines(10), 0);
+		assertThat(result.getInserted()).isEqualTo(5);
+		assertThat(result.getDuplicates()).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("Test the NDJSON parsers.")
+	void testNdjsonParsers() {
+		Film f = RecordParsers.films(RecordFormat.NDJSON).apply("{\"id\": 1, \"name\": \"King Kong\", \"date\": 1950}");
+		assertThat(f.getName()).isEqualTo("King Kong");
+		assertThat(f.getDate()).isEqualTo(1950);
+		Report r = RecordParsers.reports(RecordFormat.NDJSON).apply("{\"id\": 1, \"actorId\": 2, \"filmId\": 3}");
+		assertThat(r.getActorId()).isEqualTo(2);
+		assertThat(r.getFilmId()).isEqualTo(3);
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> RecordParsers.actors(RecordFormat.NDJSON).apply("{\"id\": \"one\", \"name\": \"Marco\"}"));
+		assertThat(e.getMessage()).isEqualTo("ERROR: id should be an integer!");
+	}
+
+	@Test
+	@DisplayName("Test the format is chosen from the file extension.")
+	void testFormatFromPath() {
+		assertThat(RecordFormat.fromPath(Path.of("a.csv"))).isEqualTo(RecordFormat.CSV);
+		assertThat(RecordFormat.fromPath(Path.of("a.ndjson"))).isEqualTo(RecordFormat.NDJSON);
+		assertThrows(IllegalArgumentException.class, () -> RecordFormat.fromPath(Path.of("a.xml")));
+	}
+
+	@Test
+	@DisplayName("Test When we create an importer with a non-positive batch size.")
+	void testNonPositiveBatchSize() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new BulkImporter<>("actors", 
+				RecordParsers.actors(RecordFormat.CSV), this::write, 0, 1));
+		assertThat(e.getMessage()).isEqualTo("ERROR: the batch size should be positive!");
+	}
+
+}
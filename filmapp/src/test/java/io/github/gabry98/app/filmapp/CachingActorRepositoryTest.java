@@ -0,0 +1,128 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingActorRepository;
+
+@DisplayName("Tests for the Caching Actor Repository.")
+class CachingActorRepositoryTest {
+
+	@Mock
+	private ActorRepository delegate;
+
+	private CachingActorRepository actorRepository;
+
+	private AutoCloseable closeable;
+
+	@BeforeEach
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		actorRepository = new CachingActorRepository(delegate, 100);
+	}
+
+	@AfterEach
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	@DisplayName("Test When we search the same Actor twice, the delegate is queried once.")
+	void testFindByIdIsCached() {
+		Actor a = new Actor(1, "Marco Rossi");
+		when(delegate.findById(1)).thenReturn(a);
+		assertThat(actorRepository.findById(1)).isSameAs(a);
+		assertThat(actorRepository.findById(1)).isSameAs(a);
+		verify(delegate, times(1)).findById(1);
+		assertThat(actorRepository.getCacheStats().getHitCount()).isEqualTo(1);
+		assertThat(actorRepository.getCacheStats().getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test When we stream the Actors by Name, a cached search is replayed and a miss is streamed from the delegate.")
+	void testForEachByNameUsesCachedSearch() {
+		when(delegate.findByName("Marco Rossi")).thenReturn(List.of(new Actor(1, "Marco Rossi")));
+		doAnswer(invocation -> streamed(invocation, List.of(new Actor(2, "Luca Bianchi")))).when(delegate).forEachActorByName(eq("Luca Bianchi"), any());
+		actorRepository.findByName("Marco Rossi");
+		List<Actor> cached = new ArrayList<>();
+		List<Actor> missed = new ArrayList<>();
+		actorRepository.forEachActorByName("Marco Rossi", cached::add);
+		actorRepository.forEachActorByName("Luca Bianchi", missed::add);
+		actorRepository.forEachActorByName("Luca Bianchi", a -> {});
+		assertThat(cached).extracting(Actor::getId).containsExactly(1);
+		assertThat(missed).extracting(Actor::getId).containsExactly(2);
+		verify(delegate, never()).forEachActorByName(eq("Marco Rossi"), any());
+		verify(delegate, times(2)).forEachActorByName(eq("Luca Bianchi"), any());
+	}
+
+	@Test
+	@DisplayName("Test When we update the Name of an Actor, its cached entries are invalidated.")
+	void testUpdateNameInvalidates() {
+		when(delegate.findById(1)).thenReturn(new Actor(1, "Marco Rossi"));
+		when(delegate.findByName("Marco Rossi")).thenReturn(List.of(new Actor(1, "Marco Rossi")));
+		when(delegate.findByName("Mario Rossi")).thenReturn(List.of());
+		actorRepository.findById(1);
+		actorRepository.findByName("Marco Rossi");
+		actorRepository.findByName("Mario Rossi");
+		actorRepository.updateActorName(1, "Mario Rossi");
+		actorRepository.findById(1);
+		actorRepository.findByName("Marco Rossi");
+		actorRepository.findByName("Mario Rossi");
+		verify(delegate, times(2)).findById(1);
+		verify(delegate, times(2)).findByName("Marco Rossi");
+		verify(delegate, times(2)).findByName("Mario Rossi");
+	}
+
+	@Test
+	@DisplayName("Test When we delete the Actors by Name, only the matching entries are invalidated.")
+	void testDeleteByNameInvalidates() {
+		when(delegate.findById(1)).thenReturn(new Actor(1, "Marco Rossi"));
+		when(delegate.findById(2)).thenReturn(new Actor(2, "Luca Bianchi"));
+		actorRepository.findById(1);
+		actorRepository.findById(2);
+		doAnswer(invocation -> streamed(invocation, List.of(new Actor(1, "Marco Rossi")))).when(delegate).findAndDeleteActorsByName(eq("Marco Rossi"), any());
+		actorRepository.deleteActorsByName("Marco Rossi");
+		actorRepository.findById(1);
+		actorRepository.findById(2);
+		verify(delegate, times(2)).findById(1);
+		verify(delegate, times(1)).findById(2);
+	}
+
+	@Test
+	@DisplayName("Test When we add an Actor, a cached empty search for its Name is invalidated.")
+	void testAddInvalidates() {
+		when(delegate.findByName("Marco Rossi")).thenReturn(List.of());
+		assertThat(actorRepository.findByName("Marco Rossi")).isEmpty();
+		actorRepository.addActor(1, "Marco Rossi");
+		when(delegate.findByName("Marco Rossi")).thenReturn(List.of(new Actor(1, "Marco Rossi")));
+		assertThat(actorRepository.findByName("Marco Rossi")).hasSize(1);
+		verify(delegate).addActor(1, "Marco Rossi");
+	}
+
+	private static <T> Object streamed(InvocationOnMock invocation, List<T> rows) {
+		Consumer<T> consumer = invocation.getArgument(1);
+		rows.forEach(consumer);
+		return null;
+	}
+
+}
@@ -0,0 +1,125 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingFilmRepository;
+
+@DisplayName("Tests for the Caching Film Repository.")
+class CachingFilmRepositoryTest {
+
+	@Mock
+	private FilmRepository delegate;
+
+	private CachingFilmRepository filmRepository;
+
+	private AutoCloseable closeable;
+
+	@BeforeEach
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		filmRepository = new CachingFilmRepository(delegate, 100);
+	}
+
+	@AfterEach
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	@DisplayName("Test When we search the same Films by Date twice, the delegate is queried once.")
+	void testFindByDateIsCached() {
+		when(delegate.findByDate(2000)).thenReturn(List.of(new Film(1, "Titanic", 2000)));
+		assertThat(filmRepository.findByDate(2000)).hasSize(1);
+		assertThat(filmRepository.findByDate(2000)).hasSize(1);
+		verify(delegate, times(1)).findByDate(2000);
+		assertThat(filmRepository.getCacheStats().getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test When we update the Date of a Film, the searches containing it are invalidated.")
+	void testUpdateDateInvalidates() {
+		when(delegate.findByName("Titanic")).thenReturn(List.of(new Film(1, "Titanic", 1997)));
+		when(delegate.findByDate(1997)).thenReturn(List.of(new Film(1, "Titanic", 1997)));
+		when(delegate.findByName("Avatar")).thenReturn(List.of(new Film(2, "Avatar", 2009)));
+		filmRepository.findByName("Titanic");
+		filmRepository.findByDate(1997);
+		filmRepository.findByName("Avatar");
+		filmRepository.updateFilmDate(1, 1998);
+		filmRepository.findByName("Titanic");
+		filmRepository.findByDate(1997);
+		filmRepository.findByName("Avatar");
+		verify(delegate, times(2)).findByName("Titanic");
+		verify(delegate, times(2)).findByDate(1997);
+		verify(delegate, times(1)).findByName("Avatar");
+	}
+
+	@Test
+	@DisplayName("Test When we delete the Films by Date, the cached Films with that Date are invalidated.")
+	void testDeleteByDateInvalidates() {
+		when(delegate.findById(1)).thenReturn(new Film(1, "Titanic", 1997));
+		when(delegate.findById(2)).thenReturn(new Film(2, "Avatar", 2009));
+		filmRepository.findById(1);
+		filmRepository.findById(2);
+		doAnswer(invocation -> streamed(invocation, List.of(new Film(1, "Titanic", 1997)))).when(delegate).findAndDeleteFilmsByDate(eq(1997), any());
+		filmRepository.deleteFilmsByDate(1997);
+		filmRepository.findById(1);
+		filmRepository.findById(2);
+		verify(delegate, times(2)).findById(1);
+		verify(delegate, times(1)).findById(2);
+	}
+
+	@Test
+	@DisplayName("Test When we delete the Films by Name, only the searches holding the deleted Films are invalidated.")
+	void testDeleteByNameInvalidatesOnlyTheListsHoldingTheFilms() {
+		when(delegate.findByDate(1997)).thenReturn(List.of(new Film(1, "Titanic", 1997), new Film(3, "Air Force One", 1997)));
+		when(delegate.findByDate(2009)).thenReturn(List.of(new Film(2, "Avatar", 2009)));
+		doAnswer(invocation -> streamed(invocation, List.of(new Film(1, "Titanic", 1997)))).when(delegate).findAndDeleteFilmsByName(eq("Titanic"), any());
+		filmRepository.findByDate(1997);
+		filmRepository.findByDate(2009);
+		filmRepository.deleteFilmsByName("Titanic");
+		filmRepository.findByDate(1997);
+		filmRepository.findByDate(2009);
+		verify(delegate, times(2)).findByDate(1997);
+		verify(delegate, times(1)).findByDate(2009);
+	}
+
+	@Test
+	@DisplayName("Test When a search returns more Films than the row limit, it is not cached.")
+	void testLongListIsNotCached() {
+		List<Film> films = new ArrayList<>();
+		for(int i = 1; i <= 1001; i++) {
+			films.add(new Film(i, "Film "+i, 2000));
+		}
+		when(delegate.findByDate(2000)).thenReturn(films);
+		assertThat(filmRepository.findByDate(2000)).hasSize(1001);
+		assertThat(filmRepository.findByDate(2000)).hasSize(1001);
+		verify(delegate, times(2)).findByDate(2000);
+	}
+
+	private static <T> Object streamed(InvocationOnMock invocation, List<T> rows) {
+		Consumer<T> consumer = invocation.getArgument(1);
+		rows.forEach(consumer);
+		return null;
+	}
+
+}
@@ -0,0 +1,95 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+import io.github.gabry98.app.filmapp.repository.cache.CachingReportRepository;
+
+@DisplayName("Tests for the Caching Report Repository.")
+class CachingReportRepositoryTest {
+
+	@Mock
+	private ReportRepository delegate;
+
+	private CachingReportRepository reportRepository;
+
+	private AutoCloseable closeable;
+
+	@BeforeEach
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		reportRepository = new CachingReportRepository(delegate, 100);
+	}
+
+	@AfterEach
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+
+	@Test
+	@DisplayName("Test When we search the Reports of the same Actor twice, the delegate is queried once.")
+	void testFindByActorIdIsCached() {
+		when(delegate.findByActorId(1)).thenReturn(List.of(new Report(1, 1, 1)));
+		assertThat(reportRepository.findByActorId(1)).hasSize(1);
+		assertThat(reportRepository.findByActorId(1)).hasSize(1);
+		verify(delegate, times(1)).findByActorId(1);
+	}
+
+	@Test
+	@DisplayName("Test When we add a Report, the searches for its Actor and Film are invalidated.")
+	void testAddInvalidates() {
+		when(delegate.findByActorId(1)).thenReturn(List.of());
+		when(delegate.findByFilmId(2)).thenReturn(List.of());
+		reportRepository.findByActorId(1);
+		reportRepository.findByFilmId(2);
+		reportRepository.addReport(1, 1, 2);
+		reportRepository.findByActorId(1);
+		reportRepository.findByFilmId(2);
+		verify(delegate, times(2)).findByActorId(1);
+		verify(delegate, times(2)).findByFilmId(2);
+	}
+
+	@Test
+	@DisplayName("Test When we delete the Reports of a Film, the cached Reports of that Film are invalidated.")
+	void testDeleteByFilmIdInvalidates() {
+		when(delegate.findById(1)).thenReturn(new Report(1, 1, 1));
+		when(delegate.findById(2)).thenReturn(new Report(2, 1, 2));
+		when(delegate.findByActorId(1)).thenReturn(List.of(new Report(1, 1, 1), new Report(2, 1, 2)));
+		reportRepository.findById(1);
+		reportRepository.findById(2);
+		reportRepository.findByActorId(1);
+		doAnswer(invocation -> streamed(invocation, List.of(new Report(1, 1, 1)))).when(delegate).findAndDeleteReportsByFilmId(eq(1), any());
+		reportRepository.deleteReportByFilmId(1);
+		reportRepository.findById(1);
+		reportRepository.findById(2);
+		reportRepository.findByActorId(1);
+		verify(delegate, times(2)).findById(1);
+		verify(delegate, times(1)).findById(2);
+		verify(delegate, times(2)).findByActorId(1);
+	}
+
+	private static <T> Object streamed(InvocationOnMock invocation, List<T> rows) {
+		Consumer<T> consumer = invocation.getArgument(1);
+		rows.forEach(consumer);
+		return null;
+	}
+
+}
@@ -0,0 +1,131 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.analytics.CatalogAnalytics;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
+import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+
+@DisplayName("Tests for the Catalog Analytics.")
+class CatalogAnalyticsTest {
+	
+	private FilmRepository filmRepository;
+	private ReportRepository reportRepository;
+	private CatalogAnalytics analytics;
+	
+	@BeforeEach
+	public void setup() {
+		filmRepository = mock(FilmRepository.class);
+		reportRepository = mock(ReportRepository.class);
+		when(filmRepository.countFilmsByDate()).thenReturn(Map.of(1997, 2, 1933, 1));
+		when(reportRepository.countTopReportsByActorId(anyInt())).thenAnswer(invocation -> 
+			top(invocation.getArgument(0), Map.entry(2, 5), Map.entry(1, 3), Map.entry(3, 3)));
+		when(reportRepository.countTopReportsByFilmId(anyInt())).thenAnswer(invocation -> 
+			top(invocation.getArgument(0), Map.entry(20, 7), Map.entry(10, 4)));
+		analytics = new CatalogAnalytics(filmRepository, reportRepository);
+	}
+	
+	@SafeVarargs
+	private static List<RankedCount> top(int limit, Map.Entry<Integer, Integer>... ranking) {
+		return Stream.of(ranking).limit(limit).map(e -> new RankedCount(e.getKey(), e.getValue())).collect(Collectors.toList());
+	}
+	
+	@Test
+	@DisplayName("Test the films per year are loaded once and sorted by year.")
+	void testFilmsPerYearLoadedOnce() {
+		assertThat(analytics.filmsPerYear()).containsExactly(Map.entry(1933, 1), Map.entry(1997, 2));
+		analytics.filmsPerYear();
+		verify(filmRepository, times(1)).countFilmsByDate();
+	}
+	
+	@Test
+	@DisplayName("Test the rankings keep the server order and are truncated to the limit.")
+	void testRankings() {
+		assertThat(analytics.busiestActors(2)).extracting(RankedCount::getId, RankedCount::getCount)
+			.containsExactly(tuple(2, 5), tuple(1, 3));
+		assertThat(analytics.largestCasts(5)).extracting(RankedCount::getId).containsExactly(20, 10);
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> analytics.busiestActors(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test a ranking is reused for shorter limits and for the ones past its last row.")
+	void testRankingsReused() {
+		analytics.busiestActors(2);
+		assertThat(analytics.busiestActors(1)).extracting(RankedCount::getId).containsExactly(2);
+		assertThat(analytics.busiestActors(3)).extracting(RankedCount::getId).containsExactly(2, 1, 3);
+		verify(reportRepository, times(1)).countTopReportsByActorId(2);
+		verify(reportRepository, times(1)).countTopReportsByActorId(3);
+		analytics.largestCasts(5);
+		assertThat(analytics.largestCasts(10)).extracting(RankedCount::getId).containsExactly(20, 10);
+		verify(reportRepository, times(1)).countTopReportsByFilmId(anyInt());
+	}
+	
+	@Test
+	@DisplayName("Test the added and removed films update the loaded counters, the report changes reload the rankings.")
+	void testIncrementalUpdates() {
+		analytics.filmsPerYear();
+		analytics.busiestActors(1);
+		analytics.largestCasts(1);
+		analytics.filmAdded(2009);
+		analytics.filmsRemoved(List.of(new Film(1, "King Kong", 1933)));
+		analytics.reportsChanged();
+		assertThat(analytics.filmsPerYear()).containsExactly(Map.entry(1997, 2), Map.entry(2009, 1));
+		analytics.busiestActors(1);
+		analytics.largestCasts(1);
+		verify(filmRepository, times(1)).countFilmsByDate();
+		verify(reportRepository, times(2)).countTopReportsByActorId(1);
+		verify(reportRepository, times(2)).countTopReportsByFilmId(1);
+	}
+	
+	@Test
+	@DisplayName("Test a load racing with a change is returned but not kept.")
+	void testLoadRacingWithChange() {
+		when(filmRepository.countFilmsByDate()).thenAnswer(invocation -> {
+			analytics.filmAdded(2009);
+			return Map.of(1997, 2);
+		});
+		assertThat(analytics.filmsPerYear()).containsExactly(Map.entry(1997, 2));
+		analytics.filmsPerYear();
+		verify(filmRepository, times(2)).countFilmsByDate();
+	}
+	
+	@Test
+	@DisplayName("Test the changes without the old values reload the counters.")
+	void testChangesReloadCounters() {
+		analytics.filmsPerYear();
+		analytics.largestCasts(1);
+		analytics.filmsChanged();
+		analytics.reportsChanged();
+		analytics.filmsPerYear();
+		analytics.largestCasts(1);
+		verify(filmRepository, times(2)).countFilmsByDate();
+		verify(reportRepository, times(2)).countTopReportsByFilmId(1);
+	}
+	
+	@Test
+	@DisplayName("Test setting a non positive maximum age.")
+	void testSetMaxAgeWithNonPositiveValue() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> analytics.setMaxAgeMillis(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the maximum age should be positive!");
+	}
+
+}
@@ -0,0 +1,171 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.graph.CoStar;
+import io.github.gabry98.app.filmapp.graph.CoStarIndex;
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.repository.ReportRepository;
+
+@DisplayName("Tests for the Co-Star Index.")
+class CoStarIndexTest {
+	
+	private static CoStarIndex build(List<Report> reports) {
+		ReportRepository reportRepository = mock(ReportRepository.class);
+		doAnswer(invocation -> {
+			reports.forEach(invocation.<Consumer<Report>>getArgument(0));
+			return null;
+		}).when(reportRepository).forEachReport(any());
+		return CoStarIndex.build(reportRepository);
+	}
+	
+	private static List<Report> catalog() {
+		return List.of(
+				new Report(1, 1, 10), new Report(2, 2, 10), new Report(3, 3, 10),
+				new Report(4, 1, 20), new Report(5, 2, 20),
+				new Report(6, 1, 30), new Report(7, 4, 30));
+	}
+	
+	@Test
+	@DisplayName("Test the collaborations count the films shared by two actors in both directions.")
+	void testCollaborations() {
+		CoStarIndex index = build(catalog());
+		assertThat(index.collaborations(1, 2)).isEqualTo(2);
+		assertThat(index.collaborations(2, 1)).isEqualTo(2);
+		assertThat(index.collaborations(1, 4)).isEqualTo(1);
+		assertThat(index.collaborations(3, 4)).isZero();
+		assertThat(index.collaborations(9, 1)).isZero();
+		assertThat(index.reportCount()).isEqualTo(7);
+		assertThat(index.isLoaded()).isTrue();
+	}
+	
+	@Test
+	@DisplayName("Test the top co-stars are ranked by shared films, then by actor ID.")
+	void testTopCoStars() {
+		CoStarIndex index = build(catalog());
+		assertThat(index.topCoStars(1, 10)).extracting(CoStar::getActorId, CoStar::getSharedFilms)
+			.containsExactly(tuple(2, 2), tuple(3, 1), tuple(4, 1));
+		assertThat(index.topCoStars(1, 2)).extracting(CoStar::getActorId).containsExactly(2, 3);
+		assertThat(index.topCoStars(9, 2)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test a large cast is expanded into one row of co-stars per actor.")
+	void testLargeCast() {
+		List<Report> reports = new ArrayList<>();
+		for(int actorId = 1; actorId <= 2000; actorId++) {
+			reports.add(new Report(actorId, actorId, 10));
+		}
+		reports.add(new Report(2001, 1, 20));
+		reports.add(new Report(2002, 2000, 20));
+		CoStarIndex index = build(reports);
+		assertThat(index.collaborations(1, 2000)).isEqualTo(2);
+		assertThat(index.collaborations(1000, 1001)).isEqualTo(1);
+		assertThat(index.collaborations(1000, 1000)).isZero();
+		assertThat(index.topCoStars(1, 2)).extracting(CoStar::getActorId, CoStar::getSharedFilms)
+			.containsExactly(tuple(2000, 2), tuple(2, 1));
+	}
+	
+	@Test
+	@DisplayName("Test an index loaded in the background replaces the empty one, unless it was modified meanwhile.")
+	void testLoad() {
+		ReportRepository reportRepository = mock(ReportRepository.class);
+		CoStarIndex index = new CoStarIndex();
+		doAnswer(invocation -> {
+			catalog().forEach(invocation.<Consumer<Report>>getArgument(0));
+			index.addReport(8, 4, 10);
+			return null;
+		}).doAnswer(invocation -> {
+			catalog().forEach(invocation.<Consumer<Report>>getArgument(0));
+			invocation.<Consumer<Report>>getArgument(0).accept(new Report(8, 4, 10));
+			return null;
+		}).when(reportRepository).forEachReport(any());
+		assertThat(index.isLoaded()).isFalse();
+		assertThat(index.load(reportRepository)).isFalse();
+		assertThat(index.isLoaded()).isFalse();
+		assertThat(index.collaborations(1, 2)).isZero();
+		assertThat(index.collaborations(4, 1)).isZero();
+		assertThat(index.load(reportRepository)).isTrue();
+		assertThat(index.isLoaded()).isTrue();
+		assertThat(index.collaborations(1, 2)).isEqualTo(2);
+		assertThat(index.collaborations(4, 1)).isEqualTo(2);
+		assertThat(index.reportCount()).isEqualTo(8);
+	}
+	
+	@Test
+	@DisplayName("Test the top co-stars with a non positive limit.")
+	void testTopCoStarsWithNonPositiveLimit() {
+		CoStarIndex index = new CoStarIndex();
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> index.topCoStars(1, 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of co-stars should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test the index is updated by added, removed and renamed reports.")
+	void testIncrementalUpdates() {
+		CoStarIndex index = build(catalog());
+		index.addReport(8, 4, 10);
+		assertThat(index.collaborations(4, 3)).isEqualTo(1);
+		assertThat(index.topCoStars(4, 1)).extracting(CoStar::getActorId, CoStar::getSharedFilms)
+			.containsExactly(tuple(1, 2));
+		index.renameReport(4, 40);
+		index.removeReport(40);
+		assertThat(index.collaborations(1, 2)).isEqualTo(1);
+		index.removeReport(8);
+		assertThat(index.collaborations(4, 3)).isZero();
+		assertThat(index.topCoStars(4, 5)).extracting(CoStar::getActorId).containsExactly(1);
+		index.removeReport(99);
+		assertThat(index.reportCount()).isEqualTo(6);
+	}
+	
+	@Test
+	@DisplayName("Test many random updates, compactions included, give the same answers as a full rebuild.")
+	void testIncrementalUpdatesMatchRebuild() {
+		Random random = new Random(42);
+		Map<Integer, Report> reports = new HashMap<>();
+		Map<List<Integer>, Integer> pairs = new HashMap<>();
+		CoStarIndex index = new CoStarIndex();
+		for(int step = 0; step < 5000; step++) {
+			int actorId = random.nextInt(40)+1;
+			int filmId = random.nextInt(60)+1;
+			Integer existing = pairs.remove(List.of(actorId, filmId));
+			if(existing != null) {
+				reports.remove(existing);
+				index.removeReport(existing);
+			} else {
+				int id = step+1;
+				reports.put(id, new Report(id, actorId, filmId));
+				pairs.put(List.of(actorId, filmId), id);
+				index.addReport(id, actorId, filmId);
+			}
+		}
+		CoStarIndex rebuilt = build(new ArrayList<>(reports.values()));
+		assertThat(index.reportCount()).isEqualTo(reports.size());
+		for(int actorId = 1; actorId <= 40; actorId++) {
+			for(int otherActorId = 1; otherActorId <= 40; otherActorId++) {
+				if(actorId != otherActorId) {
+					assertThat(index.collaborations(actorId, otherActorId))
+						.isEqualTo(rebuilt.collaborations(actorId, otherActorId));
+				}
+			}
+			assertThat(index.topCoStars(actorId, 5)).usingRecursiveFieldByFieldElementComparator()
+				.isEqualTo(rebuilt.topCoStars(actorId, 5));
+		}
+	}
+
+}
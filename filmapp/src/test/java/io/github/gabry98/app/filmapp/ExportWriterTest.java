@@ -0,0 +1,92 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.gabry98.app.filmapp.bulk.ExportWriter;
+import io.github.gabry98.app.filmapp.bulk.RecordFormat;
+import io.github.gabry98.app.filmapp.bulk.RecordFormatters;
+import io.github.gabry98.app.filmapp.bulk.RecordParsers;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.Report;
+
+@DisplayName("Tests for the Export Writer.")
+class ExportWriterTest {
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	@DisplayName("Test the CSV export writes the header and quotes the names when needed.")
+	void testCsvExportWritesHeaderAndQuotesNames() throws Exception {
+		Path file = directory.resolve("films.csv");
+		try(ExportWriter<Film> writer = new ExportWriter<>(file, false, RecordFormatters.FILMS_CSV_HEADER, 
+				RecordFormatters.films(RecordFormat.CSV))) {
+			writer.accept(new Film(1, "King Kong", 1933));
+			writer.accept(new Film(2, "Crouching Tiger, \"Hidden\" Dragon", 2000));
+			assertThat(writer.getRows()).isEqualTo(2);
+		}
+		assertThat(Files.readAllLines(file)).containsExactly(
+				"id,name,date", 
+				"1,King Kong,1933", 
+				"2,\"Crouching Tiger, \"\"Hidden\"\" Dragon\",2000");
+	}
+	
+	@Test
+	@DisplayName("Test the NDJSON export escapes the names.")
+	void testNdjsonExportEscapesNames() throws Exception {
+		Path file = directory.resolve("actors.ndjson");
+		try(ExportWriter<Actor> writer = new ExportWriter<>(file, false, null, 
+				RecordFormatters.actors(RecordFormat.NDJSON))) {
+			writer.accept(new Actor(1, "Dwayne \"The Rock\" Johnson\\"));
+		}
+		assertThat(Files.readAllLines(file)).containsExactly(
+				"{\"id\": 1, \"name\": \"Dwayne \\\"The Rock\\\" Johnson\\\\\"}");
+	}
+	
+	@Test
+	@DisplayName("Test the exported rows are parsed back to the same records.")
+	void testExportedRowsAreParsedBack() throws Exception {
+		List<Actor> actors = List.of(new Actor(1, "Marco, Rossi"), new Actor(2, "Anna \"Nina\" Bianchi"));
+		for(RecordFormat format : RecordFormat.values()) {
+			Path file = directory.resolve("actors."+format.name().toLowerCase());
+			try(ExportWriter<Actor> writer = new ExportWriter<>(file, false, null, RecordFormatters.actors(format))) {
+				actors.forEach(writer);
+			}
+			Function<String, Actor> parser = RecordParsers.actors(format);
+			assertThat(Files.readAllLines(file).stream().map(parser).collect(Collectors.toList()))
+				.usingRecursiveFieldByFieldElementComparator().isEqualTo(actors);
+		}
+	}
+	
+	@Test
+	@DisplayName("Test the gzip export is decompressed to the plain rows.")
+	void testGzipExportRoundTrip() throws Exception {
+		Path file = directory.resolve("reports.csv.gz");
+		assertThat(RecordFormat.fromPath(file)).isEqualTo(RecordFormat.CSV);
+		assertThat(RecordFormat.isGzip(file)).isTrue();
+		try(ExportWriter<Report> writer = new ExportWriter<>(file, true, RecordFormatters.REPORTS_CSV_HEADER, 
+				RecordFormatters.reports(RecordFormat.CSV))) {
+			writer.accept(new Report(1, 2, 3));
+		}
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+			assertThat(reader.lines()).containsExactly("id,actorId,filmId", "1,2,3");
+		}
+	}
+
+}
@@ -1,10 +1,13 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.swing.timing.Pause.pause;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import java.awt.Dimension;
 import java.util.List;
+import javax.swing.JProgressBar;
 import org.assertj.swing.annotation.GUITest;
 import org.assertj.swing.core.BasicRobot;
 import org.assertj.swing.core.matcher.JButtonMatcher;
@@ -13,6 +16,8 @@ import org.assertj.swing.edt.GuiActionRunner;
 import org.assertj.swing.fixture.FrameFixture;
 import org.assertj.swing.junit.runner.GUITestRunner;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
+import org.assertj.swing.timing.Condition;
+import org.assertj.swing.timing.Timeout;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,12 +32,15 @@ import org.mockito.MockitoAnnotations;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.model.Film;
 import io.github.gabry98.app.filmapp.view.gui.FilmGUIView;
+import io.github.gabry98.app.filmapp.view.gui.PagedListModel;
 
 @RunWith(GUITestRunner.class)
 @TestInstance(Lifecycle.PER_CLASS)
 @DisplayName("Tests for FilmGUIView")
 class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 	
+	private static final long TIMEOUT = 5000;
+	
 	private FrameFixture window;
 	private FilmGUIView filmView;
 	private AutoCloseable closeable;
@@ -68,6 +76,15 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.cleanUp();
 	}
 	
+	private void waitForErrorLabel() {
+		pause(new Condition("errorLabel must be not empty") {
+			@Override
+			public boolean test() {
+				return !window.label("errorLabel").text().trim().isEmpty();
+			}
+		}, Timeout.timeout(TIMEOUT));
+	}
+	
 	@Test @GUITest
 	@DisplayName("Test when we have all initial states of the view.")
 	void testInitialStates() {
@@ -304,7 +321,7 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("filmName").requireText("");
 		window.textBox("filmDate").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
-		verify(streamingController).addFilm(filmView, 1, "King Kong", 1950);
+		verify(streamingController, timeout(TIMEOUT)).addFilm(filmView, 1, "King Kong", 1950);
 	}
 	
 	@Test @GUITest
@@ -320,6 +337,7 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("filmName").requireText("");
 		window.textBox("filmDate").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: id should be positive!");
 	}
 	
@@ -346,24 +364,25 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox(field).requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
 		if(field.equals("filmName"))
-			verify(streamingController).updateFilmByName(filmView, 1, "King Kong", 0);
+			verify(streamingController, timeout(TIMEOUT)).updateFilmByName(filmView, 1, "King Kong");
 		else if(field.equals("filmDate"))
-			verify(streamingController).updateFilmDate(filmView, 1, 1950, 0);
+			verify(streamingController, timeout(TIMEOUT)).updateFilmDate(filmView, 1, 1950);
 		else
-			verify(streamingController).updateFilmById(filmView, 1, 2, 0);
+			verify(streamingController, timeout(TIMEOUT)).updateFilmById(filmView, 1, 2);
 	}
 
 	@Test @GUITest
 	@DisplayName("Test when we update films with an exception.")
 	void testFilmUpdatedWithException() {
 		doThrow(new IllegalArgumentException("ERROR: Film with id 1 already exists!")).
-			when(streamingController).updateFilmById(filmView, 1, 1, 0);
+			when(streamingController).updateFilmById(filmView, 1, 1);
 		filmView.filmAdded(1, "King Kong", 1950);
 		window.list("filmsList").selectItems(0);
 		window.textBox("filmId").enterText("1");
 		window.button(JButtonMatcher.withText("UPDATE")).click();
 		window.textBox("filmId").requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: Film with id 1 already exists!");
 		
 	}
@@ -380,11 +399,11 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		filmView.filmAdded(1, "King Kong", 1950);
 		window.list("filmsList").selectItems(0);
 		if(field.equals("filmId"))
-			filmView.filmUpdatedById(1, Integer.parseInt(value), 0);
+			filmView.filmUpdatedById(1, Integer.parseInt(value));
 		else if(field.equals("filmDate"))
-			filmView.filmUpdatedByDate(1, Integer.parseInt(value), 0);
+			filmView.filmUpdatedByDate(1, Integer.parseInt(value));
 		else
-			filmView.filmUpdatedByName(1, value, 0);
+			filmView.filmUpdatedByName(1, value);
 		if(field.equals("filmId"))
 			assertThat(window.list("filmsList").contents()).contains("2,King Kong,1950");
 		else if(field.equals("filmDate"))
@@ -400,7 +419,7 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.list("filmsList").selectItems(0);
 		window.button(JButtonMatcher.withText("REMOVE")).click();
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
-		verify(streamingController).deleteFilmById(filmView, 1, 0);
+		verify(streamingController, timeout(TIMEOUT)).deleteFilmById(filmView, 1);
 	}
 	
 	@GUITest
@@ -417,16 +436,16 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
 		window.textBox(field).enterText("");	
 		if(field.equals("filmName"))
-			verify(streamingController).deleteFilmsByName(filmView, "King Kong");
+			verify(streamingController, timeout(TIMEOUT)).deleteFilmsByName(filmView, "King Kong");
 		else
-			verify(streamingController).deleteFilmsByDate(filmView, 1950);
+			verify(streamingController, timeout(TIMEOUT)).deleteFilmsByDate(filmView, 1950);
 	}
 	
 	@Test @GUITest
 	@DisplayName("Test when we remove a film by id from films list.")
 	void testFilmRemovedByIdFromFilmsList() {
 		filmView.filmAdded(1, "King Kong", 1950);
-		filmView.filmDeletedById(1,0);
+		filmView.filmDeletedById(1);
 		assertThat(window.list("filmsList").contents()).isEmpty();
 	}
 	
@@ -458,7 +477,7 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).click();
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox("filmId").requireText("");
-		verify(streamingController).searchAllFilms(filmView);
+		verify(streamingController, timeout(TIMEOUT)).searchAllFilms(filmView);
 	}
 	
 	@GUITest
@@ -478,11 +497,29 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox(field).requireText("");
 		if(field.equals("filmId"))
-			verify(streamingController).searchFilmById(filmView, Integer.parseInt(value));
+			verify(streamingController, timeout(TIMEOUT)).searchFilmById(filmView, Integer.parseInt(value));
 		else if(field.equals("filmDate"))
-			verify(streamingController).searchFilmsByDate(filmView, Integer.parseInt(value));
+			verify(streamingController, timeout(TIMEOUT)).searchFilmsByDate(filmView, Integer.parseInt(value));
 		else
-			verify(streamingController).searchFilmsByName(filmView, value);
+			verify(streamingController, timeout(TIMEOUT)).searchFilmsByName(filmView, value);
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test a Name ending with the wildcard searches the films by Name prefix.")
+	void testFilmFoundByNamePrefix() {
+		window.textBox("filmName").enterText("Bad*");
+		window.button(JButtonMatcher.withText("FIND")).click();
+		window.textBox("filmName").requireText("");
+		verify(streamingController, timeout(TIMEOUT)).searchFilmsByNamePrefix(filmView, "Bad", 50);
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test a Name starting with the marker searches the films by text.")
+	void testFilmFoundByText() {
+		window.textBox("filmName").enterText("~bad boys");
+		window.button(JButtonMatcher.withText("FIND")).click();
+		window.textBox("filmName").requireText("");
+		verify(streamingController, timeout(TIMEOUT)).searchFilmsByText(filmView, "bad boys", 50);
 	}
 	
 	@Test @GUITest
@@ -494,5 +531,38 @@ class FilmGUIViewTest extends AssertJSwingJUnitTestCase {
 		filmView.filmFound(1, "King Kong", 1950);
 		assertThat(window.list("findList").contents()).contains("1,King Kong,1950");
 	}
+	
+	@Test @GUITest
+	@DisplayName("Test when we find a chunk of films by calling explicitly the method of the view.")
+	void testFilmsFoundByCallingViewMethod() {
+		filmView.filmsFound(List.of(new Film(1, "King Kong", 1950), new Film(2, "Bad Boys", 1995)));
+		assertThat(window.list("findList").contents()).containsExactly("1,King Kong,1950", "2,Bad Boys,1995");
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test the busy bar is hidden and the cancel button disabled once the actions are over.")
+	void testIdleAfterActions() {
+		window.textBox("filmId").enterText("1");
+		window.button(JButtonMatcher.withText("FIND")).click();
+		verify(streamingController, timeout(TIMEOUT)).searchFilmById(filmView, 1);
+		pause(new Condition("cancel button must be disabled") {
+			@Override
+			public boolean test() {
+				return !window.button(JButtonMatcher.withText("CANCEL")).isEnabled();
+			}
+		}, Timeout.timeout(TIMEOUT));
+		JProgressBar busyBar = window.robot().finder().findByName(window.target(), "busyBar", JProgressBar.class, false);
+		assertThat(GuiActionRunner.execute(busyBar::isVisible)).isFalse();
+	}
+	
+	@Test @GUITest
+	@DisplayName("Test the persisted films are loaded in pages when the view starts, before the added ones.")
+	void testFilmsPageLoaded() {
+		verify(streamingController, timeout(TIMEOUT).atLeastOnce())
+			.loadFilmsPage(filmView, PagedListModel.FIRST_AFTER_ID, 500);
+		filmView.filmsPageLoaded(PagedListModel.FIRST_AFTER_ID, List.of(new Film(1, "King Kong", 1933)));
+		filmView.filmAdded(2, "Titanic", 1997);
+		assertThat(window.list("filmsList").contents()).containsExactly("1,King Kong,1933", "2,Titanic,1997");
+	}
 
 }
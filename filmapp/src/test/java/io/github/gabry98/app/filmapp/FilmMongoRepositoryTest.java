@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -25,6 +27,7 @@ import de.bwaldvogel.mongo.MongoServer;
 import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
 import io.github.gabry98.app.filmapp.model.Film;
 import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
 import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
 
 @TestInstance(Lifecycle.PER_CLASS)
@@ -54,9 +57,9 @@ class FilmMongoRepositoryTest {
 	@BeforeEach
 	public void setup() {
 		client = new MongoClient(new ServerAddress(serverAddress));
-		filmRepository = new FilmMongoRepository(client, DATABASE_NAME, COLLECTION_NAME);
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		filmRepository = new FilmMongoRepository(client, DATABASE_NAME, COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -85,6 +88,75 @@ class FilmMongoRepositoryTest {
 		assertThat(Films.get(0).getDate()).isEqualTo(date);
 	}
 	
+	@Test
+	@DisplayName("Test Find Page Method returns the Films after the given ID ordered by ID.")
+	void testFindPageReturnsOrderedFilmsAfterId() {
+		filmRepository.addFilm(3, "King Kong", 1950);
+		filmRepository.addFilm(1, "Titanic", 1997);
+		filmRepository.addFilm(4, "Avatar", 2009);
+		filmRepository.addFilm(2, "Rocky", 1976);
+		assertThat(filmRepository.findPage(0, 2)).extracting(Film::getId).containsExactly(1, 2);
+		assertThat(filmRepository.findPage(2, 2)).extracting(Film::getId).containsExactly(3, 4);
+		assertThat(filmRepository.findPage(4, 2)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test Find Page Method with a non positive page size.")
+	void testFindPageWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> filmRepository.findPage(0, 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the page size should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test For Each Method streams every Film in the repository.")
+	void testForEachFilmStreamsEveryFilm() {
+		filmRepository.addFilm(1, "King Kong", 1950);
+		filmRepository.addFilm(2, "Titanic", 1997);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		List<Film> streamed = new ArrayList<>();
+		filmRepository.forEachFilm(streamed::add);
+		assertThat(streamed).extracting(Film::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+	
+	@Test
+	@DisplayName("Test For Each By Date Method streams only the Films of the given year.")
+	void testForEachFilmByDateStreamsMatchingFilms() {
+		filmRepository.addFilm(1, "King Kong", 1933);
+		filmRepository.addFilm(2, "Duck Soup", 1933);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		List<Film> streamed = new ArrayList<>();
+		filmRepository.forEachFilmByDate(1933, streamed::add);
+		assertThat(streamed).extracting(Film::getId).containsExactlyInAnyOrder(1, 2);
+	}
+	
+	@Test
+	@DisplayName("Test For Each By Name Method streams only the Films with the given Name.")
+	void testForEachFilmByNameStreamsMatchingFilms() {
+		filmRepository.addFilm(1, "King Kong", 1933);
+		filmRepository.addFilm(2, "King Kong", 2005);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		List<Film> streamed = new ArrayList<>();
+		filmRepository.forEachFilmByName("King Kong", streamed::add);
+		assertThat(streamed).extracting(Film::getId).containsExactlyInAnyOrder(1, 2);
+	}
+	
+	@Test
+	@DisplayName("Test the Films are counted per year.")
+	void testCountFilmsByDate() {
+		filmRepository.addFilm(1, "King Kong", 1933);
+		filmRepository.addFilm(2, "Duck Soup", 1933);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		assertThat(filmRepository.countFilmsByDate()).containsOnly(Map.entry(1933, 2), Map.entry(2009, 1));
+	}
+	
+	@Test
+	@DisplayName("Test setting a non positive batch size.")
+	void testSetBatchSizeWithNonPositiveValue() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, 
+				() -> ((FilmMongoRepository) filmRepository).setBatchSize(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the batch size should be positive!");
+	}
+	
 	@Test
 	@DisplayName("Test adding a Film with a duplicate ID.")
 	void testAddFilmWithDuplicateId() {
@@ -93,6 +165,31 @@ class FilmMongoRepositoryTest {
 		assertThat(thrown.getMessage()).isEqualTo("ERROR: Film with id 1 already exists!");
 	}
 	
+	@Test
+	@DisplayName("Test the update of the ID of a Film with the ID of another Film.")
+	void testUpdateFilmIdWithAnotherFilmId() {
+		filmRepository.addFilm(1, "King Kong", 1950);
+		filmRepository.addFilm(2, "Titanic", 1997);
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> filmRepository.updateFilmId(1,2));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: Film with id 2 already exists!");
+		assertThat(filmRepository.findById(1).getName()).isEqualTo("King Kong");
+	}
+	
+	@Test
+	@DisplayName("Test adding a batch of Films with valid, duplicated and invalid entries.")
+	void testAddFilmsWithMixedBatch() {
+		filmRepository.addFilm(1, "King Kong", 1950);
+		List<InsertStatus> results = filmRepository.addFilms(List.of(
+				new Film(1, "Titanic", 1997),
+				new Film(2, "Avatar", 2009),
+				new Film(2, "Rocky", 1976),
+				new Film(3, "Matrix", 1900)));
+		assertThat(results).containsExactly(InsertStatus.DUPLICATE_ID, InsertStatus.INSERTED, 
+				InsertStatus.DUPLICATE_ID, InsertStatus.INVALID_DATA);
+		assertThat(filmRepository.findAll()).hasSize(2);
+		assertThat(filmRepository.findById(2).getName()).isEqualTo("Avatar");
+	}
+	
 	@Test
 	@DisplayName("Test adding a Film with a non positive ID.")
 	void testAddFilmWithNonPositiveId() {
@@ -177,6 +274,27 @@ class FilmMongoRepositoryTest {
 		assertThat(f).isEmpty();
 	}
 	
+	@Test
+	@DisplayName("Test the search of Films by a Name prefix ignores case and follows the updates.")
+	void testFindByNamePrefix() {
+		filmRepository.addFilm(1, "King Kong", 1933);
+		filmRepository.addFilm(2, "kingdom of Heaven", 2005);
+		filmRepository.addFilm(3, "Avatar", 2009);
+		filmRepository.updateFilmName(3, "Kinky Boots");
+		assertThat(filmRepository.findByNamePrefix("KING", 10)).extracting(Film::getId).containsExactly(1, 2);
+		assertThat(filmRepository.findByNamePrefix("kin", 10)).extracting(Film::getId).containsExactly(1, 2, 3);
+		assertThat(filmRepository.findByNamePrefix("ava", 10)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test the text search with an empty text or a non positive limit.")
+	void testSearchTextWithWrongArguments() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> filmRepository.searchText("", 10));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the search text must not be empty!");
+		thrown = assertThrows(IllegalArgumentException.class, () -> filmRepository.searchText("king kong", -1));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+	
 	@Test
 	@DisplayName("Test the correct update of the ID of an Film.")
 	void testUpdateFilmIdCorrectly() {
@@ -302,5 +420,28 @@ class FilmMongoRepositoryTest {
 		assertThat(films.get(0).getId()).isEqualTo(2);
 		assertThat(films.get(0).getName()).isEqualTo("Stanley Laurel and Oliver Hardy");
 	}
+	
+	@Test
+	@DisplayName("Test the deletion of the Films by Name returns exactly the deleted Films.")
+	void testFindAndDeleteFilmsByName() {
+		filmRepository.addFilm(1, "La Bella Stagione", 2022);
+		filmRepository.addFilm(2, "Stanley Laurel and Oliver Hardy", 1930);
+		List<Film> deleted = new ArrayList<>();
+		filmRepository.findAndDeleteFilmsByName("La Bella Stagione", deleted::add);
+		assertThat(deleted).extracting(Film::getId).containsExactly(1);
+		assertThat(filmRepository.findAll()).extracting(Film::getId).containsExactly(2);
+	}
+	
+	@Test
+	@DisplayName("Test the deletion of the Films by Date returns exactly the deleted Films.")
+	void testFindAndDeleteFilmsByDate() {
+		filmRepository.addFilm(1, "Stanley Laurel and Oliver Hardy", 1930);
+		filmRepository.addFilm(2, "Charlie Chaplin", 1930);
+		filmRepository.addFilm(3, "La Bella Stagione", 2022);
+		List<Film> deleted = new ArrayList<>();
+		filmRepository.findAndDeleteFilmsByDate(1930, deleted::add);
+		assertThat(deleted).extracting(Film::getId).containsExactlyInAnyOrder(1, 2);
+		assertThat(filmRepository.findAll()).extracting(Film::getId).containsExactly(3);
+	}
 
 }
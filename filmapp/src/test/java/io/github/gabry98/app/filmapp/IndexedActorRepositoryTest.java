@@ -0,0 +1,91 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.ActorRepository;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
+import io.github.gabry98.app.filmapp.repository.search.IndexedActorRepository;
+
+@DisplayName("Tests for the Indexed Actor Repository.")
+class IndexedActorRepositoryTest {
+
+	@Mock
+	private ActorRepository delegate;
+
+	private IndexedActorRepository actorRepository;
+
+	private AutoCloseable closeable;
+
+	@BeforeEach
+	public void setup() {
+		closeable = MockitoAnnotations.openMocks(this);
+		actorRepository = new IndexedActorRepository(delegate);
+	}
+
+	@AfterEach
+	public void releaseMocks() throws Exception {
+		closeable.close();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void buildIndex(Actor... actors) {
+		doAnswer(invocation -> {
+			List.of(actors).forEach(invocation.getArgument(0, Consumer.class));
+			return null;
+		}).when(delegate).forEachActor(any());
+		assertThat(actorRepository.buildNameIndex()).isTrue();
+	}
+
+	@Test
+	@DisplayName("Test When the name index is cold, the prefix search is sent to the delegate.")
+	void testFindByNamePrefixWhenCold() {
+		List<Actor> actors = List.of(new Actor(1, "Marco Rossi"));
+		when(delegate.findByNamePrefix("mar", 10)).thenReturn(actors);
+		assertThat(actorRepository.isNameIndexLoaded()).isFalse();
+		assertThat(actorRepository.findByNamePrefix("mar", 10)).isEqualTo(actors);
+	}
+
+	@Test
+	@DisplayName("Test When the name index is loaded, the writes keep it in sync and the delegate is not searched.")
+	void testFindByNamePrefixWhenLoaded() {
+		buildIndex(new Actor(1, "Marco Rossi"), new Actor(2, "Andrea Verdi"));
+		when(delegate.addActors(any())).thenReturn(List.of(InsertStatus.INSERTED, InsertStatus.DUPLICATE_ID));
+		doAnswer(invocation -> streamed(invocation, List.of(new Actor(2, "Andrea Verdi")))).when(delegate).findAndDeleteActorsByName(eq("Andrea Verdi"), any());
+		actorRepository.addActor(3, "Marta Neri");
+		actorRepository.addActors(List.of(new Actor(4, "Mario Bianchi"), new Actor(1, "Mauro Gialli")));
+		actorRepository.updateActorId(1, 5);
+		actorRepository.updateActorName(3, "Anna Neri");
+		actorRepository.findAndDeleteActorsByName("Andrea Verdi", a -> {});
+		assertThat(actorRepository.findByNamePrefix("ma", 10)).extracting(Actor::getId, Actor::getName)
+			.containsExactly(tuple(5, "Marco Rossi"), tuple(4, "Mario Bianchi"));
+		assertThat(actorRepository.findByNamePrefix("an", 10)).extracting(Actor::getId).containsExactly(3);
+		verify(delegate, never()).findByNamePrefix(any(), anyInt());
+	}
+
+	private static <T> Object streamed(InvocationOnMock invocation, List<T> rows) {
+		Consumer<T> consumer = invocation.getArgument(1);
+		rows.forEach(consumer);
+		return null;
+	}
+
+}
@@ -0,0 +1,89 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoClientOptions;
+import com.mongodb.ReadPreference;
+
+import io.github.gabry98.app.filmapp.repository.mongo.MongoConnectionOptions;
+
+@DisplayName("Tests for the MongoDB Connection Options.")
+class MongoConnectionOptionsTest {
+
+	@Test
+	@DisplayName("Test When no property is given, the driver defaults are kept.")
+	void testDefaults() {
+		MongoClientOptions options = MongoConnectionOptions.fromProperties(new Properties());
+		MongoClientOptions defaults = MongoClientOptions.builder().build();
+		assertThat(options.getConnectionsPerHost()).isEqualTo(defaults.getConnectionsPerHost());
+		assertThat(options.getServerSelectionTimeout()).isEqualTo(defaults.getServerSelectionTimeout());
+		assertThat(options.getCompressorList()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Test When all the properties are given, they are mapped to the client options.")
+	void testAllProperties() {
+		Properties properties = new Properties();
+		properties.setProperty(MongoConnectionOptions.POOL_SIZE, "50");
+		properties.setProperty(MongoConnectionOptions.POOL_MIN_SIZE, "5");
+		properties.setProperty(MongoConnectionOptions.POOL_MAX_WAIT, "2000");
+		properties.setProperty(MongoConnectionOptions.CONNECT_TIMEOUT, "3000");
+		properties.setProperty(MongoConnectionOptions.SOCKET_TIMEOUT, "4000");
+		properties.setProperty(MongoConnectionOptions.SERVER_SELECTION_TIMEOUT, "5000");
+		properties.setProperty(MongoConnectionOptions.READ_PREFERENCE, "secondaryPreferred");
+		properties.setProperty(MongoConnectionOptions.COMPRESSORS, " zlib ");
+		MongoClientOptions options = MongoConnectionOptions.fromProperties(properties);
+		assertThat(options.getConnectionsPerHost()).isEqualTo(50);
+		assertThat(options.getMinConnectionsPerHost()).isEqualTo(5);
+		assertThat(options.getMaxWaitTime()).isEqualTo(2000);
+		assertThat(options.getConnectTimeout()).isEqualTo(3000);
+		assertThat(options.getSocketTimeout()).isEqualTo(4000);
+		assertThat(options.getServerSelectionTimeout()).isEqualTo(5000);
+		assertThat(options.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+		assertThat(options.getCompressorList()).hasSize(1);
+		assertThat(MongoConnectionOptions.describe(options))
+			.contains("poolSize=50", "readPreference=secondaryPreferred", "compressors=[zlib]");
+	}
+
+	@Test
+	@DisplayName("Test When the pool size is not positive.")
+	void testNonPositivePoolSize() {
+		Properties properties = new Properties();
+		properties.setProperty(MongoConnectionOptions.POOL_SIZE, "0");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> MongoConnectionOptions.fromProperties(properties));
+		assertThat(e.getMessage()).isEqualTo("ERROR: mongo.pool.size should be positive!");
+	}
+
+	@Test
+	@DisplayName("Test When a timeout is not an integer.")
+	void testTimeoutNotAnInteger() {
+		Properties properties = new Properties();
+		properties.setProperty(MongoConnectionOptions.CONNECT_TIMEOUT, "ten");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> MongoConnectionOptions.fromProperties(properties));
+		assertThat(e.getMessage()).isEqualTo("ERROR: mongo.connectTimeoutMs should be an integer!");
+	}
+
+	@Test
+	@DisplayName("Test When the read preference or the compressor are unknown.")
+	void testUnknownValues() {
+		Properties readPreference = new Properties();
+		readPreference.setProperty(MongoConnectionOptions.READ_PREFERENCE, "closest");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> MongoConnectionOptions.fromProperties(readPreference));
+		assertThat(e.getMessage()).isEqualTo("ERROR: unknown read preference closest!");
+		Properties compressors = new Properties();
+		compressors.setProperty(MongoConnectionOptions.COMPRESSORS, "zlib,lz4");
+		e = assertThrows(IllegalArgumentException.class, 
+				() -> MongoConnectionOptions.fromProperties(compressors));
+		assertThat(e.getMessage()).isEqualTo("ERROR: unknown compressor lz4!");
+	}
+
+}
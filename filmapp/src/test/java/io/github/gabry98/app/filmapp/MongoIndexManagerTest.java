@@ -0,0 +1,115 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import com.mongodb.MongoClient;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.github.gabry98.app.filmapp.repository.mongo.MongoIndexManager;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("Tests for Mongo Index Manager")
+class MongoIndexManagerTest {
+	
+	private static MongoServer server;
+	private static InetSocketAddress serverAddress;
+	
+	private MongoClient client;
+	private MongoIndexManager indexManager;
+	
+	private static final String DATABASE_NAME = "project-db";
+	private static final String ACTORS_COLLECTION_NAME = "actorCollection";
+	private static final String FILMS_COLLECTION_NAME = "filmCollection";
+	private static final String REPORTS_COLLECTION_NAME = "reportCollection";
+	
+	@BeforeAll
+	public void setUpBeforeAll() {
+		server = new MongoServer(new MemoryBackend());
+		serverAddress = server.bind();
+	}
+	
+	@AfterAll
+	public void tearDownAfterAll() {
+		server.shutdown();
+	}
+	
+	@BeforeEach
+	public void setup() {
+		client = new MongoClient(new ServerAddress(serverAddress));
+		client.getDatabase(DATABASE_NAME).drop();
+		indexManager = new MongoIndexManager(client, DATABASE_NAME, 
+				ACTORS_COLLECTION_NAME, FILMS_COLLECTION_NAME, REPORTS_COLLECTION_NAME);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		client.close();
+	}
+	
+	@Test
+	@DisplayName("Test every secondary index is reported as missing on an empty database.")
+	void testFindMissingIndexesOnEmptyDatabase() {
+		assertThat(indexManager.findMissingIndexes()).containsExactly(
+				"actorCollection {\"name\": 1}",
+				"actorCollection {\"searchName\": 1, \"id\": 1}",
+				"actorCollection {\"name\": \"text\"}",
+				"filmCollection {\"name\": 1}",
+				"filmCollection {\"date\": 1}",
+				"filmCollection {\"searchName\": 1, \"id\": 1}",
+				"filmCollection {\"name\": \"text\"}",
+				"reportCollection {\"filmId\": 1}");
+	}
+	
+	@Test
+	@DisplayName("Test no index is missing after building them.")
+	void testFindMissingIndexesAfterBuild() {
+		indexManager.buildIndexes();
+		assertThat(indexManager.findMissingIndexes()).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test building the indexes twice is harmless.")
+	void testBuildIndexesIsIdempotent() {
+		indexManager.buildIndexes();
+		indexManager.buildIndexes();
+		assertThat(client.getDatabase(DATABASE_NAME).getCollection(FILMS_COLLECTION_NAME).listIndexes()
+				.into(new ArrayList<Document>())).hasSize(5);
+	}
+	
+	@Test
+	@DisplayName("Test building the indexes adds the search name to the documents missing it.")
+	void testBuildIndexesBackfillsSearchNames() {
+		MongoCollection<Document> actors = client.getDatabase(DATABASE_NAME).getCollection(ACTORS_COLLECTION_NAME);
+		actors.insertOne(new Document("id", 1).append("name", "Márco Rossi"));
+		actors.insertOne(new Document("id", 2).append("name", "Andrea Verdi").append("searchName", "andrea verdi"));
+		indexManager.setBatchSize(1);
+		indexManager.buildIndexes();
+		assertThat(actors.find().into(new ArrayList<>())).extracting(d -> d.getString("searchName"))
+			.containsExactly("marco rossi", "andrea verdi");
+	}
+	
+	@Test
+	@DisplayName("Test setting a non positive batch size.")
+	void testSetBatchSizeWithNonPositiveValue() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> indexManager.setBatchSize(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the batch size should be positive!");
+	}
+
+}
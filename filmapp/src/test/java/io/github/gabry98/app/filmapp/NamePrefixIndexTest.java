@@ -0,0 +1,83 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.repository.search.NamePrefixIndex;
+
+@DisplayName("Tests for the Name Prefix Index.")
+class NamePrefixIndexTest {
+	
+	private NamePrefixIndex<Actor> index;
+	
+	@BeforeEach
+	public void setup() {
+		index = new NamePrefixIndex<>("Actor", Actor::getId, Actor::getName);
+	}
+	
+	private void load(Actor... actors) {
+		assertThat(index.load(consumer -> List.of(actors).forEach(consumer))).isTrue();
+	}
+	
+	@Test
+	@DisplayName("Test a cold index answers null and ignores the writes.")
+	void testColdIndex() {
+		index.put(new Actor(1, "Marco Rossi"));
+		assertThat(index.isLoaded()).isFalse();
+		assertThat(index.findByPrefix("mar", 10)).isNull();
+		assertThat(index.size()).isZero();
+	}
+	
+	@Test
+	@DisplayName("Test the prefix search ignores case and accents and sorts by Name, then by ID.")
+	void testFindByPrefix() {
+		load(new Actor(3, "Marco Rossi"), new Actor(2, "Márco Rossi"), new Actor(1, "marcello Bianchi"), 
+				new Actor(4, "Andrea Verdi"), new Actor(5, "Marta"));
+		assertThat(index.findByPrefix("MARC", 10)).extracting(Actor::getId).containsExactly(1, 2, 3);
+		assertThat(index.findByPrefix("mar", 2)).extracting(Actor::getId).containsExactly(1, 2);
+		assertThat(index.findByPrefix("z", 10)).isEmpty();
+		assertThat(index.findByPrefix("", 10)).hasSize(5);
+	}
+	
+	@Test
+	@DisplayName("Test the writes on a loaded index are visible to the prefix search.")
+	void testWritesOnLoadedIndex() {
+		load(new Actor(1, "Marco Rossi"), new Actor(2, "Marco Verdi"), new Actor(3, "marco Verdi"));
+		index.put(new Actor(1, "Andrea Rossi"));
+		index.put(new Actor(4, "Marcella Neri"));
+		index.removeByName("Marco Verdi");
+		assertThat(index.findByPrefix("marc", 10)).extracting(Actor::getId).containsExactly(4, 3);
+		assertThat(index.findByPrefix("andrea", 10)).extracting(Actor::getName).containsExactly("Andrea Rossi");
+		index.remove(3);
+		index.removeIf(a -> a.getId() == 4);
+		assertThat(index.findByPrefix("marc", 10)).isEmpty();
+		assertThat(index.findById(1).getName()).isEqualTo("Andrea Rossi");
+		assertThat(index.size()).isEqualTo(1);
+	}
+	
+	@Test
+	@DisplayName("Test a load racing with a write is discarded.")
+	void testLoadRacingWithWriteIsDiscarded() {
+		boolean loaded = index.load(consumer -> {
+			consumer.accept(new Actor(1, "Marco Rossi"));
+			index.remove(1);
+		});
+		assertThat(loaded).isFalse();
+		assertThat(index.findByPrefix("marco", 10)).isNull();
+	}
+	
+	@Test
+	@DisplayName("Test the prefix search with a non positive limit.")
+	void testFindByPrefixWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> index.findByPrefix("m", 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+
+}
@@ -0,0 +1,191 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.view.gui.ActorListModel;
+import io.github.gabry98.app.filmapp.view.gui.PagedListModel;
+
+@DisplayName("Tests for the paged list model of the GUI views.")
+class PagedListModelTest {
+
+	private static final int FIRST = PagedListModel.FIRST_AFTER_ID;
+
+	private List<String> events;
+	private List<Integer> requests;
+
+	@BeforeEach
+	public void setup() {
+		events = new ArrayList<>();
+		requests = new ArrayList<>();
+	}
+
+	private PagedListModel<Actor, ActorListModel> model(int pageSize, int keptPages) {
+		PagedListModel<Actor, ActorListModel> model = new PagedListModel<>(ActorListModel::new,
+				ActorListModel::addActors, Actor::getId, pageSize, keptPages);
+		model.setLoader((afterId, limit) -> requests.add(afterId));
+		model.addListDataListener(new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add("added "+e.getIndex0()+"-"+e.getIndex1());
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add("removed "+e.getIndex0()+"-"+e.getIndex1());
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add("changed "+e.getIndex0()+"-"+e.getIndex1());
+			}
+		});
+		return model;
+	}
+
+	private List<Actor> actors(int... ids) {
+		List<Actor> actors = new ArrayList<>();
+		for(int id : ids) {
+			actors.add(new Actor(id, "Actor "+id));
+		}
+		return actors;
+	}
+
+	private PagedListModel<Actor, ActorListModel> fourPagesOfTwo(int keptPages) {
+		PagedListModel<Actor, ActorListModel> model = model(2, keptPages);
+		model.pageLoaded(FIRST, actors(1, 2));
+		model.pageLoaded(2, actors(3, 4));
+		model.pageLoaded(4, actors(5, 6));
+		model.pageLoaded(6, actors(7, 8));
+		events.clear();
+		return model;
+	}
+
+	@Test
+	@DisplayName("Test the first page is requested at start and the next one once the last page is in view.")
+	void testPagesRequestedWhileScrolling() {
+		PagedListModel<Actor, ActorListModel> model = model(3, 1);
+		model.showing(-1, -1, -1);
+		model.showing(-1, -1, -1);
+		assertThat(requests).containsExactly(FIRST);
+		model.pageLoaded(FIRST, actors(1, 2, 3));
+		model.pageDone(FIRST);
+		model.showing(0, 1, -1);
+		assertThat(requests).containsExactly(FIRST, 3);
+		model.pageLoaded(3, actors(4, 5));
+		model.pageDone(3);
+		model.showing(3, 4, -1);
+		assertThat(requests).containsExactly(FIRST, 3);
+		assertThat(model.isExhausted()).isTrue();
+		assertThat(model.getSize()).isEqualTo(5);
+		assertThat(model.getText(4)).isEqualTo("5,Actor 5");
+		assertThat(model.getId(3)).isEqualTo(4);
+		assertThat(events).containsExactly("added 0-2", "added 3-4");
+	}
+
+	@Test
+	@DisplayName("Test a page request that delivered nothing can be sent again.")
+	void testPageRequestedAgainAfterAFailure() {
+		PagedListModel<Actor, ActorListModel> model = model(3, 1);
+		model.showing(-1, -1, -1);
+		model.pageDone(FIRST);
+		model.showing(-1, -1, -1);
+		assertThat(requests).containsExactly(FIRST, FIRST);
+		model.pageLoaded(FIRST, List.of());
+		assertThat(model.isExhausted()).isTrue();
+		assertThat(model.getPageCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test the pages far from the viewport are dropped and loaded again within their bounds.")
+	void testPagesDroppedAndLoadedAgain() {
+		PagedListModel<Actor, ActorListModel> model = fourPagesOfTwo(0);
+		model.showing(6, 7, 2);
+		assertThat(model.getLoadedPageCount()).isEqualTo(2);
+		assertThat(model.isLoaded(0)).isFalse();
+		assertThat(model.isLoaded(2)).isTrue();
+		assertThat(model.getText(0)).isEqualTo(PagedListModel.LOADING_TEXT);
+		assertThat(model.getElementAt(0)).isNull();
+		IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> model.getId(4));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: page 2 is not loaded!");
+		model.showing(0, 1, -1);
+		model.showing(0, 1, -1);
+		assertThat(requests).containsExactly(8, FIRST);
+		model.pageLoaded(FIRST, actors(1, 3));
+		assertThat(model.getSize()).isEqualTo(7);
+		assertThat(model.getText(0)).isEqualTo("1,Actor 1");
+		assertThat(model.getText(1)).isEqualTo("3,Actor 3");
+		assertThat(events).containsExactly("changed 0-0", "removed 1-1");
+	}
+
+	@Test
+	@DisplayName("Test the rows added in the session keep their place and are not loaded twice.")
+	void testSessionRows() {
+		PagedListModel<Actor, ActorListModel> model = model(2, 1);
+		model.append(rows -> rows.addActor(9, "Marco Rossi"));
+		model.pageLoaded(FIRST, actors(1, 2));
+		model.append(rows -> rows.addActor(7, "Andrea Verdi"));
+		model.append(rows -> rows.addActor(8, "Federico Bianchi"));
+		model.pageLoaded(2, actors(3, 7));
+		model.pageLoaded(7, actors(8, 9));
+		assertThat(model.getSize()).isEqualTo(6);
+		assertThat(model.getText(0)).isEqualTo("9,Marco Rossi");
+		assertThat(model.getText(3)).isEqualTo("7,Andrea Verdi");
+		assertThat(model.getText(4)).isEqualTo("8,Federico Bianchi");
+		assertThat(model.getText(5)).isEqualTo("3,Actor 3");
+		assertThat(model.getPageCount()).isEqualTo(5);
+		assertThat(model.isExhausted()).isFalse();
+		assertThat(events).containsExactly("added 0-0", "added 1-2", "added 3-3", "added 4-4", "added 5-5");
+	}
+
+	@Test
+	@DisplayName("Test the rows are updated and removed by id across the pages with one event each.")
+	void testUpdatesAndRemovals() {
+		PagedListModel<Actor, ActorListModel> model = fourPagesOfTwo(1);
+		assertThat(model.updateRow(3, (rows, row) -> rows.setName(row, "Marco Rossi"))).isTrue();
+		assertThat(model.removeRow(1)).isTrue();
+		assertThat(model.getText(1)).isEqualTo("3,Marco Rossi");
+		assertThat(model.removeAll(rows -> rows.removeActors(List.of(new Actor(4, "Actor 4"),
+				new Actor(7, "Actor 7"))))).isEqualTo(2);
+		assertThat(model.removeAll(rows -> rows.removeActors(List.of(new Actor(4, "Actor 4"))))).isZero();
+		assertThat(model.getSize()).isEqualTo(5);
+		assertThat(model.getText(2)).isEqualTo("5,Actor 5");
+		assertThat(model.getText(4)).isEqualTo("8,Actor 8");
+		assertThat(events).containsExactly("changed 2-2", "removed 0-0", "changed 1-6");
+	}
+
+	@Test
+	@DisplayName("Test the updates and removals of rows not in memory are dropped.")
+	void testUpdatesAndRemovalsOfRowsNotLoaded() {
+		PagedListModel<Actor, ActorListModel> model = fourPagesOfTwo(0);
+		model.showing(6, 7, -1);
+		events.clear();
+		assertThat(model.updateRow(1, (rows, row) -> rows.setName(row, "Marco Rossi"))).isFalse();
+		assertThat(model.removeRow(1)).isFalse();
+		assertThat(model.removeRow(9)).isFalse();
+		assertThat(model.removeRow(7)).isTrue();
+		assertThat(model.getSize()).isEqualTo(7);
+		assertThat(events).containsExactly("removed 6-6");
+	}
+
+	@Test
+	@DisplayName("Test the page size and the number of kept pages are validated.")
+	void testInvalidPaging() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> model(0, 1));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the page size should be positive!");
+		thrown = assertThrows(IllegalArgumentException.class, () -> model(1, -1));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of kept pages should not be negative!");
+	}
+
+}
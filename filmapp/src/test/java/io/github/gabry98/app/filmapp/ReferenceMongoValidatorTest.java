@@ -0,0 +1,95 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.ServerAddress;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.github.gabry98.app.filmapp.repository.mongo.ActorMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.FilmMongoRepository;
+import io.github.gabry98.app.filmapp.repository.mongo.ReferenceMongoValidator;
+import io.github.gabry98.app.filmapp.repository.mongo.RoundTripCounter;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@DisplayName("Tests for Reference Mongo Validator")
+class ReferenceMongoValidatorTest {
+	
+	private static MongoServer server;
+	private static InetSocketAddress serverAddress;
+	
+	private MongoClient client;
+	private RoundTripCounter roundTripCounter;
+	private ReferenceMongoValidator referenceValidator;
+	
+	private static final String DATABASE_NAME = "project-db";
+	private static final String ACTORS_COLLECTION_NAME = "actorCollection";
+	private static final String FILMS_COLLECTION_NAME = "filmCollection";
+	
+	@BeforeAll
+	public void setUpBeforeAll() {
+		server = new MongoServer(new MemoryBackend());
+		serverAddress = server.bind();
+	}
+	
+	@AfterAll
+	public void tearDownAfterAll() {
+		server.shutdown();
+	}
+	
+	@BeforeEach
+	public void setup() {
+		roundTripCounter = new RoundTripCounter();
+		client = new MongoClient(new ServerAddress(serverAddress), 
+				MongoClientOptions.builder().addCommandListener(roundTripCounter).build());
+		client.getDatabase(DATABASE_NAME).drop();
+		new ActorMongoRepository(client, DATABASE_NAME, ACTORS_COLLECTION_NAME).addActor(1, "Marco Rossi");
+		new FilmMongoRepository(client, DATABASE_NAME, FILMS_COLLECTION_NAME).addFilm(2, "King Kong", 1950);
+		referenceValidator = new ReferenceMongoValidator(client, DATABASE_NAME, 
+				ACTORS_COLLECTION_NAME, FILMS_COLLECTION_NAME);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		client.close();
+	}
+	
+	@Test
+	@DisplayName("Test the references of a Report are checked in a single round trip.")
+	void testExistingReferencesInOneRoundTrip() {
+		long before = roundTripCounter.getAsLong();
+		referenceValidator.checkReportReferences(1, 2);
+		assertThat(roundTripCounter.getAsLong()-before).isEqualTo(1);
+	}
+	
+	@Test
+	@DisplayName("Test a Report with a missing Actor.")
+	void testMissingActor() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> referenceValidator.checkReportReferences(3, 2));
+		assertThat(e.getMessage()).isEqualTo("ERROR: No existing Actor with id 3.");
+	}
+	
+	@Test
+	@DisplayName("Test a Report with both the Actor and the Film missing reports the Actor first.")
+	void testMissingActorAndFilm() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> referenceValidator.checkReportReferences(3, 3));
+		assertThat(e.getMessage()).isEqualTo("ERROR: No existing Actor with id 3.");
+	}
+
+}
@@ -1,7 +1,9 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.swing.timing.Pause.pause;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import java.awt.Dimension;
 import java.util.List;
@@ -13,6 +15,8 @@ import org.assertj.swing.edt.GuiActionRunner;
 import org.assertj.swing.fixture.FrameFixture;
 import org.assertj.swing.junit.runner.GUITestRunner;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
+import org.assertj.swing.timing.Condition;
+import org.assertj.swing.timing.Timeout;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +30,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import io.github.gabry98.app.filmapp.controller.StreamingController;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+import io.github.gabry98.app.filmapp.view.gui.PagedListModel;
 import io.github.gabry98.app.filmapp.view.gui.ReportGUIView;
 
 @RunWith(GUITestRunner.class)
@@ -33,6 +39,8 @@ import io.github.gabry98.app.filmapp.view.gui.ReportGUIView;
 @DisplayName("Tests for ReportGUIView")
 class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 
+	private static final long TIMEOUT = 5000;
+	
 	private FrameFixture window;
 	private ReportGUIView reportView;
 	private AutoCloseable closeable;
@@ -68,6 +76,15 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.cleanUp();
 	}
 	
+	private void waitForErrorLabel() {
+		pause(new Condition("errorLabel must be not empty") {
+			@Override
+			public boolean test() {
+				return !window.label("errorLabel").text().trim().isEmpty();
+			}
+		}, Timeout.timeout(TIMEOUT));
+	}
+	
 	@Test @GUITest
 	@DisplayName("Test when we have all initial states in the view.")
 	void testInitialStates() {
@@ -176,7 +193,7 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("actorId").requireText("");
 		window.textBox("reportId").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
-		verify(streamingController).addReport(reportView, 1, 1, 1);
+		verify(streamingController, timeout(TIMEOUT)).addReport(reportView, 1, 1, 1);
 	}
 	
 	@Test @GUITest
@@ -192,6 +209,7 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.textBox("actorId").requireText("");
 		window.textBox("reportId").requireText("");
 		window.button(JButtonMatcher.withText("ADD")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: id should be positive!");
 	}
 	
@@ -211,7 +229,7 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("UPDATE")).click();
 		window.textBox("reportId").requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
-		verify(streamingController).updateReportId(reportView, 1, 2, 0);
+		verify(streamingController, timeout(TIMEOUT)).updateReportId(reportView, 1, 2);
 	}
 	
 	@Test @GUITest
@@ -227,20 +245,21 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 	@DisplayName("Test when we update a Report by the explicit call of the method of the view.")
 	void testReportUpdatedByIdByCallingMethod() {
 		reportView.reportAdded(1, 1, 1);
-		reportView.reportUpdatedById(1, 2, 0);
+		reportView.reportUpdatedById(1, 2);
 		assertThat(window.list("reportsList").contents()).contains("2,1,1");
 	}
 	
 	@Test @GUITest
 	@DisplayName("Test when we update a Report with an Exception.")
 	void testReportUpdatedWithException() {
-		doThrow(new IllegalArgumentException("ERROR: Report with id 1 already exists!")).when(streamingController).updateReportId(reportView, 1, 1, 0);
+		doThrow(new IllegalArgumentException("ERROR: Report with id 1 already exists!")).when(streamingController).updateReportId(reportView, 1, 1);
 		reportView.reportAdded(1, 1, 1);
 		window.list("reportsList").selectItems(0);
 		window.textBox("reportId").enterText("1");
 		window.button(JButtonMatcher.withText("UPDATE")).click();
 		window.textBox("reportId").requireText("");
 		window.button(JButtonMatcher.withText("UPDATE")).requireDisabled();
+		waitForErrorLabel();
 		window.label(JLabelMatcher.withName("errorLabel")).requireText("ERROR: Report with id 1 already exists!");
 	}
 	
@@ -251,7 +270,7 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.list("reportsList").selectItems(0);
 		window.button(JButtonMatcher.withText("REMOVE")).click();
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
-		verify(streamingController).deleteReportById(reportView, 1, 0);
+		verify(streamingController, timeout(TIMEOUT)).deleteReportById(reportView, 1);
 	}
 	
 	@GUITest
@@ -267,16 +286,16 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("REMOVE")).click();
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
 		if(field.equals("actorId"))
-			verify(streamingController).deleteReportByActorId(reportView, 1);
+			verify(streamingController, timeout(TIMEOUT)).deleteReportByActorId(reportView, 1);
 		else
-			verify(streamingController).deleteReportByFilmId(reportView, 1);
+			verify(streamingController, timeout(TIMEOUT)).deleteReportByFilmId(reportView, 1);
 	}
 	
 	@Test @GUITest
 	@DisplayName("Test when we remove a Report by reports list.")
 	void testReportRemovedByIdFromReportsList() {
 		reportView.reportAdded(1, 1, 1);
-		reportView.reportDeletedById(1,0);
+		reportView.reportDeletedById(1);
 		assertThat(window.list("reportsList").contents()).isEmpty();
 	}
 	
@@ -311,6 +330,16 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		assertThat(window.list("findList").contents()).contains("1,1,1");
 	}
 	
+	@Test @GUITest
+	@DisplayName("Test when we find chunks of Reports by calling explicitly the methods of the view.")
+	void testReportsFoundByCallingViewMethod() {
+		reportView.reportsFound(List.of(new Report(1, 1, 1)));
+		reportView.reportDetailsFound(List.of(new ReportDetail(2, 1, "Marco Rossi", 2, "King Kong", 1933), 
+				new ReportDetail(3, 3, null, 4, null, 0)));
+		assertThat(window.list("findList").contents())
+			.containsExactly("1,1,1", "2,1,2 (Marco Rossi in King Kong, 1933)", "3,3,4");
+	}
+	
 	@Test @GUITest
 	@DisplayName("Test when we find all Reports from ReportRepository.")
 	void testReportFoundByReportsList() {
@@ -320,7 +349,7 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).click();
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox("reportId").requireText("");
-		verify(streamingController).searchAllReports(reportView);
+		verify(streamingController, timeout(TIMEOUT)).searchAllReports(reportView);
 	}
 	
 	@GUITest
@@ -339,11 +368,11 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.button(JButtonMatcher.withText("FIND")).requireEnabled();
 		window.textBox(field).requireText("");
 		if(field.equals("reportId")) {
-			verify(streamingController).searchReportById(reportView, 2);
+			verify(streamingController, timeout(TIMEOUT)).searchReportById(reportView, 2);
 		} else if(field.equals("actorId")) {
-			verify(streamingController).searchReportsByActorId(reportView, 2);
+			verify(streamingController, timeout(TIMEOUT)).searchReportsByActorId(reportView, 2);
 		} else {
-			verify(streamingController).searchReportsByFilmId(reportView, 2);
+			verify(streamingController, timeout(TIMEOUT)).searchReportsByFilmId(reportView, 2);
 		}
 	}
 
@@ -357,4 +386,14 @@ class ReportGUIViewTest extends AssertJSwingJUnitTestCase {
 		window.list("reportsList").unselectItems(0);
 		window.button(JButtonMatcher.withText("REMOVE")).requireDisabled();
 	}
+
+	@Test @GUITest
+	@DisplayName("Test the persisted reports are loaded in pages when the view starts, before the added ones.")
+	void testReportsPageLoaded() {
+		verify(streamingController, timeout(TIMEOUT).atLeastOnce())
+			.loadReportsPage(reportView, PagedListModel.FIRST_AFTER_ID, 500);
+		reportView.reportsPageLoaded(PagedListModel.FIRST_AFTER_ID, List.of(new Report(1, 1, 1), new Report(2, 1, 2)));
+		reportView.reportAdded(3, 2, 1);
+		assertThat(window.list("reportsList").contents()).containsExactly("1,1,1", "2,1,2", "3,2,1");
+	}
 }
@@ -1,12 +1,15 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.bson.Document;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -24,7 +27,12 @@ import com.mongodb.client.MongoDatabase;
 
 import de.bwaldvogel.mongo.MongoServer;
 import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+import io.github.gabry98.app.filmapp.repository.InsertStatus;
 import io.github.gabry98.app.filmapp.repository.ReportRepository;
 import io.github.gabry98.app.filmapp.repository.mongo.ReportMongoRepository;
 
@@ -55,9 +63,9 @@ class ReportMongoRepositoryTest {
 	@BeforeEach
 	public void setup() {
 		client = new MongoClient(new ServerAddress(serverAddress));
-		reportRepository = new ReportMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
 		MongoDatabase database = client.getDatabase(DATABASE_NAME);
 		database.drop();
+		reportRepository = new ReportMongoRepository(client,DATABASE_NAME,COLLECTION_NAME);
 	}
 	
 	@AfterEach
@@ -85,6 +93,125 @@ class ReportMongoRepositoryTest {
 		assertThat(reports.get(0).getFilmId()).isEqualTo(filmId);
 	}
 	
+	@Test
+	@DisplayName("Test Find Page Method returns the Reports after the given ID ordered by ID.")
+	void testFindPageReturnsOrderedReportsAfterId() {
+		reportRepository.addReport(3, 1, 1);
+		reportRepository.addReport(1, 1, 2);
+		reportRepository.addReport(4, 2, 1);
+		reportRepository.addReport(2, 2, 2);
+		assertThat(reportRepository.findPage(0, 2)).extracting(Report::getId).containsExactly(1, 2);
+		assertThat(reportRepository.findPage(2, 2)).extracting(Report::getId).containsExactly(3, 4);
+		assertThat(reportRepository.findPage(4, 2)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test Find Page Method with a non positive page size.")
+	void testFindPageWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> reportRepository.findPage(0, 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the page size should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test For Each Method streams every Report in the repository.")
+	void testForEachReportStreamsEveryReport() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		List<Report> streamed = new ArrayList<>();
+		reportRepository.forEachReport(streamed::add);
+		assertThat(streamed).extracting(Report::getId).containsExactlyInAnyOrder(1, 2, 3);
+	}
+	
+	private void addActorsAndFilms(int count) {
+		for(int id = 1; id <= count; id++) {
+			addNamedActorAndFilm(id, "Actor "+id, id, "Film "+id, 2000+id);
+		}
+	}
+	
+	private void addNamedActorAndFilm(int actorId, String actorName, int filmId, String filmName, int filmDate) {
+		MongoDatabase database = client.getDatabase(DATABASE_NAME);
+		database.getCollection("actorCollection").insertOne(new Document("id", actorId).append("name", actorName));
+		database.getCollection("filmCollection").insertOne(
+				new Document("id", filmId).append("name", filmName).append("date", filmDate));
+	}
+	
+	@Test
+	@DisplayName("Test Find Details Page Method joins the names of the Actor and of the Film.")
+	void testFindDetailsPageJoinsActorAndFilmNames() {
+		addNamedActorAndFilm(1, "Marco Rossi", 1, "King Kong", 1933);
+		addNamedActorAndFilm(2, "Andrea Verdi", 2, "Titanic", 1997);
+		reportRepository.addReport(3, 2, 2);
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		List<ReportDetail> page = reportRepository.findDetailsPage(1, 5);
+		assertThat(page).extracting(ReportDetail::getId).containsExactly(2, 3);
+		assertThat(page.get(0).getActorName()).isEqualTo("Marco Rossi");
+		assertThat(page.get(0).getFilmName()).isEqualTo("Titanic");
+		assertThat(page.get(0).getFilmDate()).isEqualTo(1997);
+		assertThat(page.get(1).getActorName()).isEqualTo("Andrea Verdi");
+	}
+	
+	@Test
+	@DisplayName("Test Find Details Page Method with a non positive limit.")
+	void testFindDetailsPageWithNonPositiveLimit() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> reportRepository.findDetailsPage(0, 0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the page size should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test Find Filmography Method returns the Films of the Actor sorted by date.")
+	void testFindFilmographySortedByDate() {
+		addNamedActorAndFilm(1, "Marco Rossi", 1, "Titanic", 1997);
+		addNamedActorAndFilm(2, "Andrea Verdi", 2, "King Kong", 1933);
+		client.getDatabase(DATABASE_NAME).getCollection("filmCollection").insertOne(
+				new Document("id", 3).append("name", "Avatar").append("date", 2009));
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 3);
+		reportRepository.addReport(3, 1, 2);
+		reportRepository.addReport(4, 2, 1);
+		assertThat(reportRepository.findFilmography(1)).extracting(Film::getId, Film::getName, Film::getDate)
+			.containsExactly(tuple(2, "King Kong", 1933), tuple(1, "Titanic", 1997), tuple(3, "Avatar", 2009));
+		assertThat(reportRepository.findFilmography(3)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test Find Cast Method returns the Actors of the Film sorted by name.")
+	void testFindCastSortedByName() {
+		addNamedActorAndFilm(1, "Marco Rossi", 1, "Titanic", 1997);
+		addNamedActorAndFilm(2, "Andrea Verdi", 2, "King Kong", 1933);
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 2, 1);
+		reportRepository.addReport(3, 2, 2);
+		assertThat(reportRepository.findCast(1)).extracting(Actor::getId, Actor::getName)
+			.containsExactly(tuple(2, "Andrea Verdi"), tuple(1, "Marco Rossi"));
+		assertThat(reportRepository.findCast(3)).isEmpty();
+	}
+	
+	@Test
+	@DisplayName("Test the Actors and the Films with the most Reports are counted, sorted and limited by the server.")
+	void testCountTopReportsByActorAndFilm() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 2);
+		reportRepository.addReport(4, 3, 3);
+		assertThat(reportRepository.countTopReportsByActorId(2)).extracting(RankedCount::getId, RankedCount::getCount)
+			.containsExactly(tuple(1, 2), tuple(2, 1));
+		assertThat(reportRepository.countTopReportsByFilmId(3)).extracting(RankedCount::getId, RankedCount::getCount)
+			.containsExactly(tuple(2, 2), tuple(1, 1), tuple(3, 1));
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, 
+				() -> reportRepository.countTopReportsByActorId(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the number of results should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test setting a non positive batch size.")
+	void testSetBatchSizeWithNonPositiveValue() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, 
+				() -> ((ReportMongoRepository) reportRepository).setBatchSize(0));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the batch size should be positive!");
+	}
+	
 	@Test
 	@DisplayName("Test adding an report with a duplicate ID.")
 	void testAddReportWithDuplicateId() {
@@ -109,6 +236,60 @@ class ReportMongoRepositoryTest {
 		assertDoesNotThrow(() -> reportRepository.addReport(3, 2, 1));
 	}
 	
+	@Test
+	@DisplayName("Test adding a batch of Reports with valid, duplicated and invalid entries.")
+	void testAddReportsWithMixedBatch() {
+		addActorsAndFilms(2);
+		reportRepository.addReport(1, 1, 1);
+		List<InsertStatus> results = reportRepository.addReports(List.of(
+				new Report(1, 2, 2),
+				new Report(2, 1, 1),
+				new Report(3, 1, 2),
+				new Report(4, 1, 2),
+				new Report(5, 0, 2)));
+		assertThat(results).containsExactly(InsertStatus.DUPLICATE_ID, InsertStatus.DUPLICATE_PAIR, 
+				InsertStatus.INSERTED, InsertStatus.DUPLICATE_PAIR, InsertStatus.INVALID_DATA);
+		assertThat(reportRepository.findAll()).hasSize(2);
+		assertThat(reportRepository.findById(3).getFilmId()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Test adding a batch of Reports crossing the Actors and Films of existing pairs.")
+	void testAddReportsCrossingExistingPairs() {
+		addActorsAndFilms(2);
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 2, 2);
+		List<InsertStatus> results = reportRepository.addReports(List.of(
+				new Report(3, 1, 2),
+				new Report(4, 2, 1),
+				new Report(5, 2, 2)));
+		assertThat(results).containsExactly(InsertStatus.INSERTED, InsertStatus.INSERTED, InsertStatus.DUPLICATE_PAIR);
+		assertThat(reportRepository.findAll()).hasSize(4);
+	}
+
+	@Test
+	@DisplayName("Test adding a batch of Reports whose Actor or Film doesn't exist.")
+	void testAddReportsWithUnresolvedReferences() {
+		addActorsAndFilms(2);
+		List<InsertStatus> results = reportRepository.addReports(List.of(
+				new Report(1, 1, 1),
+				new Report(2, 3, 1),
+				new Report(3, 1, 3),
+				new Report(3, 2, 2),
+				new Report(4, 2, 1)));
+		assertThat(results).containsExactly(InsertStatus.INSERTED, InsertStatus.INVALID_DATA, 
+				InsertStatus.INVALID_DATA, InsertStatus.INSERTED, InsertStatus.INSERTED);
+		assertThat(reportRepository.findAll()).extracting(Report::getId).containsExactlyInAnyOrder(1, 3, 4);
+	}
+
+	@Test
+	@DisplayName("Test adding a batch of Reports with no valid entry.")
+	void testAddReportsWithNoValidEntry() {
+		assertThat(reportRepository.addReports(List.of(new Report(0, 1, 1)))).containsExactly(InsertStatus.INVALID_DATA);
+		assertThat(reportRepository.addReports(List.of())).isEmpty();
+		assertThat(reportRepository.findAll()).isEmpty();
+	}
+
 	@Test
 	@DisplayName("Test adding a Report with a non positive ID.")
 	void testAddReportWithNonPositiveId() {
@@ -174,6 +355,20 @@ class ReportMongoRepositoryTest {
 		assertThat(reports).isEmpty();
 	}
 	
+	@Test
+	@DisplayName("Test For Each By Actor ID and By Film ID Methods stream only the matching Reports.")
+	void testForEachReportByActorAndFilmId() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		List<Report> byActor = new ArrayList<>();
+		List<Report> byFilm = new ArrayList<>();
+		reportRepository.forEachReportByActorId(1, byActor::add);
+		reportRepository.forEachReportByFilmId(1, byFilm::add);
+		assertThat(byActor).extracting(Report::getId).containsExactlyInAnyOrder(1, 2);
+		assertThat(byFilm).extracting(Report::getId).containsExactlyInAnyOrder(1, 3);
+	}
+	
 	@Test
 	@DisplayName("Test the search of Report by correct Film ID.")
 	void testFindByFilmIdMethodWithTwoHomonymous() {
@@ -214,6 +409,16 @@ class ReportMongoRepositoryTest {
 		assertThat(thrown.getMessage()).isEqualTo("ERROR: Report with id 1 already exists!");
 	}
 	
+	@Test
+	@DisplayName("Test the update of the ID of a Report with the ID of another Report.")
+	void testUpdateReportIdWithAnotherReportId() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 2, 2);
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> reportRepository.updateReportId(1,2));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: Report with id 2 already exists!");
+		assertThat(reportRepository.findById(1).getActorId()).isEqualTo(1);
+	}
+	
 	@Test
 	@DisplayName("Test the correct deletion of a Report by ID.")
 	void testDeleteReportByIdCorrectly() {
@@ -237,5 +442,29 @@ class ReportMongoRepositoryTest {
 		reportRepository.deleteReportByFilmId(1);
 		assertThat(reportRepository.findAll()).isEmpty();
 	}
+	
+	@Test
+	@DisplayName("Test the deletion of the Reports by Actor ID returns exactly the deleted Reports.")
+	void testFindAndDeleteReportsByActorId() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		List<Report> deleted = new ArrayList<>();
+		reportRepository.findAndDeleteReportsByActorId(1, deleted::add);
+		assertThat(deleted).extracting(Report::getId).containsExactlyInAnyOrder(1, 2);
+		assertThat(reportRepository.findAll()).extracting(Report::getId).containsExactly(3);
+	}
+	
+	@Test
+	@DisplayName("Test the deletion of the Reports by Film ID returns exactly the deleted Reports.")
+	void testFindAndDeleteReportsByFilmId() {
+		reportRepository.addReport(1, 1, 1);
+		reportRepository.addReport(2, 1, 2);
+		reportRepository.addReport(3, 2, 1);
+		List<Report> deleted = new ArrayList<>();
+		reportRepository.findAndDeleteReportsByFilmId(1, deleted::add);
+		assertThat(deleted).extracting(Report::getId).containsExactlyInAnyOrder(1, 3);
+		assertThat(reportRepository.findAll()).extracting(Report::getId).containsExactly(2);
+	}
 
 }
@@ -0,0 +1,247 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.model.Actor;
+import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
+import io.github.gabry98.app.filmapp.view.gui.ActorListModel;
+import io.github.gabry98.app.filmapp.view.gui.FilmListModel;
+import io.github.gabry98.app.filmapp.view.gui.ReportListModel;
+import io.github.gabry98.app.filmapp.view.gui.RowCellRenderer;
+
+@DisplayName("Tests for the typed list models of the GUI views.")
+class RowListModelTest {
+	
+	private List<String> events;
+	
+	@BeforeEach
+	public void setup() {
+		events = new ArrayList<>();
+	}
+	
+	private ListDataListener recorder() {
+		return new ListDataListener() {
+			@Override
+			public void intervalAdded(ListDataEvent e) {
+				events.add("added "+e.getIndex0()+"-"+e.getIndex1());
+			}
+
+			@Override
+			public void intervalRemoved(ListDataEvent e) {
+				events.add("removed "+e.getIndex0()+"-"+e.getIndex1());
+			}
+
+			@Override
+			public void contentsChanged(ListDataEvent e) {
+				events.add("changed "+e.getIndex0()+"-"+e.getIndex1());
+			}
+		};
+	}
+	
+	@Test
+	@DisplayName("Test the Actor rows grow past the initial capacity and keep their order.")
+	void testActorRowsGrow() {
+		ActorListModel model = new ActorListModel();
+		for(int i = 1; i <= 100; i++) {
+			model.addActor(i, "Actor "+i);
+		}
+		assertThat(model.getSize()).isEqualTo(100);
+		assertThat(model.getText(99)).isEqualTo("100,Actor 100");
+		assertThat(model.getElementAt(41).getName()).isEqualTo("Actor 42");
+	}
+	
+	@Test
+	@DisplayName("Test the Actor rows are updated and removed in place with one event each.")
+	void testActorRowsUpdateAndRemove() {
+		ActorListModel model = new ActorListModel();
+		model.addActor(1, "Marco Rossi");
+		model.addActor(2, "Andrea Verdi");
+		model.addCoStar(3, 4);
+		model.addListDataListener(recorder());
+		model.setId(1, 5);
+		model.setName(0, "Marco Verdi");
+		assertThat(model.removeActor(5, "Andrea Verdi")).isTrue();
+		assertThat(model.removeActor(5, "Andrea Verdi")).isFalse();
+		assertThat(model.getText(0)).isEqualTo("1,Marco Verdi");
+		assertThat(model.getText(1)).isEqualTo("3 (4 shared films)");
+		assertThat(events).containsExactly("changed 1-1", "changed 0-0", "removed 1-1");
+		model.clear();
+		assertThat(model.getSize()).isZero();
+		assertThat(events).endsWith("removed 0-1");
+	}
+	
+	@Test
+	@DisplayName("Test the Film rows are formatted from their columns.")
+	void testFilmRows() {
+		FilmListModel model = new FilmListModel();
+		model.addFilm(1, "King Kong", 1933);
+		model.addFilm(2, "Bad Boys", 1995);
+		model.setDate(0, 2005);
+		model.removeAt(1);
+		assertThat(model.getSize()).isEqualTo(1);
+		assertThat(model.getText(0)).isEqualTo("1,King Kong,2005");
+		assertThat(model.removeFilm(1, "King Kong", 1933)).isFalse();
+		assertThat(model.removeFilm(1, "King Kong", 2005)).isTrue();
+	}
+	
+	@Test
+	@DisplayName("Test a chunk of Film rows is appended with a single event.")
+	void testFilmRowsAddedInBulk() {
+		FilmListModel model = new FilmListModel();
+		model.addFilm(1, "King Kong", 1933);
+		model.addListDataListener(recorder());
+		List<Film> films = new ArrayList<>();
+		for(int i = 2; i <= 101; i++) {
+			films.add(new Film(i, "Film "+i, 1900+i));
+		}
+		model.addFilms(films);
+		model.addFilms(List.of());
+		assertThat(model.getSize()).isEqualTo(101);
+		assertThat(model.getText(100)).isEqualTo("101,Film 101,2001");
+		assertThat(events).containsExactly("added 1-100");
+	}
+	
+	@Test
+	@DisplayName("Test the Report rows show the joined names only when both are known.")
+	void testReportRows() {
+		ReportListModel model = new ReportListModel();
+		model.addReport(1, 2, 3);
+		model.addDetails(List.of(new ReportDetail(4, 5, "Marco Rossi", 6, "King Kong", 1933), 
+				new ReportDetail(7, 8, null, 9, "Avatar", 2009)));
+		assertThat(model.getText(0)).isEqualTo("1,2,3");
+		assertThat(model.getText(1)).isEqualTo("4,5,6 (Marco Rossi in King Kong, 1933)");
+		assertThat(model.getText(2)).isEqualTo("7,8,9");
+		assertThat(model.getActorId(1)).isEqualTo(5);
+		assertThat(model.getFilmId(1)).isEqualTo(6);
+		assertThat(model.removeReport(4, 5, 6)).isTrue();
+		assertThat(model.getText(1)).isEqualTo("7,8,9");
+	}
+	
+	@Test
+	@DisplayName("Test chunks of Actor and Report rows are appended with a single event each.")
+	void testActorAndReportRowsAddedInBulk() {
+		ActorListModel actors = new ActorListModel();
+		actors.addListDataListener(recorder());
+		actors.addActors(List.of(new Actor(1, "Marco Rossi"), new Actor(2, "Andrea Verdi")));
+		ReportListModel reports = new ReportListModel();
+		reports.addListDataListener(recorder());
+		reports.addReports(List.of(new Report(1, 2, 3)));
+		reports.addDetails(List.of(new ReportDetail(4, 5, "Marco Rossi", 6, "King Kong", 1933), 
+				new ReportDetail(7, 8, null, 9, "Avatar", 2009)));
+		assertThat(actors.getText(1)).isEqualTo("2,Andrea Verdi");
+		assertThat(reports.getText(0)).isEqualTo("1,2,3");
+		assertThat(reports.getText(1)).isEqualTo("4,5,6 (Marco Rossi in King Kong, 1933)");
+		assertThat(reports.getText(2)).isEqualTo("7,8,9");
+		assertThat(events).containsExactly("added 0-1", "added 0-0", "added 1-2");
+	}
+	
+	@Test
+	@DisplayName("Test deleted Report rows are compacted in one pass with a single event.")
+	void testReportRowsRemovedInBulk() {
+		ReportListModel model = new ReportListModel();
+		List<Report> reports = new ArrayList<>();
+		for(int i = 1; i <= 100; i++) {
+			reports.add(new Report(i, i%3, i));
+		}
+		model.addReports(reports);
+		model.addReport(101, 1, 1);
+		model.addListDataListener(recorder());
+		List<Report> deleted = new ArrayList<>();
+		for(Report report : reports) {
+			if(report.getActorId() == 1) {
+				deleted.add(report);
+			}
+		}
+		deleted.add(new Report(101, 2, 1));
+		deleted.add(new Report(500, 1, 500));
+		assertThat(model.removeReports(deleted)).isEqualTo(34);
+		assertThat(model.getSize()).isEqualTo(67);
+		assertThat(model.getText(0)).isEqualTo("2,2,2");
+		assertThat(model.getText(1)).isEqualTo("3,0,3");
+		assertThat(model.getText(66)).isEqualTo("101,1,1");
+		assertThat(events).containsExactly("changed 0-100");
+		assertThat(model.removeReports(deleted)).isZero();
+		assertThat(events).hasSize(1);
+	}
+	
+	@Test
+	@DisplayName("Test deleting contiguous rows and repeated ids through the index.")
+	void testRowsRemovedInBulkThroughTheIndex() {
+		FilmListModel model = new FilmListModel();
+		model.addFilm(1, "King Kong", 1933);
+		model.addFilm(2, "Bad Boys", 1995);
+		model.addFilm(2, "Bad Boys", 1995);
+		model.addFilm(3, "Avatar", 2009);
+		model.addListDataListener(recorder());
+		assertThat(model.removeFilms(List.of(new Film(2, "Bad Boys", 1995), new Film(2, "Bad Boys", 1995)))).isEqualTo(2);
+		assertThat(model.getText(1)).isEqualTo("3,Avatar,2009");
+		model.addFilm(4, "Titanic", 1997);
+		model.setId(0, 5);
+		assertThat(model.removeFilm(1, "King Kong", 1933)).isFalse();
+		assertThat(model.removeFilm(4, "Titanic", 1997)).isTrue();
+		ActorListModel actors = new ActorListModel();
+		actors.addActor(1, "Marco Rossi");
+		actors.addActor(2, "Andrea Verdi");
+		actors.addListDataListener(recorder());
+		assertThat(actors.removeActors(List.of(new Actor(2, "Andrea Verdi"), new Actor(1, "Andrea Verdi")))).isEqualTo(1);
+		assertThat(actors.getText(0)).isEqualTo("1,Marco Rossi");
+		assertThat(events).containsExactly("removed 1-2", "added 2-2", "changed 0-0", "removed 2-2", "removed 1-1");
+	}
+	
+	@Test
+	@DisplayName("Test reading a row out of bounds.")
+	void testRowOutOfBounds() {
+		ActorListModel model = new ActorListModel();
+		model.addActor(1, "Marco Rossi");
+		IndexOutOfBoundsException thrown = assertThrows(IndexOutOfBoundsException.class, () -> model.getId(1));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: row 1 is out of bounds for 1 rows!");
+	}
+	
+	@Test
+	@DisplayName("Test the renderer formats the painted row and fixes the cell size.")
+	void testRowCellRenderer() {
+		FilmListModel model = new FilmListModel();
+		model.addFilm(1, "King Kong", 1933);
+		JList<Film> list = new JList<>(model);
+		RowCellRenderer.install(list);
+		assertThat(list.getFixedCellHeight()).isPositive();
+		assertThat(list.getFixedCellWidth()).isPositive();
+		Component cell = list.getCellRenderer().getListCellRendererComponent(list, model.getElementAt(0), 0, false, false);
+		assertThat(((JLabel) cell).getText()).isEqualTo("1,King Kong,1933");
+	}
+
+	@Test
+	@DisplayName("Test the fixed cell width grows to the widest row painted, so long rows can be scrolled to.")
+	void testRowCellRendererWidensToTheWidestRow() throws Exception {
+		FilmListModel model = new FilmListModel();
+		model.addFilm(1, "King Kong", 1933);
+		model.addFilm(2, "Dr. Strangelove or: How I Learned to Stop Worrying and Love the Bomb", 1964);
+		JList<Film> list = new JList<>(model);
+		RowCellRenderer.install(list);
+		int longRow = list.getCellRenderer().getListCellRendererComponent(list, model.getElementAt(1), 1, false, false)
+				.getPreferredSize().width;
+		SwingUtilities.invokeAndWait(() -> {});
+		assertThat(list.getFixedCellWidth()).isEqualTo(longRow);
+		list.getCellRenderer().getListCellRendererComponent(list, model.getElementAt(0), 0, false, false);
+		SwingUtilities.invokeAndWait(() -> {});
+		assertThat(list.getFixedCellWidth()).isEqualTo(longRow);
+	}
+
+}
@@ -1,13 +1,25 @@
 package io.github.gabry98.app.filmapp;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,16 +27,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
 
 import io.github.gabry98.app.filmapp.controller.StreamingController;
+import io.github.gabry98.app.filmapp.graph.CoStarIndex;
 import io.github.gabry98.app.filmapp.model.Actor;
 import io.github.gabry98.app.filmapp.model.Film;
+import io.github.gabry98.app.filmapp.model.RankedCount;
 import io.github.gabry98.app.filmapp.model.Report;
+import io.github.gabry98.app.filmapp.model.ReportDetail;
 import io.github.gabry98.app.filmapp.repository.ActorRepository;
 import io.github.gabry98.app.filmapp.repository.FilmRepository;
+import io.github.gabry98.app.filmapp.repository.ReferenceValidator;
 import io.github.gabry98.app.filmapp.repository.ReportRepository;
 import io.github.gabry98.app.filmapp.view.ActorView;
 import io.github.gabry98.app.filmapp.view.FilmView;
@@ -78,9 +96,9 @@ class StreamingControllerTest {
 	@Test
 	@DisplayName("Test When we delete an Actor to the Actor Repository by ID.")
 	void testWhenDeleteAnActorById() {
-		streamingController.deleteActor(actorView, 1,0);
+		streamingController.deleteActor(actorView, 1);
 		verify(actorRepository).deleteActorById(1);
-		verify(actorView).actorDeletedById(0);
+		verify(actorView).actorDeletedById(1);
 	}
 	
 	@Test
@@ -88,39 +106,60 @@ class StreamingControllerTest {
 	void testWhenDeleteAnActorByName() {
 		Actor a = new Actor(1, "Marco Rossi");
 		List<Actor> actors = List.of(a);
-		when(actorRepository.findByName("Marco Rossi")).thenReturn(actors);
+		doAnswer(invocation -> streamed(invocation, actors)).when(actorRepository).findAndDeleteActorsByName(eq("Marco Rossi"), any());
 		streamingController.deleteActor(actorView, "Marco Rossi");
-		verify(actorRepository).deleteActorsByName("Marco Rossi");
+		verify(actorRepository).findAndDeleteActorsByName(eq("Marco Rossi"), any());
 		verify(actorView).actorsDeletedByName(actors);
 	}
 	
 	@Test
 	@DisplayName("Test When we update an Actor with new ID.")
 	void testWhenUpdateAnActorById() {
-		streamingController.updateActor(actorView, 1, 2,0);
+		streamingController.updateActor(actorView, 1, 2);
 		verify(actorRepository).updateActorId(1,2);
-		verify(actorView).actorUpdated(1,2,0);
+		verify(actorView).actorUpdated(1,2);
 	}
 	
 	@Test
 	@DisplayName("Test When we update an Actor with new Name.")
 	void testWhenUpdateAnActorByName() {
-		streamingController.updateActor(actorView, 1, "Marco Verdi",0);
+		streamingController.updateActor(actorView, 1, "Marco Verdi");
 		verify(actorRepository).updateActorName(1,"Marco Verdi");
-		verify(actorView).actorUpdated(1,"Marco Verdi",0);
+		verify(actorView).actorUpdated(1,"Marco Verdi");
 	}
 	
 	@Test
 	@DisplayName("Test When we search all Actors.")
 	void testWhenSearchAllActors() {
-		Actor a = spy(new Actor(1, "Marco Rossi"));
-		List<Actor> actors = List.of(a);
-		when(actorRepository.findAll()).thenReturn(actors);
+		Actor a = new Actor(1, "Marco Rossi");
+		doAnswer(invocation -> {
+			invocation.<Consumer<Actor>>getArgument(0).accept(a);
+			return null;
+		}).when(actorRepository).forEachActor(any());
 		streamingController.searchAllActors(actorView);
-		verify(actorRepository).findAll();
-		verify(actorView).actorFound(1,"Marco Rossi");
-		verify(a).getId();
-		verify(a).getName();
+		verify(actorRepository).forEachActor(any());
+		verify(actorView).actorsFound(List.of(a));
+		verify(actorView, never()).actorFound(anyInt(), any());
+	}
+	
+	@Test
+	@DisplayName("Test When we search a page of Actors.")
+	void testWhenSearchActorsPage() {
+		List<Actor> actors = List.of(new Actor(3, "Marco Rossi"), new Actor(4, "Andrea Verdi"));
+		when(actorRepository.findPage(2, 2)).thenReturn(actors);
+		streamingController.searchActorsPage(actorView, 2, 2);
+		verify(actorRepository).findPage(2, 2);
+		verify(actorView).actorsFound(actors);
+	}
+	
+	@Test
+	@DisplayName("Test When we load a page of Actors for the main list.")
+	void testWhenLoadActorsPage() {
+		List<Actor> actors = List.of(new Actor(3, "Marco Rossi"), new Actor(4, "Andrea Verdi"));
+		when(actorRepository.findPage(2, 2)).thenReturn(actors);
+		streamingController.loadActorsPage(actorView, 2, 2);
+		verify(actorRepository).findPage(2, 2);
+		verify(actorView).actorsPageLoaded(2, actors);
 	}
 	
 	@Test
@@ -138,14 +177,21 @@ class StreamingControllerTest {
 	@Test
 	@DisplayName("Test When we search an Actor by Name.")
 	void testWhenSearchAnActorByName() {
-		Actor a = spy(new Actor(1, "Marco Rossi"));
+		Actor a = new Actor(1, "Marco Rossi");
 		List<Actor> actors = List.of(a);
-		when(actorRepository.findByName("Marco Rossi")).thenReturn(actors);
+		doAnswer(invocation -> streamed(invocation, actors)).when(actorRepository).forEachActorByName(eq("Marco Rossi"), any());
 		streamingController.searchActorsByName(actorView, "Marco Rossi");
-		verify(actorRepository).findByName("Marco Rossi");
-		verify(actorView).actorFound(1,"Marco Rossi");
-		verify(a).getId();
-		verify(a).getName();
+		verify(actorRepository, never()).findByName("Marco Rossi");
+		verify(actorView).actorsFound(actors);
+	}
+	
+	@Test
+	@DisplayName("Test When we search the Actors by a Name prefix.")
+	void testWhenSearchActorsByNamePrefix() {
+		List<Actor> actors = List.of(new Actor(1, "Marco Rossi"));
+		when(actorRepository.findByNamePrefix("mar", 20)).thenReturn(actors);
+		streamingController.searchActorsByNamePrefix(actorView, "mar", 20);
+		verify(actorView).actorsFound(actors);
 	}
 	
 	@Test
@@ -159,9 +205,9 @@ class StreamingControllerTest {
 	@Test
 	@DisplayName("Test When we delete a Film to the Film Repository by ID.")
 	void testWhenDeleteAFilmById() {
-		streamingController.deleteFilmById(filmView, 1, 0);
+		streamingController.deleteFilmById(filmView, 1);
 		verify(filmRepository).deleteFilmById(1);
-		verify(filmView).filmDeletedById(1,0);
+		verify(filmView).filmDeletedById(1);
 	}
 	
 	@Test
@@ -169,9 +215,9 @@ class StreamingControllerTest {
 	void testWhenDeleteAFilmByName() {
 		Film f = new Film(1, "King Kong", 1950);
 		List<Film> films = List.of(f);
-		when(filmRepository.findByName("King Kong")).thenReturn(films);
+		doAnswer(invocation -> streamed(invocation, films)).when(filmRepository).findAndDeleteFilmsByName(eq("King Kong"), any());
 		streamingController.deleteFilmsByName(filmView, "King Kong");
-		verify(filmRepository).deleteFilmsByName("King Kong");
+		verify(filmRepository).findAndDeleteFilmsByName(eq("King Kong"), any());
 		verify(filmView).filmsDeletedByName(films);
 	}
 	
@@ -180,34 +226,34 @@ class StreamingControllerTest {
 	void testWhenDeleteAFilmByDate() {
 		Film f = new Film(1, "King Kong", 1950);
 		List<Film> films = List.of(f);
-		when(filmRepository.findByDate(1950)).thenReturn(films);
+		doAnswer(invocation -> streamed(invocation, films)).when(filmRepository).findAndDeleteFilmsByDate(eq(1950), any());
 		streamingController.deleteFilmsByDate(filmView, 1950);
-		verify(filmRepository).deleteFilmsByDate(1950);
+		verify(filmRepository).findAndDeleteFilmsByDate(eq(1950), any());
 		verify(filmView).filmsDeletedByDate(films);
 	}
 	
 	@Test
 	@DisplayName("Test When we update a Film with new ID.")
 	void testWhenUpdateAFilmById() {
-		streamingController.updateFilmById(filmView, 1, 2, 0);
+		streamingController.updateFilmById(filmView, 1, 2);
 		verify(filmRepository).updateFilmId(1,2);
-		verify(filmView).filmUpdatedById(1,2,0);
+		verify(filmView).filmUpdatedById(1,2);
 	}
 	
 	@Test
 	@DisplayName("Test When we update a Film with new Name.")
 	void testWhenUpdateAFilmByName() {
-		streamingController.updateFilmByName(filmView, 1, "King Kong 2", 0);
+		streamingController.updateFilmByName(filmView, 1, "King Kong 2");
 		verify(filmRepository).updateFilmName(1,"King Kong 2");
-		verify(filmView).filmUpdatedByName(1,"King Kong 2", 0);
+		verify(filmView).filmUpdatedByName(1,"King Kong 2");
 	}
 	
 	@Test
 	@DisplayName("Test When we update a Film with new Date.")
 	void testWhenUpdateAFilmByDate() {
-		streamingController.updateFilmDate(filmView, 1, 1955, 0);
+		streamingController.updateFilmDate(filmView, 1, 1955);
 		verify(filmRepository).updateFilmDate(1,1955);
-		verify(filmView).filmUpdatedByDate(1,1955, 0);
+		verify(filmView).filmUpdatedByDate(1,1955);
 	}
 	
 	@Test
@@ -226,43 +272,137 @@ class StreamingControllerTest {
 	@Test
 	@DisplayName("Test When we search all Films.")
 	void testWhenSearchAllFilms() {
-		Film f = spy(new Film(1, "King Kong", 1950));
-		List<Film> films = List.of(f);
-		when(filmRepository.findAll()).thenReturn(films);
+		Film f = new Film(1, "King Kong", 1950);
+		doAnswer(invocation -> {
+			invocation.<Consumer<Film>>getArgument(0).accept(f);
+			return null;
+		}).when(filmRepository).forEachFilm(any());
 		streamingController.searchAllFilms(filmView);
-		verify(filmRepository).findAll();
-		verify(filmView).filmFound(1,"King Kong", 1950);
-		verify(f).getId();
-		verify(f).getName();
-		verify(f).getDate();
+		verify(filmRepository).forEachFilm(any());
+		verify(filmView).filmsFound(List.of(f));
+		verify(filmView, never()).filmFound(anyInt(), any(), anyInt());
+	}
+	
+	@Test
+	@DisplayName("Test When we search all Films they are sent to the Film View in chunks.")
+	void testWhenSearchAllFilmsInChunks() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setChunkSize(2);
+		List<Film> films = List.of(new Film(1, "King Kong", 1933), new Film(2, "Titanic", 1997), 
+				new Film(3, "Kong", 2017), new Film(4, "Rocky", 1976), new Film(5, "Alien", 1979));
+		FilmView view = mock(FilmView.class);
+		doAnswer(invocation -> {
+			films.forEach(invocation.<Consumer<Film>>getArgument(0));
+			return null;
+		}).when(filmRepository).forEachFilm(any());
+		controller.searchAllFilms(view);
+		InOrder inOrder = inOrder(view);
+		inOrder.verify(view).filmsFound(List.of(films.get(0), films.get(1)));
+		inOrder.verify(view).filmsFound(List.of(films.get(2), films.get(3)));
+		inOrder.verify(view).filmsFound(List.of(films.get(4)));
+		verify(view, times(3)).filmsFound(any());
+	}
+	
+	@Test
+	@DisplayName("Test When we search all Films and there are none the Film View is not notified.")
+	void testWhenSearchAllFilmsEmpty() {
+		FilmView view = mock(FilmView.class);
+		streamingController.searchAllFilms(view);
+		verify(view, never()).filmsFound(any());
+	}
+	
+	@Test
+	@DisplayName("Test When the thread searching all Films is interrupted the stream stops at the next row.")
+	void testWhenSearchAllFilmsIsCancelled() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setChunkSize(1);
+		Film first = new Film(1, "King Kong", 1933);
+		FilmView view = mock(FilmView.class);
+		doAnswer(invocation -> {
+			Consumer<Film> consumer = invocation.getArgument(0);
+			consumer.accept(first);
+			Thread.currentThread().interrupt();
+			consumer.accept(new Film(2, "Titanic", 1997));
+			return null;
+		}).when(filmRepository).forEachFilm(any());
+		CancellationException e = assertThrows(CancellationException.class, () -> controller.searchAllFilms(view));
+		assertThat(e.getMessage()).isEqualTo("ERROR: the request has been cancelled!");
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+		verify(view).filmsFound(List.of(first));
+		verify(view, times(1)).filmsFound(any());
+	}
+	
+	@Test
+	@DisplayName("Test When the thread searching the Films by Name is interrupted the results are not sent.")
+	void testWhenSearchFilmsByNameIsCancelled() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		FilmView view = mock(FilmView.class);
+		doAnswer(invocation -> {
+			Thread.currentThread().interrupt();
+			return streamed(invocation, List.of(new Film(1, "King Kong", 1933)));
+		}).when(filmRepository).forEachFilmByName(eq("King Kong"), any());
+		assertThrows(CancellationException.class, () -> controller.searchFilmsByName(view, "King Kong"));
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+		verify(view, never()).filmsFound(any());
+	}
+	
+	@Test
+	@DisplayName("Test When we set a non positive chunk size.")
+	void testWhenSetANonPositiveChunkSize() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> controller.setChunkSize(0));
+		assertThat(e.getMessage()).isEqualTo("ERROR: the chunk size should be positive!");
+	}
+	
+	@Test
+	@DisplayName("Test When we search a page of Films.")
+	void testWhenSearchFilmsPage() {
+		List<Film> films = List.of(new Film(3, "King Kong", 1950), new Film(4, "Titanic", 1997));
+		when(filmRepository.findPage(2, 2)).thenReturn(films);
+		streamingController.searchFilmsPage(filmView, 2, 2);
+		verify(filmRepository).findPage(2, 2);
+		verify(filmView).filmsFound(films);
+	}
+	
+	@Test
+	@DisplayName("Test When we load a page of Films for the main list.")
+	void testWhenLoadFilmsPage() {
+		List<Film> films = List.of(new Film(3, "King Kong", 1950), new Film(4, "Titanic", 1997));
+		when(filmRepository.findPage(2, 2)).thenReturn(films);
+		streamingController.loadFilmsPage(filmView, 2, 2);
+		verify(filmRepository).findPage(2, 2);
+		verify(filmView).filmsPageLoaded(2, films);
 	}
 	
 	@Test
 	@DisplayName("Test When we search a list of Films by Name.")
 	void testWhenSearchFilmsByName() {
-		Film f = spy(new Film(1, "King Kong", 1950));
+		Film f = new Film(1, "King Kong", 1950);
 		List<Film> films = List.of(f);
-		when(filmRepository.findByName("King Kong")).thenReturn(films);
+		doAnswer(invocation -> streamed(invocation, films)).when(filmRepository).forEachFilmByName(eq("King Kong"), any());
 		streamingController.searchFilmsByName(filmView, "King Kong");
-		verify(filmRepository).findByName("King Kong");
-		verify(filmView).filmFound(1,"King Kong", 1950);
-		verify(f).getId();
-		verify(f).getName();
-		verify(f).getDate();
+		verify(filmRepository, never()).findByName("King Kong");
+		verify(filmView).filmsFound(films);
+	}
+	
+	@Test
+	@DisplayName("Test When we search the Films by text.")
+	void testWhenSearchFilmsByText() {
+		List<Film> films = List.of(new Film(1, "King Kong", 1933), new Film(2, "Kong", 2017));
+		when(filmRepository.searchText("king kong", 10)).thenReturn(films);
+		streamingController.searchFilmsByText(filmView, "king kong", 10);
+		verify(filmView).filmsFound(films);
 	}
 	
 	@Test
 	@DisplayName("Test When we search a list of Films by Date.")
 	void testWhenSearchFilmsByDate() {
-		Film f = spy(new Film(1, "King Kong", 1950));
+		Film f = new Film(1, "King Kong", 1950);
 		List<Film> films = List.of(f);
-		when(filmRepository.findByDate(1950)).thenReturn(films);
+		doAnswer(invocation -> streamed(invocation, films)).when(filmRepository).forEachFilmByDate(eq(1950), any());
 		streamingController.searchFilmsByDate(filmView, 1950);
-		verify(filmRepository).findByDate(1950);
-		verify(filmView).filmFound(1,"King Kong", 1950);
-		verify(f).getId();
-		verify(f).getName();
-		verify(f).getDate();
+		verify(filmRepository, never()).findByDate(1950);
+		verify(filmView).filmsFound(films);
 	}
 	
 	@Test
@@ -299,12 +439,92 @@ class StreamingControllerTest {
 		verify(reportView, times(0)).reportAdded(1, 1, 1);
 	}
 	
+	@Test
+	@DisplayName("Test When we add a Report with a Reference Validator, the Repositories are not searched.")
+	void testWhenAddAReportWithReferenceValidator() {
+		ReferenceValidator referenceValidator = mock(ReferenceValidator.class);
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setReferenceValidator(referenceValidator);
+		controller.addReport(reportView, 1, 1, 1);
+		verify(referenceValidator).checkReportReferences(1, 1);
+		verify(actorRepository, never()).findById(1);
+		verify(filmRepository, never()).findById(1);
+		verify(reportRepository).addReport(1, 1, 1);
+		verify(reportView).reportAdded(1, 1, 1);
+	}
+	
+	@Test
+	@DisplayName("Test When the Reference Validator rejects a Report, it is not added.")
+	void testWhenAddAReportRejectedByReferenceValidator() {
+		ReferenceValidator referenceValidator = mock(ReferenceValidator.class);
+		doThrow(new IllegalArgumentException("ERROR: No existing Film with id 1."))
+			.when(referenceValidator).checkReportReferences(1, 1);
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setReferenceValidator(referenceValidator);
+		IllegalArgumentException thrown = 
+				assertThrows(IllegalArgumentException.class, () -> 
+					controller.addReport(reportView, 1, 1, 1));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: No existing Film with id 1.");
+		verify(reportRepository, never()).addReport(1, 1, 1);
+		verify(reportView, never()).reportAdded(1, 1, 1);
+	}
+	
+	@Test
+	@DisplayName("Test When we add and delete Reports, the Co-Star Index answers the co-star searches.")
+	void testWhenSearchCoStarsAfterReportChanges() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setReferenceValidator(mock(ReferenceValidator.class));
+		controller.setCoStarIndex(CoStarIndex.build(reportRepository));
+		controller.addReport(reportView, 1, 1, 10);
+		controller.addReport(reportView, 2, 2, 10);
+		controller.addReport(reportView, 3, 3, 10);
+		doAnswer(invocation -> streamed(invocation, List.of(new Report(3, 3, 10)))).when(reportRepository).findAndDeleteReportsByActorId(eq(3), any());
+		controller.deleteReportByActorId(reportView, 3);
+		controller.searchTopCoStars(actorView, 1, 5);
+		controller.searchCollaborations(actorView, 2, 3);
+		verify(actorView).coStarFound(1, 2, 1);
+		verify(actorView, never()).coStarFound(1, 3, 1);
+		verify(actorView).coStarFound(2, 3, 0);
+	}
+	
+	@Test
+	@DisplayName("Test When the Co-Star Index is not loaded yet, the co-star searches are refused.")
+	void testWhenSearchCoStarsWithColdIndex() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setReferenceValidator(mock(ReferenceValidator.class));
+		controller.setCoStarIndex(new CoStarIndex());
+		controller.addReport(reportView, 1, 1, 10);
+		controller.addReport(reportView, 2, 2, 10);
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, 
+				() -> controller.searchTopCoStars(actorView, 1, 5));
+		assertThat(thrown.getMessage()).isEqualTo("ERROR: the co-star index is not loaded yet, try again later!");
+		assertThrows(IllegalArgumentException.class, () -> controller.searchCollaborations(actorView, 1, 2));
+		verify(actorView, never()).coStarFound(anyInt(), anyInt(), anyInt());
+	}
+	
+	@Test
+	@DisplayName("Test When we add Reports and Films, the films per year are updated and the rankings reloaded.")
+	void testWhenAddUpdatesCatalogAnalytics() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setReferenceValidator(mock(ReferenceValidator.class));
+		when(reportRepository.countTopReportsByActorId(1)).thenReturn(List.of(new RankedCount(1, 1)), List.of(new RankedCount(1, 2)));
+		when(filmRepository.countFilmsByDate()).thenReturn(Map.of());
+		controller.getCatalogAnalytics().busiestActors(1);
+		controller.getCatalogAnalytics().filmsPerYear();
+		controller.addReport(reportView, 2, 1, 2);
+		controller.addFilm(filmView, 1, "King Kong", 1933);
+		assertThat(controller.getCatalogAnalytics().busiestActors(1)).extracting(RankedCount::getCount).containsExactly(2);
+		assertThat(controller.getCatalogAnalytics().filmsPerYear()).containsExactly(Map.entry(1933, 1));
+		verify(reportRepository, times(2)).countTopReportsByActorId(1);
+		verify(filmRepository, times(1)).countFilmsByDate();
+	}
+	
 	@Test
 	@DisplayName("Test When we delete a Report to the Report Repository by ID.")
 	void testWhenDeleteAReportById() {
-		streamingController.deleteReportById(reportView, 1, 0);
+		streamingController.deleteReportById(reportView, 1);
 		verify(reportRepository).deleteReportById(1);
-		verify(reportView).reportDeletedById(1,0);
+		verify(reportView).reportDeletedById(1);
 	}
 	
 	@Test
@@ -312,9 +532,9 @@ class StreamingControllerTest {
 	void testWhenDeleteAReportByActorId() {
 		Report r = new Report(1,1,1);
 		List<Report> reports = List.of(r);
-		when(reportRepository.findByActorId(1)).thenReturn(reports);
+		doAnswer(invocation -> streamed(invocation, reports)).when(reportRepository).findAndDeleteReportsByActorId(eq(1), any());
 		streamingController.deleteReportByActorId(reportView, 1);
-		verify(reportRepository).deleteReportByActorId(1);
+		verify(reportRepository).findAndDeleteReportsByActorId(eq(1), any());
 		verify(reportView).reportsDeletedByActorId(reports);
 	}
 	
@@ -323,32 +543,98 @@ class StreamingControllerTest {
 	void testWhenDeleteAReportByFilmId() {
 		Report r = new Report(1,1,1);
 		List<Report> reports = List.of(r);
-		when(reportRepository.findByFilmId(1)).thenReturn(reports);
+		doAnswer(invocation -> streamed(invocation, reports)).when(reportRepository).findAndDeleteReportsByFilmId(eq(1), any());
 		streamingController.deleteReportByFilmId(reportView, 1);
-		verify(reportRepository).deleteReportByFilmId(1);
+		verify(reportRepository).findAndDeleteReportsByFilmId(eq(1), any());
 		verify(reportView).reportsDeletedByFilmId(reports);
 	}
-	
+
+	@Test
+	@DisplayName("Test When we delete the Reports by ActorId they are sent in chunks, even if the thread is interrupted.")
+	void testWhenDeleteReportsByActorIdInChunks() {
+		StreamingController controller = new StreamingController(actorRepository, filmRepository, reportRepository);
+		controller.setChunkSize(2);
+		List<Report> reports = List.of(new Report(1, 1, 1), new Report(2, 1, 2), new Report(3, 1, 3));
+		ReportView view = mock(ReportView.class);
+		doAnswer(invocation -> {
+			Consumer<Report> consumer = invocation.getArgument(1);
+			consumer.accept(reports.get(0));
+			Thread.currentThread().interrupt();
+			consumer.accept(reports.get(1));
+			consumer.accept(reports.get(2));
+			return null;
+		}).when(reportRepository).findAndDeleteReportsByActorId(eq(1), any());
+		assertDoesNotThrow(() -> controller.deleteReportByActorId(view, 1));
+		Thread.interrupted();
+		InOrder inOrder = inOrder(view);
+		inOrder.verify(view).reportsDeletedByActorId(List.of(reports.get(0), reports.get(1)));
+		inOrder.verify(view).reportsDeletedByActorId(List.of(reports.get(2)));
+	}
+
 	@Test
 	@DisplayName("Test When we update a Report with new ID.")
 	void testWhenUpdateAReportById() {
-		streamingController.updateReportId(reportView, 1, 2, 0);
+		streamingController.updateReportId(reportView, 1, 2);
 		verify(reportRepository).updateReportId(1,2);
-		verify(reportView).reportUpdatedById(1,2, 0);
+		verify(reportView).reportUpdatedById(1,2);
 	}
 	
 	@Test
 	@DisplayName("Test When we search all Reports.")
 	void testWhenSearchAllReports() {
-		Report r = spy(new Report(1, 1, 1));
-		List<Report> reports = List.of(r);
-		when(reportRepository.findAll()).thenReturn(reports);
+		ReportDetail r = new ReportDetail(1, 1, "Marco Rossi", 1, "King Kong", 1933);
+		doAnswer(invocation -> {
+			invocation.<Consumer<ReportDetail>>getArgument(0).accept(r);
+			return null;
+		}).when(reportRepository).forEachReportDetail(any());
 		streamingController.searchAllReports(reportView);
-		verify(reportRepository).findAll();
-		verify(reportView).reportFound(1,1,1);
-		verify(r).getId();
-		verify(r).getActorId();
-		verify(r).getFilmId();
+		verify(reportRepository).forEachReportDetail(any());
+		verify(reportRepository, never()).forEachReport(any());
+		verify(reportView).reportDetailsFound(List.of(r));
+	}
+	
+	@Test
+	@DisplayName("Test When we search a page of Reports.")
+	void testWhenSearchReportsPage() {
+		List<ReportDetail> reports = List.of(new ReportDetail(3, 1, "Marco Rossi", 1, "King Kong", 1933), 
+				new ReportDetail(4, 1, "Marco Rossi", 2, "Titanic", 1997));
+		when(reportRepository.findDetailsPage(2, 2)).thenReturn(reports);
+		streamingController.searchReportsPage(reportView, 2, 2);
+		verify(reportRepository).findDetailsPage(2, 2);
+		verify(reportView).reportDetailsFound(reports);
+	}
+	
+	@Test
+	@DisplayName("Test When we load a page of Reports for the main list.")
+	void testWhenLoadReportsPage() {
+		List<Report> reports = List.of(new Report(3, 1, 1), new Report(4, 1, 2));
+		when(reportRepository.findPage(2, 2)).thenReturn(reports);
+		streamingController.loadReportsPage(reportView, 2, 2);
+		verify(reportRepository).findPage(2, 2);
+		verify(reportView).reportsPageLoaded(2, reports);
+		verify(reportRepository, never()).findDetailsPage(anyInt(), anyInt());
+	}
+	
+	@Test
+	@DisplayName("Test When we search the Films of an Actor.")
+	void testWhenSearchFilmography() {
+		List<Film> films = List.of(new Film(2, "King Kong", 1933), new Film(1, "Titanic", 1997));
+		when(reportRepository.findFilmography(1)).thenReturn(films);
+		streamingController.searchFilmography(filmView, 1);
+		verify(reportRepository).findFilmography(1);
+		verify(reportRepository, never()).findByActorId(1);
+		verify(filmView).filmsFound(films);
+	}
+	
+	@Test
+	@DisplayName("Test When we search the Actors of a Film.")
+	void testWhenSearchCast() {
+		List<Actor> actors = List.of(new Actor(2, "Andrea Verdi"), new Actor(1, "Marco Rossi"));
+		when(reportRepository.findCast(1)).thenReturn(actors);
+		streamingController.searchCast(actorView, 1);
+		verify(reportRepository).findCast(1);
+		verify(reportRepository, never()).findByFilmId(1);
+		verify(actorView).actorsFound(actors);
 	}
 	
 	@Test
@@ -367,29 +653,29 @@ class StreamingControllerTest {
 	@Test
 	@DisplayName("Test When we search a list of Reports by ActorId.")
 	void testWhenSearchReportsByActorId() {
-		Report r = spy(new Report(1, 1, 1));
+		Report r = new Report(1, 1, 1);
 		List<Report> reports = List.of(r);
-		when(reportRepository.findByActorId(1)).thenReturn(reports);
+		doAnswer(invocation -> streamed(invocation, reports)).when(reportRepository).forEachReportByActorId(eq(1), any());
 		streamingController.searchReportsByActorId(reportView,1);
-		verify(reportRepository).findByActorId(1);
-		verify(reportView).reportFound(1,1,1);
-		verify(r).getId();
-		verify(r).getActorId();
-		verify(r).getFilmId();
+		verify(reportRepository, never()).findByActorId(1);
+		verify(reportView).reportsFound(reports);
 	}
 	
 	@Test
 	@DisplayName("Test When we search a list of Reports by FilmId.")
 	void testWhenSearchReportsByFilmId() {
-		Report r = spy(new Report(1, 1, 1));
+		Report r = new Report(1, 1, 1);
 		List<Report> reports = List.of(r);
-		when(reportRepository.findByFilmId(1)).thenReturn(reports);
+		doAnswer(invocation -> streamed(invocation, reports)).when(reportRepository).forEachReportByFilmId(eq(1), any());
 		streamingController.searchReportsByFilmId(reportView,1);
-		verify(reportRepository).findByFilmId(1);
-		verify(reportView).reportFound(1,1,1);
-		verify(r).getId();
-		verify(r).getActorId();
-		verify(r).getFilmId();
+		verify(reportRepository, never()).findByFilmId(1);
+		verify(reportView).reportsFound(reports);
+	}
+
+	private static <T> Object streamed(InvocationOnMock invocation, List<T> rows) {
+		Consumer<T> consumer = invocation.getArgument(1);
+		rows.forEach(consumer);
+		return null;
 	}
 
 }
@@ -0,0 +1,132 @@
+package io.github.gabry98.app.filmapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.gabry98.app.filmapp.repository.cache.CacheStats;
+import io.github.gabry98.app.filmapp.repository.cache.TinyLfuCache;
+
+@DisplayName("Tests for the TinyLFU Cache.")
+class TinyLfuCacheTest {
+
+	@Test
+	@DisplayName("Test When the same key is requested twice, the second request is a hit.")
+	void testHitAfterMiss() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		AtomicInteger loads = new AtomicInteger();
+		assertThat(cache.get(1, k -> "value"+loads.incrementAndGet())).isEqualTo("value1");
+		assertThat(cache.get(1, k -> "value"+loads.incrementAndGet())).isEqualTo("value1");
+		CacheStats stats = cache.stats();
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(1);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Test When the loader returns null, nothing is cached.")
+	void testNullIsNotCached() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		assertThat(cache.get(1, k -> null)).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test When the cache is full, its size stays bounded and evictions are counted.")
+	void testSizeIsBounded() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		for(int i = 0; i < 100; i++) {
+			cache.get(i, String::valueOf);
+		}
+		assertThat(cache.size()).isEqualTo(10);
+		assertThat(cache.stats().getEvictionCount()).isEqualTo(90);
+	}
+
+	@Test
+	@DisplayName("Test When a scan of one-off keys goes through the cache, the popular keys survive.")
+	void testFrequentKeysSurviveScan() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		for(int round = 0; round < 5; round++) {
+			for(int i = 0; i < 5; i++) {
+				cache.get(i, String::valueOf);
+			}
+		}
+		for(int i = 1000; i < 1100; i++) {
+			cache.get(i, String::valueOf);
+		}
+		long hitsBefore = cache.stats().getHitCount();
+		for(int i = 0; i < 5; i++) {
+			cache.get(i, String::valueOf);
+		}
+		assertThat(cache.stats().getHitCount()-hitsBefore).isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("Test When a key is invalidated, the next request loads it again.")
+	void testInvalidate() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		cache.get(1, k -> "old");
+		cache.get(2, k -> "other");
+		cache.invalidate(1);
+		assertThat(cache.get(1, k -> "new")).isEqualTo("new");
+		cache.invalidateIf("other"::equals);
+		assertThat(cache.get(2, k -> "reloaded")).isEqualTo("reloaded");
+		cache.invalidateAll();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("Test When an invalidation happens while a value is loading, the loaded value is not cached.")
+	void testInvalidationDuringLoad() {
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(10);
+		assertThat(cache.get(1, k -> {
+			cache.invalidate(1);
+			return "stale";
+		})).isEqualTo("stale");
+		assertThat(cache.get(1, k -> "fresh")).isEqualTo("fresh");
+	}
+
+	@Test
+	@DisplayName("Test When a listener is set, it filters the values and follows the entries in and out.")
+	void testListener() {
+		List<String> events = new ArrayList<>();
+		TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(2, new TinyLfuCache.Listener<>() {
+			@Override
+			public boolean admit(Integer key, String value) {
+				return !value.isEmpty();
+			}
+
+			@Override
+			public void added(Integer key, String value) {
+				events.add("+"+key);
+			}
+
+			@Override
+			public void removed(Integer key, String value) {
+				events.add("-"+key);
+			}
+		});
+		cache.get(1, k -> "");
+		cache.get(2, String::valueOf);
+		cache.get(3, String::valueOf);
+		cache.get(4, String::valueOf);
+		cache.invalidateAll(List.of(3, 4));
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(events).containsExactly("+2", "+3", "+4", "-3", "-4");
+	}
+
+	@Test
+	@DisplayName("Test When we create a cache with a non-positive size.")
+	void testNonPositiveSize() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, 
+				() -> new TinyLfuCache<Integer, String>(0));
+		assertThat(e.getMessage()).isEqualTo("ERROR: the cache size should be positive!");
+	}
+
+}